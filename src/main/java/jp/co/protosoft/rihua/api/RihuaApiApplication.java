@@ -2,9 +2,11 @@ package jp.co.protosoft.rihua.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Rihua Community Platform API Application
@@ -15,9 +17,11 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * @since 1.0.0
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableJpaAuditing
 @EnableCaching
 @EnableAsync
+@EnableScheduling
 public class RihuaApiApplication {
 
     public static void main(String[] args) {
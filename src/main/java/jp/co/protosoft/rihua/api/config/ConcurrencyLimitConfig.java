@@ -0,0 +1,70 @@
+package jp.co.protosoft.rihua.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * 仮想スレッド実行モード向けの同時実行数制限設定
+ * 
+ * <p>{@code rihua.concurrency.enabled=true}（{@code virtual-threads} プロファイル）の場合に、
+ * アプリケーションのデータソースを {@link SemaphoreLimitedDataSource} でラップします。
+ * 仮想スレッドの有効化自体は {@code spring.threads.virtual.enabled} でSpring Bootが行い、
+ * Tomcatのリクエスト処理・{@code @Async}・{@code @Scheduled} が仮想スレッドで実行されます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "rihua.concurrency", name = "enabled", havingValue = "true")
+@Slf4j
+public class ConcurrencyLimitConfig {
+
+    public ConcurrencyLimitConfig(Environment environment) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (virtualThreads && !JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            log.warn("Virtual threads requested but running on Java {}; falling back to platform threads",
+                    JavaVersion.getJavaVersion());
+        }
+    }
+
+    /**
+     * データソースをセマフォ付きのデータソースでラップするポストプロセッサー
+     * 
+     * @param properties 同時実行数の制限設定
+     * @param meterRegistry メトリクスレジストリ
+     * @return ポストプロセッサー
+     */
+    @Bean
+    static BeanPostProcessor semaphoreLimitedDataSourcePostProcessor(
+            ObjectProvider<ConcurrencyLimitProperties> properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof SemaphoreLimitedDataSource) {
+                    return bean;
+                }
+                ConcurrencyLimitProperties.Jdbc jdbc = properties.getObject().getJdbc();
+                int permits = jdbc.getPermits();
+                if (permits <= 0 && dataSource instanceof HikariDataSource hikari) {
+                    permits = hikari.getMaximumPoolSize();
+                }
+                if (permits <= 0) {
+                    return bean;
+                }
+                log.info("Limiting concurrent JDBC connections of '{}' to {} permits", beanName, permits);
+                return new SemaphoreLimitedDataSource(
+                        dataSource, permits, jdbc.getAcquireTimeoutMs(), meterRegistry.getObject());
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package jp.co.protosoft.rihua.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * I/O同時実行数の制限設定
+ * 
+ * <p>{@code rihua.concurrency.*} の設定を保持します。仮想スレッドではリクエスト数に応じてスレッドが増えるため、
+ * スレッドプールの大きさで暗黙に抑えていた下流への同時アクセス数をセマフォで明示的に制限します。
+ * {@code virtual-threads} プロファイルで有効化されます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "rihua.concurrency")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * セマフォによる制限を有効にするか
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC接続の制限
+     */
+    private Jdbc jdbc = new Jdbc();
+
+    /**
+     * JDBC接続の制限設定
+     */
+    @Data
+    public static class Jdbc {
+
+        /**
+         * 同時に保持できる接続数（0の場合はHikariCPのmaximum-pool-size）
+         */
+        private int permits = 0;
+
+        /**
+         * 許可の待機上限（ミリ秒）
+         */
+        private long acquireTimeoutMs = 3000;
+    }
+}
@@ -2,6 +2,11 @@ package jp.co.protosoft.rihua.api.config;
 
 import jp.co.protosoft.rihua.api.security.JwtAuthenticationEntryPoint;
 import jp.co.protosoft.rihua.api.security.JwtAuthenticationFilter;
+import jp.co.protosoft.rihua.api.security.OffloadedPasswordEncoder;
+import jp.co.protosoft.rihua.api.security.PasswordHashingExecutor;
+import jp.co.protosoft.rihua.api.security.PasswordHashingProperties;
+import jp.co.protosoft.rihua.api.security.PublicRoutes;
+import jp.co.protosoft.rihua.api.service.ListingCountService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,8 +19,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -24,7 +32,9 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Spring Security設定クラス
@@ -46,11 +56,27 @@ public class SecurityConfig {
 
     /**
      * パスワードエンコーダーを設定
-     * bcryptを使用してパスワードをハッシュ化
+     * {@code rihua.password.algorithm}（bcrypt / argon2）でハッシュ化し、ハッシュ計算は専用スレッドプールで実行
+     * 既存のプレフィックスなしbcryptハッシュも検証でき、ログイン時に設定したアルゴリズムへ再ハッシュされる
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, PasswordHashingExecutor hashingExecutor) {
+        PasswordHashingProperties.Argon2 argon2 = properties.getArgon2();
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", new Argon2PasswordEncoder(
+                argon2.getSaltLength(),
+                argon2.getHashLength(),
+                argon2.getParallelism(),
+                argon2.getMemoryKib(),
+                argon2.getIterations()));
+
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(properties.getAlgorithm(), encoders);
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new OffloadedPasswordEncoder(delegatingEncoder, hashingExecutor);
     }
 
     /**
@@ -65,10 +91,15 @@ public class SecurityConfig {
      * DAO認証プロバイダーを設定
      */
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        
+        // ログイン成功時に旧アルゴリズムのハッシュを更新
+        if (userDetailsService instanceof UserDetailsPasswordService userDetailsPasswordService) {
+            authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        }
         return authProvider;
     }
 
@@ -109,9 +140,11 @@ public class SecurityConfig {
         // プリフライトリクエストのキャッシュ時間
         configuration.setMaxAge(3600L);
         
-        // 公開するレスポンスヘッダー
+        // 公開するレスポンスヘッダー（X-Total-Countは一覧の総件数モードがNONEの場合は省略される）
         configuration.setExposedHeaders(Arrays.asList(
-            "X-Total-Count",
+            ListingCountService.TOTAL_COUNT_HEADER,
+            ListingCountService.TOTAL_COUNT_APPROXIMATE_HEADER,
+            ListingCountService.HAS_NEXT_HEADER,
             "X-Page-Number",
             "X-Page-Size",
             "X-Total-Pages"
@@ -126,7 +159,7 @@ public class SecurityConfig {
      * セキュリティフィルターチェーンを設定
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
         http
             // CSRF無効化（JWT使用のため）
             .csrf(AbstractHttpConfigurer::disable)
@@ -144,31 +177,12 @@ public class SecurityConfig {
             
             // 認可設定
             .authorizeHttpRequests(authz -> authz
-                // パブリックエンドポイント（認証不要）
-                .requestMatchers(HttpMethod.POST, "/api/v1/auth/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/v1/auth/verify-email").permitAll()
-                .requestMatchers(HttpMethod.POST, "/api/v1/auth/reset-password").permitAll()
+                // パブリックエンドポイント（認証不要、JWT認証フィルターと同じルート表）
+                .requestMatchers(PublicRoutes.MATCHER).permitAll()
                 
-                // ヘルスチェック・監視エンドポイント
-                .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                // 監視エンドポイント
                 .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
-                // API文書化
-                .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                
-                // 静的リソース
-                .requestMatchers("/favicon.ico", "/error").permitAll()
-                
-                // パブリック読み取り専用エンドポイント
-                .requestMatchers(HttpMethod.GET, "/api/v1/events").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/v1/events/{id}").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/v1/housing").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/v1/housing/{id}").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/v1/jobs").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/v1/jobs/{id}").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/v1/forum/posts").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/v1/forum/posts/{id}").permitAll()
-                
                 // 管理者専用エンドポイント
                 .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                 
@@ -197,7 +211,7 @@ public class SecurityConfig {
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         
         // 認証プロバイダー設定
-        http.authenticationProvider(authenticationProvider());
+        http.authenticationProvider(authenticationProvider);
 
         return http.build();
     }
@@ -0,0 +1,139 @@
+package jp.co.protosoft.rihua.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 同時接続数をセマフォで制限するデータソース
+ * 
+ * <p>接続の取得前に公平なセマフォの許可を取得し、接続のクローズ時に返却します。
+ * 許可数をコネクションプールの上限に合わせることで、仮想スレッドが何千本あってもプールの待機に入るのは上限までとなり、
+ * 残りは先着順にセマフォで待機します。待機上限を超えた場合は {@link SQLTransientConnectionException} をスローします。</p>
+ * 
+ * <p>メトリクス:</p>
+ * <ul>
+ *   <li>{@code rihua.concurrency.jdbc.available} - 残りの許可数</li>
+ *   <li>{@code rihua.concurrency.jdbc.waiting} - 許可を待機しているスレッド数</li>
+ *   <li>{@code rihua.concurrency.jdbc.acquire} - 許可の待機時間</li>
+ *   <li>{@code rihua.concurrency.jdbc.timeouts} - 待機上限を超えた件数</li>
+ * </ul>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public class SemaphoreLimitedDataSource extends DelegatingDataSource {
+
+    private static final String METRIC_NAME = "rihua.concurrency.jdbc";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final Timer acquireTimer;
+    private final Counter timeouts;
+
+    public SemaphoreLimitedDataSource(DataSource targetDataSource, int permits, long acquireTimeoutMs,
+                                      MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        Gauge.builder(METRIC_NAME + ".available", this.permits, Semaphore::availablePermits)
+                .description("Number of JDBC connection permits available")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".waiting", this.permits, Semaphore::getQueueLength)
+                .description("Number of threads waiting for a JDBC connection permit")
+                .register(meterRegistry);
+        this.acquireTimer = Timer.builder(METRIC_NAME + ".acquire")
+                .description("Time spent waiting for a JDBC connection permit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.timeouts = Counter.builder(METRIC_NAME + ".timeouts")
+                .description("Number of JDBC connection permit requests that timed out")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a JDBC connection permit", e);
+        }
+        acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            timeouts.increment();
+            throw new SQLTransientConnectionException(
+                    "No JDBC connection permit available within " + acquireTimeoutMs + "ms");
+        }
+    }
+
+    /**
+     * クローズ時に許可を1回だけ返却する接続プロキシを作成
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            try {
+                                connection.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
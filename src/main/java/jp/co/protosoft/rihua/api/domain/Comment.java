@@ -1,6 +1,7 @@
 package jp.co.protosoft.rihua.api.domain;
 
 import jp.co.protosoft.rihua.api.domain.enums.PostStatus;
+import jp.co.protosoft.rihua.api.domain.listener.CommentTreeCacheInvalidator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -28,7 +29,8 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@NamedEntityGraph(name = "Comment.author", attributeNodes = @NamedAttributeNode("author"))
+@EntityListeners({AuditingEntityListener.class, CommentTreeCacheInvalidator.class})
 public class Comment {
 
     @Id
@@ -54,7 +56,7 @@ public class Comment {
     private String content;
 
     @Min(0)
-    @Column(name = "like_count", nullable = false)
+    @Column(name = "like_count", nullable = false, updatable = false)
     @Builder.Default
     private Integer likeCount = 0;
 
@@ -125,14 +127,22 @@ public class Comment {
 
     /**
      * いいね数を増加
+     * 
+     * @deprecated いいね数はデータベースで集計されるため、このエンティティの値を変更しても保存されません。
+     *             {@link jp.co.protosoft.rihua.api.service.LikeService} を使用してください
      */
+    @Deprecated
     public void incrementLikeCount() {
         this.likeCount++;
     }
 
     /**
      * いいね数を減少
+     * 
+     * @deprecated いいね数はデータベースで集計されるため、このエンティティの値を変更しても保存されません。
+     *             {@link jp.co.protosoft.rihua.api.service.LikeService} を使用してください
      */
+    @Deprecated
     public void decrementLikeCount() {
         if (this.likeCount > 0) {
             this.likeCount--;
@@ -30,6 +30,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "Event.organizer", attributeNodes = @NamedAttributeNode("organizer"))
 @EntityListeners(AuditingEntityListener.class)
 public class Event {
 
@@ -90,6 +91,11 @@ public class Event {
     @Builder.Default
     private Integer soldTickets = 0;
 
+    @Min(0)
+    @Column(name = "view_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer viewCount = 0;
+
     @Size(max = 1000)
     @Column(name = "image_url", length = 1000)
     private String imageUrl;
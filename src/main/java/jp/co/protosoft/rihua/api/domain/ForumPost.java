@@ -29,6 +29,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "ForumPost.author", attributeNodes = @NamedAttributeNode("author"))
 @EntityListeners(AuditingEntityListener.class)
 public class ForumPost {
 
@@ -57,7 +58,7 @@ public class ForumPost {
     private ForumCategory category = ForumCategory.GENERAL;
 
     @Min(0)
-    @Column(name = "like_count", nullable = false)
+    @Column(name = "like_count", nullable = false, updatable = false)
     @Builder.Default
     private Integer likeCount = 0;
 
@@ -66,8 +67,9 @@ public class ForumPost {
     @Builder.Default
     private Integer commentCount = 0;
 
+    // 閲覧数は ViewCountAggregator がまとめてSQLで加算するため、エンティティの保存では上書きしない
     @Min(0)
-    @Column(name = "view_count", nullable = false)
+    @Column(name = "view_count", nullable = false, updatable = false)
     @Builder.Default
     private Integer viewCount = 0;
 
@@ -202,7 +204,11 @@ public class ForumPost {
 
     /**
      * いいね数を増加
+     * 
+     * @deprecated いいね数はデータベースで集計されるため、このエンティティの値を変更しても保存されません。
+     *             {@link jp.co.protosoft.rihua.api.service.LikeService} を使用してください
      */
+    @Deprecated
     public void incrementLikeCount() {
         this.likeCount++;
         updateLastActivity();
@@ -210,7 +216,11 @@ public class ForumPost {
 
     /**
      * いいね数を減少
+     * 
+     * @deprecated いいね数はデータベースで集計されるため、このエンティティの値を変更しても保存されません。
+     *             {@link jp.co.protosoft.rihua.api.service.LikeService} を使用してください
      */
+    @Deprecated
     public void decrementLikeCount() {
         if (this.likeCount > 0) {
             this.likeCount--;
@@ -238,7 +248,13 @@ public class ForumPost {
 
     /**
      * 閲覧数を増加
+     * 
+     * <p>このエンティティの値のみを変更し、データベースには反映されません。
+     * 閲覧の記録には {@link jp.co.protosoft.rihua.api.service.ViewCountAggregator#record} を使用してください。</p>
+     * 
+     * @deprecated {@link jp.co.protosoft.rihua.api.service.ViewCountAggregator#record} を使用してください
      */
+    @Deprecated
     public void incrementViewCount() {
         this.viewCount++;
     }
@@ -2,12 +2,16 @@ package jp.co.protosoft.rihua.api.domain;
 
 import jp.co.protosoft.rihua.api.domain.enums.HousingStatus;
 import jp.co.protosoft.rihua.api.domain.enums.HousingType;
+import jp.co.protosoft.rihua.api.domain.listener.HousingMapCacheInvalidator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -22,6 +26,8 @@ import java.util.UUID;
  * 
  * <p>住居情報を管理します。</p>
  * 
+ * <p>画像URLは、同じ永続化コンテキストの未初期化の住居の分を最大50件ずつまとめて読み込みます。</p>
+ * 
  * @author Rihua Development Team
  * @since 1.0.0
  */
@@ -31,7 +37,8 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@NamedEntityGraph(name = "Housing.owner", attributeNodes = @NamedAttributeNode("owner"))
+@EntityListeners({AuditingEntityListener.class, HousingMapCacheInvalidator.class})
 public class Housing {
 
     @Id
@@ -122,6 +129,7 @@ public class Housing {
     private Boolean parkingAvailable = false;
 
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "housing_images", joinColumns = @JoinColumn(name = "housing_id"))
     @Column(name = "image_url", length = 1000)
     private List<String> imageUrls;
@@ -134,6 +142,11 @@ public class Housing {
     @Column(name = "walk_minutes_to_station")
     private Integer walkMinutesToStation;
 
+    @Min(0)
+    @Column(name = "view_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer viewCount = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     @Builder.Default
@@ -158,6 +171,22 @@ public class Housing {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    /**
+     * 読み込み・保存時点の緯度（位置変更時に移動前の地図キャッシュを破棄するために保持し、永続化しない）
+     */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private BigDecimal persistedLatitude;
+
+    /**
+     * 読み込み・保存時点の経度
+     */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private BigDecimal persistedLongitude;
+
     /**
      * ソフトデリート実行
      */
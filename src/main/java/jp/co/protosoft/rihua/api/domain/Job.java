@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -22,6 +23,9 @@ import java.util.UUID;
  * 
  * <p>求人情報を管理します。</p>
  * 
+ * <p>応募条件・福利厚生・スキルは、同じ永続化コンテキストの未初期化の求人の分を最大50件ずつまとめて読み込みます。
+ * 一覧の1ページ分を参照しても、追加のクエリはコレクションごとに1回です。</p>
+ * 
  * @author Rihua Development Team
  * @since 1.0.0
  */
@@ -31,6 +35,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "Job.employer", attributeNodes = @NamedAttributeNode("employer"))
 @EntityListeners(AuditingEntityListener.class)
 public class Job {
 
@@ -118,16 +123,19 @@ public class Job {
     private Integer experienceRequired;
 
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "job_requirements", joinColumns = @JoinColumn(name = "job_id"))
     @Column(name = "requirement", length = 500)
     private List<String> requirements;
 
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "job_benefits", joinColumns = @JoinColumn(name = "job_id"))
     @Column(name = "benefit", length = 500)
     private List<String> benefits;
 
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "job_skills", joinColumns = @JoinColumn(name = "job_id"))
     @Column(name = "skill", length = 100)
     private List<String> requiredSkills;
@@ -149,7 +157,7 @@ public class Job {
     private Integer applicationCount = 0;
 
     @Min(0)
-    @Column(name = "view_count", nullable = false)
+    @Column(name = "view_count", nullable = false, updatable = false)
     @Builder.Default
     private Integer viewCount = 0;
 
@@ -29,6 +29,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = "Ticket.event", attributeNodes = @NamedAttributeNode("event"))
 @EntityListeners(AuditingEntityListener.class)
 public class Ticket {
 
@@ -2,11 +2,13 @@ package jp.co.protosoft.rihua.api.domain;
 
 import jp.co.protosoft.rihua.api.domain.enums.UserRole;
 import jp.co.protosoft.rihua.api.domain.enums.UserStatus;
+import jp.co.protosoft.rihua.api.domain.listener.UserPrincipalCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -20,6 +22,9 @@ import java.util.UUID;
  * 
  * <p>システムユーザーの基本情報を管理します。</p>
  * 
+ * <p>一覧の作成者などとして遅延読み込みされる場合は、同じ永続化コンテキストの未初期化のユーザーとロールを
+ * 最大50件ずつまとめて読み込みます（エンティティグラフを適用できないネイティブクエリの一覧向け）。</p>
+ * 
  * @author Rihua Development Team
  * @since 1.0.0
  */
@@ -29,7 +34,8 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserPrincipalCacheInvalidator.class})
+@BatchSize(size = 50)
 public class User {
 
     @Id
@@ -61,6 +67,7 @@ public class User {
     private UserStatus status = UserStatus.PENDING_VERIFICATION;
 
     @ElementCollection(targetClass = UserRole.class, fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "role")
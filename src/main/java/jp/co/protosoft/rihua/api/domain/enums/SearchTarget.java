@@ -0,0 +1,30 @@
+package jp.co.protosoft.rihua.api.domain.enums;
+
+/**
+ * 全文検索対象タイプ列挙型
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public enum SearchTarget {
+    
+    /**
+     * フォーラム投稿
+     */
+    FORUM_POST,
+    
+    /**
+     * イベント
+     */
+    EVENT,
+    
+    /**
+     * 住居
+     */
+    HOUSING,
+    
+    /**
+     * 求人
+     */
+    JOB
+}
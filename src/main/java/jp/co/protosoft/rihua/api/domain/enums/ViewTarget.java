@@ -0,0 +1,30 @@
+package jp.co.protosoft.rihua.api.domain.enums;
+
+/**
+ * 閲覧数の集計対象タイプ列挙型
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public enum ViewTarget {
+    
+    /**
+     * フォーラム投稿
+     */
+    FORUM_POST,
+    
+    /**
+     * イベント
+     */
+    EVENT,
+    
+    /**
+     * 住居
+     */
+    HOUSING,
+    
+    /**
+     * 求人
+     */
+    JOB
+}
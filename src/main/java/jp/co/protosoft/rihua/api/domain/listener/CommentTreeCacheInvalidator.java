@@ -0,0 +1,66 @@
+package jp.co.protosoft.rihua.api.domain.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jp.co.protosoft.rihua.api.domain.Comment;
+import jp.co.protosoft.rihua.api.service.CommentTreeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * コメント更新時のコメントツリーキャッシュ破棄リスナー
+ * 
+ * <p>{@link Comment} のエンティティリスナーとして登録され、コメントの登録・更新・削除時に
+ * {@link CommentTreeService} のその投稿のキャッシュを破棄します。コミット前に別スレッドが古い値を再キャッシュしないよう、
+ * トランザクション中の場合はコミット後にも再度破棄します。</p>
+ * 
+ * <p>JPQLの一括UPDATEはエンティティリスナーを経由しないため、その場合はTTLまで古い値が残ります。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public class CommentTreeCacheInvalidator {
+
+    private final ObjectProvider<CommentTreeService> commentTreeService;
+
+    public CommentTreeCacheInvalidator(ObjectProvider<CommentTreeService> commentTreeService) {
+        this.commentTreeService = commentTreeService;
+    }
+
+    /**
+     * コメントの登録・更新・削除後に投稿のコメントツリーのキャッシュを破棄
+     * 
+     * @param comment コメント
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCommentChanged(Comment comment) {
+        if (comment.getPost() == null) {
+            return;
+        }
+        UUID postId = comment.getPost().getId();
+
+        invalidate(postId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(postId);
+                }
+            });
+        }
+    }
+
+    private void invalidate(UUID postId) {
+        CommentTreeService trees = commentTreeService.getIfAvailable();
+        if (trees != null) {
+            trees.invalidate(postId);
+        }
+    }
+}
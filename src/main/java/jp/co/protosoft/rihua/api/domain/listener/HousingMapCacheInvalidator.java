@@ -0,0 +1,106 @@
+package jp.co.protosoft.rihua.api.domain.listener;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jp.co.protosoft.rihua.api.domain.Housing;
+import jp.co.protosoft.rihua.api.service.HousingClusterService;
+import jp.co.protosoft.rihua.api.service.MapViewportService;
+import jp.co.protosoft.rihua.api.service.MapViewportService.MapLayer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 住居更新時の地図キャッシュ破棄リスナー
+ * 
+ * <p>{@link Housing} のエンティティリスナーとして登録され、住居の登録・更新・削除時に
+ * {@link HousingClusterService} のクラスタータイルと {@link MapViewportService} の住居マーカータイルのうち、
+ * 移動前と移動後の位置を含むものだけを破棄します。コミット前に別スレッドが古い値を再キャッシュしないよう、
+ * トランザクション中の場合はコミット後にも再度破棄します。</p>
+ * 
+ * <p>JPQLの一括UPDATEはエンティティリスナーを経由しないため、その場合はTTLまで古い値が残ります。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public class HousingMapCacheInvalidator {
+
+    private final ObjectProvider<HousingClusterService> housingClusterService;
+    private final ObjectProvider<MapViewportService> mapViewportService;
+
+    public HousingMapCacheInvalidator(
+            ObjectProvider<HousingClusterService> housingClusterService,
+            ObjectProvider<MapViewportService> mapViewportService) {
+        this.housingClusterService = housingClusterService;
+        this.mapViewportService = mapViewportService;
+    }
+
+    /**
+     * 読み込み時の位置を記録
+     * 
+     * @param housing 住居
+     */
+    @PostLoad
+    public void onHousingLoaded(Housing housing) {
+        rememberLocation(housing);
+    }
+
+    /**
+     * 住居の登録・更新・削除後に移動前と移動後の位置のキャッシュを破棄
+     * 
+     * @param housing 住居
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onHousingChanged(Housing housing) {
+        List<double[]> locations = new ArrayList<>(2);
+        addLocation(locations, housing.getPersistedLatitude(), housing.getPersistedLongitude());
+        addLocation(locations, housing.getLatitude(), housing.getLongitude());
+        rememberLocation(housing);
+        if (locations.isEmpty()) {
+            return;
+        }
+
+        invalidate(locations);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(locations);
+                }
+            });
+        }
+    }
+
+    private void invalidate(List<double[]> locations) {
+        HousingClusterService clusters = housingClusterService.getIfAvailable();
+        MapViewportService markers = mapViewportService.getIfAvailable();
+        for (double[] location : locations) {
+            if (clusters != null) {
+                clusters.invalidate(location[0], location[1]);
+            }
+            if (markers != null) {
+                markers.invalidate(MapLayer.HOUSING, location[0], location[1]);
+            }
+        }
+    }
+
+    private static void addLocation(List<double[]> locations, BigDecimal latitude, BigDecimal longitude) {
+        if (latitude != null && longitude != null) {
+            locations.add(new double[] {latitude.doubleValue(), longitude.doubleValue()});
+        }
+    }
+
+    private static void rememberLocation(Housing housing) {
+        housing.setPersistedLatitude(housing.getLatitude());
+        housing.setPersistedLongitude(housing.getLongitude());
+    }
+}
@@ -0,0 +1,56 @@
+package jp.co.protosoft.rihua.api.domain.listener;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jp.co.protosoft.rihua.api.domain.User;
+import jp.co.protosoft.rihua.api.security.UserPrincipalCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * ユーザー更新時のプリンシパルキャッシュ破棄リスナー
+ * 
+ * <p>{@link User} のエンティティリスナーとして登録され、ステータス・権限・パスワードを含むユーザーの更新・削除時に
+ * {@link UserPrincipalCache} の該当エントリを破棄します。コミット前に別スレッドが古い値を再キャッシュしないよう、
+ * トランザクション中の場合はコミット後にも再度破棄します。</p>
+ * 
+ * <p>JPQLの一括UPDATEはエンティティリスナーを経由しないため、その場合はTTLまで古い値が残ります。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public class UserPrincipalCacheInvalidator {
+
+    private final ObjectProvider<UserPrincipalCache> userPrincipalCache;
+
+    public UserPrincipalCacheInvalidator(ObjectProvider<UserPrincipalCache> userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
+    }
+
+    /**
+     * ユーザーの更新・削除後にキャッシュを破棄
+     * 
+     * @param user ユーザー
+     */
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        UserPrincipalCache cache = userPrincipalCache.getIfAvailable();
+        if (cache == null || user.getId() == null) {
+            return;
+        }
+
+        String userId = user.getId().toString();
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package jp.co.protosoft.rihua.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * コメントツリーのノードDTO
+ * 
+ * <p>公開中のコメント1件と、読み込んだ範囲の返信を持ちます。
+ * 深さ・件数の上限で返信を読み切れなかった場合は {@code replyCount} が {@code replies} の件数より多くなります。</p>
+ * 
+ * <p>キャッシュしたツリーを呼び出し元と共有するため不変です。{@code replies} も変更できない一覧です。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Value
+@Builder(toBuilder = true)
+public class CommentNode {
+
+    /**
+     * コメントID
+     */
+    UUID id;
+
+    /**
+     * 親コメントID（トップレベルコメントの場合null）
+     */
+    @JsonIgnore
+    UUID parentId;
+
+    /**
+     * 深さ（トップレベルコメントは0）
+     */
+    int depth;
+
+    /**
+     * 作成者ID
+     */
+    UUID authorId;
+
+    /**
+     * 作成者の名
+     */
+    String authorFirstName;
+
+    /**
+     * 作成者の姓
+     */
+    String authorLastName;
+
+    /**
+     * 作成者のアバターURL
+     */
+    String authorAvatarUrl;
+
+    /**
+     * 本文
+     */
+    String content;
+
+    /**
+     * いいね数
+     */
+    int likeCount;
+
+    /**
+     * 公開中の返信数
+     */
+    long replyCount;
+
+    /**
+     * 作成日時
+     */
+    LocalDateTime createdAt;
+
+    /**
+     * 返信（作成日時順）
+     */
+    @Builder.Default
+    List<CommentNode> replies = List.of();
+}
@@ -0,0 +1,42 @@
+package jp.co.protosoft.rihua.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * カーソルページレスポンスDTO
+ * 
+ * <p>キーセットページングの1ページ分の結果です。総件数は返さず、続きがある場合のみ
+ * 次ページ取得用の不透明なカーソルを返します。</p>
+ * 
+ * @param <T> 要素の型
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    /**
+     * ページの要素
+     */
+    private List<T> items;
+
+    /**
+     * 次ページのカーソル（最終ページの場合はnull）
+     */
+    private String nextCursor;
+
+    /**
+     * 次ページがあるか
+     */
+    private boolean hasNext;
+}
@@ -0,0 +1,51 @@
+package jp.co.protosoft.rihua.api.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * 住居クラスターDTO
+ * 
+ * <p>地図を縮小表示した際に、ジオハッシュのセルごとに公開中の住居をまとめた1件分です。
+ * 位置はセル内の住居の重心で、セルの中心ではありません。
+ * タイルごとのキャッシュに保持した一覧を呼び出し元と共有するため不変です。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Value
+@Builder
+public class HousingCluster {
+
+    /**
+     * セルのジオハッシュ
+     */
+    String geohash;
+
+    /**
+     * 住居数
+     */
+    long count;
+
+    /**
+     * 重心の緯度
+     */
+    double latitude;
+
+    /**
+     * 重心の経度
+     */
+    double longitude;
+
+    /**
+     * 最低価格
+     */
+    BigDecimal minPrice;
+
+    /**
+     * 最高価格
+     */
+    BigDecimal maxPrice;
+}
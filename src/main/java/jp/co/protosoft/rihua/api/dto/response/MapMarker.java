@@ -0,0 +1,47 @@
+package jp.co.protosoft.rihua.api.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 地図マーカーDTO
+ * 
+ * <p>地図の表示範囲に含まれる住居・イベント1件分の表示に必要な項目のみを持ちます。</p>
+ * 
+ * <p>タイルごとのキャッシュに保持した一覧を呼び出し元と共有するため不変です。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Value
+@Builder
+public class MapMarker {
+
+    /**
+     * ID
+     */
+    UUID id;
+
+    /**
+     * タイトル
+     */
+    String title;
+
+    /**
+     * 緯度
+     */
+    double latitude;
+
+    /**
+     * 経度
+     */
+    double longitude;
+
+    /**
+     * 価格
+     */
+    BigDecimal price;
+}
@@ -0,0 +1,50 @@
+package jp.co.protosoft.rihua.api.dto.response;
+
+import jp.co.protosoft.rihua.api.domain.enums.SearchTarget;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 全文検索結果DTO
+ * 
+ * <p>横断検索の1件分です。詳細は {@code target} と {@code id} から各エンドポイントで取得します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+
+    /**
+     * 検索対象タイプ
+     */
+    private SearchTarget target;
+
+    /**
+     * ID
+     */
+    private UUID id;
+
+    /**
+     * タイトル
+     */
+    private String title;
+
+    /**
+     * 関連度（0以上1未満、大きいほど関連が高い）
+     */
+    private double rank;
+
+    /**
+     * 作成日時
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,99 @@
+package jp.co.protosoft.rihua.api.exception;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jp.co.protosoft.rihua.api.dto.response.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+
+/**
+ * グローバル例外ハンドラー
+ * 
+ * <p>コントローラーからスローされた例外を統一形式の {@link ErrorResponse} に変換します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    /**
+     * パスワードハッシュ処理の混雑を 503 と Retry-After に変換
+     * 
+     * @param ex 例外
+     * @param request HTTPリクエスト
+     * @return エラーレスポンス
+     */
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusyException(
+            PasswordHashingBusyException ex, HttpServletRequest request) {
+
+        log.debug("Password hashing busy, rejecting request: {}", request.getRequestURI());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("SERVICE_BUSY")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * 不正なページングカーソルを 400 に変換
+     * 
+     * @param ex 例外
+     * @param request HTTPリクエスト
+     * @return エラーレスポンス
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(
+            InvalidCursorException ex, HttpServletRequest request) {
+
+        log.debug("Invalid pagination cursor: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("INVALID_CURSOR")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    /**
+     * 不正な位置検索条件を 400 に変換
+     * 
+     * @param ex 例外
+     * @param request HTTPリクエスト
+     * @return エラーレスポンス
+     */
+    @ExceptionHandler(InvalidGeoQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidGeoQueryException(
+            InvalidGeoQueryException ex, HttpServletRequest request) {
+
+        log.debug("Invalid geo query: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("INVALID_GEO_QUERY")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+}
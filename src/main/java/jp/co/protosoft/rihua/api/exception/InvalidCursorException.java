@@ -0,0 +1,21 @@
+package jp.co.protosoft.rihua.api.exception;
+
+/**
+ * ページングカーソルが不正な場合の例外
+ * 
+ * <p>カーソルの形式が壊れている場合や、別のフィード順で発行されたカーソルが指定された場合にスローされます。
+ * {@link GlobalExceptionHandler} により 400 Bad Request に変換されます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package jp.co.protosoft.rihua.api.exception;
+
+/**
+ * 位置検索の条件が不正な場合の例外
+ * 
+ * <p>緯度経度が範囲外の場合や、地図の表示範囲の南端が北端より北にある場合などにスローされます。
+ * {@link GlobalExceptionHandler} により 400 Bad Request に変換されます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public class InvalidGeoQueryException extends RuntimeException {
+
+    public InvalidGeoQueryException(String message) {
+        super(message);
+    }
+}
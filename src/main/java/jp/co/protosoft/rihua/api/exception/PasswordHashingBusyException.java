@@ -0,0 +1,29 @@
+package jp.co.protosoft.rihua.api.exception;
+
+/**
+ * パスワードハッシュ処理の混雑例外
+ * 
+ * <p>ハッシュ専用スレッドプールの待ち行列が上限に達した場合、または待機時間が上限を超えた場合にスローされます。
+ * {@link GlobalExceptionHandler} により 503 Service Unavailable と Retry-After ヘッダーに変換されます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("パスワード処理が混雑しています。しばらくしてから再度お試しください。");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 再試行までの推奨待機時間を取得
+     * 
+     * @return 待機時間（秒）
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
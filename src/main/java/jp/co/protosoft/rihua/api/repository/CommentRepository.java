@@ -6,6 +6,8 @@ import jp.co.protosoft.rihua.api.domain.User;
 import jp.co.protosoft.rihua.api.domain.enums.CommentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -40,6 +42,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @param pageable ページング情報
      * @return コメントページ
      */
+    @EntityGraph("Comment.author")
     Page<Comment> findByPostAndDeletedAtIsNull(ForumPost post, Pageable pageable);
 
     /**
@@ -50,8 +53,20 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @return コメントページ
      */
     @Query("SELECT c FROM Comment c WHERE c.post = :post AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL ORDER BY c.createdAt ASC")
+    @EntityGraph("Comment.author")
     Page<Comment> findPublishedCommentsByPost(@Param("post") ForumPost post, Pageable pageable);
 
+    /**
+     * フォーラム投稿の公開コメントを検索（スライス、件数クエリなし）
+     * 
+     * @param post フォーラム投稿
+     * @param pageable ページング情報
+     * @return コメントスライス
+     */
+    @Query("SELECT c FROM Comment c WHERE c.post = :post AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL ORDER BY c.createdAt ASC")
+    @EntityGraph("Comment.author")
+    Slice<Comment> findPublishedCommentsByPostSlice(@Param("post") ForumPost post, Pageable pageable);
+
     /**
      * 作成者でコメントを検索（削除済み除外）
      * 
@@ -59,6 +74,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @param pageable ページング情報
      * @return コメントページ
      */
+    @EntityGraph("Comment.author")
     Page<Comment> findByAuthorAndDeletedAtIsNull(User author, Pageable pageable);
 
     /**
@@ -68,6 +84,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @param pageable ページング情報
      * @return コメントページ
      */
+    @EntityGraph("Comment.author")
     Page<Comment> findByStatusAndDeletedAtIsNull(CommentStatus status, Pageable pageable);
 
     /**
@@ -77,6 +94,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @param pageable ページング情報
      * @return コメントページ
      */
+    @EntityGraph("Comment.author")
     Page<Comment> findByParentAndDeletedAtIsNull(Comment parent, Pageable pageable);
 
     /**
@@ -87,8 +105,20 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @return コメントページ
      */
     @Query("SELECT c FROM Comment c WHERE c.parent = :parent AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL ORDER BY c.createdAt ASC")
+    @EntityGraph("Comment.author")
     Page<Comment> findPublishedRepliesByParentComment(@Param("parent") Comment parent, Pageable pageable);
 
+    /**
+     * 親コメントの公開返信を検索（スライス、件数クエリなし）
+     * 
+     * @param parent 親コメント
+     * @param pageable ページング情報
+     * @return コメントスライス
+     */
+    @Query("SELECT c FROM Comment c WHERE c.parent = :parent AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL ORDER BY c.createdAt ASC")
+    @EntityGraph("Comment.author")
+    Slice<Comment> findPublishedRepliesByParentCommentSlice(@Param("parent") Comment parent, Pageable pageable);
+
     /**
      * トップレベルコメントを検索（返信ではないコメント）
      * 
@@ -97,8 +127,20 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @return コメントページ
      */
     @Query("SELECT c FROM Comment c WHERE c.post = :post AND c.parent IS NULL AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL ORDER BY c.createdAt ASC")
+    @EntityGraph("Comment.author")
     Page<Comment> findTopLevelCommentsByPost(@Param("post") ForumPost post, Pageable pageable);
 
+    /**
+     * トップレベルコメントを検索（返信ではないコメント、スライス、件数クエリなし）
+     * 
+     * @param post フォーラム投稿
+     * @param pageable ページング情報
+     * @return コメントスライス
+     */
+    @Query("SELECT c FROM Comment c WHERE c.post = :post AND c.parent IS NULL AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL ORDER BY c.createdAt ASC")
+    @EntityGraph("Comment.author")
+    Slice<Comment> findTopLevelCommentsByPostSlice(@Param("post") ForumPost post, Pageable pageable);
+
     /**
      * キーワードでコメントを検索
      * 
@@ -107,6 +149,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @return コメントページ
      */
     @Query("SELECT c FROM Comment c WHERE LOWER(c.content) LIKE LOWER(CONCAT('%', :keyword, '%')) AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL")
+    @EntityGraph("Comment.author")
     Page<Comment> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
     /**
@@ -117,6 +160,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @return コメントページ
      */
     @Query("SELECT c FROM Comment c WHERE c.post = :post AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL ORDER BY c.likeCount DESC")
+    @EntityGraph("Comment.author")
     Page<Comment> findPopularCommentsByPost(@Param("post") ForumPost post, Pageable pageable);
 
     /**
@@ -127,6 +171,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @return コメントページ
      */
     @Query("SELECT c FROM Comment c WHERE c.post = :post AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL ORDER BY c.createdAt DESC")
+    @EntityGraph("Comment.author")
     Page<Comment> findLatestCommentsByPost(@Param("post") ForumPost post, Pageable pageable);
 
     /**
@@ -137,6 +182,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @return コメントページ
      */
     @Query("SELECT c FROM Comment c WHERE c.createdAt >= :sinceDate AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL ORDER BY c.createdAt DESC")
+    @EntityGraph("Comment.author")
     Page<Comment> findRecentComments(@Param("sinceDate") LocalDateTime sinceDate, Pageable pageable);
 
     /**
@@ -164,6 +210,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @return コメントページ
      */
     @Query("SELECT c FROM Comment c WHERE c.status = 'PENDING_APPROVAL' AND c.deletedAt IS NULL ORDER BY c.createdAt ASC")
+    @EntityGraph("Comment.author")
     Page<Comment> findPendingApprovalComments(Pageable pageable);
 
     /**
@@ -173,6 +220,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * @return コメントページ
      */
     @Query("SELECT c FROM Comment c WHERE c.reportCount > 0 AND c.status = 'PUBLISHED' AND c.deletedAt IS NULL ORDER BY c.reportCount DESC")
+    @EntityGraph("Comment.author")
     Page<Comment> findReportedComments(Pageable pageable);
 
     /**
@@ -212,6 +260,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
            "(:endDate IS NULL OR c.createdAt <= :endDate) AND " +
            "c.status = 'PUBLISHED' AND c.deletedAt IS NULL " +
            "ORDER BY c.createdAt DESC")
+    @EntityGraph("Comment.author")
     Page<Comment> findByComplexCriteria(
             @Param("post") ForumPost post,
             @Param("author") User author,
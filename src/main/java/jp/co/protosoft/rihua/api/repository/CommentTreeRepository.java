@@ -0,0 +1,149 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import jp.co.protosoft.rihua.api.dto.response.CommentNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * コメントツリーリポジトリ
+ *
+ * <p>投稿のトップレベルコメント1ページ分とその返信、またはあるコメントの部分木を1回のクエリで取得します。
+ * 部分木は {@code V10__Add_comment_materialized_path.sql} でトリガーにより維持する {@code path} の範囲走査で読み込むため、
+ * 返信の深さによらずクエリの回数は変わりません。</p>
+ *
+ * <p>非公開・削除済みのコメントの返信も範囲に含まれるため、呼び出し元で親が読み込まれていない行を除外してください。</p>
+ *
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class CommentTreeRepository {
+
+    private static final String PUBLISHED = "c.status = 'PUBLISHED' AND c.deleted_at IS NULL";
+
+    private static final String NODE_COLUMNS =
+            "SELECT c.id, c.parent_id, c.author_id, c.content, c.like_count, c.created_at, c.depth, " +
+            "u.first_name, u.last_name, u.avatar_url, " +
+            "(SELECT COUNT(*) FROM comments r WHERE r.parent_id = c.id AND r.status = 'PUBLISHED' AND r.deleted_at IS NULL) AS reply_count ";
+
+    // トップレベルコメントは次ページの有無の判定のため1件多く取得し、返信はページ内のトップレベルコメントの部分木からのみ読む。
+    // 深さ順に並べて件数を打ち切るため、上限に達した場合は深い返信から省かれる。
+    private static final String TREE_QUERY =
+            "WITH roots AS (" +
+            "SELECT c.path, ROW_NUMBER() OVER (ORDER BY c.created_at, c.id) AS root_rank FROM comments c " +
+            "WHERE c.post_id = :postId AND c.parent_id IS NULL AND " + PUBLISHED + " " +
+            "ORDER BY c.created_at, c.id LIMIT :rootLimit OFFSET :rootOffset) " +
+            NODE_COLUMNS +
+            "FROM roots t JOIN comments c ON c.path >= t.path AND c.path < t.path || '0' " +
+            "AND (c.depth = 0 OR (t.root_rank <= :lastRootRank AND c.depth <= :maxDepth)) " +
+            "JOIN users u ON u.id = c.author_id " +
+            "WHERE " + PUBLISHED + " " +
+            "ORDER BY c.depth, c.created_at, c.id LIMIT :maxNodes";
+
+    private static final String SUBTREE_QUERY =
+            NODE_COLUMNS +
+            "FROM comments s JOIN comments c ON c.path >= s.path AND c.path < s.path || '0' " +
+            "AND c.depth <= s.depth + :maxDepth " +
+            "JOIN users u ON u.id = c.author_id " +
+            "WHERE s.id = :commentId AND " + PUBLISHED + " " +
+            "ORDER BY c.depth, c.created_at, c.id LIMIT :maxNodes";
+
+    private static final String DESCENDANT_COUNT_QUERY =
+            "SELECT COUNT(*) FROM comments s JOIN comments c ON c.path > s.path AND c.path < s.path || '0' " +
+            "WHERE s.id = :commentId AND " + PUBLISHED;
+
+    private static final String POST_IDS_QUERY =
+            "SELECT DISTINCT post_id FROM comments WHERE id IN (:commentIds)";
+
+    private static final RowMapper<CommentNode> ROW_MAPPER = (rs, rowNum) -> CommentNode.builder()
+            .id(rs.getObject("id", UUID.class))
+            .parentId(rs.getObject("parent_id", UUID.class))
+            .depth(rs.getInt("depth"))
+            .authorId(rs.getObject("author_id", UUID.class))
+            .authorFirstName(rs.getString("first_name"))
+            .authorLastName(rs.getString("last_name"))
+            .authorAvatarUrl(rs.getString("avatar_url"))
+            .content(rs.getString("content"))
+            .likeCount(rs.getInt("like_count"))
+            .replyCount(rs.getLong("reply_count"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 投稿のトップレベルコメント1ページ分とその返信を取得
+     *
+     * <p>返信は {@code replies} に格納せず、{@code parentId} と {@code depth} を持つ平坦な一覧として返します。
+     * ページ内のトップレベルコメントの次の1件も、次ページの有無の判定用に返信なしで含まれます。</p>
+     *
+     * @param postId 投稿ID
+     * @param page ページ番号（0〜）
+     * @param pageSize 1ページのトップレベルコメント数
+     * @param maxDepth 読み込む返信の最大の深さ
+     * @param maxNodes 最大件数（トップレベルコメントを含む）
+     * @return 深さ・作成日時順のコメント
+     */
+    public List<CommentNode> findTree(UUID postId, int page, int pageSize, int maxDepth, int maxNodes) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("postId", postId)
+                .addValue("rootLimit", pageSize + 1)
+                .addValue("rootOffset", (long) page * pageSize)
+                .addValue("lastRootRank", (long) (page + 1) * pageSize)
+                .addValue("maxDepth", maxDepth)
+                .addValue("maxNodes", maxNodes);
+        return jdbcTemplate.query(TREE_QUERY, params, ROW_MAPPER);
+    }
+
+    /**
+     * コメントとその返信を取得
+     *
+     * <p>{@link #findTree} で深さ・件数の上限により省かれた返信の続きを読み込むために使用します。</p>
+     *
+     * @param commentId コメントID
+     * @param maxDepth 読み込む返信の最大の深さ（指定したコメントからの相対）
+     * @param maxNodes 最大件数（指定したコメントを含む）
+     * @return 深さ・作成日時順のコメント（指定したコメントが非公開・削除済みの場合は含まれない）
+     */
+    public List<CommentNode> findSubtree(UUID commentId, int maxDepth, int maxNodes) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("commentId", commentId)
+                .addValue("maxDepth", maxDepth)
+                .addValue("maxNodes", maxNodes);
+        return jdbcTemplate.query(SUBTREE_QUERY, params, ROW_MAPPER);
+    }
+
+    /**
+     * コメントの公開中の子孫数を取得
+     *
+     * <p>非公開・削除済みのコメントの下にある公開中の返信も数えます。</p>
+     *
+     * @param commentId コメントID
+     * @return 子孫数
+     */
+    public long countPublishedDescendants(UUID commentId) {
+        Long count = jdbcTemplate.queryForObject(
+                DESCENDANT_COUNT_QUERY, new MapSqlParameterSource("commentId", commentId), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * コメントが属する投稿のIDを取得
+     *
+     * @param commentIds コメントID
+     * @return 投稿ID
+     */
+    public List<UUID> findPostIds(Collection<UUID> commentIds) {
+        return jdbcTemplate.queryForList(
+                POST_IDS_QUERY, new MapSqlParameterSource("commentIds", commentIds), UUID.class);
+    }
+}
@@ -4,9 +4,15 @@ import jp.co.protosoft.rihua.api.domain.Event;
 import jp.co.protosoft.rihua.api.domain.User;
 import jp.co.protosoft.rihua.api.domain.enums.EventCategory;
 import jp.co.protosoft.rihua.api.domain.enums.EventStatus;
+import jp.co.protosoft.rihua.api.repository.projection.EventCard;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -24,7 +30,7 @@ import java.util.UUID;
  * @since 1.0.0
  */
 @Repository
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event> {
 
     /**
      * IDでイベントを検索（削除済み除外）
@@ -41,8 +47,44 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * @return イベントページ
      */
     @Query("SELECT e FROM Event e WHERE e.status = 'PUBLISHED' AND e.deletedAt IS NULL ORDER BY e.startTime ASC")
+    @EntityGraph("Event.organizer")
     Page<Event> findPublishedEvents(Pageable pageable);
 
+    /**
+     * 公開されているイベントを検索（スライス、件数クエリなし）
+     * 
+     * @param pageable ページング情報
+     * @return イベントスライス
+     */
+    @Query("SELECT e FROM Event e WHERE e.status = 'PUBLISHED' AND e.deletedAt IS NULL ORDER BY e.startTime ASC")
+    @EntityGraph("Event.organizer")
+    Slice<Event> findPublishedEventsSlice(Pageable pageable);
+
+    /**
+     * 公開されているイベントのカードを検索
+     * 
+     * @param pageable ページング情報
+     * @return イベントカードページ
+     */
+    @Query(value = "SELECT e.id AS id, e.title AS title, e.category AS category, e.startTime AS startTime, " +
+           "e.endTime AS endTime, e.location AS location, e.price AS price, e.capacity AS capacity, " +
+           "e.soldTickets AS soldTickets, e.imageUrl AS imageUrl, e.viewCount AS viewCount " +
+           "FROM Event e WHERE e.status = 'PUBLISHED' AND e.deletedAt IS NULL ORDER BY e.startTime ASC",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.status = 'PUBLISHED' AND e.deletedAt IS NULL")
+    Page<EventCard> findPublishedEventCards(Pageable pageable);
+
+    /**
+     * 公開されているイベントのカードを検索（スライス、件数クエリなし）
+     * 
+     * @param pageable ページング情報
+     * @return イベントカードスライス
+     */
+    @Query("SELECT e.id AS id, e.title AS title, e.category AS category, e.startTime AS startTime, " +
+           "e.endTime AS endTime, e.location AS location, e.price AS price, e.capacity AS capacity, " +
+           "e.soldTickets AS soldTickets, e.imageUrl AS imageUrl, e.viewCount AS viewCount " +
+           "FROM Event e WHERE e.status = 'PUBLISHED' AND e.deletedAt IS NULL ORDER BY e.startTime ASC")
+    Slice<EventCard> findPublishedEventCardsSlice(Pageable pageable);
+
     /**
      * カテゴリでイベントを検索（削除済み除外）
      * 
@@ -50,8 +92,19 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * @param pageable ページング情報
      * @return イベントページ
      */
+    @EntityGraph("Event.organizer")
     Page<Event> findByCategoryAndDeletedAtIsNull(EventCategory category, Pageable pageable);
 
+    /**
+     * カテゴリでイベントを検索（削除済み除外、スライス、件数クエリなし）
+     * 
+     * @param category カテゴリ
+     * @param pageable ページング情報
+     * @return イベントスライス
+     */
+    @EntityGraph("Event.organizer")
+    Slice<Event> findSliceByCategoryAndDeletedAtIsNull(EventCategory category, Pageable pageable);
+
     /**
      * ステータスでイベントを検索（削除済み除外）
      * 
@@ -59,6 +112,7 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * @param pageable ページング情報
      * @return イベントページ
      */
+    @EntityGraph("Event.organizer")
     Page<Event> findByStatusAndDeletedAtIsNull(EventStatus status, Pageable pageable);
 
     /**
@@ -68,6 +122,7 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * @param pageable ページング情報
      * @return イベントページ
      */
+    @EntityGraph("Event.organizer")
     Page<Event> findByOrganizerAndDeletedAtIsNull(User organizer, Pageable pageable);
 
     /**
@@ -79,6 +134,7 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * @return イベントページ
      */
     @Query("SELECT e FROM Event e WHERE e.startTime BETWEEN :startDate AND :endDate AND e.deletedAt IS NULL")
+    @EntityGraph("Event.organizer")
     Page<Event> findByStartTimeBetweenAndDeletedAtIsNull(
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
@@ -91,8 +147,19 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * @return イベントページ
      */
     @Query("SELECT e FROM Event e WHERE e.startTime > CURRENT_TIMESTAMP AND e.status = 'PUBLISHED' AND e.deletedAt IS NULL ORDER BY e.startTime ASC")
+    @EntityGraph("Event.organizer")
     Page<Event> findUpcomingEvents(Pageable pageable);
 
+    /**
+     * 今後開催予定のイベントを検索（スライス、件数クエリなし）
+     * 
+     * @param pageable ページング情報
+     * @return イベントスライス
+     */
+    @Query("SELECT e FROM Event e WHERE e.startTime > CURRENT_TIMESTAMP AND e.status = 'PUBLISHED' AND e.deletedAt IS NULL ORDER BY e.startTime ASC")
+    @EntityGraph("Event.organizer")
+    Slice<Event> findUpcomingEventsSlice(Pageable pageable);
+
     /**
      * 無料イベントを検索
      * 
@@ -100,6 +167,7 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * @return イベントページ
      */
     @Query("SELECT e FROM Event e WHERE (e.price IS NULL OR e.price = 0) AND e.status = 'PUBLISHED' AND e.deletedAt IS NULL")
+    @EntityGraph("Event.organizer")
     Page<Event> findFreeEvents(Pageable pageable);
 
     /**
@@ -111,6 +179,7 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * @return イベントページ
      */
     @Query("SELECT e FROM Event e WHERE e.price BETWEEN :minPrice AND :maxPrice AND e.status = 'PUBLISHED' AND e.deletedAt IS NULL")
+    @EntityGraph("Event.organizer")
     Page<Event> findByPriceBetweenAndStatusAndDeletedAtIsNull(
             @Param("minPrice") BigDecimal minPrice,
             @Param("maxPrice") BigDecimal maxPrice,
@@ -119,15 +188,67 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     /**
      * 地域でイベントを検索
      * 
+     * <p>小文字化した列の部分一致はトライグラムインデックス（{@code V5__Add_location_trigram_indexes.sql}）で解決します。
+     * 検索語中の {@code %}・{@code _} はワイルドカードとして扱わず、そのままの文字として検索します。
+     * 2文字以下の検索語ではトライグラムで絞り込めないため、インデックスの効果はありません。</p>
+     * 
      * @param location 地域キーワード
      * @param pageable ページング情報
      * @return イベントページ
      */
-    @Query("SELECT e FROM Event e WHERE LOWER(e.location) LIKE LOWER(CONCAT('%', :location, '%')) AND e.status = 'PUBLISHED' AND e.deletedAt IS NULL")
+    @Query("SELECT e FROM Event e WHERE LOWER(e.location) LIKE LOWER(CONCAT('%', :#{escape(#location)}, '%')) ESCAPE :#{escapeCharacter()} AND e.status = 'PUBLISHED' AND e.deletedAt IS NULL")
+    @EntityGraph("Event.organizer")
     Page<Event> findByLocationContainingIgnoreCaseAndStatusAndDeletedAtIsNull(
             @Param("location") String location,
             Pageable pageable);
 
+    /**
+     * 指定地点から半径内のイベントを近い順に検索（スライス、件数クエリなし）
+     * 
+     * <p>{@code V6__Add_geospatial_indexes.sql} のGiSTインデックスで {@code earth_box} により絞り込み、
+     * {@code earth_distance} で半径内に限定して距離順に並べます。終了済みのイベントと緯度経度が未設定のイベントは含まれません。</p>
+     * 
+     * @param latitude 中心の緯度
+     * @param longitude 中心の経度
+     * @param radiusMeters 半径（メートル）
+     * @param pageable ページング情報（ソート指定は無視され、常に距離順）
+     * @return イベントスライス
+     */
+    @Query(value = "SELECT e.* FROM events e WHERE " +
+           "earth_box(ll_to_earth(:latitude, :longitude), :radiusMeters) @> ll_to_earth(CAST(e.latitude AS FLOAT8), CAST(e.longitude AS FLOAT8)) AND " +
+           "earth_distance(ll_to_earth(:latitude, :longitude), ll_to_earth(CAST(e.latitude AS FLOAT8), CAST(e.longitude AS FLOAT8))) <= :radiusMeters AND " +
+           "e.status = 'PUBLISHED' AND e.deleted_at IS NULL AND e.end_time >= CURRENT_TIMESTAMP " +
+           "ORDER BY earth_distance(ll_to_earth(:latitude, :longitude), ll_to_earth(CAST(e.latitude AS FLOAT8), CAST(e.longitude AS FLOAT8))), e.id",
+           nativeQuery = true)
+    Slice<Event> findNearby(
+            @Param("latitude") double latitude,
+            @Param("longitude") double longitude,
+            @Param("radiusMeters") double radiusMeters,
+            Pageable pageable);
+
+    /**
+     * 緯度経度の矩形範囲内の終了していないイベントを中心に近い順に検索（スライス、件数クエリなし）
+     * 
+     * @param south 南端の緯度
+     * @param west 西端の経度
+     * @param north 北端の緯度
+     * @param east 東端の経度
+     * @param pageable ページング情報（ソート指定は無視され、常に範囲の中心からの距離順）
+     * @return イベントスライス
+     */
+    @Query(value = "SELECT e.* FROM events e WHERE " +
+           "rihua_earth_box(:south, :west, :north, :east) @> ll_to_earth(CAST(e.latitude AS FLOAT8), CAST(e.longitude AS FLOAT8)) AND " +
+           "e.latitude BETWEEN :south AND :north AND e.longitude BETWEEN :west AND :east AND " +
+           "e.status = 'PUBLISHED' AND e.deleted_at IS NULL AND e.end_time >= CURRENT_TIMESTAMP " +
+           "ORDER BY earth_distance(ll_to_earth((:south + :north) / 2, (:west + :east) / 2), ll_to_earth(CAST(e.latitude AS FLOAT8), CAST(e.longitude AS FLOAT8))), e.id",
+           nativeQuery = true)
+    Slice<Event> findWithinBounds(
+            @Param("south") double south,
+            @Param("west") double west,
+            @Param("north") double north,
+            @Param("east") double east,
+            Pageable pageable);
+
     /**
      * キーワードでイベントを検索
      * 
@@ -140,8 +261,34 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
            "LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(e.location) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
            "e.status = 'PUBLISHED' AND e.deletedAt IS NULL")
+    @EntityGraph("Event.organizer")
     Page<Event> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * 全文検索でイベントを検索（関連度順、件数クエリなし）
+     * 
+     * @param query 検索語
+     * @param pageable ページング情報（ソート指定は無視され、関連度・作成日時の降順）
+     * @return イベントスライス
+     */
+    @Query(value = "SELECT e.* FROM events e " +
+                   "WHERE e.search_vector @@ rihua_search_query(:query) " +
+                   "AND e.status = 'PUBLISHED' AND e.deleted_at IS NULL " +
+                   "ORDER BY ts_rank_cd(e.search_vector, rihua_search_query(:query), 32) DESC, e.created_at DESC",
+           nativeQuery = true)
+    Slice<Event> searchByFullText(@Param("query") String query, Pageable pageable);
+
+    /**
+     * 条件に一致するイベントを検索（organizerを同じクエリで取得）
+     * 
+     * @param specification 検索条件
+     * @param pageable ページング情報
+     * @return イベントページ
+     */
+    @Override
+    @EntityGraph("Event.organizer")
+    Page<Event> findAll(Specification<Event> specification, Pageable pageable);
+
     /**
      * 複合条件でイベントを検索
      * 
@@ -154,23 +301,25 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * @param pageable ページング情報
      * @return イベントページ
      */
-    @Query("SELECT e FROM Event e WHERE " +
-           "(:category IS NULL OR e.category = :category) AND " +
-           "(:location IS NULL OR LOWER(e.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
-           "(:minPrice IS NULL OR e.price >= :minPrice) AND " +
-           "(:maxPrice IS NULL OR e.price <= :maxPrice) AND " +
-           "(:startDate IS NULL OR e.startTime >= :startDate) AND " +
-           "(:endDate IS NULL OR e.startTime <= :endDate) AND " +
-           "e.status = 'PUBLISHED' AND e.deletedAt IS NULL " +
-           "ORDER BY e.startTime ASC")
-    Page<Event> findByComplexCriteria(
-            @Param("category") EventCategory category,
-            @Param("location") String location,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            Pageable pageable);
+    default Page<Event> findByComplexCriteria(
+            EventCategory category,
+            String location,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        Specification<Event> specification = SpecificationBuilder.<Event>where(
+                        SpecificationBuilder.hasStatus("status", EventStatus.PUBLISHED))
+                .equal("category", category)
+                .containsIgnoreCase(location, "location")
+                .atLeast("price", minPrice)
+                .atMost("price", maxPrice)
+                .atLeast("startTime", startDate)
+                .atMost("startTime", endDate)
+                .build();
+        return findAll(specification, SpecificationBuilder.sortedOr(pageable, Sort.by("startTime")));
+    }
 
     /**
      * 人気イベントを検索（チケット販売数順）
@@ -179,8 +328,19 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * @return イベントページ
      */
     @Query("SELECT e FROM Event e WHERE e.status = 'PUBLISHED' AND e.deletedAt IS NULL ORDER BY e.soldTickets DESC")
+    @EntityGraph("Event.organizer")
     Page<Event> findPopularEvents(Pageable pageable);
 
+    /**
+     * 人気イベントを検索（チケット販売数順、スライス、件数クエリなし）
+     * 
+     * @param pageable ページング情報
+     * @return イベントスライス
+     */
+    @Query("SELECT e FROM Event e WHERE e.status = 'PUBLISHED' AND e.deletedAt IS NULL ORDER BY e.soldTickets DESC")
+    @EntityGraph("Event.organizer")
+    Slice<Event> findPopularEventsSlice(Pageable pageable);
+
     /**
      * 満席に近いイベントを検索
      * 
@@ -190,6 +350,7 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     @Query("SELECT e FROM Event e WHERE e.capacity IS NOT NULL AND e.soldTickets > 0 AND " +
            "(CAST(e.soldTickets AS double) / CAST(e.capacity AS double)) >= 0.8 AND " +
            "e.status = 'PUBLISHED' AND e.deletedAt IS NULL ORDER BY (CAST(e.soldTickets AS double) / CAST(e.capacity AS double)) DESC")
+    @EntityGraph("Event.organizer")
     Page<Event> findNearlyFullEvents(Pageable pageable);
 
     /**
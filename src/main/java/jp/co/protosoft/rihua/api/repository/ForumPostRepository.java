@@ -6,7 +6,12 @@ import jp.co.protosoft.rihua.api.domain.enums.ForumCategory;
 import jp.co.protosoft.rihua.api.domain.enums.PostStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,7 +28,7 @@ import java.util.UUID;
  * @since 1.0.0
  */
 @Repository
-public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
+public interface ForumPostRepository extends JpaRepository<ForumPost, UUID>, JpaSpecificationExecutor<ForumPost> {
 
     /**
      * IDでフォーラム投稿を検索（削除済み除外）
@@ -40,6 +45,7 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @return フォーラム投稿ページ
      */
     @Query("SELECT f FROM ForumPost f WHERE f.status = 'PUBLISHED' AND f.deletedAt IS NULL ORDER BY f.createdAt DESC")
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findPublishedPosts(Pageable pageable);
 
     /**
@@ -49,6 +55,7 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @param pageable ページング情報
      * @return フォーラム投稿ページ
      */
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findByCategoryAndDeletedAtIsNull(ForumCategory category, Pageable pageable);
 
     /**
@@ -58,6 +65,7 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @param pageable ページング情報
      * @return フォーラム投稿ページ
      */
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findByStatusAndDeletedAtIsNull(PostStatus status, Pageable pageable);
 
     /**
@@ -67,6 +75,7 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @param pageable ページング情報
      * @return フォーラム投稿ページ
      */
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findByAuthorAndDeletedAtIsNull(User author, Pageable pageable);
 
     /**
@@ -80,8 +89,26 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
            "(LOWER(f.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(f.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
            "f.status = 'PUBLISHED' AND f.deletedAt IS NULL")
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * 全文検索でフォーラム投稿を検索（関連度順、件数クエリなし）
+     * 
+     * <p>検索ベクトル（{@code search_vector}）のGINインデックスを使用します。
+     * 中国語・日本語はバイグラムに分割して照合します（{@code V4__Add_full_text_search.sql} 参照）。</p>
+     * 
+     * @param query 検索語
+     * @param pageable ページング情報（ソート指定は無視され、関連度・作成日時の降順）
+     * @return フォーラム投稿スライス
+     */
+    @Query(value = "SELECT f.* FROM forum_posts f " +
+                   "WHERE f.search_vector @@ rihua_search_query(:query) " +
+                   "AND f.status = 'PUBLISHED' AND f.deleted_at IS NULL " +
+                   "ORDER BY ts_rank_cd(f.search_vector, rihua_search_query(:query), 32) DESC, f.created_at DESC",
+           nativeQuery = true)
+    Slice<ForumPost> searchByFullText(@Param("query") String query, Pageable pageable);
+
     /**
      * 人気フォーラム投稿を検索（いいね数順）
      * 
@@ -89,6 +116,7 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @return フォーラム投稿ページ
      */
     @Query("SELECT f FROM ForumPost f WHERE f.status = 'PUBLISHED' AND f.deletedAt IS NULL ORDER BY f.likeCount DESC")
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findPopularPosts(Pageable pageable);
 
     /**
@@ -98,6 +126,7 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @return フォーラム投稿ページ
      */
     @Query("SELECT f FROM ForumPost f WHERE f.status = 'PUBLISHED' AND f.deletedAt IS NULL ORDER BY f.createdAt DESC")
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findLatestPosts(Pageable pageable);
 
     /**
@@ -107,8 +136,93 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @return フォーラム投稿ページ
      */
     @Query("SELECT f FROM ForumPost f WHERE f.status = 'PUBLISHED' AND f.deletedAt IS NULL ORDER BY f.commentCount DESC")
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findMostCommentedPosts(Pageable pageable);
 
+    /**
+     * 最新フィードの先頭ページを取得（キーセットページング、件数クエリなし）
+     * 
+     * @param pageable 取得件数（ページ番号は常に0）
+     * @return フォーラム投稿リスト（作成日時・ID降順）
+     */
+    @Query("SELECT f FROM ForumPost f WHERE f.status = 'PUBLISHED' AND f.deletedAt IS NULL " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    @EntityGraph("ForumPost.author")
+    List<ForumPost> findLatestPostsFirst(Pageable pageable);
+
+    /**
+     * 最新フィードの続きを取得（キーセットページング、件数クエリなし）
+     * 
+     * @param createdAt 前ページ末尾の作成日時
+     * @param id 前ページ末尾のID
+     * @param pageable 取得件数（ページ番号は常に0）
+     * @return フォーラム投稿リスト（作成日時・ID降順）
+     */
+    @Query("SELECT f FROM ForumPost f WHERE f.status = 'PUBLISHED' AND f.deletedAt IS NULL " +
+           "AND (f.createdAt, f.id) < (:createdAt, :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    @EntityGraph("ForumPost.author")
+    List<ForumPost> findLatestPostsAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Pageable pageable);
+
+    /**
+     * 人気フィードの先頭ページを取得（キーセットページング、件数クエリなし）
+     * 
+     * @param pageable 取得件数（ページ番号は常に0）
+     * @return フォーラム投稿リスト（いいね数・ID降順）
+     */
+    @Query("SELECT f FROM ForumPost f WHERE f.status = 'PUBLISHED' AND f.deletedAt IS NULL " +
+           "ORDER BY f.likeCount DESC, f.id DESC")
+    @EntityGraph("ForumPost.author")
+    List<ForumPost> findPopularPostsFirst(Pageable pageable);
+
+    /**
+     * 人気フィードの続きを取得（キーセットページング、件数クエリなし）
+     * 
+     * @param likeCount 前ページ末尾のいいね数
+     * @param id 前ページ末尾のID
+     * @param pageable 取得件数（ページ番号は常に0）
+     * @return フォーラム投稿リスト（いいね数・ID降順）
+     */
+    @Query("SELECT f FROM ForumPost f WHERE f.status = 'PUBLISHED' AND f.deletedAt IS NULL " +
+           "AND (f.likeCount, f.id) < (:likeCount, :id) " +
+           "ORDER BY f.likeCount DESC, f.id DESC")
+    @EntityGraph("ForumPost.author")
+    List<ForumPost> findPopularPostsAfter(
+            @Param("likeCount") int likeCount,
+            @Param("id") UUID id,
+            Pageable pageable);
+
+    /**
+     * コメント数順フィードの先頭ページを取得（キーセットページング、件数クエリなし）
+     * 
+     * @param pageable 取得件数（ページ番号は常に0）
+     * @return フォーラム投稿リスト（コメント数・ID降順）
+     */
+    @Query("SELECT f FROM ForumPost f WHERE f.status = 'PUBLISHED' AND f.deletedAt IS NULL " +
+           "ORDER BY f.commentCount DESC, f.id DESC")
+    @EntityGraph("ForumPost.author")
+    List<ForumPost> findMostCommentedPostsFirst(Pageable pageable);
+
+    /**
+     * コメント数順フィードの続きを取得（キーセットページング、件数クエリなし）
+     * 
+     * @param commentCount 前ページ末尾のコメント数
+     * @param id 前ページ末尾のID
+     * @param pageable 取得件数（ページ番号は常に0）
+     * @return フォーラム投稿リスト（コメント数・ID降順）
+     */
+    @Query("SELECT f FROM ForumPost f WHERE f.status = 'PUBLISHED' AND f.deletedAt IS NULL " +
+           "AND (f.commentCount, f.id) < (:commentCount, :id) " +
+           "ORDER BY f.commentCount DESC, f.id DESC")
+    @EntityGraph("ForumPost.author")
+    List<ForumPost> findMostCommentedPostsAfter(
+            @Param("commentCount") int commentCount,
+            @Param("id") UUID id,
+            Pageable pageable);
+
     /**
      * 固定投稿を検索
      * 
@@ -116,8 +230,20 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @return フォーラム投稿ページ
      */
     @Query("SELECT f FROM ForumPost f WHERE f.isPinned = true AND f.status = 'PUBLISHED' AND f.deletedAt IS NULL ORDER BY f.createdAt DESC")
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findPinnedPosts(Pageable pageable);
 
+    /**
+     * 条件に一致するフォーラム投稿を検索（authorを同じクエリで取得）
+     * 
+     * @param specification 検索条件
+     * @param pageable ページング情報
+     * @return フォーラム投稿ページ
+     */
+    @Override
+    @EntityGraph("ForumPost.author")
+    Page<ForumPost> findAll(Specification<ForumPost> specification, Pageable pageable);
+
     /**
      * 複合条件でフォーラム投稿を検索
      * 
@@ -129,21 +255,23 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @param pageable ページング情報
      * @return フォーラム投稿ページ
      */
-    @Query("SELECT f FROM ForumPost f WHERE " +
-           "(:category IS NULL OR f.category = :category) AND " +
-           "(:keyword IS NULL OR LOWER(f.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(f.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
-           "(:author IS NULL OR f.author = :author) AND " +
-           "(:startDate IS NULL OR f.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR f.createdAt <= :endDate) AND " +
-           "f.status = 'PUBLISHED' AND f.deletedAt IS NULL " +
-           "ORDER BY f.createdAt DESC")
-    Page<ForumPost> findByComplexCriteria(
-            @Param("category") ForumCategory category,
-            @Param("keyword") String keyword,
-            @Param("author") User author,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            Pageable pageable);
+    default Page<ForumPost> findByComplexCriteria(
+            ForumCategory category,
+            String keyword,
+            User author,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        Specification<ForumPost> specification = SpecificationBuilder.<ForumPost>where(
+                        SpecificationBuilder.hasStatus("status", PostStatus.PUBLISHED))
+                .equal("category", category)
+                .containsIgnoreCase(keyword, "title", "content")
+                .equal("author", author)
+                .atLeast("createdAt", startDate)
+                .atMost("createdAt", endDate)
+                .build();
+        return findAll(specification, SpecificationBuilder.sortedOr(pageable, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
 
     /**
      * 最近投稿されたフォーラム投稿を検索
@@ -153,6 +281,7 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @return フォーラム投稿ページ
      */
     @Query("SELECT f FROM ForumPost f WHERE f.createdAt >= :sinceDate AND f.status = 'PUBLISHED' AND f.deletedAt IS NULL ORDER BY f.createdAt DESC")
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findRecentPosts(@Param("sinceDate") LocalDateTime sinceDate, Pageable pageable);
 
     /**
@@ -188,6 +317,7 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @return フォーラム投稿ページ
      */
     @Query("SELECT f FROM ForumPost f WHERE f.status = 'PENDING_APPROVAL' AND f.deletedAt IS NULL ORDER BY f.createdAt ASC")
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findPendingApprovalPosts(Pageable pageable);
 
     /**
@@ -197,6 +327,7 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @return フォーラム投稿ページ
      */
     @Query("SELECT f FROM ForumPost f WHERE f.reportCount > 0 AND f.status = 'PUBLISHED' AND f.deletedAt IS NULL ORDER BY f.reportCount DESC")
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findReportedPosts(Pageable pageable);
 
     /**
@@ -207,5 +338,6 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
      * @return フォーラム投稿ページ
      */
     @Query("SELECT f FROM ForumPost f WHERE f.createdAt >= :sinceDate AND f.status = 'PUBLISHED' AND f.deletedAt IS NULL ORDER BY f.likeCount DESC")
+    @EntityGraph("ForumPost.author")
     Page<ForumPost> findTrendingPosts(@Param("sinceDate") LocalDateTime sinceDate, Pageable pageable);
 }
\ No newline at end of file
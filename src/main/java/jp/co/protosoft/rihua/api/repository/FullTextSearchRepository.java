@@ -0,0 +1,112 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import jp.co.protosoft.rihua.api.domain.enums.SearchTarget;
+import jp.co.protosoft.rihua.api.dto.response.SearchHit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 横断全文検索リポジトリ
+ * 
+ * <p>フォーラム投稿・イベント・住居・求人の検索ベクトルを1つのクエリで検索し、関連度順に統合します。
+ * 各テーブルからは関連度上位 {@code offset + limit} 件のみを取り出してから統合するため、
+ * ヒット件数が多い検索語でもテーブルごとの並べ替えはインデックスで絞り込んだ行に限られます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class FullTextSearchRepository {
+
+    private static final Map<SearchTarget, String> BRANCHES = new EnumMap<>(Map.of(
+            SearchTarget.FORUM_POST, branch(SearchTarget.FORUM_POST, "forum_posts", "PUBLISHED"),
+            SearchTarget.EVENT, branch(SearchTarget.EVENT, "events", "PUBLISHED"),
+            SearchTarget.HOUSING, branch(SearchTarget.HOUSING, "housing", "AVAILABLE"),
+            SearchTarget.JOB, branch(SearchTarget.JOB, "jobs", "ACTIVE")));
+
+    private static final Map<SearchTarget, String> BACKFILLS = new EnumMap<>(Map.of(
+            SearchTarget.FORUM_POST, backfill("forum_posts"),
+            SearchTarget.EVENT, backfill("events"),
+            SearchTarget.HOUSING, backfill("housing"),
+            SearchTarget.JOB, backfill("jobs")));
+
+    private static final RowMapper<SearchHit> ROW_MAPPER = (rs, rowNum) -> SearchHit.builder()
+            .target(SearchTarget.valueOf(rs.getString("target")))
+            .id(rs.getObject("id", UUID.class))
+            .title(rs.getString("title"))
+            .rank(rs.getDouble("rank"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 横断検索
+     * 
+     * @param query 検索語
+     * @param targets 検索対象（空の場合は結果なし）
+     * @param offset 取得開始位置
+     * @param limit 取得件数
+     * @return 関連度・作成日時の降順の検索結果
+     */
+    public List<SearchHit> search(String query, Set<SearchTarget> targets, int offset, int limit) {
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+
+        String union = targets.stream()
+                .sorted()
+                .map(BRANCHES::get)
+                .collect(Collectors.joining(" UNION ALL "));
+        String sql = "SELECT target, id, title, created_at, rank FROM (" + union + ") hits " +
+                "ORDER BY rank DESC, created_at DESC OFFSET :offset LIMIT :limit";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("window", offset + limit)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    /**
+     * 検索ベクトル未作成の行を作成
+     * 
+     * <p>検索ベクトルが {@code NULL} の行を最大 {@code batchSize} 件選んで更新し、UPDATEトリガーで検索ベクトルを作成します。
+     * 1回に更新する行を限ることで、大きなテーブルでも行ロックとWALの書き込みを短時間に分散します。
+     * 他のノードが処理中の行は読み飛ばします。</p>
+     * 
+     * @param target 対象タイプ
+     * @param batchSize 1回に作成する最大件数
+     * @return 作成した件数（0の場合は未作成の行なし）
+     */
+    public int backfillSearchVectors(SearchTarget target, int batchSize) {
+        return jdbcTemplate.update(BACKFILLS.get(target), new MapSqlParameterSource("batchSize", batchSize));
+    }
+
+    private static String branch(SearchTarget target, String table, String visibleStatus) {
+        return "(SELECT '" + target.name() + "' AS target, t.id, t.title, t.created_at, " +
+                "ts_rank_cd(t.search_vector, q.query, 32) AS rank " +
+                "FROM " + table + " t, rihua_search_query(:query) AS q(query) " +
+                "WHERE t.search_vector @@ q.query AND t.status = '" + visibleStatus + "' AND t.deleted_at IS NULL " +
+                "ORDER BY rank DESC, t.created_at DESC LIMIT :window)";
+    }
+
+    private static String backfill(String table) {
+        return "UPDATE " + table + " SET search_vector = NULL WHERE id IN (" +
+                "SELECT id FROM " + table + " WHERE search_vector IS NULL " +
+                "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED)";
+    }
+}
@@ -0,0 +1,116 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import jp.co.protosoft.rihua.api.dto.response.HousingCluster;
+import jp.co.protosoft.rihua.api.dto.response.MapMarker;
+import jp.co.protosoft.rihua.api.util.geo.GeoBounds;
+import jp.co.protosoft.rihua.api.util.geo.GeoHash;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 地図マーカーリポジトリ
+ * 
+ * <p>地図表示用に、矩形範囲内の住居・イベントのマーカー項目だけを取得し、住居はセル単位の集計も行います。
+ * 範囲の絞り込みは {@code V6__Add_geospatial_indexes.sql} のGiSTインデックスと {@code rihua_earth_box} を使用します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class GeoMarkerRepository {
+
+    private static final String HOUSING_QUERY = query("housing", "t.status = 'AVAILABLE' AND t.deleted_at IS NULL");
+
+    private static final String EVENT_QUERY = query("events",
+            "t.status = 'PUBLISHED' AND t.deleted_at IS NULL AND t.end_time >= CURRENT_TIMESTAMP");
+
+    private static final String HOUSING_CLUSTER_QUERY =
+            "SELECT floor((CAST(t.latitude AS FLOAT8) + 90) / :cellHeight) AS cell_row, " +
+            "floor((CAST(t.longitude AS FLOAT8) + 180) / :cellWidth) AS cell_column, " +
+            "COUNT(*) AS housing_count, MIN(t.price) AS min_price, MAX(t.price) AS max_price, " +
+            "AVG(CAST(t.latitude AS FLOAT8)) AS latitude, AVG(CAST(t.longitude AS FLOAT8)) AS longitude " +
+            "FROM housing t " +
+            "WHERE rihua_earth_box(:south, :west, :north, :east) @> " +
+            "ll_to_earth(CAST(t.latitude AS FLOAT8), CAST(t.longitude AS FLOAT8)) " +
+            "AND t.latitude BETWEEN :south AND :north AND t.longitude BETWEEN :west AND :east " +
+            "AND t.status = 'AVAILABLE' AND t.deleted_at IS NULL " +
+            "GROUP BY cell_row, cell_column";
+
+    private static final RowMapper<MapMarker> ROW_MAPPER = (rs, rowNum) -> MapMarker.builder()
+            .id(rs.getObject("id", UUID.class))
+            .title(rs.getString("title"))
+            .latitude(rs.getDouble("latitude"))
+            .longitude(rs.getDouble("longitude"))
+            .price(rs.getBigDecimal("price"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 範囲内の公開中の住居マーカーを取得
+     * 
+     * @param bounds 範囲
+     * @param limit 最大件数
+     * @return 新しい順のマーカー
+     */
+    public List<MapMarker> findHousingMarkers(GeoBounds bounds, int limit) {
+        return jdbcTemplate.query(HOUSING_QUERY, params(bounds).addValue("limit", limit), ROW_MAPPER);
+    }
+
+    /**
+     * 範囲内の公開中で終了していないイベントマーカーを取得
+     * 
+     * @param bounds 範囲
+     * @param limit 最大件数
+     * @return 新しい順のマーカー
+     */
+    public List<MapMarker> findEventMarkers(GeoBounds bounds, int limit) {
+        return jdbcTemplate.query(EVENT_QUERY, params(bounds).addValue("limit", limit), ROW_MAPPER);
+    }
+
+    /**
+     * 範囲内の公開中の住居をジオハッシュのセルごとに集計
+     * 
+     * <p>範囲の境界上の住居は隣のセルとして集計される場合があるため、呼び出し元でセルのジオハッシュにより範囲内のものを選んでください。</p>
+     * 
+     * @param bounds 範囲
+     * @param precision 集計するセルの精度
+     * @return セルごとの住居数・価格帯・重心
+     */
+    public List<HousingCluster> findHousingClusters(GeoBounds bounds, int precision) {
+        MapSqlParameterSource params = params(bounds)
+                .addValue("cellHeight", GeoHash.cellHeight(precision))
+                .addValue("cellWidth", GeoHash.cellWidth(precision));
+        return jdbcTemplate.query(HOUSING_CLUSTER_QUERY, params, (rs, rowNum) -> HousingCluster.builder()
+                .geohash(GeoHash.cell(rs.getLong("cell_row"), rs.getLong("cell_column"), precision))
+                .count(rs.getLong("housing_count"))
+                .latitude(rs.getDouble("latitude"))
+                .longitude(rs.getDouble("longitude"))
+                .minPrice(rs.getBigDecimal("min_price"))
+                .maxPrice(rs.getBigDecimal("max_price"))
+                .build());
+    }
+
+    private static MapSqlParameterSource params(GeoBounds bounds) {
+        return new MapSqlParameterSource()
+                .addValue("south", bounds.south())
+                .addValue("west", bounds.west())
+                .addValue("north", bounds.north())
+                .addValue("east", bounds.east());
+    }
+
+    private static String query(String table, String visible) {
+        return "SELECT t.id, t.title, t.latitude, t.longitude, t.price FROM " + table + " t " +
+                "WHERE rihua_earth_box(:south, :west, :north, :east) @> " +
+                "ll_to_earth(CAST(t.latitude AS FLOAT8), CAST(t.longitude AS FLOAT8)) " +
+                "AND t.latitude BETWEEN :south AND :north AND t.longitude BETWEEN :west AND :east " +
+                "AND " + visible + " ORDER BY t.created_at DESC LIMIT :limit";
+    }
+}
@@ -2,11 +2,17 @@ package jp.co.protosoft.rihua.api.repository;
 
 import jp.co.protosoft.rihua.api.domain.Housing;
 import jp.co.protosoft.rihua.api.domain.User;
-import jp.co.protosoft.rihua.api.domain.enums.HousingType;
 import jp.co.protosoft.rihua.api.domain.enums.HousingStatus;
+import jp.co.protosoft.rihua.api.domain.enums.HousingType;
+import jp.co.protosoft.rihua.api.repository.projection.HousingCard;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -24,7 +30,7 @@ import java.util.UUID;
  * @since 1.0.0
  */
 @Repository
-public interface HousingRepository extends JpaRepository<Housing, UUID> {
+public interface HousingRepository extends JpaRepository<Housing, UUID>, JpaSpecificationExecutor<Housing> {
 
     /**
      * IDで住居を検索（削除済み除外）
@@ -41,8 +47,50 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @return 住居ページ
      */
     @Query("SELECT h FROM Housing h WHERE h.status = 'AVAILABLE' AND h.deletedAt IS NULL ORDER BY h.createdAt DESC")
+    @EntityGraph("Housing.owner")
     Page<Housing> findAvailableHousing(Pageable pageable);
 
+    /**
+     * 公開されている住居を検索（スライス、件数クエリなし）
+     * 
+     * @param pageable ページング情報
+     * @return 住居スライス
+     */
+    @Query("SELECT h FROM Housing h WHERE h.status = 'AVAILABLE' AND h.deletedAt IS NULL ORDER BY h.createdAt DESC")
+    @EntityGraph("Housing.owner")
+    Slice<Housing> findAvailableHousingSlice(Pageable pageable);
+
+    /**
+     * 公開されている住居のカードを検索
+     * 
+     * <p>サムネイルは {@code housing_images} の主キーのインデックスから住居ごとに1件だけ読み込みます。</p>
+     * 
+     * @param pageable ページング情報
+     * @return 住居カードページ
+     */
+    @Query(value = "SELECT h.id AS id, h.title AS title, h.type AS type, h.price AS price, " +
+           "h.prefecture AS prefecture, h.city AS city, h.nearestStation AS nearestStation, " +
+           "h.walkMinutesToStation AS walkMinutesToStation, h.rooms AS rooms, h.area AS area, " +
+           "(SELECT MIN(i) FROM Housing hi JOIN hi.imageUrls i WHERE hi = h) AS thumbnailUrl, " +
+           "h.viewCount AS viewCount, h.createdAt AS createdAt " +
+           "FROM Housing h WHERE h.status = 'AVAILABLE' AND h.deletedAt IS NULL ORDER BY h.createdAt DESC",
+           countQuery = "SELECT COUNT(h) FROM Housing h WHERE h.status = 'AVAILABLE' AND h.deletedAt IS NULL")
+    Page<HousingCard> findAvailableHousingCards(Pageable pageable);
+
+    /**
+     * 公開されている住居のカードを検索（スライス、件数クエリなし）
+     * 
+     * @param pageable ページング情報
+     * @return 住居カードスライス
+     */
+    @Query("SELECT h.id AS id, h.title AS title, h.type AS type, h.price AS price, " +
+           "h.prefecture AS prefecture, h.city AS city, h.nearestStation AS nearestStation, " +
+           "h.walkMinutesToStation AS walkMinutesToStation, h.rooms AS rooms, h.area AS area, " +
+           "(SELECT MIN(i) FROM Housing hi JOIN hi.imageUrls i WHERE hi = h) AS thumbnailUrl, " +
+           "h.viewCount AS viewCount, h.createdAt AS createdAt " +
+           "FROM Housing h WHERE h.status = 'AVAILABLE' AND h.deletedAt IS NULL ORDER BY h.createdAt DESC")
+    Slice<HousingCard> findAvailableHousingCardsSlice(Pageable pageable);
+
     /**
      * タイプで住居を検索（削除済み除外）
      * 
@@ -50,8 +98,19 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @param pageable ページング情報
      * @return 住居ページ
      */
+    @EntityGraph("Housing.owner")
     Page<Housing> findByTypeAndDeletedAtIsNull(HousingType type, Pageable pageable);
 
+    /**
+     * タイプで住居を検索（削除済み除外、スライス、件数クエリなし）
+     * 
+     * @param type 住居タイプ
+     * @param pageable ページング情報
+     * @return 住居スライス
+     */
+    @EntityGraph("Housing.owner")
+    Slice<Housing> findSliceByTypeAndDeletedAtIsNull(HousingType type, Pageable pageable);
+
     /**
      * ステータスで住居を検索（削除済み除外）
      * 
@@ -59,6 +118,7 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @param pageable ページング情報
      * @return 住居ページ
      */
+    @EntityGraph("Housing.owner")
     Page<Housing> findByStatusAndDeletedAtIsNull(HousingStatus status, Pageable pageable);
 
     /**
@@ -68,6 +128,7 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @param pageable ページング情報
      * @return 住居ページ
      */
+    @EntityGraph("Housing.owner")
     Page<Housing> findByOwnerAndDeletedAtIsNull(User owner, Pageable pageable);
 
     /**
@@ -79,6 +140,7 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @return 住居ページ
      */
     @Query("SELECT h FROM Housing h WHERE h.price BETWEEN :minPrice AND :maxPrice AND h.status = 'AVAILABLE' AND h.deletedAt IS NULL")
+    @EntityGraph("Housing.owner")
     Page<Housing> findByPriceBetweenAndStatusAndDeletedAtIsNull(
             @Param("minPrice") BigDecimal minPrice,
             @Param("maxPrice") BigDecimal maxPrice,
@@ -87,19 +149,70 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
     /**
      * 地域で住居を検索
      * 
+     * <p>都道府県・市区町村・住所の部分一致は、それぞれのトライグラムインデックスをOR結合して解決します。
+     * 検索語中の {@code %}・{@code _} はそのままの文字として検索します。</p>
+     * 
      * @param location 地域キーワード
      * @param pageable ページング情報
      * @return 住居ページ
      */
     @Query("SELECT h FROM Housing h WHERE " +
-           "(LOWER(h.prefecture) LIKE LOWER(CONCAT('%', :location, '%')) OR " +
-           "LOWER(h.city) LIKE LOWER(CONCAT('%', :location, '%')) OR " +
-           "LOWER(h.address) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+           "(LOWER(h.prefecture) LIKE LOWER(CONCAT('%', :#{escape(#location)}, '%')) ESCAPE :#{escapeCharacter()} OR " +
+           "LOWER(h.city) LIKE LOWER(CONCAT('%', :#{escape(#location)}, '%')) ESCAPE :#{escapeCharacter()} OR " +
+           "LOWER(h.address) LIKE LOWER(CONCAT('%', :#{escape(#location)}, '%')) ESCAPE :#{escapeCharacter()}) AND " +
            "h.status = 'AVAILABLE' AND h.deletedAt IS NULL")
+    @EntityGraph("Housing.owner")
     Page<Housing> findByLocationContainingIgnoreCaseAndStatusAndDeletedAtIsNull(
             @Param("location") String location,
             Pageable pageable);
 
+    /**
+     * 指定地点から半径内の住居を近い順に検索（スライス、件数クエリなし）
+     * 
+     * <p>{@code V6__Add_geospatial_indexes.sql} のGiSTインデックスで {@code earth_box} により絞り込み、
+     * {@code earth_distance} で半径内に限定して距離順に並べます。緯度経度が未設定の住居は含まれません。</p>
+     * 
+     * @param latitude 中心の緯度
+     * @param longitude 中心の経度
+     * @param radiusMeters 半径（メートル）
+     * @param pageable ページング情報（ソート指定は無視され、常に距離順）
+     * @return 住居スライス
+     */
+    @Query(value = "SELECT h.* FROM housing h WHERE " +
+           "earth_box(ll_to_earth(:latitude, :longitude), :radiusMeters) @> ll_to_earth(CAST(h.latitude AS FLOAT8), CAST(h.longitude AS FLOAT8)) AND " +
+           "earth_distance(ll_to_earth(:latitude, :longitude), ll_to_earth(CAST(h.latitude AS FLOAT8), CAST(h.longitude AS FLOAT8))) <= :radiusMeters AND " +
+           "h.status = 'AVAILABLE' AND h.deleted_at IS NULL " +
+           "ORDER BY earth_distance(ll_to_earth(:latitude, :longitude), ll_to_earth(CAST(h.latitude AS FLOAT8), CAST(h.longitude AS FLOAT8))), h.id",
+           nativeQuery = true)
+    Slice<Housing> findNearby(
+            @Param("latitude") double latitude,
+            @Param("longitude") double longitude,
+            @Param("radiusMeters") double radiusMeters,
+            Pageable pageable);
+
+    /**
+     * 緯度経度の矩形範囲内の住居を中心に近い順に検索（スライス、件数クエリなし）
+     * 
+     * @param south 南端の緯度
+     * @param west 西端の経度
+     * @param north 北端の緯度
+     * @param east 東端の経度
+     * @param pageable ページング情報（ソート指定は無視され、常に範囲の中心からの距離順）
+     * @return 住居スライス
+     */
+    @Query(value = "SELECT h.* FROM housing h WHERE " +
+           "rihua_earth_box(:south, :west, :north, :east) @> ll_to_earth(CAST(h.latitude AS FLOAT8), CAST(h.longitude AS FLOAT8)) AND " +
+           "h.latitude BETWEEN :south AND :north AND h.longitude BETWEEN :west AND :east AND " +
+           "h.status = 'AVAILABLE' AND h.deleted_at IS NULL " +
+           "ORDER BY earth_distance(ll_to_earth((:south + :north) / 2, (:west + :east) / 2), ll_to_earth(CAST(h.latitude AS FLOAT8), CAST(h.longitude AS FLOAT8))), h.id",
+           nativeQuery = true)
+    Slice<Housing> findWithinBounds(
+            @Param("south") double south,
+            @Param("west") double west,
+            @Param("north") double north,
+            @Param("east") double east,
+            Pageable pageable);
+
     /**
      * 外国人対応可能な住居を検索
      * 
@@ -107,6 +220,7 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @return 住居ページ
      */
     @Query("SELECT h FROM Housing h WHERE h.foreignerFriendly = true AND h.status = 'AVAILABLE' AND h.deletedAt IS NULL")
+    @EntityGraph("Housing.owner")
     Page<Housing> findForeignerFriendlyHousing(Pageable pageable);
 
     /**
@@ -116,6 +230,7 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @return 住居ページ
      */
     @Query("SELECT h FROM Housing h WHERE h.petAllowed = true AND h.status = 'AVAILABLE' AND h.deletedAt IS NULL")
+    @EntityGraph("Housing.owner")
     Page<Housing> findPetAllowedHousing(Pageable pageable);
 
     /**
@@ -127,6 +242,7 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @return 住居ページ
      */
     @Query("SELECT h FROM Housing h WHERE h.rooms BETWEEN :minRooms AND :maxRooms AND h.status = 'AVAILABLE' AND h.deletedAt IS NULL")
+    @EntityGraph("Housing.owner")
     Page<Housing> findByRoomsBetweenAndStatusAndDeletedAtIsNull(
             @Param("minRooms") Integer minRooms,
             @Param("maxRooms") Integer maxRooms,
@@ -145,8 +261,34 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
            "LOWER(h.prefecture) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(h.city) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
            "h.status = 'AVAILABLE' AND h.deletedAt IS NULL")
+    @EntityGraph("Housing.owner")
     Page<Housing> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * 全文検索で住居を検索（関連度順、件数クエリなし）
+     * 
+     * @param query 検索語
+     * @param pageable ページング情報（ソート指定は無視され、関連度・作成日時の降順）
+     * @return 住居スライス
+     */
+    @Query(value = "SELECT h.* FROM housing h " +
+                   "WHERE h.search_vector @@ rihua_search_query(:query) " +
+                   "AND h.status = 'AVAILABLE' AND h.deleted_at IS NULL " +
+                   "ORDER BY ts_rank_cd(h.search_vector, rihua_search_query(:query), 32) DESC, h.created_at DESC",
+           nativeQuery = true)
+    Slice<Housing> searchByFullText(@Param("query") String query, Pageable pageable);
+
+    /**
+     * 条件に一致する住居を検索（ownerを同じクエリで取得）
+     * 
+     * @param specification 検索条件
+     * @param pageable ページング情報
+     * @return 住居ページ
+     */
+    @Override
+    @EntityGraph("Housing.owner")
+    Page<Housing> findAll(Specification<Housing> specification, Pageable pageable);
+
     /**
      * 複合条件で住居を検索
      * 
@@ -162,29 +304,31 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @param pageable ページング情報
      * @return 住居ページ
      */
-    @Query("SELECT h FROM Housing h WHERE " +
-           "(:type IS NULL OR h.type = :type) AND " +
-           "(:prefecture IS NULL OR LOWER(h.prefecture) LIKE LOWER(CONCAT('%', :prefecture, '%'))) AND " +
-           "(:city IS NULL OR LOWER(h.city) LIKE LOWER(CONCAT('%', :city, '%'))) AND " +
-           "(:minPrice IS NULL OR h.price >= :minPrice) AND " +
-           "(:maxPrice IS NULL OR h.price <= :maxPrice) AND " +
-           "(:minRooms IS NULL OR h.rooms >= :minRooms) AND " +
-           "(:maxRooms IS NULL OR h.rooms <= :maxRooms) AND " +
-           "(:foreignerFriendly IS NULL OR h.foreignerFriendly = :foreignerFriendly) AND " +
-           "(:petAllowed IS NULL OR h.petAllowed = :petAllowed) AND " +
-           "h.status = 'AVAILABLE' AND h.deletedAt IS NULL " +
-           "ORDER BY h.createdAt DESC")
-    Page<Housing> findByComplexCriteria(
-            @Param("type") HousingType type,
-            @Param("prefecture") String prefecture,
-            @Param("city") String city,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("minRooms") Integer minRooms,
-            @Param("maxRooms") Integer maxRooms,
-            @Param("foreignerFriendly") Boolean foreignerFriendly,
-            @Param("petAllowed") Boolean petAllowed,
-            Pageable pageable);
+    default Page<Housing> findByComplexCriteria(
+            HousingType type,
+            String prefecture,
+            String city,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer minRooms,
+            Integer maxRooms,
+            Boolean foreignerFriendly,
+            Boolean petAllowed,
+            Pageable pageable) {
+        Specification<Housing> specification = SpecificationBuilder.<Housing>where(
+                        SpecificationBuilder.hasStatus("status", HousingStatus.AVAILABLE))
+                .equal("type", type)
+                .containsIgnoreCase(prefecture, "prefecture")
+                .containsIgnoreCase(city, "city")
+                .atLeast("price", minPrice)
+                .atMost("price", maxPrice)
+                .atLeast("rooms", minRooms)
+                .atMost("rooms", maxRooms)
+                .equal("foreignerFriendly", foreignerFriendly)
+                .equal("petAllowed", petAllowed)
+                .build();
+        return findAll(specification, SpecificationBuilder.sortedOr(pageable, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
 
     /**
      * 人気住居を検索（閲覧数順）
@@ -193,8 +337,19 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @return 住居ページ
      */
     @Query("SELECT h FROM Housing h WHERE h.status = 'AVAILABLE' AND h.deletedAt IS NULL ORDER BY h.viewCount DESC")
+    @EntityGraph("Housing.owner")
     Page<Housing> findPopularHousing(Pageable pageable);
 
+    /**
+     * 人気住居を検索（閲覧数順、スライス、件数クエリなし）
+     * 
+     * @param pageable ページング情報
+     * @return 住居スライス
+     */
+    @Query("SELECT h FROM Housing h WHERE h.status = 'AVAILABLE' AND h.deletedAt IS NULL ORDER BY h.viewCount DESC")
+    @EntityGraph("Housing.owner")
+    Slice<Housing> findPopularHousingSlice(Pageable pageable);
+
     /**
      * 最近投稿された住居を検索
      * 
@@ -203,6 +358,7 @@ public interface HousingRepository extends JpaRepository<Housing, UUID> {
      * @return 住居ページ
      */
     @Query("SELECT h FROM Housing h WHERE h.createdAt >= :sinceDate AND h.status = 'AVAILABLE' AND h.deletedAt IS NULL ORDER BY h.createdAt DESC")
+    @EntityGraph("Housing.owner")
     Page<Housing> findRecentHousing(@Param("sinceDate") LocalDateTime sinceDate, Pageable pageable);
 
     /**
@@ -2,11 +2,17 @@ package jp.co.protosoft.rihua.api.repository;
 
 import jp.co.protosoft.rihua.api.domain.Job;
 import jp.co.protosoft.rihua.api.domain.User;
-import jp.co.protosoft.rihua.api.domain.enums.JobType;
 import jp.co.protosoft.rihua.api.domain.enums.JobStatus;
+import jp.co.protosoft.rihua.api.domain.enums.JobType;
+import jp.co.protosoft.rihua.api.repository.projection.JobCard;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -24,7 +30,7 @@ import java.util.UUID;
  * @since 1.0.0
  */
 @Repository
-public interface JobRepository extends JpaRepository<Job, UUID> {
+public interface JobRepository extends JpaRepository<Job, UUID>, JpaSpecificationExecutor<Job> {
 
     /**
      * IDで求人を検索（削除済み除外）
@@ -41,8 +47,48 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @return 求人ページ
      */
     @Query("SELECT j FROM Job j WHERE j.status = 'ACTIVE' AND j.deletedAt IS NULL ORDER BY j.createdAt DESC")
+    @EntityGraph("Job.employer")
     Page<Job> findActiveJobs(Pageable pageable);
 
+    /**
+     * 公開されている求人を検索（スライス、件数クエリなし）
+     * 
+     * @param pageable ページング情報
+     * @return 求人スライス
+     */
+    @Query("SELECT j FROM Job j WHERE j.status = 'ACTIVE' AND j.deletedAt IS NULL ORDER BY j.createdAt DESC")
+    @EntityGraph("Job.employer")
+    Slice<Job> findActiveJobsSlice(Pageable pageable);
+
+    /**
+     * 公開されている求人のカードを検索
+     * 
+     * @param pageable ページング情報
+     * @return 求人カードページ
+     */
+    @Query(value = "SELECT j.id AS id, j.title AS title, j.companyName AS companyName, j.type AS type, " +
+           "j.salaryMin AS salaryMin, j.salaryMax AS salaryMax, j.salaryType AS salaryType, " +
+           "j.prefecture AS prefecture, j.city AS city, j.remoteWorkAvailable AS remoteWorkAvailable, " +
+           "j.visaSupport AS visaSupport, j.viewCount AS viewCount, j.applicationCount AS applicationCount, " +
+           "j.createdAt AS createdAt " +
+           "FROM Job j WHERE j.status = 'ACTIVE' AND j.deletedAt IS NULL ORDER BY j.createdAt DESC",
+           countQuery = "SELECT COUNT(j) FROM Job j WHERE j.status = 'ACTIVE' AND j.deletedAt IS NULL")
+    Page<JobCard> findActiveJobCards(Pageable pageable);
+
+    /**
+     * 公開されている求人のカードを検索（スライス、件数クエリなし）
+     * 
+     * @param pageable ページング情報
+     * @return 求人カードスライス
+     */
+    @Query("SELECT j.id AS id, j.title AS title, j.companyName AS companyName, j.type AS type, " +
+           "j.salaryMin AS salaryMin, j.salaryMax AS salaryMax, j.salaryType AS salaryType, " +
+           "j.prefecture AS prefecture, j.city AS city, j.remoteWorkAvailable AS remoteWorkAvailable, " +
+           "j.visaSupport AS visaSupport, j.viewCount AS viewCount, j.applicationCount AS applicationCount, " +
+           "j.createdAt AS createdAt " +
+           "FROM Job j WHERE j.status = 'ACTIVE' AND j.deletedAt IS NULL ORDER BY j.createdAt DESC")
+    Slice<JobCard> findActiveJobCardsSlice(Pageable pageable);
+
     /**
      * タイプで求人を検索（削除済み除外）
      * 
@@ -50,8 +96,19 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @param pageable ページング情報
      * @return 求人ページ
      */
+    @EntityGraph("Job.employer")
     Page<Job> findByTypeAndDeletedAtIsNull(JobType type, Pageable pageable);
 
+    /**
+     * タイプで求人を検索（削除済み除外、スライス、件数クエリなし）
+     * 
+     * @param type 求人タイプ
+     * @param pageable ページング情報
+     * @return 求人スライス
+     */
+    @EntityGraph("Job.employer")
+    Slice<Job> findSliceByTypeAndDeletedAtIsNull(JobType type, Pageable pageable);
+
     /**
      * ステータスで求人を検索（削除済み除外）
      * 
@@ -59,6 +116,7 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @param pageable ページング情報
      * @return 求人ページ
      */
+    @EntityGraph("Job.employer")
     Page<Job> findByStatusAndDeletedAtIsNull(JobStatus status, Pageable pageable);
 
     /**
@@ -68,6 +126,7 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @param pageable ページング情報
      * @return 求人ページ
      */
+    @EntityGraph("Job.employer")
     Page<Job> findByEmployerAndDeletedAtIsNull(User employer, Pageable pageable);
 
     /**
@@ -79,6 +138,7 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @return 求人ページ
      */
     @Query("SELECT j FROM Job j WHERE j.salaryMin >= :minSalary AND j.salaryMax <= :maxSalary AND j.status = 'ACTIVE' AND j.deletedAt IS NULL")
+    @EntityGraph("Job.employer")
     Page<Job> findBySalaryRangeAndStatusAndDeletedAtIsNull(
             @Param("minSalary") BigDecimal minSalary,
             @Param("maxSalary") BigDecimal maxSalary,
@@ -87,15 +147,19 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
     /**
      * 地域で求人を検索
      * 
+     * <p>都道府県・市区町村・勤務地の部分一致は、それぞれのトライグラムインデックスをOR結合して解決します。
+     * 検索語中の {@code %}・{@code _} はそのままの文字として検索します。</p>
+     * 
      * @param location 地域キーワード
      * @param pageable ページング情報
      * @return 求人ページ
      */
     @Query("SELECT j FROM Job j WHERE " +
-           "(LOWER(j.prefecture) LIKE LOWER(CONCAT('%', :location, '%')) OR " +
-           "LOWER(j.city) LIKE LOWER(CONCAT('%', :location, '%')) OR " +
-           "LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+           "(LOWER(j.prefecture) LIKE LOWER(CONCAT('%', :#{escape(#location)}, '%')) ESCAPE :#{escapeCharacter()} OR " +
+           "LOWER(j.city) LIKE LOWER(CONCAT('%', :#{escape(#location)}, '%')) ESCAPE :#{escapeCharacter()} OR " +
+           "LOWER(j.location) LIKE LOWER(CONCAT('%', :#{escape(#location)}, '%')) ESCAPE :#{escapeCharacter()}) AND " +
            "j.status = 'ACTIVE' AND j.deletedAt IS NULL")
+    @EntityGraph("Job.employer")
     Page<Job> findByLocationContainingIgnoreCaseAndStatusAndDeletedAtIsNull(
             @Param("location") String location,
             Pageable pageable);
@@ -107,6 +171,7 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @return 求人ページ
      */
     @Query("SELECT j FROM Job j WHERE j.visaSupport = true AND j.status = 'ACTIVE' AND j.deletedAt IS NULL")
+    @EntityGraph("Job.employer")
     Page<Job> findVisaSupportJobs(Pageable pageable);
 
     /**
@@ -116,6 +181,7 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @return 求人ページ
      */
     @Query("SELECT j FROM Job j WHERE j.remoteWorkAvailable = true AND j.status = 'ACTIVE' AND j.deletedAt IS NULL")
+    @EntityGraph("Job.employer")
     Page<Job> findRemoteWorkJobs(Pageable pageable);
 
     /**
@@ -126,6 +192,7 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @return 求人ページ
      */
     @Query("SELECT j FROM Job j WHERE (j.experienceRequired IS NULL OR j.experienceRequired <= :maxExperience) AND j.status = 'ACTIVE' AND j.deletedAt IS NULL")
+    @EntityGraph("Job.employer")
     Page<Job> findByExperienceRequiredLessThanEqualAndStatusAndDeletedAtIsNull(
             @Param("maxExperience") Integer maxExperience,
             Pageable pageable);
@@ -143,8 +210,34 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
            "LOWER(j.companyName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(j.requirements) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
            "j.status = 'ACTIVE' AND j.deletedAt IS NULL")
+    @EntityGraph("Job.employer")
     Page<Job> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * 全文検索で求人を検索（関連度順、件数クエリなし）
+     * 
+     * @param query 検索語
+     * @param pageable ページング情報（ソート指定は無視され、関連度・作成日時の降順）
+     * @return 求人スライス
+     */
+    @Query(value = "SELECT j.* FROM jobs j " +
+                   "WHERE j.search_vector @@ rihua_search_query(:query) " +
+                   "AND j.status = 'ACTIVE' AND j.deleted_at IS NULL " +
+                   "ORDER BY ts_rank_cd(j.search_vector, rihua_search_query(:query), 32) DESC, j.created_at DESC",
+           nativeQuery = true)
+    Slice<Job> searchByFullText(@Param("query") String query, Pageable pageable);
+
+    /**
+     * 条件に一致する求人を検索（employerを同じクエリで取得）
+     * 
+     * @param specification 検索条件
+     * @param pageable ページング情報
+     * @return 求人ページ
+     */
+    @Override
+    @EntityGraph("Job.employer")
+    Page<Job> findAll(Specification<Job> specification, Pageable pageable);
+
     /**
      * 複合条件で求人を検索
      * 
@@ -159,27 +252,31 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @param pageable ページング情報
      * @return 求人ページ
      */
-    @Query("SELECT j FROM Job j WHERE " +
-           "(:type IS NULL OR j.type = :type) AND " +
-           "(:prefecture IS NULL OR LOWER(j.prefecture) LIKE LOWER(CONCAT('%', :prefecture, '%'))) AND " +
-           "(:city IS NULL OR LOWER(j.city) LIKE LOWER(CONCAT('%', :city, '%'))) AND " +
-           "(:minSalary IS NULL OR j.salaryMin >= :minSalary) AND " +
-           "(:maxSalary IS NULL OR j.salaryMax <= :maxSalary) AND " +
-           "(:maxExperience IS NULL OR j.experienceRequired IS NULL OR j.experienceRequired <= :maxExperience) AND " +
-           "(:visaSupport IS NULL OR j.visaSupport = :visaSupport) AND " +
-           "(:remoteWork IS NULL OR j.remoteWorkAvailable = :remoteWork) AND " +
-           "j.status = 'ACTIVE' AND j.deletedAt IS NULL " +
-           "ORDER BY j.createdAt DESC")
-    Page<Job> findByComplexCriteria(
-            @Param("type") JobType type,
-            @Param("prefecture") String prefecture,
-            @Param("city") String city,
-            @Param("minSalary") BigDecimal minSalary,
-            @Param("maxSalary") BigDecimal maxSalary,
-            @Param("maxExperience") Integer maxExperience,
-            @Param("visaSupport") Boolean visaSupport,
-            @Param("remoteWork") Boolean remoteWork,
-            Pageable pageable);
+    default Page<Job> findByComplexCriteria(
+            JobType type,
+            String prefecture,
+            String city,
+            BigDecimal minSalary,
+            BigDecimal maxSalary,
+            Integer maxExperience,
+            Boolean visaSupport,
+            Boolean remoteWork,
+            Pageable pageable) {
+        Specification<Job> specification = SpecificationBuilder.<Job>where(
+                        SpecificationBuilder.hasStatus("status", JobStatus.ACTIVE))
+                .equal("type", type)
+                .containsIgnoreCase(prefecture, "prefecture")
+                .containsIgnoreCase(city, "city")
+                .atLeast("salaryMin", minSalary)
+                .atMost("salaryMax", maxSalary)
+                .when(maxExperience, max -> (root, query, cb) -> cb.or(
+                        cb.isNull(root.get("experienceRequired")),
+                        cb.lessThanOrEqualTo(root.get("experienceRequired"), max)))
+                .equal("visaSupport", visaSupport)
+                .equal("remoteWorkAvailable", remoteWork)
+                .build();
+        return findAll(specification, SpecificationBuilder.sortedOr(pageable, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
 
     /**
      * 人気求人を検索（閲覧数順）
@@ -188,8 +285,19 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @return 求人ページ
      */
     @Query("SELECT j FROM Job j WHERE j.status = 'ACTIVE' AND j.deletedAt IS NULL ORDER BY j.viewCount DESC")
+    @EntityGraph("Job.employer")
     Page<Job> findPopularJobs(Pageable pageable);
 
+    /**
+     * 人気求人を検索（閲覧数順、スライス、件数クエリなし）
+     * 
+     * @param pageable ページング情報
+     * @return 求人スライス
+     */
+    @Query("SELECT j FROM Job j WHERE j.status = 'ACTIVE' AND j.deletedAt IS NULL ORDER BY j.viewCount DESC")
+    @EntityGraph("Job.employer")
+    Slice<Job> findPopularJobsSlice(Pageable pageable);
+
     /**
      * 最近投稿された求人を検索
      * 
@@ -198,6 +306,7 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @return 求人ページ
      */
     @Query("SELECT j FROM Job j WHERE j.createdAt >= :sinceDate AND j.status = 'ACTIVE' AND j.deletedAt IS NULL ORDER BY j.createdAt DESC")
+    @EntityGraph("Job.employer")
     Page<Job> findRecentJobs(@Param("sinceDate") LocalDateTime sinceDate, Pageable pageable);
 
     /**
@@ -241,5 +350,6 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
      * @return 求人ページ
      */
     @Query("SELECT j FROM Job j WHERE j.salaryMax >= :minSalary AND j.status = 'ACTIVE' AND j.deletedAt IS NULL ORDER BY j.salaryMax DESC")
+    @EntityGraph("Job.employer")
     Page<Job> findHighSalaryJobs(@Param("minSalary") BigDecimal minSalary, Pageable pageable);
 }
\ No newline at end of file
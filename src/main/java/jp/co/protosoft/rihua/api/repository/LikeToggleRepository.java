@@ -0,0 +1,159 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import jp.co.protosoft.rihua.api.domain.enums.LikeableType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * いいねの登録・取り消しリポジトリ
+ * 
+ * <p>いいねは {@code likes} テーブルの一意制約（{@code (user_id, post_id)}・{@code (user_id, comment_id)}）に対する
+ * {@code INSERT ... ON CONFLICT DO NOTHING} で登録し、存在確認のクエリや親の行のロックを伴いません。
+ * 同じいいねを何度登録・取り消ししても結果は変わらず、実際に状態が変わった場合のみ {@code true} を返します。</p>
+ * 
+ * <p>投稿・コメントの {@code like_count} はこの登録とは別に、集計済みの増減の加算（{@link #addLikeCounts}）と
+ * {@code likes} の件数との突き合わせ（{@link #reconcileLikeCounts}）で更新します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class LikeToggleRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * いいねを登録
+     * 
+     * @param userId ユーザーID
+     * @param type いいね対象タイプ
+     * @param targetId 対象ID
+     * @return 新たに登録した場合true（登録済みの場合false）
+     */
+    public boolean like(UUID userId, LikeableType type, UUID targetId) {
+        String column = targetColumn(type);
+        int inserted = jdbcTemplate.update(
+                "INSERT INTO likes (id, user_id, " + column + ", created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP) " +
+                "ON CONFLICT (user_id, " + column + ") DO NOTHING",
+                UUID.randomUUID(), userId, targetId);
+        return inserted == 1;
+    }
+
+    /**
+     * いいねを取り消し
+     * 
+     * @param userId ユーザーID
+     * @param type いいね対象タイプ
+     * @param targetId 対象ID
+     * @return 取り消した場合true（いいねしていない場合false）
+     */
+    public boolean unlike(UUID userId, LikeableType type, UUID targetId) {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM likes WHERE user_id = ? AND " + targetColumn(type) + " = ?", userId, targetId);
+        return deleted == 1;
+    }
+
+    /**
+     * 指定した対象のうち、ユーザーがいいねしている対象のIDを一括取得
+     * 
+     * <p>一覧の各項目のいいね状態を1回のクエリで判定します。
+     * 一意制約 {@code (user_id, post_id)}・{@code (user_id, comment_id)} のインデックスを使用します。</p>
+     * 
+     * @param userId ユーザーID
+     * @param type いいね対象タイプ
+     * @param targetIds 対象ID
+     * @return いいねしている対象のID
+     */
+    public Set<UUID> findLikedIds(UUID userId, LikeableType type, Collection<UUID> targetIds) {
+        String column = targetColumn(type);
+        Object[] targets = targetIds.toArray();
+        List<UUID> liked = jdbcTemplate.query(
+                "SELECT " + column + " FROM likes WHERE user_id = ? AND " + column + " = ANY(?)",
+                statement -> {
+                    statement.setObject(1, userId);
+                    statement.setArray(2, statement.getConnection().createArrayOf("uuid", targets));
+                },
+                (rs, rowNum) -> rs.getObject(1, UUID.class));
+        return new HashSet<>(liked);
+    }
+
+    /**
+     * いいね数に増減を加算
+     * 
+     * <p>複数ノードが同時に加算しても行ロックの取得順が揃うよう、ID順に更新します。</p>
+     * 
+     * @param type いいね対象タイプ
+     * @param deltas IDごとの増減
+     */
+    public void addLikeCounts(LikeableType type, Map<UUID, Long> deltas) {
+        List<Object[]> batch = deltas.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new Object[] {entry.getValue(), entry.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate(
+                "UPDATE " + targetTable(type) + " SET like_count = GREATEST(like_count + ?, 0) WHERE id = ?", batch);
+    }
+
+    /**
+     * ID順の次の範囲について、いいね数を {@code likes} の件数に合わせる
+     * 
+     * <p>範囲の行を {@code FOR UPDATE} で先にロックしてから、別の文で件数を数えて更新します。
+     * 文ごとにスナップショットを取り直すため、ロック待ちの間に他の接続が反映した増減を古い件数で上書きしません。
+     * このノードに未反映の増減がある対象は、反映後に件数がずれるため修正しません。</p>
+     * 
+     * @param type いいね対象タイプ
+     * @param afterId このIDより後から確認する
+     * @param batchSize 確認する件数
+     * @param skipIds 修正しない対象ID
+     * @return 確認した最後のIDと修正した件数（確認する行がない場合、最後のIDはnull）
+     */
+    @Transactional
+    public ReconcileResult reconcileLikeCounts(LikeableType type, UUID afterId, int batchSize, Set<UUID> skipIds) {
+        String table = targetTable(type);
+        List<UUID> chunk = jdbcTemplate.queryForList(
+                "SELECT id FROM " + table + " WHERE id > ? ORDER BY id LIMIT ? FOR UPDATE", UUID.class, afterId, batchSize);
+        if (chunk.isEmpty()) {
+            return new ReconcileResult(null, 0);
+        }
+        UUID lastId = chunk.get(chunk.size() - 1);
+        Object[] targets = chunk.stream().filter(id -> !skipIds.contains(id)).toArray();
+        if (targets.length == 0) {
+            return new ReconcileResult(lastId, 0);
+        }
+
+        String sql = "UPDATE " + table + " t SET like_count = a.likes " +
+                "FROM (SELECT c.id, (SELECT COUNT(*) FROM likes l WHERE l." + targetColumn(type) + " = c.id) AS likes " +
+                "FROM unnest(?) AS c(id)) a " +
+                "WHERE t.id = a.id AND t.like_count <> a.likes";
+        int fixed = jdbcTemplate.update(sql, statement ->
+                statement.setArray(1, statement.getConnection().createArrayOf("uuid", targets)));
+        return new ReconcileResult(lastId, fixed);
+    }
+
+    /**
+     * 突き合わせの結果
+     * 
+     * @param lastId 確認した最後のID（確認する行がない場合null）
+     * @param fixed いいね数を修正した件数
+     */
+    public record ReconcileResult(UUID lastId, int fixed) {
+    }
+
+    private static String targetColumn(LikeableType type) {
+        return type == LikeableType.POST ? "post_id" : "comment_id";
+    }
+
+    private static String targetTable(LikeableType type) {
+        return type == LikeableType.POST ? "forum_posts" : "comments";
+    }
+}
@@ -6,6 +6,7 @@ import jp.co.protosoft.rihua.api.domain.enums.NotificationType;
 import jp.co.protosoft.rihua.api.domain.enums.NotificationStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -42,6 +43,15 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
      */
     Page<Notification> findByUserAndDeletedAtIsNull(User user, Pageable pageable);
 
+    /**
+     * ユーザーの通知を検索（削除済み除外、スライス、件数クエリなし）
+     * 
+     * @param user ユーザー
+     * @param pageable ページング情報
+     * @return 通知スライス
+     */
+    Slice<Notification> findSliceByUserAndDeletedAtIsNull(User user, Pageable pageable);
+
     /**
      * ユーザーの未読通知を検索（削除済み除外）
      * 
@@ -52,6 +62,16 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Query("SELECT n FROM Notification n WHERE n.user = :user AND n.status = 'UNREAD' AND n.deletedAt IS NULL ORDER BY n.createdAt DESC")
     Page<Notification> findUnreadNotificationsByUser(@Param("user") User user, Pageable pageable);
 
+    /**
+     * ユーザーの未読通知を検索（削除済み除外、スライス、件数クエリなし）
+     * 
+     * @param user ユーザー
+     * @param pageable ページング情報
+     * @return 通知スライス
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user = :user AND n.status = 'UNREAD' AND n.deletedAt IS NULL ORDER BY n.createdAt DESC")
+    Slice<Notification> findUnreadNotificationsByUserSlice(@Param("user") User user, Pageable pageable);
+
     /**
      * ユーザーの既読通知を検索（削除済み除外）
      * 
@@ -62,6 +82,16 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Query("SELECT n FROM Notification n WHERE n.user = :user AND n.status = 'READ' AND n.deletedAt IS NULL ORDER BY n.createdAt DESC")
     Page<Notification> findReadNotificationsByUser(@Param("user") User user, Pageable pageable);
 
+    /**
+     * ユーザーの既読通知を検索（削除済み除外、スライス、件数クエリなし）
+     * 
+     * @param user ユーザー
+     * @param pageable ページング情報
+     * @return 通知スライス
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user = :user AND n.status = 'READ' AND n.deletedAt IS NULL ORDER BY n.createdAt DESC")
+    Slice<Notification> findReadNotificationsByUserSlice(@Param("user") User user, Pageable pageable);
+
     /**
      * タイプで通知を検索（削除済み除外）
      * 
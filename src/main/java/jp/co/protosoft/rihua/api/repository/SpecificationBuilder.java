@@ -0,0 +1,187 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * 動的検索条件ビルダー
+ * 
+ * <p>値が指定された（nullでない、文字列は空白でない）条件だけを {@link Specification} として連結します。
+ * {@code (:p IS NULL OR 列 = :p)} 形式のJPQLは条件の組み合わせに関係なく同じSQLになるため、
+ * PostgreSQLが汎用プランに切り替えるとどのインデックスも使えなくなります。
+ * 本ビルダーでは組み合わせごとに異なるSQLが生成され、それぞれにインデックスを使う実行計画が作られます。</p>
+ * 
+ * <p>公開状態などの固定条件は {@link #hasStatus(String, Enum)} でリテラルとしてSQLに埋め込み、
+ * {@code WHERE status = 'PUBLISHED' AND deleted_at IS NULL} 形式の部分インデックスに一致させます。</p>
+ * 
+ * @param <T> エンティティ型
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public final class SpecificationBuilder<T> {
+
+    private static final char ESCAPE_CHARACTER = '\\';
+
+    private Specification<T> specification;
+
+    private SpecificationBuilder(Specification<T> base) {
+        this.specification = base;
+    }
+
+    /**
+     * 固定条件からビルダーを作成
+     * 
+     * @param base 常に適用する条件
+     * @param <T> エンティティ型
+     * @return ビルダー
+     */
+    public static <T> SpecificationBuilder<T> where(Specification<T> base) {
+        return new SpecificationBuilder<>(base);
+    }
+
+    /**
+     * 固定条件なしでビルダーを作成
+     * 
+     * @param <T> エンティティ型
+     * @return ビルダー
+     */
+    public static <T> SpecificationBuilder<T> unrestricted() {
+        return new SpecificationBuilder<>(Specification.where(null));
+    }
+
+    /**
+     * ステータスが一致し、削除されていないことを表す条件（ステータスはリテラルとして埋め込む）
+     * 
+     * @param attribute ステータスの属性名
+     * @param status ステータス
+     * @param <T> エンティティ型
+     * @return 条件
+     */
+    public static <T> Specification<T> hasStatus(String attribute, Enum<?> status) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get(attribute), cb.literal(status)),
+                cb.isNull(root.get("deletedAt")));
+    }
+
+    /**
+     * 削除されていないことを表す条件
+     * 
+     * @param <T> エンティティ型
+     * @return 条件
+     */
+    public static <T> Specification<T> notDeleted() {
+        return (root, query, cb) -> cb.isNull(root.get("deletedAt"));
+    }
+
+    /**
+     * 一致条件（値がnullの場合は追加しない）
+     * 
+     * @param attribute 属性名
+     * @param value 値
+     * @return このビルダー
+     */
+    public SpecificationBuilder<T> equal(String attribute, Object value) {
+        return when(value, v -> (root, query, cb) -> cb.equal(root.get(attribute), v));
+    }
+
+    /**
+     * 大文字・小文字を区別しない部分一致条件（値が空白の場合は追加しない）
+     * 
+     * <p>{@code LOWER(列) LIKE '%値%'} の形で生成するため、{@code LOWER(列) gin_trgm_ops} のインデックスが使われます。
+     * 値に含まれる {@code %} と {@code _} はワイルドカードとして扱いません。</p>
+     * 
+     * @param value 値
+     * @param attributes 属性名（複数指定した場合はいずれかに一致）
+     * @return このビルダー
+     */
+    public SpecificationBuilder<T> containsIgnoreCase(String value, String... attributes) {
+        if (value == null || value.isBlank()) {
+            return this;
+        }
+        String pattern = "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%";
+        return and((root, query, cb) -> {
+            Predicate[] predicates = new Predicate[attributes.length];
+            for (int i = 0; i < attributes.length; i++) {
+                predicates[i] = cb.like(cb.lower(root.get(attributes[i])), pattern, ESCAPE_CHARACTER);
+            }
+            return predicates.length == 1 ? predicates[0] : cb.or(predicates);
+        });
+    }
+
+    /**
+     * 下限条件（値がnullの場合は追加しない）
+     * 
+     * @param attribute 属性名
+     * @param value 下限値（この値を含む）
+     * @param <V> 値の型
+     * @return このビルダー
+     */
+    public <V extends Comparable<? super V>> SpecificationBuilder<T> atLeast(String attribute, V value) {
+        return when(value, v -> (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(attribute), v));
+    }
+
+    /**
+     * 上限条件（値がnullの場合は追加しない）
+     * 
+     * @param attribute 属性名
+     * @param value 上限値（この値を含む）
+     * @param <V> 値の型
+     * @return このビルダー
+     */
+    public <V extends Comparable<? super V>> SpecificationBuilder<T> atMost(String attribute, V value) {
+        return when(value, v -> (root, query, cb) -> cb.lessThanOrEqualTo(root.get(attribute), v));
+    }
+
+    /**
+     * 任意の条件（値がnullの場合は追加しない）
+     * 
+     * @param value 値
+     * @param factory 値から条件を作成する処理
+     * @param <V> 値の型
+     * @return このビルダー
+     */
+    public <V> SpecificationBuilder<T> when(V value, Function<V, Specification<T>> factory) {
+        return value == null ? this : and(factory.apply(value));
+    }
+
+    /**
+     * 条件を作成
+     * 
+     * @return 指定された条件をすべて満たす条件
+     */
+    public Specification<T> build() {
+        return specification;
+    }
+
+    /**
+     * 並び順が指定されていない場合に既定の並び順を適用
+     * 
+     * @param pageable ページング情報
+     * @param defaultSort 既定の並び順
+     * @return ページング情報
+     */
+    public static Pageable sortedOr(Pageable pageable, Sort defaultSort) {
+        if (pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        if (pageable.isUnpaged()) {
+            return Pageable.unpaged(defaultSort);
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), defaultSort);
+    }
+
+    private SpecificationBuilder<T> and(Specification<T> condition) {
+        specification = specification.and(condition);
+        return this;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
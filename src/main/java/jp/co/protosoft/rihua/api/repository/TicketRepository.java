@@ -1,12 +1,16 @@
 package jp.co.protosoft.rihua.api.repository;
 
-import jp.co.protosoft.rihua.api.domain.Ticket;
 import jp.co.protosoft.rihua.api.domain.Event;
+import jp.co.protosoft.rihua.api.domain.Ticket;
 import jp.co.protosoft.rihua.api.domain.User;
 import jp.co.protosoft.rihua.api.domain.enums.TicketStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -24,7 +28,7 @@ import java.util.UUID;
  * @since 1.0.0
  */
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, JpaSpecificationExecutor<Ticket> {
 
     /**
      * IDでチケットを検索（削除済み除外）
@@ -49,6 +53,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @param pageable ページング情報
      * @return チケットページ
      */
+    @EntityGraph("Ticket.event")
     Page<Ticket> findByPurchaserAndDeletedAtIsNull(User purchaser, Pageable pageable);
 
     /**
@@ -58,6 +63,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @param pageable ページング情報
      * @return チケットページ
      */
+    @EntityGraph("Ticket.event")
     Page<Ticket> findByEventAndDeletedAtIsNull(Event event, Pageable pageable);
 
     /**
@@ -67,6 +73,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @param pageable ページング情報
      * @return チケットページ
      */
+    @EntityGraph("Ticket.event")
     Page<Ticket> findByStatusAndDeletedAtIsNull(TicketStatus status, Pageable pageable);
 
     /**
@@ -77,6 +84,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @param pageable ページング情報
      * @return チケットページ
      */
+    @EntityGraph("Ticket.event")
     Page<Ticket> findByPurchaserAndEventAndDeletedAtIsNull(User purchaser, Event event, Pageable pageable);
 
     /**
@@ -86,6 +94,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @return チケットページ
      */
     @Query("SELECT t FROM Ticket t WHERE t.status = 'VALID' AND t.deletedAt IS NULL ORDER BY t.createdAt DESC")
+    @EntityGraph("Ticket.event")
     Page<Ticket> findValidTickets(Pageable pageable);
 
     /**
@@ -95,6 +104,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @return チケットページ
      */
     @Query("SELECT t FROM Ticket t WHERE t.status = 'USED' AND t.deletedAt IS NULL ORDER BY t.usedAt DESC")
+    @EntityGraph("Ticket.event")
     Page<Ticket> findUsedTickets(Pageable pageable);
 
     /**
@@ -104,6 +114,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @return チケットページ
      */
     @Query("SELECT t FROM Ticket t WHERE t.status = 'CANCELLED' AND t.deletedAt IS NULL ORDER BY t.updatedAt DESC")
+    @EntityGraph("Ticket.event")
     Page<Ticket> findCancelledTickets(Pageable pageable);
 
     /**
@@ -159,6 +170,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @return チケットページ
      */
     @Query("SELECT t FROM Ticket t WHERE t.createdAt BETWEEN :startDate AND :endDate AND t.deletedAt IS NULL")
+    @EntityGraph("Ticket.event")
     Page<Ticket> findByPurchaseDateBetweenAndDeletedAtIsNull(
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
@@ -173,6 +185,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @return チケットページ
      */
     @Query("SELECT t FROM Ticket t WHERE t.usedAt BETWEEN :startDate AND :endDate AND t.status = 'USED' AND t.deletedAt IS NULL")
+    @EntityGraph("Ticket.event")
     Page<Ticket> findByUsedDateBetweenAndStatusAndDeletedAtIsNull(
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
@@ -187,11 +200,23 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @return チケットページ
      */
     @Query("SELECT t FROM Ticket t WHERE t.price BETWEEN :minPrice AND :maxPrice AND t.deletedAt IS NULL")
+    @EntityGraph("Ticket.event")
     Page<Ticket> findByPriceBetweenAndDeletedAtIsNull(
             @Param("minPrice") BigDecimal minPrice,
             @Param("maxPrice") BigDecimal maxPrice,
             Pageable pageable);
 
+    /**
+     * 条件に一致するチケットを検索（eventを同じクエリで取得）
+     * 
+     * @param specification 検索条件
+     * @param pageable ページング情報
+     * @return チケットページ
+     */
+    @Override
+    @EntityGraph("Ticket.event")
+    Page<Ticket> findAll(Specification<Ticket> specification, Pageable pageable);
+
     /**
      * 複合条件でチケットを検索
      * 
@@ -203,21 +228,22 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @param pageable ページング情報
      * @return チケットページ
      */
-    @Query("SELECT t FROM Ticket t WHERE " +
-           "(:purchaser IS NULL OR t.purchaser = :purchaser) AND " +
-           "(:event IS NULL OR t.event = :event) AND " +
-           "(:status IS NULL OR t.status = :status) AND " +
-           "(:startDate IS NULL OR t.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR t.createdAt <= :endDate) AND " +
-           "t.deletedAt IS NULL " +
-           "ORDER BY t.createdAt DESC")
-    Page<Ticket> findByComplexCriteria(
-            @Param("purchaser") User purchaser,
-            @Param("event") Event event,
-            @Param("status") TicketStatus status,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            Pageable pageable);
+    default Page<Ticket> findByComplexCriteria(
+            User purchaser,
+            Event event,
+            TicketStatus status,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        Specification<Ticket> specification = SpecificationBuilder.<Ticket>unrestricted()
+                .equal("purchaser", purchaser)
+                .equal("event", event)
+                .equal("status", status)
+                .atLeast("createdAt", startDate)
+                .atMost("createdAt", endDate)
+                .build();
+        return findAll(specification, SpecificationBuilder.sortedOr(pageable, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
 
     /**
      * 統計: 月別チケット販売数
@@ -253,6 +279,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @return チケットページ
      */
     @Query("SELECT t FROM Ticket t WHERE t.createdAt >= :sinceDate AND t.deletedAt IS NULL ORDER BY t.createdAt DESC")
+    @EntityGraph("Ticket.event")
     Page<Ticket> findRecentTickets(@Param("sinceDate") LocalDateTime sinceDate, Pageable pageable);
 
     /**
@@ -264,6 +291,7 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      * @return チケットページ
      */
     @Query("SELECT t FROM Ticket t WHERE t.usedAt BETWEEN :startOfDay AND :endOfDay AND t.status = 'USED' AND t.deletedAt IS NULL ORDER BY t.usedAt DESC")
+    @EntityGraph("Ticket.event")
     Page<Ticket> findTodayUsedTickets(
             @Param("startOfDay") LocalDateTime startOfDay,
             @Param("endOfDay") LocalDateTime endOfDay,
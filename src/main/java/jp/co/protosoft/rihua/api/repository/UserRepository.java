@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * ユーザーリポジトリ
@@ -37,6 +38,28 @@ public interface UserRepository extends JpaRepository<User, String> {
      */
     Optional<User> findByIdAndDeletedAtIsNull(String id);
 
+    /**
+     * メールアドレスでユーザーを権限とともに検索（削除済み除外）
+     * 
+     * <p>user_rolesをフェッチ結合し、ユーザーと権限を1回のクエリで取得します。</p>
+     * 
+     * @param email メールアドレス
+     * @return ユーザー
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email AND u.deletedAt IS NULL")
+    Optional<User> findWithRolesByEmail(@Param("email") String email);
+
+    /**
+     * IDでユーザーを権限とともに検索（削除済み除外）
+     * 
+     * <p>user_rolesをフェッチ結合し、ユーザーと権限を1回のクエリで取得します。</p>
+     * 
+     * @param id ユーザーID
+     * @return ユーザー
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id = :id AND u.deletedAt IS NULL")
+    Optional<User> findWithRolesById(@Param("id") UUID id);
+
     /**
      * メールアドレスの存在確認（削除済み除外）
      * 
@@ -0,0 +1,52 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import jp.co.protosoft.rihua.api.domain.enums.ViewTarget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 閲覧数リポジトリ
+ * 
+ * <p>集計済みの閲覧数を {@code view_count = view_count + ?} のバッチUPDATEで加算します。
+ * エンティティを読み込まないため、楽観ロックや他の列の更新とは競合しません。
+ * 複数ノードが同時に加算しても行ロックの取得順が揃うよう、ID順に更新します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class ViewCountRepository {
+
+    private static final Map<ViewTarget, String> UPDATES = new EnumMap<>(Map.of(
+            ViewTarget.FORUM_POST, update("forum_posts"),
+            ViewTarget.EVENT, update("events"),
+            ViewTarget.HOUSING, update("housing"),
+            ViewTarget.JOB, update("jobs")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 閲覧数を加算
+     * 
+     * @param target 対象タイプ
+     * @param views IDごとの加算する閲覧数
+     */
+    public void addViews(ViewTarget target, Map<UUID, Long> views) {
+        List<Object[]> batch = views.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new Object[] {entry.getValue(), entry.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATES.get(target), batch);
+    }
+
+    private static String update(String table) {
+        return "UPDATE " + table + " SET view_count = view_count + ? WHERE id = ?";
+    }
+}
@@ -0,0 +1,40 @@
+package jp.co.protosoft.rihua.api.repository.projection;
+
+import jp.co.protosoft.rihua.api.domain.enums.EventCategory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * イベントカードの読み取り専用プロジェクション
+ * 
+ * <p>一覧のカード表示に必要な列だけを選択します。説明文は読み込みません。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public interface EventCard {
+
+    UUID getId();
+
+    String getTitle();
+
+    EventCategory getCategory();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    String getLocation();
+
+    BigDecimal getPrice();
+
+    Integer getCapacity();
+
+    Integer getSoldTickets();
+
+    String getImageUrl();
+
+    Integer getViewCount();
+}
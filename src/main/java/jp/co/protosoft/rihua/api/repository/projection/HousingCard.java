@@ -0,0 +1,44 @@
+package jp.co.protosoft.rihua.api.repository.projection;
+
+import jp.co.protosoft.rihua.api.domain.enums.HousingType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 住居カードの読み取り専用プロジェクション
+ * 
+ * <p>一覧のカード表示に必要な列と、サムネイルとして画像URLを1件だけ選択します。説明文・住所は読み込みません。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public interface HousingCard {
+
+    UUID getId();
+
+    String getTitle();
+
+    HousingType getType();
+
+    BigDecimal getPrice();
+
+    String getPrefecture();
+
+    String getCity();
+
+    String getNearestStation();
+
+    Integer getWalkMinutesToStation();
+
+    Integer getRooms();
+
+    BigDecimal getArea();
+
+    String getThumbnailUrl();
+
+    Integer getViewCount();
+
+    LocalDateTime getCreatedAt();
+}
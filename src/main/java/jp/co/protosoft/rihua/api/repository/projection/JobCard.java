@@ -0,0 +1,46 @@
+package jp.co.protosoft.rihua.api.repository.projection;
+
+import jp.co.protosoft.rihua.api.domain.enums.JobType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 求人カードの読み取り専用プロジェクション
+ * 
+ * <p>一覧のカード表示に必要な列だけを選択します。説明文・連絡先・コレクションは読み込みません。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public interface JobCard {
+
+    UUID getId();
+
+    String getTitle();
+
+    String getCompanyName();
+
+    JobType getType();
+
+    BigDecimal getSalaryMin();
+
+    BigDecimal getSalaryMax();
+
+    String getSalaryType();
+
+    String getPrefecture();
+
+    String getCity();
+
+    Boolean getRemoteWorkAvailable();
+
+    Boolean getVisaSupport();
+
+    Integer getViewCount();
+
+    Integer getApplicationCount();
+
+    LocalDateTime getCreatedAt();
+}
@@ -33,6 +33,9 @@ import java.util.stream.Collectors;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwtRejectionMonitor jwtRejectionMonitor;
+    private final RefreshTokenDenylist refreshTokenDenylist;
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
@@ -47,42 +50,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String requestURI = request.getRequestURI();
             log.debug("Processing JWT authentication for URI: {}", requestURI);
             
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                // アクセストークンのみ認証に使用
-                if (jwtTokenProvider.isAccessToken(jwt)) {
-                    String userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                    String email = jwtTokenProvider.getEmailFromToken(jwt);
-                    List<String> roles = jwtTokenProvider.getRolesFromToken(jwt);
-                    String language = jwtTokenProvider.getLanguageFromToken(jwt);
-
-                    // 権限リストを作成
-                    List<SimpleGrantedAuthority> authorities = roles.stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList());
-
-                    // UserPrincipalを作成
-                    UserPrincipal userPrincipal = UserPrincipal.builder()
-                            .id(userId)
-                            .email(email)
-                            .authorities(authorities)
-                            .preferredLanguage(language)
-                            .build();
+            if (StringUtils.hasText(jwt)) {
+                // 検証済みトークンはキャッシュから取得し、署名検証を省略
+                UserPrincipal userPrincipal = verifiedTokenCache.get(jwt);
+                if (userPrincipal == null) {
+                    userPrincipal = verifyAccessToken(jwt);
+                }
+
+                // 失効したリフレッシュトークンファミリーのアクセストークンは拒否
+                if (userPrincipal != null && refreshTokenDenylist.isRevoked(userPrincipal.getSessionId())) {
+                    jwtRejectionMonitor.record(JwtValidationStatus.REVOKED);
+                    userPrincipal = null;
+                }
 
+                if (userPrincipal != null) {
                     // 認証トークンを作成
                     UsernamePasswordAuthenticationToken authentication = 
                             new UsernamePasswordAuthenticationToken(
                                     userPrincipal, 
                                     null, 
-                                    authorities);
+                                    userPrincipal.getAuthorities());
                     
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     // SecurityContextに認証情報を設定
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                     
-                    log.debug("JWT authentication successful for user: {}", email);
-                } else {
-                    log.warn("Invalid token type for authentication: expected access token");
+                    log.debug("JWT authentication successful for user: {}", userPrincipal.getEmail());
                 }
             }
         } catch (Exception ex) {
@@ -94,6 +88,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * アクセストークンを検証してUserPrincipalを作成
+     * 
+     * <p>署名検証とクレーム解析は1回のみ実行し、結果を検証済みトークンキャッシュに登録します。
+     * 無効なトークンは拒否理由のみを記録し、リクエストごとのログは出力しません。</p>
+     * 
+     * @param jwt JWTトークン
+     * @return UserPrincipal（無効なトークンまたはアクセストークン以外の場合null）
+     */
+    private UserPrincipal verifyAccessToken(String jwt) {
+        JwtValidationResult result = jwtTokenProvider.verifyToken(jwt);
+        if (!result.isValid()) {
+            jwtRejectionMonitor.record(result.status());
+            return null;
+        }
+
+        // アクセストークンのみ認証に使用
+        VerifiedJwtClaims claims = result.claims();
+        if (!claims.isAccessToken()) {
+            log.warn("Invalid token type for authentication: expected access token");
+            return null;
+        }
+
+        // 権限リストを作成
+        List<SimpleGrantedAuthority> authorities = claims.roles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        // UserPrincipalを作成
+        UserPrincipal userPrincipal = UserPrincipal.builder()
+                .id(claims.userId())
+                .email(claims.email())
+                .authorities(authorities)
+                .preferredLanguage(claims.language())
+                .sessionId(claims.sessionId())
+                .build();
+
+        verifiedTokenCache.put(jwt, userPrincipal, claims.expiration());
+        return userPrincipal;
+    }
+
     /**
      * HTTPリクエストからJWTトークンを抽出
      * 
@@ -113,20 +148,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     /**
      * 特定のパスに対してフィルターをスキップするかどうかを判定
      * 
+     * <p>{@link PublicRoutes} の公開ルートではJWTの検証を行いません。</p>
+     * 
      * @param request HTTPリクエスト
      * @return スキップする場合true
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-        
-        // 認証が不要なパスはフィルターをスキップ
-        return path.startsWith("/api/v1/auth/") ||
-               path.startsWith("/actuator/health") ||
-               path.startsWith("/actuator/info") ||
-               path.startsWith("/api-docs") ||
-               path.startsWith("/swagger-ui") ||
-               path.equals("/favicon.ico") ||
-               path.equals("/error");
+        return PublicRoutes.MATCHER.matches(request);
     }
 }
\ No newline at end of file
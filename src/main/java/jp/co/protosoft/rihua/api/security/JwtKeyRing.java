@@ -0,0 +1,243 @@
+package jp.co.protosoft.rihua.api.security;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JWT署名・検証鍵セット
+ * 
+ * <p>署名に使用するアクティブ鍵と、kid → 検証鍵の不変マップを保持します。
+ * 鍵のローテーションは新しいインスタンスを作成して {@link JwtTokenProvider#rotateKeys(JwtKeyRing)} で
+ * 差し替えるため、リクエスト処理中の検証はロックを取得しません。</p>
+ * 
+ * <p>kidを持たないトークン（HMAC署名の既存トークン）は、HS512の場合と、EdDSA・ES256で
+ * {@code rihua.jwt.legacy-hmac-verification} を有効にした移行期間中のみ {@code rihua.jwt.secret} のHMAC鍵で検証します。
+ * それ以外の場合は拒否するため、検証側に共有シークレットは不要です。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public final class JwtKeyRing {
+
+    /**
+     * HMAC鍵のkid
+     */
+    public static final String HMAC_KEY_ID = "hs512";
+
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    /**
+     * application.ymlの既定シークレット（公開されているため移行用のHMAC検証には使用しない）
+     */
+    static final String DEFAULT_SECRET = "rihua-jwt-secret-key-change-in-production";
+
+    private final String activeKeyId;
+    private final Key signingKey;
+    private final SecureDigestAlgorithm<?, ?> signatureAlgorithm;
+    private final Map<String, Key> verificationKeys;
+    private final SecretKey legacyHmacKey;
+    private final Instant legacyHmacUntil;
+
+    private JwtKeyRing(String activeKeyId,
+                       Key signingKey,
+                       SecureDigestAlgorithm<?, ?> signatureAlgorithm,
+                       Map<String, Key> verificationKeys,
+                       SecretKey legacyHmacKey,
+                       Instant legacyHmacUntil) {
+        this.activeKeyId = activeKeyId;
+        this.signingKey = signingKey;
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.verificationKeys = Map.copyOf(verificationKeys);
+        this.legacyHmacKey = legacyHmacKey;
+        this.legacyHmacUntil = legacyHmacUntil;
+    }
+
+    /**
+     * HMAC（HS512）のみの鍵セットを作成
+     * 
+     * @param secret シークレット
+     * @return 鍵セット
+     */
+    public static JwtKeyRing hmac(String secret) {
+        SecretKey hmacKey = createHmacKey(secret);
+        return new JwtKeyRing(HMAC_KEY_ID, hmacKey, Jwts.SIG.HS512, Map.of(HMAC_KEY_ID, hmacKey), hmacKey, null);
+    }
+
+    /**
+     * 設定から鍵セットを作成
+     * 
+     * @param properties JWT設定
+     * @return 鍵セット
+     * @throws IllegalArgumentException 設定が不正な場合
+     */
+    public static JwtKeyRing from(JwtProperties properties) {
+        String algorithm = properties.getAlgorithm() != null ? properties.getAlgorithm() : "HS512";
+        if ("HS512".equalsIgnoreCase(algorithm)) {
+            return hmac(properties.getSecret());
+        }
+
+        SecureDigestAlgorithm<?, ?> signatureAlgorithm;
+        String keyFactoryAlgorithm;
+        if ("EdDSA".equalsIgnoreCase(algorithm)) {
+            signatureAlgorithm = Jwts.SIG.EdDSA;
+            keyFactoryAlgorithm = "EdDSA";
+        } else if ("ES256".equalsIgnoreCase(algorithm)) {
+            signatureAlgorithm = Jwts.SIG.ES256;
+            keyFactoryAlgorithm = "EC";
+        } else {
+            throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+        }
+
+        Map<String, Key> verificationKeys = new HashMap<>();
+        PrivateKey activePrivateKey = null;
+        for (JwtProperties.Key key : properties.getKeys()) {
+            if (key.getId() == null || key.getPublicKey() == null) {
+                throw new IllegalArgumentException("JWT key requires id and public-key");
+            }
+            verificationKeys.put(key.getId(), decodePublicKey(keyFactoryAlgorithm, key.getPublicKey()));
+            if (key.getId().equals(properties.getActiveKeyId()) && key.getPrivateKey() != null) {
+                activePrivateKey = decodePrivateKey(keyFactoryAlgorithm, key.getPrivateKey());
+            }
+        }
+        if (activePrivateKey == null) {
+            throw new IllegalArgumentException("JWT private key not found for active-key-id: "
+                    + properties.getActiveKeyId());
+        }
+
+        // kidなしのHMACトークンは明示的に有効にした移行期間中のみ検証する
+        SecretKey legacyHmacKey = null;
+        if (properties.isLegacyHmacVerification()) {
+            if (properties.getLegacyHmacVerificationUntil() == null) {
+                throw new IllegalArgumentException("legacy-hmac-verification requires legacy-hmac-verification-until");
+            }
+            if (DEFAULT_SECRET.equals(properties.getSecret())) {
+                throw new IllegalArgumentException("legacy-hmac-verification requires a non-default JWT secret");
+            }
+            legacyHmacKey = createHmacKey(properties.getSecret());
+        }
+
+        return new JwtKeyRing(properties.getActiveKeyId(), activePrivateKey, signatureAlgorithm,
+                verificationKeys, legacyHmacKey, properties.getLegacyHmacVerificationUntil());
+    }
+
+    /**
+     * 鍵オブジェクトから直接鍵セットを作成（外部の鍵管理から取得した鍵のローテーションなど）
+     * 
+     * @param activeKeyId アクティブ鍵ID
+     * @param signingKey 署名鍵
+     * @param signatureAlgorithm 署名アルゴリズム
+     * @param verificationKeys kid → 検証鍵
+     * @return 鍵セット
+     */
+    public static JwtKeyRing of(String activeKeyId,
+                                Key signingKey,
+                                SecureDigestAlgorithm<?, ?> signatureAlgorithm,
+                                Map<String, ? extends Key> verificationKeys) {
+        return new JwtKeyRing(activeKeyId, signingKey, signatureAlgorithm,
+                Map.<String, Key>copyOf(verificationKeys), null, null);
+    }
+
+    /**
+     * JWTヘッダーのkidから検証鍵を取得
+     * 
+     * @param keyId kid（null可）
+     * @return 検証鍵
+     * @throws SignatureException 該当する鍵がない場合、またはkidなしのトークンの移行期限を過ぎた場合
+     */
+    Key locateVerificationKey(String keyId) {
+        Key key = keyId != null ? verificationKeys.get(keyId) : locateLegacyHmacKey();
+        if (key == null) {
+            throw new SignatureException("No verification key for kid: " + keyId);
+        }
+        return key;
+    }
+
+    /**
+     * 移行期限内の場合のみkidなしのトークン用のHMAC鍵を取得
+     */
+    private Key locateLegacyHmacKey() {
+        if (legacyHmacKey == null || (legacyHmacUntil != null && !Instant.now().isBefore(legacyHmacUntil))) {
+            return null;
+        }
+        return legacyHmacKey;
+    }
+
+    /**
+     * アクティブ鍵でJWTに署名
+     * 
+     * @param builder JWTビルダー
+     * @return 署名設定済みのJWTビルダー
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    JwtBuilder sign(JwtBuilder builder) {
+        return builder
+                .header().keyId(activeKeyId).and()
+                .signWith(signingKey, (SecureDigestAlgorithm) signatureAlgorithm);
+    }
+
+    /**
+     * アクティブ鍵IDを取得
+     * 
+     * @return アクティブ鍵ID
+     */
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * 署名アルゴリズム名を取得
+     * 
+     * @return アルゴリズム名（HS512 / EdDSA / ES256）
+     */
+    public String getAlgorithmId() {
+        return signatureAlgorithm.getId();
+    }
+
+    private static SecretKey createHmacKey(String secret) {
+        // シークレットキーの最小長チェック
+        if (secret == null || secret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException("JWT secret must be at least 32 characters long");
+        }
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PublicKey decodePublicKey(String algorithm, String encoded) {
+        try {
+            return KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(decodePem(encoded)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalArgumentException("Invalid JWT public key", ex);
+        }
+    }
+
+    private static PrivateKey decodePrivateKey(String algorithm, String encoded) {
+        try {
+            return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(decodePem(encoded)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalArgumentException("Invalid JWT private key", ex);
+        }
+    }
+
+    private static byte[] decodePem(String encoded) {
+        String base64 = encoded
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -0,0 +1,139 @@
+package jp.co.protosoft.rihua.api.security;
+
+import java.util.Base64;
+
+/**
+ * JWT事前検証ユーティリティ
+ * 
+ * <p>署名検証の前に、トークンの構造・Base64URLの文字種・有効期限（exp）のみを低コストで確認します。
+ * 例外やログを発生させずに明らかに無効なトークンを除外し、スキャナーや期限切れセッションからの大量リクエストで
+ * HMAC計算やスタックトレース生成が発生しないようにします。</p>
+ * 
+ * <p>ここでOKとなったトークンも、必ず署名検証を経てから使用されます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+final class JwtPreValidator {
+
+    /**
+     * 受け付けるトークンの最大長
+     */
+    static final int MAX_TOKEN_LENGTH = 8192;
+
+    /**
+     * JSONオブジェクト（'{"'）をBase64URLエンコードした先頭文字列
+     */
+    private static final String JSON_OBJECT_PREFIX = "eyJ";
+
+    private static final byte[] EXP_KEY = {'"', 'e', 'x', 'p', '"'};
+
+    private JwtPreValidator() {
+    }
+
+    /**
+     * トークンを事前検証
+     * 
+     * @param token JWTトークン
+     * @param nowEpochSecond 現在時刻（エポック秒）
+     * @return 事前検証を通過した場合OK、それ以外は拒否理由
+     */
+    static JwtValidationStatus check(String token, long nowEpochSecond) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            return JwtValidationStatus.MALFORMED;
+        }
+
+        // header.payload.signature の3セグメント構造
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return JwtValidationStatus.MALFORMED;
+        }
+        if (secondDot == firstDot + 1 || secondDot == token.length() - 1) {
+            return JwtValidationStatus.MALFORMED;
+        }
+
+        // ヘッダーとペイロードはJSONオブジェクト
+        if (!token.startsWith(JSON_OBJECT_PREFIX) || !token.startsWith(JSON_OBJECT_PREFIX, firstDot + 1)) {
+            return JwtValidationStatus.MALFORMED;
+        }
+
+        if (!isBase64Url(token, 0, token.length())) {
+            return JwtValidationStatus.MALFORMED;
+        }
+
+        byte[] payload;
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot));
+        } catch (IllegalArgumentException ex) {
+            return JwtValidationStatus.MALFORMED;
+        }
+
+        long exp = findExpClaim(payload);
+        if (exp >= 0 && exp <= nowEpochSecond) {
+            return JwtValidationStatus.EXPIRED;
+        }
+        return JwtValidationStatus.OK;
+    }
+
+    /**
+     * Base64URLの文字種（区切りの'.'を含む）のみで構成されているかを確認
+     */
+    private static boolean isBase64Url(String token, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            boolean valid = (c >= 'A' && c <= 'Z')
+                    || (c >= 'a' && c <= 'z')
+                    || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * ペイロードJSONからexpクレームの値を取得
+     * 
+     * <p>JSONパーサーを使わずに {@code "exp": <数値>} を走査します。
+     * 値は署名検証後に改めて確認されるため、ここでは期限切れの早期判定にのみ使用します。</p>
+     * 
+     * @param payload デコード済みペイロード
+     * @return expの値（エポック秒）。存在しないか数値でない場合-1
+     */
+    private static long findExpClaim(byte[] payload) {
+        outer:
+        for (int i = 0; i <= payload.length - EXP_KEY.length; i++) {
+            for (int j = 0; j < EXP_KEY.length; j++) {
+                if (payload[i + j] != EXP_KEY[j]) {
+                    continue outer;
+                }
+            }
+
+            int pos = skipWhitespace(payload, i + EXP_KEY.length);
+            if (pos >= payload.length || payload[pos] != ':') {
+                continue;
+            }
+            pos = skipWhitespace(payload, pos + 1);
+
+            long value = 0;
+            int digits = 0;
+            while (pos < payload.length && payload[pos] >= '0' && payload[pos] <= '9' && digits < 18) {
+                value = value * 10 + (payload[pos] - '0');
+                pos++;
+                digits++;
+            }
+            return digits > 0 ? value : -1;
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] payload, int pos) {
+        while (pos < payload.length
+                && (payload[pos] == ' ' || payload[pos] == '\t' || payload[pos] == '\n' || payload[pos] == '\r')) {
+            pos++;
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,92 @@
+package jp.co.protosoft.rihua.api.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT署名鍵設定
+ * 
+ * <p>{@code rihua.jwt.*} の署名アルゴリズムと鍵を保持します。{@code algorithm} が {@code HS512} の場合は
+ * 従来どおり {@code secret} で署名します。{@code EdDSA} または {@code ES256} の場合は {@code keys} のうち
+ * {@code active-key-id} の秘密鍵で署名し、{@code kid} ヘッダーで検証鍵を選択します。</p>
+ * 
+ * <pre>
+ * rihua:
+ *   jwt:
+ *     algorithm: EdDSA
+ *     active-key-id: 2024-06
+ *     keys:
+ *       - id: 2024-06
+ *         private-key: ${JWT_PRIVATE_KEY}   # PKCS#8 (PEM または Base64 DER)
+ *         public-key: ${JWT_PUBLIC_KEY}     # X.509 (PEM または Base64 DER)
+ *       - id: 2024-01                       # ローテーション前の鍵（検証のみ）
+ *         public-key: ${JWT_PREVIOUS_PUBLIC_KEY}
+ * </pre>
+ * 
+ * <p>HS512からの移行期間中にkidを持たない既存のHMACトークンも受け付ける場合は、
+ * {@code legacy-hmac-verification: true} と移行期限 {@code legacy-hmac-verification-until} を設定します。
+ * 既定では無効で、期限を過ぎるとkidなしのトークンはすべて拒否されます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "rihua.jwt")
+public class JwtProperties {
+
+    /**
+     * HMAC署名用シークレット（HS512、および移行期間中のkidを持たない既存トークンの検証に使用）
+     */
+    private String secret;
+
+    /**
+     * EdDSA・ES256で、kidを持たない既存のHMACトークンを {@code secret} で検証するか（移行期間のみ）
+     */
+    private boolean legacyHmacVerification = false;
+
+    /**
+     * kidを持たないHMACトークンの検証を終了する日時（{@code legacy-hmac-verification} 有効時は必須）
+     */
+    private Instant legacyHmacVerificationUntil;
+
+    /**
+     * 署名アルゴリズム（HS512 / EdDSA / ES256）
+     */
+    private String algorithm = "HS512";
+
+    /**
+     * 署名に使用する鍵のID
+     */
+    private String activeKeyId;
+
+    /**
+     * 署名・検証鍵の一覧
+     */
+    private List<Key> keys = new ArrayList<>();
+
+    /**
+     * 鍵設定
+     */
+    @Data
+    public static class Key {
+
+        /**
+         * 鍵ID（JWTヘッダーのkid）
+         */
+        private String id;
+
+        /**
+         * 秘密鍵（署名用、アクティブ鍵のみ必須）
+         */
+        private String privateKey;
+
+        /**
+         * 公開鍵（検証用）
+         */
+        private String publicKey;
+    }
+}
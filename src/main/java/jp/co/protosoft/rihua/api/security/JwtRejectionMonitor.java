@@ -0,0 +1,78 @@
+package jp.co.protosoft.rihua.api.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JWT拒否の計測とサンプリングログ
+ * 
+ * <p>拒否理由ごとに {@code rihua.jwt.rejections{reason=...}} カウンターを加算します。
+ * ログは拒否理由ごとに {@code rihua.jwt.rejection-log-interval-ms} に1行までに制限し、
+ * その間に抑制した件数を併せて出力します。スキャナー等による大量の無効トークンでもログI/Oが増えません。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class JwtRejectionMonitor {
+
+    private static final String METRIC_NAME = "rihua.jwt.rejections";
+
+    private final long logIntervalMs;
+    private final Map<JwtValidationStatus, Counter> counters = new EnumMap<>(JwtValidationStatus.class);
+    private final Map<JwtValidationStatus, AtomicLong> lastLoggedAt = new EnumMap<>(JwtValidationStatus.class);
+    private final Map<JwtValidationStatus, AtomicLong> suppressedCounts = new EnumMap<>(JwtValidationStatus.class);
+
+    public JwtRejectionMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${rihua.jwt.rejection-log-interval-ms:60000}") long logIntervalMs) {
+
+        this.logIntervalMs = logIntervalMs;
+        for (JwtValidationStatus status : JwtValidationStatus.values()) {
+            if (status == JwtValidationStatus.OK) {
+                continue;
+            }
+            counters.put(status, Counter.builder(METRIC_NAME)
+                    .description("Number of rejected JWT tokens")
+                    .tag("reason", status.getTagValue())
+                    .register(meterRegistry));
+            lastLoggedAt.put(status, new AtomicLong(Long.MIN_VALUE));
+            suppressedCounts.put(status, new AtomicLong());
+        }
+    }
+
+    /**
+     * トークン拒否を記録
+     * 
+     * @param status 拒否理由（OKの場合は何もしない）
+     */
+    public void record(JwtValidationStatus status) {
+        Counter counter = counters.get(status);
+        if (counter == null) {
+            return;
+        }
+        counter.increment();
+
+        long now = System.currentTimeMillis();
+        AtomicLong last = lastLoggedAt.get(status);
+        long previous = last.get();
+        if (previous != Long.MIN_VALUE && now - previous < logIntervalMs) {
+            suppressedCounts.get(status).incrementAndGet();
+            return;
+        }
+        if (last.compareAndSet(previous, now)) {
+            long suppressed = suppressedCounts.get(status).getAndSet(0);
+            log.warn("JWT rejected: reason={}, suppressedSinceLastLog={}", status, suppressed);
+        } else {
+            suppressedCounts.get(status).incrementAndGet();
+        }
+    }
+}
@@ -1,19 +1,21 @@
 package jp.co.protosoft.rihua.api.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -28,23 +30,115 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JwtTokenProvider {
 
-    private final SecretKey secretKey;
+    private final AtomicReference<JwtKeyRing> keyRing;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final long accessTokenExpirationMs;
     private final long refreshTokenExpirationMs;
 
+    /**
+     * HMAC（HS512）署名のみを使用するプロバイダーを作成
+     * 
+     * @param secret シークレット
+     * @param accessTokenExpirationMs アクセストークン有効期間（ミリ秒）
+     * @param refreshTokenExpirationMs リフレッシュトークン有効期間（ミリ秒）
+     */
+    public JwtTokenProvider(String secret, long accessTokenExpirationMs, long refreshTokenExpirationMs) {
+        this(JwtKeyRing.hmac(secret), accessTokenExpirationMs, refreshTokenExpirationMs);
+    }
+
+    /**
+     * 設定の署名アルゴリズムと鍵でプロバイダーを作成
+     * 
+     * @param jwtProperties JWT設定
+     * @param accessTokenExpirationMs アクセストークン有効期間（ミリ秒）
+     * @param refreshTokenExpirationMs リフレッシュトークン有効期間（ミリ秒）
+     */
+    public JwtTokenProvider(JwtProperties jwtProperties, long accessTokenExpirationMs, long refreshTokenExpirationMs) {
+        this(JwtKeyRing.from(jwtProperties), null, accessTokenExpirationMs, refreshTokenExpirationMs);
+    }
+
+    /**
+     * 設定の署名アルゴリズムと鍵でプロバイダーを作成し、鍵ローテーション時に検証済みトークンのキャッシュを破棄
+     * 
+     * @param jwtProperties JWT設定
+     * @param verifiedTokenCache 検証済みアクセストークンのキャッシュ
+     * @param accessTokenExpirationMs アクセストークン有効期間（ミリ秒）
+     * @param refreshTokenExpirationMs リフレッシュトークン有効期間（ミリ秒）
+     */
+    @Autowired
     public JwtTokenProvider(
-            @Value("${rihua.jwt.secret}") String secret,
+            JwtProperties jwtProperties,
+            VerifiedTokenCache verifiedTokenCache,
             @Value("${rihua.jwt.access-token-expiration}") long accessTokenExpirationMs,
             @Value("${rihua.jwt.refresh-token-expiration}") long refreshTokenExpirationMs) {
-        
-        // シークレットキーの最小長チェック
-        if (secret.length() < 32) {
-            throw new IllegalArgumentException("JWT secret must be at least 32 characters long");
-        }
-        
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this(JwtKeyRing.from(jwtProperties), verifiedTokenCache, accessTokenExpirationMs, refreshTokenExpirationMs);
+    }
+
+    /**
+     * 鍵セットを指定してプロバイダーを作成
+     * 
+     * @param keyRing 署名・検証鍵セット
+     * @param accessTokenExpirationMs アクセストークン有効期間（ミリ秒）
+     * @param refreshTokenExpirationMs リフレッシュトークン有効期間（ミリ秒）
+     */
+    public JwtTokenProvider(JwtKeyRing keyRing, long accessTokenExpirationMs, long refreshTokenExpirationMs) {
+        this(keyRing, null, accessTokenExpirationMs, refreshTokenExpirationMs);
+    }
+
+    /**
+     * 鍵セットと検証済みトークンのキャッシュを指定してプロバイダーを作成
+     * 
+     * @param keyRing 署名・検証鍵セット
+     * @param verifiedTokenCache 鍵ローテーション時に破棄するキャッシュ（null可）
+     * @param accessTokenExpirationMs アクセストークン有効期間（ミリ秒）
+     * @param refreshTokenExpirationMs リフレッシュトークン有効期間（ミリ秒）
+     */
+    public JwtTokenProvider(JwtKeyRing keyRing, VerifiedTokenCache verifiedTokenCache,
+                            long accessTokenExpirationMs, long refreshTokenExpirationMs) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.keyRing = new AtomicReference<>(keyRing);
+        // JwtParserはスレッドセーフなため、起動時に1度だけ構築して全リクエストで再利用
+        // 検証鍵はkidヘッダーで現在の鍵セットから選択するため、鍵ローテーション後も再構築は不要
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        return JwtTokenProvider.this.keyRing.get().locateVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
         this.accessTokenExpirationMs = accessTokenExpirationMs;
         this.refreshTokenExpirationMs = refreshTokenExpirationMs;
+        log.info("JWT signing configured: algorithm={}, kid={}", keyRing.getAlgorithmId(), keyRing.getActiveKeyId());
+    }
+
+    /**
+     * 署名・検証鍵セットを差し替え（鍵ローテーション）
+     * 
+     * <p>差し替えはアトミックに行われ、処理中のリクエストはロックされません。
+     * ローテーション前に発行したトークンを引き続き検証する場合は、新しい鍵セットに旧鍵のkidと公開鍵を含めてください。
+     * 削除・漏洩した鍵のトークンがキャッシュから認証され続けないよう、差し替え後に {@link VerifiedTokenCache} を破棄します。
+     * 旧鍵を残したトークンは次のリクエストで再検証されます。</p>
+     * 
+     * @param newKeyRing 新しい鍵セット
+     */
+    public void rotateKeys(JwtKeyRing newKeyRing) {
+        JwtKeyRing previous = keyRing.getAndSet(newKeyRing);
+        if (verifiedTokenCache != null) {
+            verifiedTokenCache.invalidateAll();
+        }
+        log.info("JWT signing keys rotated: kid {} -> {}, algorithm={}",
+                previous.getActiveKeyId(), newKeyRing.getActiveKeyId(), newKeyRing.getAlgorithmId());
+    }
+
+    /**
+     * 現在の署名・検証鍵セットを取得
+     * 
+     * @return 鍵セット
+     */
+    public JwtKeyRing getKeyRing() {
+        return keyRing.get();
     }
 
     /**
@@ -57,6 +151,24 @@ public class JwtTokenProvider {
      * @return JWTアクセストークン
      */
     public String generateAccessToken(Authentication authentication, String userId, String email, String preferredLanguage) {
+        return generateAccessToken(authentication, userId, email, preferredLanguage, null);
+    }
+
+    /**
+     * リフレッシュトークンファミリーに紐づくアクセストークンを生成
+     * 
+     * <p>{@code sid} クレームにファミリーIDを設定します。ファミリーが失効すると、
+     * 認証フィルターはこのアクセストークンも拒否します。</p>
+     * 
+     * @param authentication 認証情報
+     * @param userId ユーザーID
+     * @param email メールアドレス
+     * @param preferredLanguage 優先言語
+     * @param sessionId リフレッシュトークンファミリーID（null可）
+     * @return JWTアクセストークン
+     */
+    public String generateAccessToken(Authentication authentication, String userId, String email,
+                                      String preferredLanguage, String sessionId) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         
         List<String> roles = authentication.getAuthorities().stream()
@@ -66,16 +178,19 @@ public class JwtTokenProvider {
         Instant now = Instant.now();
         Instant expiryDate = now.plus(accessTokenExpirationMs, ChronoUnit.MILLIS);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userId)
                 .claim("email", email)
                 .claim("roles", roles)
                 .claim("lang", preferredLanguage != null ? preferredLanguage : "zh-CN")
                 .claim("type", "access")
                 .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(expiryDate))
-                .signWith(secretKey, SignatureAlgorithm.HS512)
-                .compact();
+                .setExpiration(Date.from(expiryDate));
+        if (sessionId != null) {
+            builder.claim("sid", sessionId);
+        }
+
+        return keyRing.get().sign(builder).compact();
     }
 
     /**
@@ -85,16 +200,46 @@ public class JwtTokenProvider {
      * @return JWTリフレッシュトークン
      */
     public String generateRefreshToken(String userId) {
+        return generateRefreshToken(userId, null, null);
+    }
+
+    /**
+     * ローテーション管理対象のリフレッシュトークンを生成
+     * 
+     * <p>{@code sid} にファミリーID、{@code jti} にトークンIDを設定します。
+     * ファミリーの管理は {@link jp.co.protosoft.rihua.api.service.RefreshTokenService} が行います。</p>
+     * 
+     * @param userId ユーザーID
+     * @param familyId リフレッシュトークンファミリーID（null可）
+     * @param tokenId トークンID（null可）
+     * @return JWTリフレッシュトークン
+     */
+    public String generateRefreshToken(String userId, String familyId, String tokenId) {
         Instant now = Instant.now();
         Instant expiryDate = now.plus(refreshTokenExpirationMs, ChronoUnit.MILLIS);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userId)
                 .claim("type", "refresh")
                 .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(expiryDate))
-                .signWith(secretKey, SignatureAlgorithm.HS512)
-                .compact();
+                .setExpiration(Date.from(expiryDate));
+        if (familyId != null) {
+            builder.claim("sid", familyId);
+        }
+        if (tokenId != null) {
+            builder.setId(tokenId);
+        }
+
+        return keyRing.get().sign(builder).compact();
+    }
+
+    /**
+     * リフレッシュトークンの有効期間を取得
+     * 
+     * @return 有効期間（ミリ秒）
+     */
+    public long getRefreshTokenExpirationMs() {
+        return refreshTokenExpirationMs;
     }
 
     /**
@@ -104,11 +249,7 @@ public class JwtTokenProvider {
      * @return ユーザーID
      */
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parseClaims(token);
 
         return claims.getSubject();
     }
@@ -120,11 +261,7 @@ public class JwtTokenProvider {
      * @return メールアドレス
      */
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parseClaims(token);
 
         return claims.get("email", String.class);
     }
@@ -137,11 +274,7 @@ public class JwtTokenProvider {
      */
     @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parseClaims(token);
 
         return claims.get("roles", List.class);
     }
@@ -153,11 +286,7 @@ public class JwtTokenProvider {
      * @return 優先言語
      */
     public String getLanguageFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parseClaims(token);
 
         return claims.get("lang", String.class);
     }
@@ -169,11 +298,7 @@ public class JwtTokenProvider {
      * @return トークン種類（access/refresh）
      */
     public String getTokenType(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parseClaims(token);
 
         return claims.get("type", String.class);
     }
@@ -185,40 +310,71 @@ public class JwtTokenProvider {
      * @return 有効期限
      */
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parseClaims(token);
 
         return claims.getExpiration();
     }
 
     /**
-     * トークンの有効性を検証
+     * トークンを検証し、型付きの検証結果を取得
+     * 
+     * <p>まず構造・Base64URL形式・有効期限（exp）を低コストで事前検証し、通過したトークンのみ署名検証と
+     * クレーム解析を1回だけ実行します。無効なトークンは例外やログを発生させず、拒否理由のステータスで返します。
+     * 拒否の記録は呼び出し側（{@link JwtRejectionMonitor}）で行います。</p>
      * 
      * @param token JWTトークン
-     * @return 有効な場合true
+     * @return 検証結果
      */
-    public boolean validateToken(String token) {
+    @SuppressWarnings("unchecked")
+    public JwtValidationResult verifyToken(String token) {
+        JwtValidationStatus preStatus = JwtPreValidator.check(token, Instant.now().getEpochSecond());
+        if (preStatus != JwtValidationStatus.OK) {
+            return JwtValidationResult.rejected(preStatus);
+        }
+
         try {
-            Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException ex) {
-            log.error("Invalid JWT signature: {}", ex.getMessage());
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token: {}", ex.getMessage());
+            Claims claims = parseClaims(token);
+
+            return JwtValidationResult.valid(new VerifiedJwtClaims(
+                    claims.getSubject(),
+                    claims.get("email", String.class),
+                    claims.get("roles", List.class),
+                    claims.get("lang", String.class),
+                    claims.get("type", String.class),
+                    toInstant(claims.getIssuedAt()),
+                    toInstant(claims.getExpiration()),
+                    claims.get("sid", String.class),
+                    claims.getId()));
         } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token: {}", ex.getMessage());
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token: {}", ex.getMessage());
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty: {}", ex.getMessage());
+            return JwtValidationResult.rejected(JwtValidationStatus.EXPIRED);
+        } catch (SecurityException ex) {
+            return JwtValidationResult.rejected(JwtValidationStatus.BAD_SIGNATURE);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return JwtValidationResult.rejected(JwtValidationStatus.MALFORMED);
         }
-        return false;
+    }
+
+    /**
+     * トークンを一度だけ解析・署名検証し、検証済みクレームを取得
+     * 
+     * <p>認証フィルターなど、1つのトークンから複数のクレームを読み取る処理ではこのメソッドを使用します。
+     * 個別のgetterを続けて呼ぶと、そのたびに署名検証が行われます。</p>
+     * 
+     * @param token JWTトークン
+     * @return 検証済みクレーム（無効なトークンの場合は空）
+     */
+    public Optional<VerifiedJwtClaims> parseToken(String token) {
+        return Optional.ofNullable(verifyToken(token).claims());
+    }
+
+    /**
+     * トークンの有効性を検証
+     * 
+     * @param token JWTトークン
+     * @return 有効な場合true
+     */
+    public boolean validateToken(String token) {
+        return verifyToken(token).isValid();
     }
 
     /**
@@ -228,13 +384,9 @@ public class JwtTokenProvider {
      * @return アクセストークンの場合true
      */
     public boolean isAccessToken(String token) {
-        try {
-            String tokenType = getTokenType(token);
-            return "access".equals(tokenType);
-        } catch (Exception ex) {
-            log.error("Error checking token type: {}", ex.getMessage());
-            return false;
-        }
+        return parseToken(token)
+                .map(VerifiedJwtClaims::isAccessToken)
+                .orElse(false);
     }
 
     /**
@@ -244,13 +396,9 @@ public class JwtTokenProvider {
      * @return リフレッシュトークンの場合true
      */
     public boolean isRefreshToken(String token) {
-        try {
-            String tokenType = getTokenType(token);
-            return "refresh".equals(tokenType);
-        } catch (Exception ex) {
-            log.error("Error checking token type: {}", ex.getMessage());
-            return false;
-        }
+        return parseToken(token)
+                .map(VerifiedJwtClaims::isRefreshToken)
+                .orElse(false);
     }
 
     /**
@@ -285,4 +433,24 @@ public class JwtTokenProvider {
             return 0;
         }
     }
+
+    /**
+     * 共有パーサーでトークンを解析・署名検証し、クレームを取得
+     * 
+     * @param token JWTトークン
+     * @return クレーム
+     */
+    private Claims parseClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * DateをInstantに変換
+     * 
+     * @param date 日時（null可）
+     * @return Instant（nullの場合null）
+     */
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package jp.co.protosoft.rihua.api.security;
+
+/**
+ * JWT検証結果
+ * 
+ * <p>{@link JwtTokenProvider#verifyToken(String)} の戻り値です。無効なトークンは例外ではなくステータスで表現されます。</p>
+ * 
+ * @param status 検証結果ステータス
+ * @param claims 検証済みクレーム（{@link JwtValidationStatus#OK} 以外の場合null）
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public record JwtValidationResult(JwtValidationStatus status, VerifiedJwtClaims claims) {
+
+    private static final JwtValidationResult EXPIRED = new JwtValidationResult(JwtValidationStatus.EXPIRED, null);
+    private static final JwtValidationResult MALFORMED = new JwtValidationResult(JwtValidationStatus.MALFORMED, null);
+    private static final JwtValidationResult BAD_SIGNATURE =
+            new JwtValidationResult(JwtValidationStatus.BAD_SIGNATURE, null);
+    private static final JwtValidationResult REVOKED = new JwtValidationResult(JwtValidationStatus.REVOKED, null);
+
+    /**
+     * 有効な検証結果を作成
+     * 
+     * @param claims 検証済みクレーム
+     * @return 検証結果
+     */
+    public static JwtValidationResult valid(VerifiedJwtClaims claims) {
+        return new JwtValidationResult(JwtValidationStatus.OK, claims);
+    }
+
+    /**
+     * 無効な検証結果を取得
+     * 
+     * @param status 検証結果ステータス（OK以外）
+     * @return 検証結果
+     */
+    public static JwtValidationResult rejected(JwtValidationStatus status) {
+        return switch (status) {
+            case EXPIRED -> EXPIRED;
+            case MALFORMED -> MALFORMED;
+            case BAD_SIGNATURE -> BAD_SIGNATURE;
+            case REVOKED -> REVOKED;
+            case OK -> throw new IllegalArgumentException("OK is not a rejection status");
+        };
+    }
+
+    /**
+     * 有効なトークンかどうかを確認
+     * 
+     * @return 有効な場合true
+     */
+    public boolean isValid() {
+        return status == JwtValidationStatus.OK;
+    }
+}
@@ -0,0 +1,43 @@
+package jp.co.protosoft.rihua.api.security;
+
+/**
+ * JWT検証結果ステータス列挙型
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public enum JwtValidationStatus {
+    /**
+     * 有効
+     */
+    OK,
+    
+    /**
+     * 有効期限切れ
+     */
+    EXPIRED,
+    
+    /**
+     * 形式不正（構造・Base64・JSON・未対応形式）
+     */
+    MALFORMED,
+    
+    /**
+     * 署名不正
+     */
+    BAD_SIGNATURE,
+    
+    /**
+     * 失効済み（リフレッシュトークンファミリーの失効）
+     */
+    REVOKED;
+
+    /**
+     * メトリクスのタグ値を取得
+     * 
+     * @return 小文字のステータス名
+     */
+    public String getTagValue() {
+        return name().toLowerCase();
+    }
+}
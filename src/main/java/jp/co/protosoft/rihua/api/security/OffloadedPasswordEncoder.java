@@ -0,0 +1,38 @@
+package jp.co.protosoft.rihua.api.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * ハッシュ計算を専用スレッドプールで実行するパスワードエンコーダー
+ * 
+ * <p>{@link #encode(CharSequence)} と {@link #matches(CharSequence, String)} を {@link PasswordHashingExecutor} に委譲します。
+ * {@link #upgradeEncoding(String)} は文字列の判定のみのため呼び出し元のスレッドで実行します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor hashingExecutor;
+
+    public OffloadedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor hashingExecutor) {
+        this.delegate = delegate;
+        this.hashingExecutor = hashingExecutor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingExecutor.execute("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingExecutor.execute("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
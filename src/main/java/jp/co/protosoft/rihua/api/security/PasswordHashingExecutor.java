@@ -0,0 +1,154 @@
+package jp.co.protosoft.rihua.api.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jp.co.protosoft.rihua.api.exception.PasswordHashingBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * パスワードハッシュ専用スレッドプール
+ * 
+ * <p>bcrypt・Argon2のハッシュ計算をTomcatのリクエストスレッドから切り離し、固定数のスレッドで実行します。
+ * 同時に計算するハッシュの数がスレッド数で制限されるため、ログインが集中しても他のエンドポイントのCPUを奪いません。
+ * 待ち行列が上限に達した場合は待機せずに {@link PasswordHashingBusyException} をスローします。</p>
+ * 
+ * <p>メトリクス:</p>
+ * <ul>
+ *   <li>{@code rihua.password.hashing{operation=encode|matches}} - ハッシュ計算時間（ヒストグラム）</li>
+ *   <li>{@code rihua.password.hashing.queue.depth} - 待ち行列の件数</li>
+ *   <li>{@code rihua.password.hashing.active} - 計算中の件数</li>
+ *   <li>{@code rihua.password.hashing.rejections} - 混雑により拒否した件数</li>
+ * </ul>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private static final String METRIC_NAME = "rihua.password.hashing";
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter rejections;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        PasswordHashingProperties.Executor config = properties.getExecutor();
+        this.timeoutMs = config.getTimeoutMs();
+        this.retryAfterSeconds = config.getRetryAfterSeconds();
+        this.meterRegistry = meterRegistry;
+
+        ArrayBlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.executor = new ThreadPoolExecutor(
+                config.getThreads(),
+                config.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                queue,
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder(METRIC_NAME + ".queue.depth", queue, ArrayBlockingQueue::size)
+                .description("Number of password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Number of password hashing tasks being computed")
+                .register(meterRegistry);
+        this.rejections = Counter.builder(METRIC_NAME + ".rejections")
+                .description("Number of password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+
+        log.info("Password hashing executor initialized: threads={}, queueCapacity={}, timeoutMs={}",
+                config.getThreads(), config.getQueueCapacity(), timeoutMs);
+    }
+
+    /**
+     * ハッシュ処理を専用スレッドで実行し、結果を待機
+     * 
+     * @param operation 処理名（メトリクスのタグ）
+     * @param task ハッシュ処理
+     * @param <T> 結果の型
+     * @return 処理結果
+     * @throws PasswordHashingBusyException 待ち行列が上限に達しているか、待機時間が上限を超えた場合
+     */
+    public <T> T execute(String operation, Callable<T> task) {
+        Timer timer = timers.computeIfAbsent(operation, this::createTimer);
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException ex) {
+            rejections.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejections.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    /**
+     * スレッドプールを停止
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Timer createTimer(String operation) {
+        return Timer.builder(METRIC_NAME)
+                .description("Password hashing computation time")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * ハッシュ専用スレッドのファクトリ
+     */
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package jp.co.protosoft.rihua.api.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * パスワードハッシュ設定
+ * 
+ * <p>{@code rihua.password.*} のハッシュアルゴリズムとハッシュ専用スレッドプールの設定を保持します。
+ * {@code algorithm} は新規登録・パスワード変更・ログイン時のアップグレードで使用するアルゴリズムで、
+ * 既存のハッシュはアルゴリズムに関わらず検証できます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "rihua.password")
+public class PasswordHashingProperties {
+
+    /**
+     * ハッシュアルゴリズム（bcrypt / argon2、デフォルトはbcrypt）
+     */
+    private String algorithm = "bcrypt";
+
+    /**
+     * bcryptのコスト
+     */
+    private int bcryptStrength = 12;
+
+    /**
+     * Argon2パラメータ
+     */
+    private Argon2 argon2 = new Argon2();
+
+    /**
+     * ハッシュ専用スレッドプール
+     */
+    private Executor executor = new Executor();
+
+    /**
+     * Argon2id パラメータ（デフォルトはOWASP推奨値 m=19MiB, t=2, p=1）
+     */
+    @Data
+    public static class Argon2 {
+
+        /**
+         * ソルト長（バイト）
+         */
+        private int saltLength = 16;
+
+        /**
+         * ハッシュ長（バイト）
+         */
+        private int hashLength = 32;
+
+        /**
+         * 並列度
+         */
+        private int parallelism = 1;
+
+        /**
+         * メモリコスト（KiB）
+         */
+        private int memoryKib = 19456;
+
+        /**
+         * 反復回数
+         */
+        private int iterations = 2;
+    }
+
+    /**
+     * ハッシュ専用スレッドプール設定
+     */
+    @Data
+    public static class Executor {
+
+        /**
+         * スレッド数（デフォルトはCPUコア数の半分）
+         */
+        private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * 待ち行列の上限（超過した要求は即座に拒否）
+         */
+        private int queueCapacity = 64;
+
+        /**
+         * 1件あたりの待機上限（ミリ秒）
+         */
+        private long timeoutMs = 10000;
+
+        /**
+         * 拒否時のRetry-After（秒）
+         */
+        private long retryAfterSeconds = 2;
+    }
+}
@@ -0,0 +1,199 @@
+package jp.co.protosoft.rihua.api.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 公開ルートのプレフィックストライ
+ * 
+ * <p>{@link PublicRoutes} のルート表をパスセグメント単位のトライにコンパイルし、
+ * HTTPメソッドとパスが公開ルートに該当するかを1回の走査で判定します。判定中にパス文字列の分割や部分文字列の生成は行いません。</p>
+ * 
+ * <p>パターンの書式:</p>
+ * <ul>
+ *   <li>{@code /api/v1/events} - 完全一致</li>
+ *   <li>{@code /api/v1/events/*} - 空でない任意の1セグメント</li>
+ *   <li>{@code /api-docs/**} - 0個以上の任意のセグメント（末尾のみ）</li>
+ * </ul>
+ * 
+ * <p>Spring Securityの {@link RequestMatcher} として {@code SecurityConfig} の認可設定にも使用され、
+ * 認証フィルターのスキップ判定と認可設定が同じルート表から導出されます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public final class PublicRouteMatcher implements RequestMatcher {
+
+    /**
+     * 標準以外のメソッド（およびメソッド不明）を表すビット（標準メソッドは {@link #methodBit(String)} で0〜7ビット）
+     */
+    private static final int OTHER_METHOD_BIT = 1 << 8;
+
+    private static final int ANY_METHOD_MASK = (OTHER_METHOD_BIT << 1) - 1;
+
+    private final Node root;
+
+    private PublicRouteMatcher(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * ルート表からマッチャーを作成
+     * 
+     * @param routes 公開ルート
+     * @return マッチャー
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    public static PublicRouteMatcher compile(List<PublicRoutes.Route> routes) {
+        Node root = new Node(null);
+        for (PublicRoutes.Route route : routes) {
+            insert(root, route);
+        }
+        return new PublicRouteMatcher(root);
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String contextPath = request.getContextPath();
+        return matches(request.getMethod(), request.getRequestURI(), contextPath != null ? contextPath.length() : 0);
+    }
+
+    /**
+     * HTTPメソッドとパスが公開ルートに該当するかを判定
+     * 
+     * @param method HTTPメソッド
+     * @param path パス（コンテキストパスを含まない）
+     * @return 公開ルートの場合true
+     */
+    public boolean matches(String method, String path) {
+        return matches(method, path, 0);
+    }
+
+    private boolean matches(String method, String path, int from) {
+        if (path == null || !path.startsWith("/", from)) {
+            return false;
+        }
+        return match(root, path, from + 1, methodBit(method));
+    }
+
+    private static boolean match(Node node, String path, int position, int methodBit) {
+        if ((node.remainingMethods & methodBit) != 0) {
+            return true;
+        }
+
+        int end = path.indexOf('/', position);
+        if (end < 0) {
+            end = path.length();
+        }
+        int length = end - position;
+        boolean lastSegment = end == path.length();
+
+        for (Node child : node.literals) {
+            if (child.segment.length() == length && path.regionMatches(position, child.segment, 0, length)) {
+                if (lastSegment ? matchesTerminal(child, methodBit) : match(child, path, end + 1, methodBit)) {
+                    return true;
+                }
+                break;
+            }
+        }
+
+        Node wildcard = node.wildcard;
+        if (wildcard != null && length > 0) {
+            return lastSegment ? matchesTerminal(wildcard, methodBit) : match(wildcard, path, end + 1, methodBit);
+        }
+        return false;
+    }
+
+    private static boolean matchesTerminal(Node node, int methodBit) {
+        return ((node.exactMethods | node.remainingMethods) & methodBit) != 0;
+    }
+
+    private static void insert(Node root, PublicRoutes.Route route) {
+        String pattern = route.pattern();
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+        }
+
+        int methodMask = route.method() != null ? methodBit(route.method().name()) : ANY_METHOD_MASK;
+        String[] segments = pattern.substring(1).split("/", -1);
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if ("**".equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only allowed as the last segment: " + pattern);
+                }
+                node.remainingMethods |= methodMask;
+                return;
+            }
+            if ("*".equals(segment)) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node("*");
+                }
+                node = node.wildcard;
+                continue;
+            }
+            if (segment.isEmpty() || segment.indexOf('*') >= 0) {
+                throw new IllegalArgumentException("Invalid route segment '" + segment + "': " + pattern);
+            }
+            node = node.literalChild(segment);
+        }
+        node.exactMethods |= methodMask;
+    }
+
+    private static int methodBit(String method) {
+        if (method == null) {
+            return OTHER_METHOD_BIT;
+        }
+        return switch (method) {
+            case "GET" -> 1;
+            case "HEAD" -> 1 << 1;
+            case "POST" -> 1 << 2;
+            case "PUT" -> 1 << 3;
+            case "PATCH" -> 1 << 4;
+            case "DELETE" -> 1 << 5;
+            case "OPTIONS" -> 1 << 6;
+            case "TRACE" -> 1 << 7;
+            default -> OTHER_METHOD_BIT;
+        };
+    }
+
+    /**
+     * トライのノード（1パスセグメント）
+     */
+    private static final class Node {
+
+        private final String segment;
+        private Node[] literals = new Node[0];
+        private Node wildcard;
+
+        /**
+         * このノードで終わるパスを公開するメソッドのビットマスク
+         */
+        private int exactMethods;
+
+        /**
+         * このノード以下のすべてのパス（**）を公開するメソッドのビットマスク
+         */
+        private int remainingMethods;
+
+        private Node(String segment) {
+            this.segment = segment;
+        }
+
+        private Node literalChild(String childSegment) {
+            for (Node child : literals) {
+                if (child.segment.equals(childSegment)) {
+                    return child;
+                }
+            }
+            Node child = new Node(childSegment);
+            literals = Arrays.copyOf(literals, literals.length + 1);
+            literals[literals.length - 1] = child;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package jp.co.protosoft.rihua.api.security;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+/**
+ * 公開ルート表
+ * 
+ * <p>認証不要のエンドポイントを一か所で宣言します。この表から作成した {@link #MATCHER} を
+ * {@link JwtAuthenticationFilter#shouldNotFilter} と {@code SecurityConfig} の {@code permitAll()} の両方で使用するため、
+ * 2つの設定がずれることはありません。公開ルートへのリクエストではJWTの検証を行いません。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public final class PublicRoutes {
+
+    /**
+     * 公開ルート一覧
+     */
+    public static final List<Route> ROUTES = List.of(
+            // 認証（/auth 配下に追加される認証済みユーザー向けのGET・PUT・DELETEは公開しない）
+            Route.of(HttpMethod.POST, "/api/v1/auth/**"),
+            Route.of(HttpMethod.GET, "/api/v1/auth/verify-email"),
+
+            // ヘルスチェック・監視エンドポイント
+            Route.any("/actuator/health/**"),
+            Route.any("/actuator/info"),
+
+            // API文書化
+            Route.any("/api-docs/**"),
+            Route.any("/swagger-ui/**"),
+            Route.any("/swagger-ui.html"),
+
+            // 静的リソース
+            Route.any("/favicon.ico"),
+            Route.any("/error"),
+
+            // パブリック読み取り専用エンドポイント
+            Route.of(HttpMethod.GET, "/api/v1/events"),
+            Route.of(HttpMethod.GET, "/api/v1/events/*"),
+            Route.of(HttpMethod.GET, "/api/v1/housing"),
+            Route.of(HttpMethod.GET, "/api/v1/housing/*"),
+            Route.of(HttpMethod.GET, "/api/v1/jobs"),
+            Route.of(HttpMethod.GET, "/api/v1/jobs/*"),
+            Route.of(HttpMethod.GET, "/api/v1/forum/posts"),
+            Route.of(HttpMethod.GET, "/api/v1/forum/posts/*"));
+
+    /**
+     * 公開ルートのマッチャー
+     */
+    public static final PublicRouteMatcher MATCHER = PublicRouteMatcher.compile(ROUTES);
+
+    private PublicRoutes() {
+    }
+
+    /**
+     * 公開ルート
+     * 
+     * @param method HTTPメソッド（nullの場合はすべてのメソッド）
+     * @param pattern パスパターン
+     */
+    public record Route(HttpMethod method, String pattern) {
+
+        /**
+         * 特定のメソッドのみ公開するルートを作成
+         * 
+         * @param method HTTPメソッド
+         * @param pattern パスパターン
+         * @return ルート
+         */
+        public static Route of(HttpMethod method, String pattern) {
+            return new Route(method, pattern);
+        }
+
+        /**
+         * すべてのメソッドを公開するルートを作成
+         * 
+         * @param pattern パスパターン
+         * @return ルート
+         */
+        public static Route any(String pattern) {
+            return new Route(null, pattern);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package jp.co.protosoft.rihua.api.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redisによるリフレッシュトークンファミリーストア
+ * 
+ * <p>キー構成:</p>
+ * <ul>
+ *   <li>{@code rihua:rt:family:{familyId}} - ハッシュ（uid: ユーザーID, jti: 現在のトークンID）。ファミリーの有効期間で失効</li>
+ *   <li>{@code rihua:rt:revoked} - ソート済みセット（メンバー: ファミリーID, スコア: 失効情報の保持期限（エポックミリ秒））</li>
+ * </ul>
+ * 
+ * <p>ローテーションと再利用検知はLuaスクリプトで1往復・アトミックに実行します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisRefreshTokenFamilyStore implements RefreshTokenFamilyStore {
+
+    private static final String FAMILY_KEY_PREFIX = "rihua:rt:family:";
+    private static final String REVOKED_KEY = "rihua:rt:revoked";
+
+    /**
+     * 戻り値: 0=ファミリーなし, 1=ローテーション成功, 2=再利用検知（ファミリーを失効）
+     */
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('HGET', KEYS[1], 'jti')
+            if not current then
+              return 0
+            end
+            if current == ARGV[1] then
+              redis.call('HSET', KEYS[1], 'jti', ARGV[2])
+              redis.call('PEXPIRE', KEYS[1], ARGV[3])
+              return 1
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('ZADD', KEYS[2], ARGV[5], ARGV[4])
+            return 2
+            """, Long.class);
+
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            return redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void create(String familyId, String userId, String tokenId, Duration ttl) {
+        String key = FAMILY_KEY_PREFIX + familyId;
+        redisTemplate.opsForHash().putAll(key, Map.of("uid", userId, "jti", tokenId));
+        redisTemplate.expire(key, ttl);
+    }
+
+    @Override
+    public RefreshTokenRotationStatus rotate(String familyId, String presentedTokenId, String newTokenId, Duration ttl) {
+        Long result = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(FAMILY_KEY_PREFIX + familyId, REVOKED_KEY),
+                presentedTokenId,
+                newTokenId,
+                String.valueOf(ttl.toMillis()),
+                familyId,
+                String.valueOf(revokedUntil(ttl)));
+
+        if (result == null || result == 0L) {
+            return RefreshTokenRotationStatus.REVOKED;
+        }
+        return result == 1L ? RefreshTokenRotationStatus.ROTATED : RefreshTokenRotationStatus.REUSE_DETECTED;
+    }
+
+    @Override
+    public void revoke(String familyId, Duration ttl) {
+        redisTemplate.execute(REVOKE_SCRIPT,
+                List.of(FAMILY_KEY_PREFIX + familyId, REVOKED_KEY),
+                familyId,
+                String.valueOf(revokedUntil(ttl)));
+    }
+
+    @Override
+    public boolean isRevoked(String familyId) {
+        Double revokedUntil = redisTemplate.opsForZSet().score(REVOKED_KEY, familyId);
+        return revokedUntil != null && revokedUntil > System.currentTimeMillis();
+    }
+
+    @Override
+    public Collection<String> findRevokedFamilyIds() {
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, Double.NEGATIVE_INFINITY, now);
+        Set<String> familyIds = redisTemplate.opsForZSet().rangeByScore(REVOKED_KEY, now, Double.POSITIVE_INFINITY);
+        return familyIds != null ? familyIds : Set.of();
+    }
+
+    private static long revokedUntil(Duration ttl) {
+        return System.currentTimeMillis() + ttl.toMillis();
+    }
+}
@@ -0,0 +1,112 @@
+package jp.co.protosoft.rihua.api.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 失効済みリフレッシュトークンファミリーのデナイリスト
+ * 
+ * <p>{@link RefreshTokenFamilyStore} の前段にインメモリのBloomフィルターを置き、
+ * 「失効していない」という大多数の判定をネットワーク往復なしで返します。
+ * フィルターが「含まれる可能性あり」と判定した場合のみストアに問い合わせます。</p>
+ * 
+ * <p>このノードで失効させたファミリーは即座にフィルターへ追加されます。他ノードで失効したファミリーは
+ * {@code rihua.jwt.refresh.denylist-reload-interval-ms} ごとのストアからの再構築で反映されます。
+ * 再構築では期限切れの失効情報も取り除かれます。再構築中にこのノードで失効させたファミリーは記録しておき、
+ * 新しいフィルターの公開前後に追加するため、差し替えで失われることはありません。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class RefreshTokenDenylist {
+
+    private final RefreshTokenFamilyStore familyStore;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final AtomicReference<RevocationBloomFilter> filter;
+
+    /**
+     * 前回の再構築開始以降にこのノードで失効させたファミリー
+     */
+    private final AtomicReference<Set<String>> revokedSinceReload =
+            new AtomicReference<>(ConcurrentHashMap.newKeySet());
+
+    public RefreshTokenDenylist(
+            RefreshTokenFamilyStore familyStore,
+            @Value("${rihua.jwt.refresh.denylist-expected-revocations:100000}") int expectedRevocations,
+            @Value("${rihua.jwt.refresh.denylist-false-positive-rate:0.001}") double falsePositiveRate) {
+
+        this.familyStore = familyStore;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new AtomicReference<>(new RevocationBloomFilter(expectedRevocations, falsePositiveRate));
+    }
+
+    /**
+     * ファミリーが失効済みかどうかを確認
+     * 
+     * <p>ストアに接続できない場合、フィルターで該当したファミリーは失効済みとして扱います。</p>
+     * 
+     * @param familyId ファミリーID（null可）
+     * @return 失効済みの場合true
+     */
+    public boolean isRevoked(String familyId) {
+        if (familyId == null || !filter.get().mightContain(familyId)) {
+            return false;
+        }
+        try {
+            return familyStore.isRevoked(familyId);
+        } catch (DataAccessException ex) {
+            log.warn("Could not confirm refresh token family revocation, treating as revoked: {}", ex.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 失効したファミリーをフィルターに追加
+     * 
+     * @param familyId ファミリーID
+     */
+    public void markRevoked(String familyId) {
+        // 再構築中の場合に新しいフィルターへ引き継がれるよう、フィルターより先に記録する
+        revokedSinceReload.get().add(familyId);
+        filter.get().add(familyId);
+    }
+
+    /**
+     * ストアの失効情報からフィルターを再構築
+     * 
+     * <p>ストアに接続できない場合は現在のフィルターを維持します。</p>
+     */
+    @Scheduled(fixedDelayString = "${rihua.jwt.refresh.denylist-reload-interval-ms:30000}")
+    public void reload() {
+        Set<String> revokedDuringReload = ConcurrentHashMap.newKeySet();
+        Set<String> revokedBeforeReload = revokedSinceReload.getAndSet(revokedDuringReload);
+        try {
+            Collection<String> revokedFamilyIds = familyStore.findRevokedFamilyIds();
+            RevocationBloomFilter rebuilt = new RevocationBloomFilter(
+                    Math.max(expectedRevocations, revokedFamilyIds.size()), falsePositiveRate);
+            revokedFamilyIds.forEach(rebuilt::add);
+            revokedBeforeReload.forEach(rebuilt::add);
+            revokedDuringReload.forEach(rebuilt::add);
+            filter.set(rebuilt);
+            // 公開直前に失効させたファミリーは古いフィルターにのみ追加されている可能性があるため、公開後にも追加する
+            revokedDuringReload.forEach(rebuilt::add);
+            log.debug("Refresh token denylist reloaded: revokedFamilies={}", revokedFamilyIds.size());
+        } catch (DataAccessException ex) {
+            // 現在のフィルターには記録済みの失効も含まれているため、次回の再構築に引き継ぐ
+            revokedDuringReload.addAll(revokedBeforeReload);
+            log.warn("Could not reload refresh token denylist, keeping current filter: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package jp.co.protosoft.rihua.api.security;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * リフレッシュトークンファミリーストア
+ * 
+ * <p>ログインごとに作成されるファミリー（sid）と、そのファミリーで現在有効なトークンID（jti）を管理します。
+ * ローテーションは「現在のjtiと一致する場合のみ新しいjtiに置き換える」比較・置換で行い、
+ * 一致しない場合はローテーション済みトークンの再利用とみなしてファミリー全体を失効させます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public interface RefreshTokenFamilyStore {
+
+    /**
+     * ファミリーを作成
+     * 
+     * @param familyId ファミリーID
+     * @param userId ユーザーID
+     * @param tokenId 最初のトークンID
+     * @param ttl ファミリーの有効期間
+     */
+    void create(String familyId, String userId, String tokenId, Duration ttl);
+
+    /**
+     * トークンIDをアトミックにローテーション
+     * 
+     * @param familyId ファミリーID
+     * @param presentedTokenId 提示されたトークンID
+     * @param newTokenId 新しいトークンID
+     * @param ttl ファミリーの有効期間（ローテーション時に延長）
+     * @return {@link RefreshTokenRotationStatus#ROTATED}、{@link RefreshTokenRotationStatus#REVOKED}、
+     *         {@link RefreshTokenRotationStatus#REUSE_DETECTED} のいずれか
+     */
+    RefreshTokenRotationStatus rotate(String familyId, String presentedTokenId, String newTokenId, Duration ttl);
+
+    /**
+     * ファミリーを失効
+     * 
+     * @param familyId ファミリーID
+     * @param ttl 失効情報の保持期間（発行済みトークンの最長有効期間）
+     */
+    void revoke(String familyId, Duration ttl);
+
+    /**
+     * ファミリーが失効済みかどうかを確認
+     * 
+     * @param familyId ファミリーID
+     * @return 失効済みの場合true
+     */
+    boolean isRevoked(String familyId);
+
+    /**
+     * 保持期間内の失効済みファミリーIDをすべて取得
+     * 
+     * @return 失効済みファミリーID
+     */
+    Collection<String> findRevokedFamilyIds();
+}
@@ -0,0 +1,29 @@
+package jp.co.protosoft.rihua.api.security;
+
+/**
+ * リフレッシュトークンのローテーション結果ステータス列挙型
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public enum RefreshTokenRotationStatus {
+    /**
+     * ローテーション成功
+     */
+    ROTATED,
+    
+    /**
+     * トークン不正（署名・有効期限・種類・sid/jtiの欠落）
+     */
+    INVALID,
+    
+    /**
+     * ファミリーが失効済みまたは存在しない
+     */
+    REVOKED,
+    
+    /**
+     * ローテーション済みトークンの再利用を検知（ファミリーを失効）
+     */
+    REUSE_DETECTED
+}
@@ -0,0 +1,103 @@
+package jp.co.protosoft.rihua.api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 失効済みリフレッシュトークンファミリーIDのBloomフィルター
+ * 
+ * <p>「含まれない」の判定は確実で、「含まれる」の判定は偽陽性を含みます。
+ * 偽陽性の場合のみRedisで確認するため、失効していない大多数のセッションはネットワーク往復なしで判定できます。</p>
+ * 
+ * <p>ビット配列は {@link AtomicLongArray} で保持し、追加と判定はロックなしで並行実行できます。
+ * 要素の削除はできないため、期限切れの要素は {@link RefreshTokenDenylist} がフィルターを再構築して取り除きます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+final class RevocationBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    /**
+     * 想定要素数と偽陽性率からフィルターを作成
+     * 
+     * @param expectedInsertions 想定要素数
+     * @param falsePositiveRate 偽陽性率（0より大きく1未満）
+     */
+    RevocationBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+
+        // m = -n ln p / (ln 2)^2, k = m / n ln 2
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Math.max(optimalBits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * 要素を追加
+     * 
+     * @param value 要素
+     */
+    void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int index = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << index;
+            int word = index >>> 6;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * 要素が含まれる可能性があるかを判定
+     * 
+     * @param value 要素
+     * @return 含まれる可能性がある場合true（falseの場合は確実に含まれない）
+     */
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64ビットハッシュ（FNV-1a + SplitMix64の最終ミキサー）
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
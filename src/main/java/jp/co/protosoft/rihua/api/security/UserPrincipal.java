@@ -31,6 +31,11 @@ public class UserPrincipal implements UserDetails {
     private boolean credentialsNonExpired;
     private Collection<? extends GrantedAuthority> authorities;
 
+    /**
+     * リフレッシュトークンファミリーID（アクセストークンのsidクレーム）
+     */
+    private String sessionId;
+
     @Override
     public String getUsername() {
         return email;
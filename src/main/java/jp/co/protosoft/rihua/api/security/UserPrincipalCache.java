@@ -0,0 +1,146 @@
+package jp.co.protosoft.rihua.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 認証ユーザープリンシパルのキャッシュ
+ * 
+ * <p>{@link jp.co.protosoft.rihua.api.service.CustomUserDetailsService} が読み込んだ {@link UserPrincipal} を
+ * メールアドレスとユーザーIDの両方をキーとして保持するリードスルーキャッシュです。
+ * 同じキーへの同時読み込みは1回のDBアクセスにまとめられるため、ログイン集中時にもusersテーブルへの問い合わせが殺到しません。</p>
+ * 
+ * <p>エントリは {@code rihua.principal-cache.ttl-ms} 経過後に失効し、件数は {@code rihua.principal-cache.max-size} で制限されます。
+ * ユーザーの更新・削除時は {@code UserPrincipalCacheInvalidator} が該当ユーザーのエントリを破棄します。
+ * メールアドレスキー側のエントリはユーザーID → メールアドレスキーの索引から特定するため、破棄のたびにキャッシュ全体を走査しません。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class UserPrincipalCache {
+
+    private final boolean enabled;
+    private final Cache<String, UserPrincipal> byEmail;
+    private final Cache<String, UserPrincipal> byId;
+
+    /**
+     * ユーザーID → メールアドレスキー（メールアドレスキー側のエントリの削除時に除去）
+     */
+    private final ConcurrentHashMap<String, Set<String>> emailKeysById = new ConcurrentHashMap<>();
+
+    public UserPrincipalCache(
+            MeterRegistry meterRegistry,
+            @Value("${rihua.principal-cache.enabled:true}") boolean enabled,
+            @Value("${rihua.principal-cache.max-size:10000}") long maxSize,
+            @Value("${rihua.principal-cache.ttl-ms:300000}") long ttlMs) {
+
+        this.enabled = enabled;
+        this.byEmail = newCacheBuilder(maxSize, ttlMs)
+                .<String, UserPrincipal>removalListener((email, principal, cause) -> {
+                    if (email != null && principal != null) {
+                        unindex(principal.getId(), email);
+                    }
+                })
+                .build();
+        this.byId = newCacheBuilder(maxSize, ttlMs).build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "security.principals.by-email");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "security.principals.by-id");
+        log.info("User principal cache initialized: enabled={}, maxSize={}, ttlMs={}", enabled, maxSize, ttlMs);
+    }
+
+    /**
+     * メールアドレスでユーザープリンシパルを取得（未キャッシュの場合は読み込み）
+     * 
+     * @param email メールアドレス
+     * @param loader 読み込み処理（例外はそのまま呼び出し元に伝播し、キャッシュされません）
+     * @return ユーザープリンシパル
+     */
+    public UserPrincipal getByEmail(String email, Function<String, UserPrincipal> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        UserPrincipal cached = byEmail.get(email, key -> {
+            UserPrincipal principal = loader.apply(key);
+            byId.put(principal.getId(), principal);
+            return principal;
+        });
+        // 登録後に索引に追加するため、削除通知と前後しても登録中のエントリが索引から漏れることはない
+        emailKeysById.compute(cached.getId(), (id, emails) -> {
+            Set<String> keys = emails != null ? emails : ConcurrentHashMap.newKeySet();
+            keys.add(email);
+            return keys;
+        });
+        return cached;
+    }
+
+    /**
+     * ユーザーIDでユーザープリンシパルを取得（未キャッシュの場合は読み込み）
+     * 
+     * @param userId ユーザーID
+     * @param loader 読み込み処理（例外はそのまま呼び出し元に伝播し、キャッシュされません）
+     * @return ユーザープリンシパル
+     */
+    public UserPrincipal getById(String userId, Function<String, UserPrincipal> loader) {
+        if (!enabled) {
+            return loader.apply(userId);
+        }
+        return byId.get(userId, loader);
+    }
+
+    /**
+     * ユーザーのエントリを破棄
+     * 
+     * <p>メールアドレスが変更された場合にも古いエントリが残らないよう、メールアドレスキー側は索引から
+     * そのユーザーを読み込んだキーをすべて特定して破棄します。</p>
+     * 
+     * @param userId ユーザーID
+     */
+    public void invalidate(String userId) {
+        byId.invalidate(userId);
+        Set<String> emails = emailKeysById.remove(userId);
+        if (emails != null) {
+            byEmail.invalidateAll(emails);
+        }
+    }
+
+    /**
+     * キャッシュをすべて破棄
+     */
+    public void invalidateAll() {
+        byEmail.invalidateAll();
+        byId.invalidateAll();
+        emailKeysById.clear();
+    }
+
+    /**
+     * 削除されたメールアドレスキーを索引から除去（同じキーで再登録済みの場合は残す）
+     */
+    private void unindex(String userId, String email) {
+        emailKeysById.computeIfPresent(userId, (id, emails) -> {
+            if (!byEmail.asMap().containsKey(email)) {
+                emails.remove(email);
+            }
+            return emails.isEmpty() ? null : emails;
+        });
+    }
+
+    private static Caffeine<Object, Object> newCacheBuilder(long maxSize, long ttlMs) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats();
+    }
+}
@@ -0,0 +1,57 @@
+package jp.co.protosoft.rihua.api.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 署名検証済みJWTクレーム
+ * 
+ * <p>{@link JwtTokenProvider#parseToken(String)} で一度だけ解析・署名検証したトークンの内容を保持する不変オブジェクトです。
+ * 認証フィルターはこのオブジェクトから必要な値をすべて取得し、トークンを再解析しません。</p>
+ * 
+ * @param userId ユーザーID（subject）
+ * @param email メールアドレス
+ * @param roles 権限リスト
+ * @param language 優先言語
+ * @param tokenType トークン種類（access/refresh）
+ * @param issuedAt 発行日時
+ * @param expiration 有効期限
+ * @param sessionId リフレッシュトークンファミリーID（sid、未設定の場合null）
+ * @param tokenId トークンID（jti、未設定の場合null）
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public record VerifiedJwtClaims(
+        String userId,
+        String email,
+        List<String> roles,
+        String language,
+        String tokenType,
+        Instant issuedAt,
+        Instant expiration,
+        String sessionId,
+        String tokenId) {
+
+    public VerifiedJwtClaims {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    /**
+     * アクセストークンかどうかを確認
+     * 
+     * @return アクセストークンの場合true
+     */
+    public boolean isAccessToken() {
+        return "access".equals(tokenType);
+    }
+
+    /**
+     * リフレッシュトークンかどうかを確認
+     * 
+     * @return リフレッシュトークンの場合true
+     */
+    public boolean isRefreshToken() {
+        return "refresh".equals(tokenType);
+    }
+}
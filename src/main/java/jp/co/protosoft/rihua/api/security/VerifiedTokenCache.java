@@ -0,0 +1,139 @@
+package jp.co.protosoft.rihua.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 検証済みアクセストークンのキャッシュ
+ * 
+ * <p>署名検証済みのアクセストークンから作成した {@link UserPrincipal} を、トークンのSHA-256ダイジェストをキーとして保持します。
+ * 同じトークンが再送された場合はHMAC検証とクレーム解析を省略できます。</p>
+ * 
+ * <p>エントリはトークンの有効期限（exp）で失効し、件数は {@code rihua.jwt.cache.max-size} で制限されます。
+ * ヒット・ミス・エビクション数は {@code cache.*{cache=jwt.verified-tokens}} メトリクスとして公開されます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final boolean enabled;
+    private final Cache<String, CachedPrincipal> cache;
+
+    public VerifiedTokenCache(
+            MeterRegistry meterRegistry,
+            @Value("${rihua.jwt.cache.enabled:true}") boolean enabled,
+            @Value("${rihua.jwt.cache.max-size:10000}") long maxSize) {
+
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Verified token cache initialized: enabled={}, maxSize={}", enabled, maxSize);
+    }
+
+    /**
+     * キャッシュからユーザープリンシパルを取得
+     * 
+     * @param token JWTトークン
+     * @return ユーザープリンシパル（未キャッシュまたは期限切れの場合null）
+     */
+    public UserPrincipal get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        CachedPrincipal cached = cache.getIfPresent(digest(token));
+        return cached != null ? cached.principal() : null;
+    }
+
+    /**
+     * 検証済みトークンのユーザープリンシパルをキャッシュに登録
+     * 
+     * @param token JWTトークン
+     * @param principal ユーザープリンシパル
+     * @param expiration トークンの有効期限
+     */
+    public void put(String token, UserPrincipal principal, Instant expiration) {
+        if (!enabled || expiration == null || !expiration.isAfter(Instant.now())) {
+            return;
+        }
+        cache.put(digest(token), new CachedPrincipal(principal, expiration));
+    }
+
+    /**
+     * キャッシュをすべて破棄
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * トークンのSHA-256ダイジェストを取得
+     * 
+     * <p>生のトークンをヒープ上のキーとして保持しないようにダイジェストを使用します。</p>
+     * 
+     * @param token JWTトークン
+     * @return Base64エンコードされたダイジェスト
+     */
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * キャッシュエントリ
+     * 
+     * @param principal ユーザープリンシパル
+     * @param expiration トークンの有効期限
+     */
+    private record CachedPrincipal(UserPrincipal principal, Instant expiration) {
+    }
+
+    /**
+     * トークンの有効期限でエントリを失効させるExpiry
+     */
+    private static class TokenExpiry implements Expiry<String, CachedPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+            long remainingMs = value.expiration().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package jp.co.protosoft.rihua.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jp.co.protosoft.rihua.api.dto.response.CommentNode;
+import jp.co.protosoft.rihua.api.repository.CommentTreeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * コメントツリーサービス
+ *
+ * <p>投稿のコメントをトップレベルコメント単位でページングし、各トップレベルコメントの返信をツリーに組み立てて返します。
+ * 1ページ分のコメントと返信数は {@link CommentTreeRepository} の1回のクエリで取得するため、
+ * コメントごとの返信取得・返信数取得のクエリは発行しません。</p>
+ *
+ * <p>返信は {@code rihua.comment-tree.max-depth} の深さまで、1ページ合計 {@code rihua.comment-tree.max-nodes} 件まで読み込みます。
+ * 上限により省かれた返信は {@link #getSubtree} で同じく1回のクエリで続きを読み込めます。
+ * 組み立てたページは投稿ごとに先頭の {@code rihua.comment-tree.cache.max-pages} 件までキャッシュし
+ * （それ以降のページは毎回読み込みます）、コメントの登録・更新・削除時に {@code CommentTreeCacheInvalidator} が、
+ * いいね数の反映時に {@link LikeService} がその投稿のページをまとめて破棄します。
+ * キャッシュしたツリーは呼び出し元と共有するため、{@link CommentNode} と返信の一覧は変更できません。</p>
+ *
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class CommentTreeService {
+
+    private final CommentTreeRepository commentTreeRepository;
+    private final Cache<UUID, Map<PageRequest, Slice<CommentNode>>> trees;
+    private final int maxDepth;
+    private final int maxNodes;
+    private final int maxPageSize;
+    private final int maxCachedPages;
+
+    public CommentTreeService(
+            CommentTreeRepository commentTreeRepository,
+            MeterRegistry meterRegistry,
+            @Value("${rihua.comment-tree.max-depth:8}") int maxDepth,
+            @Value("${rihua.comment-tree.max-nodes:500}") int maxNodes,
+            @Value("${rihua.pagination.max-page-size:100}") int maxPageSize,
+            @Value("${rihua.comment-tree.cache.max-size:5000}") long maxSize,
+            @Value("${rihua.comment-tree.cache.ttl-ms:300000}") long ttlMs,
+            @Value("${rihua.comment-tree.cache.max-pages:5}") int maxCachedPages) {
+        this.commentTreeRepository = commentTreeRepository;
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxPageSize = maxPageSize;
+        this.maxCachedPages = maxCachedPages;
+        CaffeineCacheMetrics.monitor(meterRegistry, trees, "comments.tree");
+    }
+
+    /**
+     * 投稿のコメントツリーを取得
+     *
+     * <p>読み込みはキャッシュのロックの外で行うため、同じページを同時に要求された場合は重複して読み込むことがあります。</p>
+     *
+     * @param postId 投稿ID
+     * @param page ページ番号（0〜）
+     * @param size 1ページのトップレベルコメント数
+     * @return 作成日時順のトップレベルコメントとその返信
+     */
+    public Slice<CommentNode> getTree(UUID postId, int page, int size) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, maxPageSize)));
+        Map<PageRequest, Slice<CommentNode>> pages = trees.get(postId, id -> new ConcurrentHashMap<>());
+        Slice<CommentNode> cached = pages.get(pageable);
+        if (cached != null) {
+            return cached;
+        }
+        Slice<CommentNode> tree = loadTree(postId, pageable);
+        // 深いページやページサイズの組み合わせで投稿ごとのページが増え続けないよう、件数を制限する
+        if (pageable.getPageNumber() < maxCachedPages && pages.size() < maxCachedPages) {
+            pages.putIfAbsent(pageable, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * コメントとその返信のツリーを取得
+     *
+     * @param commentId コメントID
+     * @return コメント（非公開・削除済みの場合は空）
+     */
+    public Optional<CommentNode> getSubtree(UUID commentId) {
+        List<CommentNode> rows = commentTreeRepository.findSubtree(commentId, maxDepth, maxNodes);
+        if (rows.isEmpty() || !rows.get(0).getId().equals(commentId)) {
+            return Optional.empty();
+        }
+        return Optional.of(assemble(rows, rows.get(0).getDepth()).get(0));
+    }
+
+    /**
+     * 投稿のコメントツリーのキャッシュを破棄
+     *
+     * @param postId 投稿ID
+     */
+    public void invalidate(UUID postId) {
+        trees.invalidate(postId);
+    }
+
+    /**
+     * コメントが属する投稿のコメントツリーのキャッシュを破棄
+     *
+     * <p>いいね数の一括反映など、エンティティを経由せずにコメントを更新した場合に使用します。
+     * 投稿を特定できない場合はすべての投稿のキャッシュを破棄します。</p>
+     *
+     * @param commentIds コメントID
+     */
+    public void invalidateComments(Collection<UUID> commentIds) {
+        if (commentIds.isEmpty()) {
+            return;
+        }
+        try {
+            trees.invalidateAll(commentTreeRepository.findPostIds(commentIds));
+        } catch (DataAccessException ex) {
+            log.warn("Could not resolve posts of updated comments, clearing all comment trees: cause={}",
+                    ex.getMessage());
+            invalidateAll();
+        }
+    }
+
+    /**
+     * すべての投稿のコメントツリーのキャッシュを破棄
+     */
+    public void invalidateAll() {
+        trees.invalidateAll();
+    }
+
+    private Slice<CommentNode> loadTree(UUID postId, PageRequest pageable) {
+        int pageSize = pageable.getPageSize();
+        // 次ページの有無の判定用の1件を必ず含められるよう、件数の上限はページサイズより大きくする
+        List<CommentNode> rows = commentTreeRepository.findTree(
+                postId, pageable.getPageNumber(), pageSize, maxDepth, Math.max(maxNodes, pageSize + 1));
+
+        List<CommentNode> roots = assemble(rows, 0);
+
+        boolean hasNext = roots.size() > pageSize;
+        List<CommentNode> items = hasNext ? List.copyOf(roots.subList(0, pageSize)) : roots;
+        log.debug("Loaded comment tree: postId={}, page={}, comments={}", postId, pageable.getPageNumber(), rows.size());
+        return new SliceImpl<>(items, pageable, hasNext);
+    }
+
+    /**
+     * 深さ順のコメントから、指定した深さのコメントを根とする不変のツリーを組み立てる
+     *
+     * <p>親が非公開・削除済みで読み込まれていないコメントは除外します。</p>
+     */
+    private static List<CommentNode> assemble(List<CommentNode> rows, int rootDepth) {
+        // 深さ順に並んでいるため、返信より先に親が登録される
+        Map<UUID, List<CommentNode>> children = new HashMap<>();
+        Set<UUID> loaded = new HashSet<>();
+        List<CommentNode> roots = new ArrayList<>();
+        for (CommentNode row : rows) {
+            if (row.getDepth() == rootDepth) {
+                roots.add(row);
+            } else if (loaded.contains(row.getParentId())) {
+                children.computeIfAbsent(row.getParentId(), id -> new ArrayList<>()).add(row);
+            } else {
+                continue;
+            }
+            loaded.add(row.getId());
+        }
+        return roots.stream().map(root -> withReplies(root, children)).toList();
+    }
+
+    private static CommentNode withReplies(CommentNode node, Map<UUID, List<CommentNode>> children) {
+        List<CommentNode> replies = children.get(node.getId());
+        if (replies == null) {
+            return node;
+        }
+        return node.toBuilder()
+                .replies(replies.stream().map(reply -> withReplies(reply, children)).toList())
+                .build();
+    }
+}
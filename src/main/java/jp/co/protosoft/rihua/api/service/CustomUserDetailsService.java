@@ -3,16 +3,20 @@ package jp.co.protosoft.rihua.api.service;
 import jp.co.protosoft.rihua.api.domain.User;
 import jp.co.protosoft.rihua.api.repository.UserRepository;
 import jp.co.protosoft.rihua.api.security.UserPrincipal;
+import jp.co.protosoft.rihua.api.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -20,42 +24,89 @@ import java.util.stream.Collectors;
  * 
  * <p>Spring Securityの認証で使用するユーザー詳細情報を提供します。</p>
  * 
+ * <p>読み込んだプリンシパルは {@link UserPrincipalCache} に保持します。キャッシュヒット時にDB接続を確保しないよう、
+ * トランザクションはリポジトリのクエリ単位とし、権限はフェッチ結合で同じクエリから取得します。</p>
+ * 
  * @author Rihua Development Team
  * @since 1.0.0
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
+    /**
+     * メールアドレスでUserDetailsを取得
+     * 
+     * <p>プリンシパルキャッシュから取得し、未キャッシュの場合はユーザーと権限を1回のクエリで読み込みます。</p>
+     * 
+     * @param email メールアドレス
+     * @return UserDetails
+     * @throws UsernameNotFoundException ユーザーが見つからない場合
+     */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        log.debug("Loading user by email: {}", email);
-        
-        User user = userRepository.findByEmailAndDeletedAtIsNull(email)
-                .orElseThrow(() -> {
-                    log.warn("User not found with email: {}", email);
-                    return new UsernameNotFoundException("ユーザーが見つかりません: " + email);
-                });
-
-        return createUserPrincipal(user);
+        return userPrincipalCache.getByEmail(email, this::loadPrincipalByEmail);
     }
 
     /**
      * ユーザーIDでUserDetailsを取得
      * 
+     * <p>プリンシパルキャッシュから取得し、未キャッシュの場合はユーザーと権限を1回のクエリで読み込みます。</p>
+     * 
      * @param userId ユーザーID
      * @return UserDetails
      * @throws UsernameNotFoundException ユーザーが見つからない場合
      */
-    @Transactional(readOnly = true)
     public UserDetails loadUserById(String userId) throws UsernameNotFoundException {
+        return userPrincipalCache.getById(userId, this::loadPrincipalById);
+    }
+
+    /**
+     * パスワードハッシュを更新（ログイン時のアルゴリズムアップグレード）
+     * 
+     * <p>ログイン成功時、保存済みハッシュが設定したアルゴリズムと異なる場合に {@code DaoAuthenticationProvider} から呼び出されます。
+     * 更新したユーザーのキャッシュはエンティティリスナーにより破棄されます。</p>
+     * 
+     * @param user 認証済みユーザー
+     * @param newPassword 新しいハッシュ
+     * @return 新しいハッシュを持つUserDetails
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+
+        return parseUserId(principal.getId())
+                .flatMap(userRepository::findWithRolesById)
+                .map(entity -> {
+                    entity.setPasswordHash(newPassword);
+                    log.info("Password hash upgraded for user: {}", principal.getId());
+                    return (UserDetails) createUserPrincipal(entity);
+                })
+                .orElse(user);
+    }
+
+    private UserPrincipal loadPrincipalByEmail(String email) {
+        log.debug("Loading user by email: {}", email);
+        
+        User user = userRepository.findWithRolesByEmail(email)
+                .orElseThrow(() -> {
+                    log.warn("User not found with email: {}", email);
+                    return new UsernameNotFoundException("ユーザーが見つかりません: " + email);
+                });
+
+        return createUserPrincipal(user);
+    }
+
+    private UserPrincipal loadPrincipalById(String userId) {
         log.debug("Loading user by ID: {}", userId);
         
-        User user = userRepository.findByIdAndDeletedAtIsNull(userId)
+        User user = parseUserId(userId)
+                .flatMap(userRepository::findWithRolesById)
                 .orElseThrow(() -> {
                     log.warn("User not found with ID: {}", userId);
                     return new UsernameNotFoundException("ユーザーが見つかりません: " + userId);
@@ -64,6 +115,14 @@ public class CustomUserDetailsService implements UserDetailsService {
         return createUserPrincipal(user);
     }
 
+    private static Optional<UUID> parseUserId(String userId) {
+        try {
+            return Optional.of(UUID.fromString(userId));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * UserエンティティからUserPrincipalを作成
      * 
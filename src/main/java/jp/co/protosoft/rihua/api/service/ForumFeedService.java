@@ -0,0 +1,156 @@
+package jp.co.protosoft.rihua.api.service;
+
+import jp.co.protosoft.rihua.api.domain.ForumPost;
+import jp.co.protosoft.rihua.api.dto.response.CursorPage;
+import jp.co.protosoft.rihua.api.exception.InvalidCursorException;
+import jp.co.protosoft.rihua.api.repository.ForumPostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * フォーラムフィードサービス
+ * 
+ * <p>フォーラム投稿のフィードをキーセット（シーク）ページングで返します。
+ * 前ページ末尾の {@code (ソートキー, id)} より後ろの行をインデックスから直接読むため、
+ * どれだけ深くスクロールしても1ページの取得コストは一定で、件数クエリも発行しません。</p>
+ * 
+ * <p>カーソルはフィード順・ソートキー・IDをBase64URLでエンコードした不透明な文字列です。
+ * クライアントは値を解釈せず、前ページの {@code nextCursor} をそのまま返します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@Transactional(readOnly = true)
+public class ForumFeedService {
+
+    private static final String CURSOR_VERSION = "1";
+    private static final char SEPARATOR = '|';
+
+    private final ForumPostRepository forumPostRepository;
+    private final int maxPageSize;
+
+    public ForumFeedService(
+            ForumPostRepository forumPostRepository,
+            @Value("${rihua.pagination.max-page-size:100}") int maxPageSize) {
+        this.forumPostRepository = forumPostRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * フィード順
+     */
+    public enum FeedOrder {
+
+        /**
+         * 作成日時の新しい順
+         */
+        LATEST,
+
+        /**
+         * いいね数の多い順
+         */
+        POPULAR,
+
+        /**
+         * コメント数の多い順
+         */
+        MOST_COMMENTED
+    }
+
+    /**
+     * フィードの1ページを取得
+     * 
+     * @param order フィード順
+     * @param cursor 前ページの {@code nextCursor}（先頭ページの場合はnull）
+     * @param size ページサイズ
+     * @return カーソルページ
+     * @throws InvalidCursorException カーソルが不正な場合
+     */
+    public CursorPage<ForumPost> getFeed(FeedOrder order, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        // 1件多く取得して次ページの有無を判定する
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<ForumPost> rows = cursor == null || cursor.isEmpty()
+                ? findFirst(order, limit)
+                : findAfter(order, decode(order, cursor), limit);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ForumPost> items = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return CursorPage.<ForumPost>builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encode(order, items.get(items.size() - 1)) : null)
+                .build();
+    }
+
+    private List<ForumPost> findFirst(FeedOrder order, Pageable limit) {
+        return switch (order) {
+            case LATEST -> forumPostRepository.findLatestPostsFirst(limit);
+            case POPULAR -> forumPostRepository.findPopularPostsFirst(limit);
+            case MOST_COMMENTED -> forumPostRepository.findMostCommentedPostsFirst(limit);
+        };
+    }
+
+    private List<ForumPost> findAfter(FeedOrder order, Cursor cursor, Pageable limit) {
+        return switch (order) {
+            case LATEST -> forumPostRepository.findLatestPostsAfter(
+                    (LocalDateTime) cursor.sortKey(), cursor.id(), limit);
+            case POPULAR -> forumPostRepository.findPopularPostsAfter(
+                    (Integer) cursor.sortKey(), cursor.id(), limit);
+            case MOST_COMMENTED -> forumPostRepository.findMostCommentedPostsAfter(
+                    (Integer) cursor.sortKey(), cursor.id(), limit);
+        };
+    }
+
+    private static String encode(FeedOrder order, ForumPost last) {
+        String sortKey = switch (order) {
+            case LATEST -> last.getCreatedAt().toString();
+            case POPULAR -> last.getLikeCount().toString();
+            case MOST_COMMENTED -> last.getCommentCount().toString();
+        };
+        String raw = CURSOR_VERSION + SEPARATOR + order.name() + SEPARATOR + sortKey + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(FeedOrder order, String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor", e);
+        }
+
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+        if (parts.length != 4 || !CURSOR_VERSION.equals(parts[0])) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (!order.name().equals(parts[1])) {
+            throw new InvalidCursorException("Cursor was issued for a different feed order");
+        }
+        try {
+            Object sortKey = order == FeedOrder.LATEST ? LocalDateTime.parse(parts[2]) : Integer.valueOf(parts[2]);
+            return new Cursor(sortKey, UUID.fromString(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor", e);
+        }
+    }
+
+    /**
+     * デコード済みのカーソル（ソートキーはLATESTの場合LocalDateTime、それ以外はInteger）
+     */
+    private record Cursor(Object sortKey, UUID id) {
+    }
+}
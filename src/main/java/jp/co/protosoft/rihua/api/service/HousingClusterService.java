@@ -0,0 +1,133 @@
+package jp.co.protosoft.rihua.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jp.co.protosoft.rihua.api.dto.response.HousingCluster;
+import jp.co.protosoft.rihua.api.repository.GeoMarkerRepository;
+import jp.co.protosoft.rihua.api.util.geo.GeoBounds;
+import jp.co.protosoft.rihua.api.util.geo.GeoHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 住居の地図クラスタリングサービス
+ * 
+ * <p>地図のズームレベルに応じた精度のジオハッシュのセルごとに、公開中の住居の件数・価格帯・重心を返します。
+ * 縮小表示でも住居の行を読み込まず、DB側でセル単位に集計します。</p>
+ * 
+ * <p>集計はセルより1段粗いジオハッシュのタイル（32セル分）単位で行い、タイルごとにキャッシュします。
+ * 住居の登録・更新・削除時は {@code HousingMapCacheInvalidator} が移動前と移動後の位置を含むタイルだけを破棄するため、
+ * TTL（{@code rihua.geo.cluster-cache.ttl-ms}）は長めに設定しています。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class HousingClusterService {
+
+    private static final GeoBounds WORLD = new GeoBounds(-90, -180, 90, 180);
+
+    /**
+     * 世界全体のタイルのキー（精度1のセルで集計）
+     */
+    private static final String WORLD_TILE = "";
+
+    private final GeoMarkerRepository geoMarkerRepository;
+    private final Cache<String, List<HousingCluster>> tiles;
+    private final int maxTilesPerViewport;
+    private final int maxPrecision;
+
+    public HousingClusterService(
+            GeoMarkerRepository geoMarkerRepository,
+            MeterRegistry meterRegistry,
+            @Value("${rihua.geo.cluster-cache.max-size:20000}") long maxSize,
+            @Value("${rihua.geo.cluster-cache.ttl-ms:600000}") long ttlMs,
+            @Value("${rihua.geo.max-tiles-per-viewport:32}") int maxTilesPerViewport,
+            @Value("${rihua.geo.max-precision:7}") int maxPrecision) {
+        this.geoMarkerRepository = geoMarkerRepository;
+        this.tiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.maxTilesPerViewport = maxTilesPerViewport;
+        this.maxPrecision = maxPrecision;
+        CaffeineCacheMetrics.monitor(meterRegistry, tiles, "geo.housing-cluster-tiles");
+    }
+
+    /**
+     * 地図のズームレベルに対応するセルの精度を取得
+     * 
+     * <p>256px四方の地図タイル1枚を4×4程度のセルに分ける精度です（例: ズーム10で精度5、ズーム15で精度7）。</p>
+     * 
+     * @param zoom ズームレベル（0〜）
+     * @return 精度
+     */
+    public static int precisionForZoom(int zoom) {
+        int precision = Math.round(2 * (Math.max(zoom, 0) + 2) / 5.0f);
+        return Math.max(1, Math.min(precision, GeoHash.MAX_PRECISION));
+    }
+
+    /**
+     * 表示範囲内の住居クラスターを取得
+     * 
+     * <p>表示範囲のタイルが {@code rihua.geo.max-tiles-per-viewport} 枚を超える場合は、ズームレベルよりも粗いセルで集計します。
+     * 表示範囲の端のセルは重心が範囲外でも、セル内の住居が範囲内にある可能性があるため含めます。</p>
+     * 
+     * @param viewport 地図の表示範囲
+     * @param zoom ズームレベル
+     * @return セルが表示範囲と重なるクラスター
+     */
+    public List<HousingCluster> findClusters(GeoBounds viewport, int zoom) {
+        int precision = Math.min(precisionForZoom(zoom), maxPrecision);
+
+        List<String> tileHashes;
+        if (precision == 1) {
+            tileHashes = List.of(WORLD_TILE);
+        } else {
+            int tilePrecision = GeoHash.precisionFor(viewport, maxTilesPerViewport, precision - 1);
+            tileHashes = GeoHash.covering(viewport, tilePrecision);
+        }
+
+        List<HousingCluster> clusters = new ArrayList<>();
+        for (String tile : tileHashes) {
+            for (HousingCluster cluster : tiles.get(tile, this::loadTile)) {
+                if (viewport.intersects(GeoHash.bounds(cluster.getGeohash()))) {
+                    clusters.add(cluster);
+                }
+            }
+        }
+        return clusters;
+    }
+
+    /**
+     * 指定した地点を含むすべての精度のタイルを破棄
+     * 
+     * @param latitude 緯度
+     * @param longitude 経度
+     */
+    public void invalidate(double latitude, double longitude) {
+        tiles.invalidate(WORLD_TILE);
+        for (int precision = 1; precision < maxPrecision; precision++) {
+            tiles.invalidate(GeoHash.encode(latitude, longitude, precision));
+        }
+    }
+
+    private List<HousingCluster> loadTile(String tile) {
+        GeoBounds bounds = WORLD_TILE.equals(tile) ? WORLD : GeoHash.bounds(tile);
+        // 境界上の住居は隣のタイルのセルとして集計されるため、このタイルに属するセルだけを残す
+        List<HousingCluster> clusters = geoMarkerRepository.findHousingClusters(bounds, tile.length() + 1).stream()
+                .filter(cluster -> cluster.getGeohash().startsWith(tile))
+                .toList();
+        log.debug("Loaded housing cluster tile: geohash={}, clusters={}", tile, clusters.size());
+        return clusters;
+    }
+}
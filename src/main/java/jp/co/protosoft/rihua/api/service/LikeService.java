@@ -0,0 +1,173 @@
+package jp.co.protosoft.rihua.api.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jp.co.protosoft.rihua.api.domain.enums.LikeableType;
+import jp.co.protosoft.rihua.api.repository.LikeToggleRepository;
+import jp.co.protosoft.rihua.api.repository.LikeToggleRepository.ReconcileResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * いいねサービス
+ * 
+ * <p>いいねの登録・取り消しは {@link LikeToggleRepository} の1文で行い、投稿・コメントの行はロックしません。
+ * 状態が変わった場合のみ、いいね数の増減をメモリ上に加算し、{@code rihua.likes.counter-flush-interval-ms} ごとに
+ * まとめて反映します。同じ投稿への同時のいいねが親の行のロック待ちで直列化されることはありません。</p>
+ * 
+ * <p>反映前のプロセス終了などで生じたいいね数のずれは、{@code rihua.likes.reconcile-interval-ms} ごとに
+ * ID順に一定件数ずつ {@code likes} の件数と突き合わせて修正します。
+ * このノードに未反映の増減がある対象は突き合わせません。突き合わせた直後に他ノードの未反映の増減が加算されると
+ * 一時的にずれますが、次の一巡で修正されます。</p>
+ * 
+ * <p>登録・取り消し後のいいね状態は、登録済み・未登録のいずれの場合も {@link LikeStatusService} のキャッシュに反映します。
+ * コメントのいいね数を反映・修正した場合は、{@link CommentTreeService} のキャッシュも破棄します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class LikeService {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final LikeToggleRepository likeToggleRepository;
+    private final LikeStatusService likeStatusService;
+    private final CommentTreeService commentTreeService;
+    private final int reconcileBatchSize;
+    private final Map<LikeableType, PendingCounters> pending = new EnumMap<>(LikeableType.class);
+    private final Map<LikeableType, UUID> reconcileCursors = new EnumMap<>(LikeableType.class);
+
+    public LikeService(
+            LikeToggleRepository likeToggleRepository,
+            LikeStatusService likeStatusService,
+            CommentTreeService commentTreeService,
+            MeterRegistry meterRegistry,
+            @Value("${rihua.likes.reconcile-batch-size:1000}") int reconcileBatchSize) {
+        this.likeToggleRepository = likeToggleRepository;
+        this.likeStatusService = likeStatusService;
+        this.commentTreeService = commentTreeService;
+        this.reconcileBatchSize = reconcileBatchSize;
+        for (LikeableType type : LikeableType.values()) {
+            PendingCounters counters = new PendingCounters();
+            pending.put(type, counters);
+            reconcileCursors.put(type, FIRST_ID);
+            Gauge.builder("likes.pending-counts", counters, PendingCounters::size)
+                    .description("Like targets with count changes not yet flushed on this node")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * いいねを登録（登録済みの場合は何もしない）
+     * 
+     * @param userId ユーザーID
+     * @param type いいね対象タイプ
+     * @param targetId 対象ID
+     * @return 新たに登録した場合true
+     */
+    public boolean like(UUID userId, LikeableType type, UUID targetId) {
+        boolean liked = likeToggleRepository.like(userId, type, targetId);
+        likeStatusService.record(userId, type, targetId, true);
+        if (liked) {
+            pending.get(type).add(targetId, 1);
+        }
+        return liked;
+    }
+
+    /**
+     * いいねを取り消し（いいねしていない場合は何もしない）
+     * 
+     * @param userId ユーザーID
+     * @param type いいね対象タイプ
+     * @param targetId 対象ID
+     * @return 取り消した場合true
+     */
+    public boolean unlike(UUID userId, LikeableType type, UUID targetId) {
+        boolean unliked = likeToggleRepository.unlike(userId, type, targetId);
+        likeStatusService.record(userId, type, targetId, false);
+        if (unliked) {
+            pending.get(type).add(targetId, -1);
+        }
+        return unliked;
+    }
+
+    /**
+     * このノードで未反映のいいね数の増減を取得
+     * 
+     * @param type いいね対象タイプ
+     * @param targetId 対象ID
+     * @return 増減
+     */
+    public long pendingLikeCount(LikeableType type, UUID targetId) {
+        return pending.get(type).get(targetId);
+    }
+
+    /**
+     * 集計したいいね数の増減を反映
+     */
+    @Scheduled(fixedDelayString = "${rihua.likes.counter-flush-interval-ms:1000}")
+    public void flushCounts() {
+        for (LikeableType type : LikeableType.values()) {
+            Map<UUID, Long> deltas = pending.get(type).drain();
+            if (deltas.isEmpty()) {
+                continue;
+            }
+            try {
+                likeToggleRepository.addLikeCounts(type, deltas);
+            } catch (DataAccessException ex) {
+                log.warn("Could not flush like counts, retrying next interval: type={}, targets={}, cause={}",
+                        type, deltas.size(), ex.getMessage());
+                pending.get(type).requeue(deltas);
+                continue;
+            }
+            // 一括反映はエンティティリスナーを経由しないため、キャッシュしたコメントツリーのいいね数をここで破棄する
+            if (type == LikeableType.COMMENT) {
+                commentTreeService.invalidateComments(deltas.keySet());
+            }
+        }
+    }
+
+    /**
+     * いいね数を {@code likes} の件数と突き合わせて修正（ID順に一定件数ずつ、末尾まで進んだら先頭に戻る）
+     */
+    @Scheduled(fixedDelayString = "${rihua.likes.reconcile-interval-ms:60000}")
+    public void reconcileCounts() {
+        // このノードの未反映分は先に反映し、突き合わせ直後の加算による二重計上を避ける
+        flushCounts();
+        for (LikeableType type : LikeableType.values()) {
+            try {
+                ReconcileResult result = likeToggleRepository.reconcileLikeCounts(
+                        type, reconcileCursors.get(type), reconcileBatchSize, pending.get(type).ids());
+                reconcileCursors.put(type, result.lastId() != null ? result.lastId() : FIRST_ID);
+                if (result.fixed() > 0) {
+                    log.info("Like counts reconciled: type={}, fixed={}", type, result.fixed());
+                    // 修正はまれなため、修正したコメントの投稿を特定せずにすべてのツリーを破棄する
+                    if (type == LikeableType.COMMENT) {
+                        commentTreeService.invalidateAll();
+                    }
+                }
+            } catch (DataAccessException ex) {
+                log.warn("Could not reconcile like counts: type={}, cause={}", type, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 終了時に未反映のいいね数を反映
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushCounts();
+    }
+}
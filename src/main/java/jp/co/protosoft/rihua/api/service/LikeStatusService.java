@@ -0,0 +1,120 @@
+package jp.co.protosoft.rihua.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jp.co.protosoft.rihua.api.domain.enums.LikeableType;
+import jp.co.protosoft.rihua.api.repository.LikeToggleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * いいね状態の一括取得サービス
+ *
+ * <p>一覧表示で各項目に「いいね済み」を付けるため、ユーザーと対象IDの一覧からいいね済みのIDを1回のクエリで取得します。
+ * クエリは {@code likes} の一意制約 {@code (user_id, post_id)}・{@code (user_id, comment_id)} のインデックスを使用します。</p>
+ *
+ * <p>取得結果は（ユーザー, 対象タイプ, 対象ID）ごとにいいねしていない状態も含めてキャッシュし、
+ * 次回はキャッシュにない対象のみを問い合わせます。このノードでのいいね・取り消しは {@link #record} で即時に反映されます。
+ * 他ノードでの変更は {@code rihua.like-status-cache.ttl-ms} 経過後に反映されます。</p>
+ *
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class LikeStatusService {
+
+    private final LikeToggleRepository likeToggleRepository;
+    private final boolean enabled;
+    private final Cache<LikeKey, Boolean> cache;
+
+    public LikeStatusService(
+            LikeToggleRepository likeToggleRepository,
+            MeterRegistry meterRegistry,
+            @Value("${rihua.like-status-cache.enabled:true}") boolean enabled,
+            @Value("${rihua.like-status-cache.max-size:200000}") long maxSize,
+            @Value("${rihua.like-status-cache.ttl-ms:60000}") long ttlMs) {
+
+        this.likeToggleRepository = likeToggleRepository;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "likes.status");
+        log.info("Like status cache initialized: enabled={}, maxSize={}, ttlMs={}", enabled, maxSize, ttlMs);
+    }
+
+    /**
+     * 指定した対象のうち、ユーザーがいいねしている対象のIDを取得
+     *
+     * @param userId ユーザーID
+     * @param type いいね対象タイプ
+     * @param targetIds 対象ID
+     * @return いいねしている対象のID
+     */
+    public Set<UUID> findLiked(UUID userId, LikeableType type, Collection<UUID> targetIds) {
+        if (userId == null || targetIds.isEmpty()) {
+            return Set.of();
+        }
+        if (!enabled) {
+            return query(userId, type, new HashSet<>(targetIds));
+        }
+
+        List<LikeKey> keys = targetIds.stream()
+                .map(targetId -> new LikeKey(userId, type, targetId))
+                .toList();
+        Map<LikeKey, Boolean> statuses = cache.getAll(keys, missing -> {
+            Set<UUID> missingIds = missing.stream().map(LikeKey::targetId).collect(Collectors.toSet());
+            Set<UUID> liked = query(userId, type, missingIds);
+            Map<LikeKey, Boolean> loaded = new HashMap<>();
+            missing.forEach(key -> loaded.put(key, liked.contains(key.targetId())));
+            return loaded;
+        });
+
+        Set<UUID> liked = new LinkedHashSet<>();
+        statuses.forEach((key, value) -> {
+            if (value) {
+                liked.add(key.targetId());
+            }
+        });
+        return liked;
+    }
+
+    /**
+     * いいね・取り消しの結果をキャッシュに反映
+     *
+     * @param userId ユーザーID
+     * @param type いいね対象タイプ
+     * @param targetId 対象ID
+     * @param liked いいねしている場合true
+     */
+    public void record(UUID userId, LikeableType type, UUID targetId, boolean liked) {
+        if (enabled) {
+            cache.put(new LikeKey(userId, type, targetId), liked);
+        }
+    }
+
+    private Set<UUID> query(UUID userId, LikeableType type, Set<UUID> targetIds) {
+        return likeToggleRepository.findLikedIds(userId, type, targetIds);
+    }
+
+    private record LikeKey(UUID userId, LikeableType type, UUID targetId) {
+    }
+}
@@ -0,0 +1,152 @@
+package jp.co.protosoft.rihua.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 一覧の総件数サービス
+ * 
+ * <p>一覧は件数クエリを発行しない {@link Slice} で取得し、総件数は呼び出し元が {@link TotalCountMode} で選択します。</p>
+ * <ul>
+ *   <li>{@link TotalCountMode#NONE} - 総件数を返さない（{@code X-Total-Count} ヘッダーを省略）</li>
+ *   <li>{@link TotalCountMode#APPROXIMATE} - 絞り込み条件ごとにキャッシュした件数、またはPostgreSQLの実行計画の推定行数</li>
+ *   <li>{@link TotalCountMode#EXACT} - 毎回 {@code COUNT(*)} を実行</li>
+ * </ul>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class ListingCountService {
+
+    /**
+     * 総件数ヘッダー
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    /**
+     * 総件数が概算であることを示すヘッダー
+     */
+    public static final String TOTAL_COUNT_APPROXIMATE_HEADER = "X-Total-Count-Approximate";
+
+    /**
+     * 次ページの有無ヘッダー
+     */
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Long> counts;
+
+    public ListingCountService(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${rihua.pagination.count-cache.max-size:10000}") long maxSize,
+            @Value("${rihua.pagination.count-cache.ttl-ms:60000}") long ttlMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "listing.total-counts");
+    }
+
+    /**
+     * 総件数の取得方法
+     */
+    public enum TotalCountMode {
+
+        /**
+         * 総件数を返さない
+         */
+        NONE,
+
+        /**
+         * キャッシュ済みまたは推定の件数
+         */
+        APPROXIMATE,
+
+        /**
+         * 毎回正確に数える
+         */
+        EXACT
+    }
+
+    /**
+     * 総件数を取得
+     * 
+     * @param mode 取得方法
+     * @param filterKey 絞り込み条件を一意に表すキー（例: {@code "events:category=MUSIC"}）
+     * @param counter 件数の取得処理（EXACTでは毎回、APPROXIMATEではキャッシュがない場合のみ呼び出す）
+     * @return 総件数（NONEの場合は空）
+     */
+    public OptionalLong total(TotalCountMode mode, String filterKey, LongSupplier counter) {
+        return switch (mode) {
+            case NONE -> OptionalLong.empty();
+            case EXACT -> OptionalLong.of(counter.getAsLong());
+            case APPROXIMATE -> OptionalLong.of(counts.get(filterKey, key -> counter.getAsLong()));
+        };
+    }
+
+    /**
+     * PostgreSQLの実行計画から行数を推定
+     * 
+     * <p>{@code EXPLAIN} のみを実行し、テーブルは読みません。推定値は統計情報（ANALYZE）の鮮度に依存します。
+     * SQLはアプリケーション内の固定文字列のみを渡してください（利用者の入力を連結しないこと）。</p>
+     * 
+     * @param nativeSql 件数を推定する {@code SELECT} 文
+     * @param args バインドパラメーター
+     * @return 推定行数（推定できない場合は0）
+     */
+    public long plannerEstimate(String nativeSql, Object... args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + nativeSql, String.class, args);
+        try {
+            JsonNode root = objectMapper.readTree(plan);
+            return root.path(0).path("Plan").path("Plan Rows").asLong(0);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not parse query plan for row estimate: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 一覧レスポンスのページングヘッダーを作成
+     * 
+     * @param slice 一覧
+     * @param total 総件数（空の場合は {@code X-Total-Count} を省略）
+     * @param mode 総件数の取得方法
+     * @return ヘッダー
+     */
+    public static HttpHeaders paginationHeaders(Slice<?> slice, OptionalLong total, TotalCountMode mode) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Page-Number", String.valueOf(slice.getNumber()));
+        headers.set("X-Page-Size", String.valueOf(slice.getSize()));
+        headers.set(HAS_NEXT_HEADER, String.valueOf(slice.hasNext()));
+        if (total.isPresent()) {
+            headers.set(TOTAL_COUNT_HEADER, String.valueOf(total.getAsLong()));
+            if (mode == TotalCountMode.APPROXIMATE) {
+                headers.set(TOTAL_COUNT_APPROXIMATE_HEADER, "true");
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,149 @@
+package jp.co.protosoft.rihua.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jp.co.protosoft.rihua.api.dto.response.MapMarker;
+import jp.co.protosoft.rihua.api.repository.GeoMarkerRepository;
+import jp.co.protosoft.rihua.api.util.geo.GeoBounds;
+import jp.co.protosoft.rihua.api.util.geo.GeoHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 地図の表示範囲サービス
+ * 
+ * <p>地図の表示範囲をジオハッシュのタイルに分割し、タイルごとのマーカーをキャッシュします。
+ * パン・ズームで表示範囲が少しずつ変わっても、重なるタイルはキャッシュから返るため、DBへの問い合わせは新しく見えたタイルの分だけになります。
+ * タイルの精度は表示範囲が {@code rihua.geo.max-tiles-per-viewport} 枚以内に収まる最も細かいものを選びます。</p>
+ * 
+ * <p>住居のタイルは {@code HousingMapCacheInvalidator} が住居の変更時に該当位置の分だけ破棄します。
+ * イベントのタイルは {@code rihua.geo.tile-cache.ttl-ms} 経過後に失効するため、追加や変更は最大でその時間だけ遅れて地図に反映されます。
+ * 1タイルのマーカーは新しい順に {@code rihua.geo.max-markers-per-tile} 件までです。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class MapViewportService {
+
+    private final GeoMarkerRepository geoMarkerRepository;
+    private final Cache<String, List<MapMarker>> tiles;
+    private final int maxTilesPerViewport;
+    private final int maxMarkersPerTile;
+    private final int maxPrecision;
+
+    public MapViewportService(
+            GeoMarkerRepository geoMarkerRepository,
+            MeterRegistry meterRegistry,
+            @Value("${rihua.geo.tile-cache.max-size:20000}") long maxSize,
+            @Value("${rihua.geo.tile-cache.ttl-ms:30000}") long ttlMs,
+            @Value("${rihua.geo.max-tiles-per-viewport:32}") int maxTilesPerViewport,
+            @Value("${rihua.geo.max-markers-per-tile:200}") int maxMarkersPerTile,
+            @Value("${rihua.geo.max-precision:7}") int maxPrecision) {
+        this.geoMarkerRepository = geoMarkerRepository;
+        this.tiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.maxTilesPerViewport = maxTilesPerViewport;
+        this.maxMarkersPerTile = maxMarkersPerTile;
+        this.maxPrecision = maxPrecision;
+        CaffeineCacheMetrics.monitor(meterRegistry, tiles, "geo.map-tiles");
+    }
+
+    /**
+     * 地図のレイヤー
+     */
+    public enum MapLayer {
+
+        /**
+         * 住居
+         */
+        HOUSING,
+
+        /**
+         * イベント
+         */
+        EVENT
+    }
+
+    /**
+     * 表示範囲内の住居マーカーを取得
+     * 
+     * @param viewport 地図の表示範囲
+     * @return マーカー
+     */
+    public List<MapMarker> findHousingMarkers(GeoBounds viewport) {
+        return findMarkers(MapLayer.HOUSING, viewport);
+    }
+
+    /**
+     * 表示範囲内のイベントマーカーを取得
+     * 
+     * @param viewport 地図の表示範囲
+     * @return マーカー
+     */
+    public List<MapMarker> findEventMarkers(GeoBounds viewport) {
+        return findMarkers(MapLayer.EVENT, viewport);
+    }
+
+    /**
+     * 表示範囲内のマーカーを取得
+     * 
+     * @param layer レイヤー
+     * @param viewport 地図の表示範囲
+     * @return マーカー（タイルの境界上の重複は除外済み）
+     */
+    public List<MapMarker> findMarkers(MapLayer layer, GeoBounds viewport) {
+        int precision = GeoHash.precisionFor(viewport, maxTilesPerViewport, maxPrecision);
+
+        Map<UUID, MapMarker> markers = new LinkedHashMap<>();
+        for (String hash : GeoHash.covering(viewport, precision)) {
+            for (MapMarker marker : tiles.get(tileKey(layer, hash), key -> loadTile(layer, hash))) {
+                if (viewport.contains(marker.getLatitude(), marker.getLongitude())) {
+                    markers.putIfAbsent(marker.getId(), marker);
+                }
+            }
+        }
+        return new ArrayList<>(markers.values());
+    }
+
+    /**
+     * 指定した地点を含むすべての精度のタイルを破棄
+     * 
+     * @param layer レイヤー
+     * @param latitude 緯度
+     * @param longitude 経度
+     */
+    public void invalidate(MapLayer layer, double latitude, double longitude) {
+        for (int precision = 1; precision <= maxPrecision; precision++) {
+            tiles.invalidate(tileKey(layer, GeoHash.encode(latitude, longitude, precision)));
+        }
+    }
+
+    private List<MapMarker> loadTile(MapLayer layer, String hash) {
+        GeoBounds bounds = GeoHash.bounds(hash);
+        List<MapMarker> markers = switch (layer) {
+            case HOUSING -> geoMarkerRepository.findHousingMarkers(bounds, maxMarkersPerTile);
+            case EVENT -> geoMarkerRepository.findEventMarkers(bounds, maxMarkersPerTile);
+        };
+        log.debug("Loaded map tile: layer={}, geohash={}, markers={}", layer, hash, markers.size());
+        return List.copyOf(markers);
+    }
+
+    private static String tileKey(MapLayer layer, String hash) {
+        return layer.name() + ":" + hash;
+    }
+}
@@ -0,0 +1,111 @@
+package jp.co.protosoft.rihua.api.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 未反映のカウンター増減
+ * 
+ * <p>IDごとの増減を {@link LongAdder} に加算し、反映時にまとめて取り出します。
+ * 既存のIDへの加算はロックを取らずスレッドごとのセルに分散されるため、人気の対象でも競合しません。</p>
+ * 
+ * <p>前回の反映以降に増減がなかったIDは反映時に削除します。削除の直前に取得されたカウンターへの加算を失わないよう、
+ * 削除したカウンターは退避しておき、次回の反映でもう一度取り出します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+final class PendingCounters {
+
+    private final ConcurrentHashMap<UUID, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 前回の反映で削除したカウンター
+     */
+    private final Queue<Map.Entry<UUID, LongAdder>> retired = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 増減を加算
+     * 
+     * @param id 対象ID
+     * @param delta 増減
+     */
+    void add(UUID id, long delta) {
+        LongAdder counter = counters.get(id);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(id, key -> new LongAdder());
+        }
+        counter.add(delta);
+    }
+
+    /**
+     * 未反映の増減を取得
+     * 
+     * @param id 対象ID
+     * @return 増減
+     */
+    long get(UUID id) {
+        LongAdder counter = counters.get(id);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * 未反映の増減がある可能性のあるID
+     * 
+     * @return IDの集合（変更不可、加算・反映に応じて変わるビュー）
+     */
+    Set<UUID> ids() {
+        return Collections.unmodifiableSet(counters.keySet());
+    }
+
+    /**
+     * 未反映の増減があるIDの数を取得
+     * 
+     * @return IDの数
+     */
+    int size() {
+        return counters.size();
+    }
+
+    /**
+     * 未反映の増減をすべて取り出す
+     * 
+     * @return IDごとの増減（0のIDは含まない）
+     */
+    Map<UUID, Long> drain() {
+        Map<UUID, Long> deltas = new HashMap<>();
+        // 前回削除したカウンターに、削除の直前に取得したスレッドが加算した分を拾う
+        for (Map.Entry<UUID, LongAdder> entry = retired.poll(); entry != null; entry = retired.poll()) {
+            long late = entry.getValue().sumThenReset();
+            if (late != 0) {
+                deltas.merge(entry.getKey(), late, Long::sum);
+            }
+        }
+        counters.forEach((id, counter) -> {
+            long delta = counter.sumThenReset();
+            if (delta != 0) {
+                deltas.merge(id, delta, Long::sum);
+            } else if (counters.remove(id, counter)) {
+                // 前回の反映以降に増減がなかったIDは削除し、次回の反映まで退避する
+                retired.add(Map.entry(id, counter));
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * 反映できなかった増減を戻す
+     * 
+     * @param deltas IDごとの増減
+     */
+    void requeue(Map<UUID, Long> deltas) {
+        deltas.forEach(this::add);
+    }
+}
@@ -0,0 +1,136 @@
+package jp.co.protosoft.rihua.api.service;
+
+import jp.co.protosoft.rihua.api.security.JwtTokenProvider;
+import jp.co.protosoft.rihua.api.security.JwtValidationResult;
+import jp.co.protosoft.rihua.api.security.RefreshTokenDenylist;
+import jp.co.protosoft.rihua.api.security.RefreshTokenFamilyStore;
+import jp.co.protosoft.rihua.api.security.RefreshTokenRotationStatus;
+import jp.co.protosoft.rihua.api.security.VerifiedJwtClaims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * リフレッシュトークンサービス
+ * 
+ * <p>ログインごとにリフレッシュトークンファミリーを作成し、リフレッシュのたびにトークンをローテーションします。
+ * ローテーション済みのトークンが再提示された場合は漏洩とみなし、ファミリー全体を失効させます。
+ * 失効したファミリーのアクセストークン（sidクレーム）は認証フィルターでも拒否されます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenFamilyStore familyStore;
+    private final RefreshTokenDenylist denylist;
+
+    /**
+     * 新しいファミリーを作成してリフレッシュトークンを発行
+     * 
+     * @param userId ユーザーID
+     * @return 発行結果
+     */
+    public IssuedRefreshToken issue(String userId) {
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+
+        familyStore.create(familyId, userId, tokenId, familyTtl());
+
+        return new IssuedRefreshToken(familyId, jwtTokenProvider.generateRefreshToken(userId, familyId, tokenId));
+    }
+
+    /**
+     * リフレッシュトークンをローテーション
+     * 
+     * @param refreshToken 提示されたリフレッシュトークン
+     * @return ローテーション結果
+     */
+    public RotationResult rotate(String refreshToken) {
+        JwtValidationResult result = jwtTokenProvider.verifyToken(refreshToken);
+        if (!result.isValid()) {
+            return RotationResult.rejected(RefreshTokenRotationStatus.INVALID, null, null);
+        }
+
+        VerifiedJwtClaims claims = result.claims();
+        if (!claims.isRefreshToken() || claims.sessionId() == null || claims.tokenId() == null) {
+            return RotationResult.rejected(RefreshTokenRotationStatus.INVALID, claims.userId(), null);
+        }
+
+        String familyId = claims.sessionId();
+        if (denylist.isRevoked(familyId)) {
+            return RotationResult.rejected(RefreshTokenRotationStatus.REVOKED, claims.userId(), familyId);
+        }
+
+        String newTokenId = UUID.randomUUID().toString();
+        RefreshTokenRotationStatus status = familyStore.rotate(familyId, claims.tokenId(), newTokenId, familyTtl());
+
+        switch (status) {
+            case ROTATED:
+                return new RotationResult(status, claims.userId(), familyId,
+                        jwtTokenProvider.generateRefreshToken(claims.userId(), familyId, newTokenId));
+            case REUSE_DETECTED:
+                denylist.markRevoked(familyId);
+                log.warn("Refresh token reuse detected, family revoked: userId={}, familyId={}",
+                        claims.userId(), familyId);
+                return RotationResult.rejected(status, claims.userId(), familyId);
+            default:
+                return RotationResult.rejected(status, claims.userId(), familyId);
+        }
+    }
+
+    /**
+     * ファミリーを失効（ログアウトなど）
+     * 
+     * @param familyId ファミリーID
+     */
+    public void revoke(String familyId) {
+        familyStore.revoke(familyId, familyTtl());
+        denylist.markRevoked(familyId);
+        log.info("Refresh token family revoked: familyId={}", familyId);
+    }
+
+    private Duration familyTtl() {
+        return Duration.ofMillis(jwtTokenProvider.getRefreshTokenExpirationMs());
+    }
+
+    /**
+     * リフレッシュトークン発行結果
+     * 
+     * @param familyId ファミリーID（アクセストークンのsidに設定）
+     * @param refreshToken リフレッシュトークン
+     */
+    public record IssuedRefreshToken(String familyId, String refreshToken) {
+    }
+
+    /**
+     * リフレッシュトークンのローテーション結果
+     * 
+     * @param status ローテーション結果ステータス
+     * @param userId ユーザーID（トークンが不正な場合null）
+     * @param familyId ファミリーID（トークンが不正な場合null）
+     * @param refreshToken 新しいリフレッシュトークン（{@link RefreshTokenRotationStatus#ROTATED} 以外の場合null）
+     */
+    public record RotationResult(RefreshTokenRotationStatus status, String userId, String familyId, String refreshToken) {
+
+        static RotationResult rejected(RefreshTokenRotationStatus status, String userId, String familyId) {
+            return new RotationResult(status, userId, familyId, null);
+        }
+
+        /**
+         * ローテーションに成功したかどうかを確認
+         * 
+         * @return 成功した場合true
+         */
+        public boolean isRotated() {
+            return status == RefreshTokenRotationStatus.ROTATED;
+        }
+    }
+}
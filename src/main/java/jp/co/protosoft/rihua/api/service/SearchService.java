@@ -0,0 +1,79 @@
+package jp.co.protosoft.rihua.api.service;
+
+import jp.co.protosoft.rihua.api.domain.enums.SearchTarget;
+import jp.co.protosoft.rihua.api.dto.response.SearchHit;
+import jp.co.protosoft.rihua.api.repository.FullTextSearchRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 全文検索サービス
+ * 
+ * <p>フォーラム投稿・イベント・住居・求人を横断して全文検索し、関連度順の結果を返します。
+ * 検索語は前後の空白を除いて最大文字数で切り詰め、空の場合は検索を行いません。
+ * 対象ごとのエンティティ単位の検索は各リポジトリの {@code searchByFullText} を使用します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private final FullTextSearchRepository fullTextSearchRepository;
+    private final int maxPageSize;
+    private final int maxQueryLength;
+
+    public SearchService(
+            FullTextSearchRepository fullTextSearchRepository,
+            @Value("${rihua.pagination.max-page-size:100}") int maxPageSize,
+            @Value("${rihua.search.max-query-length:100}") int maxQueryLength) {
+        this.fullTextSearchRepository = fullTextSearchRepository;
+        this.maxPageSize = maxPageSize;
+        this.maxQueryLength = maxQueryLength;
+    }
+
+    /**
+     * 横断検索
+     * 
+     * @param query 検索語
+     * @param targets 検索対象（nullまたは空の場合はすべて）
+     * @param page ページ番号（0始まり）
+     * @param size ページサイズ
+     * @return 関連度順の検索結果スライス
+     */
+    public Slice<SearchHit> search(String query, Set<SearchTarget> targets, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, maxPageSize)));
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageRequest, false);
+        }
+
+        Set<SearchTarget> searchTargets = targets == null || targets.isEmpty()
+                ? EnumSet.allOf(SearchTarget.class)
+                : targets;
+
+        // 1件多く取得して次ページの有無を判定する
+        List<SearchHit> hits = fullTextSearchRepository.search(
+                normalized, searchTargets, (int) pageRequest.getOffset(), pageRequest.getPageSize() + 1);
+        boolean hasNext = hits.size() > pageRequest.getPageSize();
+
+        return new SliceImpl<>(hasNext ? hits.subList(0, pageRequest.getPageSize()) : hits, pageRequest, hasNext);
+    }
+
+    private String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String trimmed = query.strip();
+        return trimmed.length() > maxQueryLength ? trimmed.substring(0, maxQueryLength) : trimmed;
+    }
+}
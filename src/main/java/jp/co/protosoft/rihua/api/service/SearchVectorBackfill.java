@@ -0,0 +1,65 @@
+package jp.co.protosoft.rihua.api.service;
+
+import jp.co.protosoft.rihua.api.domain.enums.SearchTarget;
+import jp.co.protosoft.rihua.api.repository.FullTextSearchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 検索ベクトルのバックフィルサービス
+ * 
+ * <p>全文検索の導入前から存在する行の検索ベクトルを、{@code rihua.search.backfill.interval-ms} ごとに
+ * 対象タイプあたり {@code rihua.search.backfill.batch-size} 件ずつ作成します。
+ * マイグレーション内で全件を一度に更新すると、大きなテーブルでは長時間の行ロックとテーブルの肥大化を招くためです。
+ * 未作成の行がなくなった対象タイプは、以降の実行で問い合わせません。</p>
+ * 
+ * <p>作成が終わるまでの間、未作成の行は全文検索でヒットしません。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class SearchVectorBackfill {
+
+    private final FullTextSearchRepository fullTextSearchRepository;
+    private final int batchSize;
+    private final Set<SearchTarget> completed = EnumSet.noneOf(SearchTarget.class);
+
+    public SearchVectorBackfill(
+            FullTextSearchRepository fullTextSearchRepository,
+            @Value("${rihua.search.backfill.batch-size:500}") int batchSize) {
+        this.fullTextSearchRepository = fullTextSearchRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 未作成の検索ベクトルを1バッチ分作成
+     */
+    @Scheduled(fixedDelayString = "${rihua.search.backfill.interval-ms:1000}")
+    public synchronized void backfill() {
+        for (SearchTarget target : SearchTarget.values()) {
+            if (completed.contains(target)) {
+                continue;
+            }
+            try {
+                int created = fullTextSearchRepository.backfillSearchVectors(target, batchSize);
+                if (created == 0) {
+                    completed.add(target);
+                    log.info("Search vector backfill completed: target={}", target);
+                } else {
+                    log.debug("Search vectors backfilled: target={}, rows={}", target, created);
+                }
+            } catch (DataAccessException ex) {
+                log.warn("Could not backfill search vectors, retrying next interval: target={}, cause={}",
+                        target, ex.getMessage());
+            }
+        }
+    }
+}
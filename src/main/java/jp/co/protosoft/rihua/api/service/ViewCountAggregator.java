@@ -0,0 +1,129 @@
+package jp.co.protosoft.rihua.api.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jp.co.protosoft.rihua.api.domain.enums.ViewTarget;
+import jp.co.protosoft.rihua.api.repository.ViewCountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 閲覧数の書き込み遅延集計サービス
+ * 
+ * <p>閲覧ごとにUPDATEを発行すると、人気の投稿・住居などでは同じ行のロック待ちが集中します。
+ * 閲覧はIDごとの {@link java.util.concurrent.atomic.LongAdder} にメモリ上で加算し、{@code rihua.view-count.flush-interval-ms} ごとに
+ * まとめて {@link ViewCountRepository} のバッチUPDATEで反映します。
+ * 人気順の一覧（{@code findPopularHousing}、{@code findPopularJobs} など）にはこの間隔の遅れで反映されます。</p>
+ * 
+ * <p>{@link RedisViewCountBuffer} が有効な場合は、各ノードの集計をRedisで合算してからデータベースに反映します。
+ * 反映に失敗した閲覧数は次回の反映に持ち越します。プロセスが異常終了した場合、未反映の閲覧数は失われます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class ViewCountAggregator {
+
+    private final ViewCountRepository viewCountRepository;
+    private final RedisViewCountBuffer redisBuffer;
+    private final Map<ViewTarget, PendingCounters> pending = new EnumMap<>(ViewTarget.class);
+
+    public ViewCountAggregator(
+            ViewCountRepository viewCountRepository,
+            ObjectProvider<RedisViewCountBuffer> redisBuffer,
+            MeterRegistry meterRegistry) {
+        this.viewCountRepository = viewCountRepository;
+        this.redisBuffer = redisBuffer.getIfAvailable();
+        for (ViewTarget target : ViewTarget.values()) {
+            PendingCounters counters = new PendingCounters();
+            pending.put(target, counters);
+            Gauge.builder("view-count.pending", counters, PendingCounters::size)
+                    .description("Entities with views not yet flushed on this node")
+                    .tag("target", target.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 閲覧を記録
+     * 
+     * @param target 対象タイプ
+     * @param id 対象ID
+     */
+    public void record(ViewTarget target, UUID id) {
+        pending.get(target).add(id, 1);
+    }
+
+    /**
+     * このノードで未反映の閲覧数を取得
+     * 
+     * <p>詳細表示などで、データベースの閲覧数に加えて表示する用途を想定しています。</p>
+     * 
+     * @param target 対象タイプ
+     * @param id 対象ID
+     * @return 未反映の閲覧数
+     */
+    public long pendingViews(ViewTarget target, UUID id) {
+        return pending.get(target).get(id);
+    }
+
+    /**
+     * 集計した閲覧数をデータベースに反映
+     */
+    @Scheduled(fixedDelayString = "${rihua.view-count.flush-interval-ms:2000}")
+    public void flush() {
+        for (ViewTarget target : ViewTarget.values()) {
+            Map<UUID, Long> views = pending.get(target).drain();
+            if (redisBuffer != null) {
+                views = coalesceAcrossNodes(target, views);
+            }
+            if (views.isEmpty()) {
+                continue;
+            }
+            try {
+                viewCountRepository.addViews(target, views);
+                log.debug("View counts flushed: target={}, entities={}", target, views.size());
+            } catch (DataAccessException ex) {
+                log.warn("Could not flush view counts, retrying next interval: target={}, entities={}, cause={}",
+                        target, views.size(), ex.getMessage());
+                pending.get(target).requeue(views);
+            }
+        }
+    }
+
+    /**
+     * 終了時に未反映の閲覧数を反映
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Map<UUID, Long> coalesceAcrossNodes(ViewTarget target, Map<UUID, Long> localViews) {
+        try {
+            if (!localViews.isEmpty()) {
+                redisBuffer.add(target, localViews);
+            }
+        } catch (DataAccessException ex) {
+            // Redisに送れない場合はこのノードの分だけ直接反映する
+            log.warn("Could not buffer view counts in Redis, flushing locally: target={}, cause={}",
+                    target, ex.getMessage());
+            return localViews;
+        }
+        try {
+            return redisBuffer.drain(target);
+        } catch (DataAccessException ex) {
+            log.warn("Could not drain view counts from Redis: target={}, cause={}", target, ex.getMessage());
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package jp.co.protosoft.rihua.api.util.geo;
+
+import jp.co.protosoft.rihua.api.exception.InvalidGeoQueryException;
+
+/**
+ * 緯度経度の矩形範囲（地図の表示範囲・ジオハッシュのタイル）
+ * 
+ * <p>日付変更線をまたぐ範囲（西端が東端より東）は扱いません。</p>
+ * 
+ * @param south 南端の緯度
+ * @param west 西端の経度
+ * @param north 北端の緯度
+ * @param east 東端の経度
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public record GeoBounds(double south, double west, double north, double east) {
+
+    public GeoBounds {
+        if (!(south >= -90 && north <= 90 && south <= north)) {
+            throw new InvalidGeoQueryException("Latitude range must satisfy -90 <= south <= north <= 90");
+        }
+        if (!(west >= -180 && east <= 180 && west <= east)) {
+            throw new InvalidGeoQueryException("Longitude range must satisfy -180 <= west <= east <= 180");
+        }
+    }
+
+    /**
+     * 指定した地点が範囲内（境界を含む）か判定
+     * 
+     * @param latitude 緯度
+     * @param longitude 経度
+     * @return 範囲内の場合true
+     */
+    public boolean contains(double latitude, double longitude) {
+        return latitude >= south && latitude <= north && longitude >= west && longitude <= east;
+    }
+
+    /**
+     * 指定した範囲と重なる（境界の接触を含む）か判定
+     * 
+     * @param other 範囲
+     * @return 重なる場合true
+     */
+    public boolean intersects(GeoBounds other) {
+        return other.south <= north && other.north >= south && other.west <= east && other.east >= west;
+    }
+
+    /**
+     * 中心の緯度を取得
+     * 
+     * @return 中心の緯度
+     */
+    public double centerLatitude() {
+        return (south + north) / 2;
+    }
+
+    /**
+     * 中心の経度を取得
+     * 
+     * @return 中心の経度
+     */
+    public double centerLongitude() {
+        return (west + east) / 2;
+    }
+}
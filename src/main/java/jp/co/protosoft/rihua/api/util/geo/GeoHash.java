@@ -0,0 +1,213 @@
+package jp.co.protosoft.rihua.api.util.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ジオハッシュ
+ * 
+ * <p>緯度経度を経度・緯度のビットを交互に並べた32進文字列に変換します。文字数（精度）が1増えるごとにセルは32分割され、
+ * 精度5で約4.9km×4.9km、精度6で約1.2km×0.6km、精度7で約153m×153mになります。
+ * 同じ接頭辞を持つハッシュは同じセルに含まれるため、地図の表示範囲をセル（タイル）単位に分割してキャッシュできます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public final class GeoHash {
+
+    /**
+     * 最大精度
+     */
+    public static final int MAX_PRECISION = 12;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private GeoHash() {
+    }
+
+    /**
+     * 緯度経度をジオハッシュに変換
+     * 
+     * @param latitude 緯度
+     * @param longitude 経度
+     * @param precision 精度（文字数、1〜{@value #MAX_PRECISION}）
+     * @return ジオハッシュ
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        checkPrecision(precision);
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLon = mid;
+                } else {
+                    index <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLat = mid;
+                } else {
+                    index <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(index));
+                bit = 0;
+                index = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * ジオハッシュのセルの範囲を取得
+     * 
+     * @param hash ジオハッシュ
+     * @return セルの範囲
+     * @throws IllegalArgumentException ジオハッシュとして不正な文字を含む場合
+     */
+    public static GeoBounds bounds(String hash) {
+        checkPrecision(hash.length());
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        boolean evenBit = true;
+
+        for (int i = 0; i < hash.length(); i++) {
+            int index = BASE32.indexOf(hash.charAt(i));
+            if (index < 0) {
+                throw new IllegalArgumentException("Invalid geohash character: " + hash.charAt(i));
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = ((index >> bit) & 1) == 1;
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (set) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new GeoBounds(minLat, minLon, maxLat, maxLon);
+    }
+
+    /**
+     * 範囲を覆うセルを列挙
+     * 
+     * @param area 範囲
+     * @param precision 精度
+     * @return 範囲と重なるセルのジオハッシュ（南西から北東の順）
+     */
+    public static List<String> covering(GeoBounds area, int precision) {
+        checkPrecision(precision);
+        double cellHeight = cellHeight(precision);
+        double cellWidth = cellWidth(precision);
+        int firstRow = row(area.south(), cellHeight);
+        int lastRow = row(area.north(), cellHeight);
+        int firstColumn = column(area.west(), cellWidth);
+        int lastColumn = column(area.east(), cellWidth);
+
+        List<String> hashes = new ArrayList<>((lastRow - firstRow + 1) * (lastColumn - firstColumn + 1));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                hashes.add(cell(row, column, precision));
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * 範囲を指定したセル数以内で覆える最も細かい精度を取得
+     * 
+     * @param area 範囲
+     * @param maxCells セル数の上限
+     * @param maxPrecision 精度の上限
+     * @return 精度（精度1でも上限を超える場合は1）
+     */
+    public static int precisionFor(GeoBounds area, int maxCells, int maxPrecision) {
+        checkPrecision(maxPrecision);
+        int precision = 1;
+        while (precision < maxPrecision && cellCount(area, precision + 1) <= maxCells) {
+            precision++;
+        }
+        return precision;
+    }
+
+    /**
+     * グリッド上の位置からセルのジオハッシュを取得
+     * 
+     * <p>指定した精度のセルは、南西端を原点として高さ {@link #cellHeight(int)}・幅 {@link #cellWidth(int)} の格子になります。
+     * SQLで {@code floor((緯度 + 90) / 高さ)}・{@code floor((経度 + 180) / 幅)} により集計した行と列をジオハッシュに戻すために使います。</p>
+     * 
+     * @param row 行（南から0始まり）
+     * @param column 列（西から0始まり）
+     * @param precision 精度
+     * @return ジオハッシュ
+     */
+    public static String cell(long row, long column, int precision) {
+        return encode(-90 + (row + 0.5) * cellHeight(precision), -180 + (column + 0.5) * cellWidth(precision), precision);
+    }
+
+    /**
+     * セルの高さ（緯度の幅）を取得
+     * 
+     * @param precision 精度
+     * @return 高さ（度）
+     */
+    public static double cellHeight(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    /**
+     * セルの幅（経度の幅）を取得
+     * 
+     * @param precision 精度
+     * @return 幅（度）
+     */
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    private static long cellCount(GeoBounds area, int precision) {
+        double cellHeight = cellHeight(precision);
+        double cellWidth = cellWidth(precision);
+        long rows = row(area.north(), cellHeight) - row(area.south(), cellHeight) + 1L;
+        long columns = column(area.east(), cellWidth) - column(area.west(), cellWidth) + 1L;
+        return rows * columns;
+    }
+
+    private static int row(double latitude, double cellHeight) {
+        // 北端（90度）は最後のセルに含める
+        return (int) Math.min(Math.floor((latitude + 90) / cellHeight), Math.round(180 / cellHeight) - 1);
+    }
+
+    private static int column(double longitude, double cellWidth) {
+        return (int) Math.min(Math.floor((longitude + 180) / cellWidth), Math.round(360 / cellWidth) - 1);
+    }
+
+    private static void checkPrecision(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+    }
+}
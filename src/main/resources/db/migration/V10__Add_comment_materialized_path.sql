@@ -0,0 +1,106 @@
+-- Materialized path for the comment hierarchy
+-- Author: Rihua Development Team
+-- Version: 10.0.0
+
+-- =====================================================
+-- PATH COLUMNS
+-- =====================================================
+-- path はトップレベルコメントから自身までのIDを '/' で連結した文字列。
+-- IDは16バイトをbase64url（パディングなし）で表した22文字で、'/' を含まない。例: 'obLD1OX2R4iZqrvM3e7_AA/w7TV5vf4SUKLs7Xz-_8AAQ'。
+-- 各IDの長さが同じため、あるコメントの部分木は path が「自身のpath」以上「自身のpath || '0'」未満の範囲になる
+-- （バイト順（COLLATE "C"）で比較し、自身のpathで始まる他の行は必ず直後が '/' で、'/' の次の文字が '0'）。
+-- depth はトップレベルコメントを0とする深さ。pathは一意インデックスの1行の上限（約2700バイト）に収まるよう、
+-- 深さは rihua_comment_max_depth() までに制限する（100段で約2300バイト）。
+ALTER TABLE comments ADD COLUMN path TEXT COLLATE "C";
+ALTER TABLE comments ADD COLUMN depth SMALLINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION rihua_comment_path_segment(id UUID) RETURNS TEXT
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT rtrim(translate(encode(uuid_send(id), 'base64'), '+/', '-_'), '=');
+$$;
+
+CREATE OR REPLACE FUNCTION rihua_comment_max_depth() RETURNS SMALLINT
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT 100::SMALLINT;
+$$;
+
+-- 登録時と親の変更時に親のpathから自身のpathを求める
+CREATE OR REPLACE FUNCTION comments_path_update() RETURNS trigger
+LANGUAGE plpgsql AS $$
+DECLARE
+    parent_path TEXT;
+    parent_depth SMALLINT;
+    subtree_height INTEGER := 0;
+BEGIN
+    -- JPAの更新は変更のない parent_id もSETに含めるため、親が変わらない場合は再計算しない
+    IF TG_OP = 'UPDATE' AND NEW.parent_id IS NOT DISTINCT FROM OLD.parent_id THEN
+        RETURN NEW;
+    END IF;
+    IF NEW.parent_id IS NULL THEN
+        NEW.path := rihua_comment_path_segment(NEW.id);
+        NEW.depth := 0;
+    ELSE
+        SELECT path, depth INTO parent_path, parent_depth FROM comments WHERE id = NEW.parent_id;
+        IF parent_path IS NULL THEN
+            RAISE EXCEPTION 'Parent comment % does not exist', NEW.parent_id;
+        END IF;
+        -- 自身（parent_id = id）または自身の返信の下への移動は循環になる
+        IF TG_OP = 'UPDATE' AND parent_path >= OLD.path AND parent_path < OLD.path || '0' THEN
+            RAISE EXCEPTION 'Cannot move comment % under itself or its own reply', NEW.id;
+        END IF;
+        -- 移動時は部分木の最も深い返信も上限に収まる必要がある
+        IF TG_OP = 'UPDATE' THEN
+            SELECT coalesce(max(depth), OLD.depth) - OLD.depth INTO subtree_height
+            FROM comments WHERE path >= OLD.path || '/' AND path < OLD.path || '0';
+        END IF;
+        IF parent_depth + 1 + subtree_height > rihua_comment_max_depth() THEN
+            RAISE EXCEPTION 'Comment % would exceed the maximum reply depth %', NEW.id, rihua_comment_max_depth();
+        END IF;
+        NEW.path := parent_path || '/' || rihua_comment_path_segment(NEW.id);
+        NEW.depth := parent_depth + 1;
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+-- 親の変更（スレッドの移動）時は子孫のpathの先頭部分を1回のUPDATEで置き換える
+CREATE OR REPLACE FUNCTION comments_path_move_descendants() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF NEW.path IS DISTINCT FROM OLD.path THEN
+        UPDATE comments
+        SET path = NEW.path || substr(path, char_length(OLD.path) + 1),
+            depth = depth + (NEW.depth - OLD.depth)
+        WHERE path >= OLD.path || '/' AND path < OLD.path || '0';
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_comments_path
+    BEFORE INSERT OR UPDATE OF parent_id ON comments
+    FOR EACH ROW EXECUTE FUNCTION comments_path_update();
+
+-- 子孫の更新は parent_id を変更しないため、このトリガーを再帰的に発火させない
+CREATE TRIGGER trg_comments_path_move
+    AFTER UPDATE OF parent_id ON comments
+    FOR EACH ROW EXECUTE FUNCTION comments_path_move_descendants();
+
+-- 既存行のpathを親から順に作成
+WITH RECURSIVE tree AS (
+    SELECT id, rihua_comment_path_segment(id) AS path, 0 AS depth
+    FROM comments WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, t.path || '/' || rihua_comment_path_segment(c.id), t.depth + 1
+    FROM comments c JOIN tree t ON c.parent_id = t.id
+)
+UPDATE comments c SET path = tree.path, depth = tree.depth FROM tree WHERE c.id = tree.id;
+
+ALTER TABLE comments ALTER COLUMN path SET NOT NULL;
+
+-- =====================================================
+-- PATH INDEXES
+-- =====================================================
+-- 部分木の読み込み・子孫数の集計はpathの範囲走査で完結する
+CREATE UNIQUE INDEX idx_comments_path ON comments(path);
+CREATE INDEX idx_comments_path_published ON comments(path) INCLUDE (depth) WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
@@ -0,0 +1,13 @@
+-- Element collection indexes
+-- Author: Rihua Development Team
+-- Version: 11.0.0
+
+-- =====================================================
+-- JOB COLLECTION INDEXES
+-- =====================================================
+-- 求人の応募条件・福利厚生・スキルは一覧の1ページ分の求人IDをまとめて（job_id = ANY(...)）読み込む。
+-- これらのテーブルには主キーがないため、job_id のインデックスがないと読み込みのたびに全件走査になる。
+-- housing_images は主キー (housing_id, image_url) のインデックスを使用する。
+CREATE INDEX idx_job_requirements_job_id ON job_requirements(job_id);
+CREATE INDEX idx_job_benefits_job_id ON job_benefits(job_id);
+CREATE INDEX idx_job_skills_job_id ON job_skills(job_id);
@@ -0,0 +1,12 @@
+-- Keyset pagination indexes for forum feeds
+-- Author: Rihua Development Team
+-- Version: 3.0.0
+
+-- =====================================================
+-- FORUM FEED INDEXES
+-- =====================================================
+-- フィードは (ソートキー, id) の降順で読み、前ページ末尾の値より小さい行から再開する。
+-- 公開済み・未削除の行だけを持つ部分インデックスにすることで、どのページでもインデックスの範囲走査のみで完結する。
+CREATE INDEX idx_forum_posts_feed_latest ON forum_posts(created_at DESC, id DESC) WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
+CREATE INDEX idx_forum_posts_feed_popular ON forum_posts(like_count DESC, id DESC) WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
+CREATE INDEX idx_forum_posts_feed_most_commented ON forum_posts(comment_count DESC, id DESC) WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
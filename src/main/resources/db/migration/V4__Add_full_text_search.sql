@@ -0,0 +1,179 @@
+-- Full-text search for forum posts, events, housing and jobs
+-- Author: Rihua Development Team
+-- Version: 4.0.0
+
+-- =====================================================
+-- TOKENIZATION
+-- =====================================================
+-- 中国語・日本語は単語間に空白がないため、PostgreSQL標準のパーサーでは文全体が1語になる。
+-- 連続するCJK文字（ひらがな・カタカナ・漢字・半角カナ）を重なりのある2文字単位（バイグラム）に分割し、
+-- それ以外の文字列はそのまま 'simple' 設定で語に分割する。例: '東京都の猫カフェ' -> '東京 京都 都の の猫 猫カ カフ フェ'
+-- 文字単位のループではなく、CJKの連続とそれ以外の連続に分けてから集約するため、長い本文でも文字列の再連結は発生しない。
+CREATE OR REPLACE FUNCTION rihua_search_text(input TEXT) RETURNS TEXT
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT coalesce(string_agg(
+               CASE
+                   -- 1文字だけのCJK語はそのまま1語として残す
+                   WHEN token !~ '^[\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uf900-\ufaff\uff66-\uff9f]+$' OR char_length(token) = 1 THEN token
+                   ELSE (SELECT string_agg(substr(token, i, 2), ' ' ORDER BY i)
+                         FROM generate_series(1, char_length(token) - 1) AS i)
+               END,
+               ' ' ORDER BY ord), '')
+    FROM (SELECT run.match[1] AS token, run.ord
+          FROM regexp_matches(lower(coalesce(input, '')), '[\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uf900-\ufaff\uff66-\uff9f]+|[^\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uf900-\ufaff\uff66-\uff9f]+', 'g')
+                   WITH ORDINALITY AS run(match, ord)) AS runs
+$$;
+
+-- 検索語を文書と同じ規則で分割し、すべての語を含む（AND）クエリに変換する。
+-- CJK1文字だけの語はバイグラムの前方一致で検索する（例: '猫 tower' の '猫' は '猫カ' にも一致）。
+CREATE OR REPLACE FUNCTION rihua_search_query(query TEXT) RETURNS tsquery
+LANGUAGE plpgsql IMMUTABLE PARALLEL SAFE AS $$
+DECLARE
+    result tsquery;
+    term tsquery;
+    token TEXT;
+BEGIN
+    FOR token IN
+        SELECT m[1] FROM regexp_matches(lower(coalesce(query, '')), '[\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uf900-\ufaff\uff66-\uff9f]+|[^\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uf900-\ufaff\uff66-\uff9f]+', 'g') AS m
+    LOOP
+        IF char_length(token) = 1 AND token ~ '[\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uf900-\ufaff\uff66-\uff9f]' THEN
+            term := to_tsquery('simple', token || ':*');
+        ELSE
+            term := plainto_tsquery('simple', rihua_search_text(token));
+        END IF;
+        -- 空白や記号だけの語は空のクエリになるため結合しない
+        IF numnode(term) > 0 THEN
+            result := CASE WHEN result IS NULL THEN term ELSE result && term END;
+        END IF;
+    END LOOP;
+    RETURN coalesce(result, plainto_tsquery('simple', ''));
+END;
+$$;
+
+-- =====================================================
+-- SEARCH VECTORS
+-- =====================================================
+-- 重み: A=タイトル、B=場所・会社名など、C=本文
+ALTER TABLE forum_posts ADD COLUMN search_vector tsvector;
+ALTER TABLE events ADD COLUMN search_vector tsvector;
+ALTER TABLE housing ADD COLUMN search_vector tsvector;
+ALTER TABLE jobs ADD COLUMN search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION forum_posts_search_vector_update() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('simple', rihua_search_text(NEW.title)), 'A') ||
+        setweight(to_tsvector('simple', rihua_search_text(NEW.content)), 'C');
+    RETURN NEW;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION events_search_vector_update() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('simple', rihua_search_text(NEW.title)), 'A') ||
+        setweight(to_tsvector('simple', rihua_search_text(NEW.location)), 'B') ||
+        setweight(to_tsvector('simple', rihua_search_text(NEW.description)), 'C');
+    RETURN NEW;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION housing_search_vector_update() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('simple', rihua_search_text(NEW.title)), 'A') ||
+        setweight(to_tsvector('simple', rihua_search_text(
+            concat_ws(' ', NEW.prefecture, NEW.city, NEW.nearest_station))), 'B') ||
+        setweight(to_tsvector('simple', rihua_search_text(NEW.description)), 'C');
+    RETURN NEW;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION jobs_search_vector_update() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('simple', rihua_search_text(NEW.title)), 'A') ||
+        setweight(to_tsvector('simple', rihua_search_text(
+            concat_ws(' ', NEW.company_name, NEW.prefecture, NEW.city))), 'B') ||
+        setweight(to_tsvector('simple', rihua_search_text(NEW.description)), 'C');
+    RETURN NEW;
+END;
+$$;
+
+-- INSERT時は常に、UPDATE時は検索対象の列が実際に変わった場合（または未作成の場合）だけ検索ベクトルを作り直す。
+-- JPAは変更していない列も含めてUPDATEするため、UPDATE OF の列指定だけでは閲覧数の更新などでも毎回再計算される。
+CREATE TRIGGER trg_forum_posts_search_vector
+    BEFORE INSERT ON forum_posts
+    FOR EACH ROW EXECUTE FUNCTION forum_posts_search_vector_update();
+
+CREATE TRIGGER trg_forum_posts_search_vector_changed
+    BEFORE UPDATE ON forum_posts
+    FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title OR
+          OLD.content IS DISTINCT FROM NEW.content OR
+          NEW.search_vector IS NULL)
+    EXECUTE FUNCTION forum_posts_search_vector_update();
+
+CREATE TRIGGER trg_events_search_vector
+    BEFORE INSERT ON events
+    FOR EACH ROW EXECUTE FUNCTION events_search_vector_update();
+
+CREATE TRIGGER trg_events_search_vector_changed
+    BEFORE UPDATE ON events
+    FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title OR
+          OLD.location IS DISTINCT FROM NEW.location OR
+          OLD.description IS DISTINCT FROM NEW.description OR
+          NEW.search_vector IS NULL)
+    EXECUTE FUNCTION events_search_vector_update();
+
+CREATE TRIGGER trg_housing_search_vector
+    BEFORE INSERT ON housing
+    FOR EACH ROW EXECUTE FUNCTION housing_search_vector_update();
+
+CREATE TRIGGER trg_housing_search_vector_changed
+    BEFORE UPDATE ON housing
+    FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title OR
+          OLD.prefecture IS DISTINCT FROM NEW.prefecture OR
+          OLD.city IS DISTINCT FROM NEW.city OR
+          OLD.nearest_station IS DISTINCT FROM NEW.nearest_station OR
+          OLD.description IS DISTINCT FROM NEW.description OR
+          NEW.search_vector IS NULL)
+    EXECUTE FUNCTION housing_search_vector_update();
+
+CREATE TRIGGER trg_jobs_search_vector
+    BEFORE INSERT ON jobs
+    FOR EACH ROW EXECUTE FUNCTION jobs_search_vector_update();
+
+CREATE TRIGGER trg_jobs_search_vector_changed
+    BEFORE UPDATE ON jobs
+    FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title OR
+          OLD.company_name IS DISTINCT FROM NEW.company_name OR
+          OLD.prefecture IS DISTINCT FROM NEW.prefecture OR
+          OLD.city IS DISTINCT FROM NEW.city OR
+          OLD.description IS DISTINCT FROM NEW.description OR
+          NEW.search_vector IS NULL)
+    EXECUTE FUNCTION jobs_search_vector_update();
+
+-- 既存行の検索ベクトルはアプリケーションの SearchVectorBackfill が少しずつ作成する
+-- （全件UPDATEをこのマイグレーション内で行うと、大きなテーブルでは長時間の行ロックとテーブルの肥大化を招くため）。
+
+-- =====================================================
+-- SEARCH INDEXES
+-- =====================================================
+CREATE INDEX idx_forum_posts_search_vector ON forum_posts USING gin(search_vector);
+CREATE INDEX idx_events_search_vector ON events USING gin(search_vector);
+CREATE INDEX idx_housing_search_vector ON housing USING gin(search_vector);
+CREATE INDEX idx_jobs_search_vector ON jobs USING gin(search_vector);
+
+-- 検索ベクトル未作成の行（バックフィル対象）。作成が終われば空になる
+CREATE INDEX idx_forum_posts_search_vector_pending ON forum_posts (id) WHERE search_vector IS NULL;
+CREATE INDEX idx_events_search_vector_pending ON events (id) WHERE search_vector IS NULL;
+CREATE INDEX idx_housing_search_vector_pending ON housing (id) WHERE search_vector IS NULL;
+CREATE INDEX idx_jobs_search_vector_pending ON jobs (id) WHERE search_vector IS NULL;
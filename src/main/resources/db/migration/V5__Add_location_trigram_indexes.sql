@@ -0,0 +1,29 @@
+-- Trigram indexes for location substring filters
+-- Author: Rihua Development Team
+-- Version: 5.0.0
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- =====================================================
+-- LOCATION TRIGRAM INDEXES
+-- =====================================================
+-- 地域の絞り込みは LOWER(列) LIKE '%語%' の部分一致で、先頭が固定されないためB-treeインデックス（V2）は使えない。
+-- 小文字化した列の3文字単位（トライグラム）をGINインデックスに持たせ、部分一致をビットマップインデックス走査で解決する。
+-- 検索は公開中・未削除の行だけを対象にするため、V3と同様に部分インデックスにする。
+-- 注意: トライグラムは3文字単位のため、2文字以下の検索語（例: '東京'）ではインデックスで絞り込めない。
+CREATE INDEX idx_events_location_trgm ON events USING gin (LOWER(location) gin_trgm_ops)
+    WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
+
+CREATE INDEX idx_housing_prefecture_trgm ON housing USING gin (LOWER(prefecture) gin_trgm_ops)
+    WHERE status = 'AVAILABLE' AND deleted_at IS NULL;
+CREATE INDEX idx_housing_city_trgm ON housing USING gin (LOWER(city) gin_trgm_ops)
+    WHERE status = 'AVAILABLE' AND deleted_at IS NULL;
+CREATE INDEX idx_housing_address_trgm ON housing USING gin (LOWER(address) gin_trgm_ops)
+    WHERE status = 'AVAILABLE' AND deleted_at IS NULL;
+
+CREATE INDEX idx_jobs_prefecture_trgm ON jobs USING gin (LOWER(prefecture) gin_trgm_ops)
+    WHERE status = 'ACTIVE' AND deleted_at IS NULL;
+CREATE INDEX idx_jobs_city_trgm ON jobs USING gin (LOWER(city) gin_trgm_ops)
+    WHERE status = 'ACTIVE' AND deleted_at IS NULL;
+CREATE INDEX idx_jobs_location_trgm ON jobs USING gin (LOWER(location) gin_trgm_ops)
+    WHERE status = 'ACTIVE' AND deleted_at IS NULL;
@@ -0,0 +1,33 @@
+-- Geospatial indexes for nearby and map viewport search
+-- Author: Rihua Development Team
+-- Version: 6.0.0
+
+-- PostGISを使わず、標準の拡張（cube, earthdistance）で緯度経度を地球中心の3次元座標に変換して検索する。
+CREATE EXTENSION IF NOT EXISTS cube;
+CREATE EXTENSION IF NOT EXISTS earthdistance;
+
+-- =====================================================
+-- FUNCTIONS
+-- =====================================================
+-- 緯度経度の矩形（地図の表示範囲・ジオハッシュのタイル）を内包する立方体を返す。
+-- 矩形の中心から最も遠い角までを半径とした earth_box で、GiSTインデックスの絞り込みに使う（厳密な判定は緯度経度の範囲で行う）。
+-- 経度は中心に対して対称なので、南西・北西の角だけを比較すればよい。
+CREATE OR REPLACE FUNCTION rihua_earth_box(south FLOAT8, west FLOAT8, north FLOAT8, east FLOAT8) RETURNS cube
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT earth_box(
+        ll_to_earth((south + north) / 2, (west + east) / 2),
+        GREATEST(
+            earth_distance(ll_to_earth((south + north) / 2, (west + east) / 2), ll_to_earth(south, west)),
+            earth_distance(ll_to_earth((south + north) / 2, (west + east) / 2), ll_to_earth(north, west))))
+$$;
+
+-- =====================================================
+-- SPATIAL INDEXES
+-- =====================================================
+-- 検索は公開中・未削除の行だけを対象にするため、V3・V5と同様に部分インデックスにする。
+-- 緯度経度が未設定の行は ll_to_earth がNULLを返し、検索条件に一致しない。
+CREATE INDEX idx_housing_earth ON housing USING gist (ll_to_earth(CAST(latitude AS FLOAT8), CAST(longitude AS FLOAT8)))
+    WHERE status = 'AVAILABLE' AND deleted_at IS NULL;
+
+CREATE INDEX idx_events_earth ON events USING gist (ll_to_earth(CAST(latitude AS FLOAT8), CAST(longitude AS FLOAT8)))
+    WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
@@ -0,0 +1,36 @@
+-- Composite indexes for dynamic listing filters
+-- Author: Rihua Development Team
+-- Version: 7.0.0
+
+-- =====================================================
+-- LISTING FILTER INDEXES
+-- =====================================================
+-- findByComplexCriteria は指定された条件だけをSQLに含める（SpecificationBuilder）。
+-- よく使われる「等価条件 + 既定の並び順」の組み合わせごとに、等価条件の列を先頭、並び順の列を後ろに置いた
+-- 複合インデックスを用意し、LIMIT付きの一覧をインデックス順に読むだけで返せるようにする。
+-- 公開状態の条件はリテラルとしてSQLに埋め込まれるため、V3と同様に部分インデックスにする。
+CREATE INDEX idx_events_category_start_time ON events(category, start_time)
+    WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
+
+CREATE INDEX idx_housing_listing_created ON housing(created_at DESC)
+    WHERE status = 'AVAILABLE' AND deleted_at IS NULL;
+CREATE INDEX idx_housing_type_created ON housing(type, created_at DESC)
+    WHERE status = 'AVAILABLE' AND deleted_at IS NULL;
+
+CREATE INDEX idx_jobs_listing_created ON jobs(created_at DESC)
+    WHERE status = 'ACTIVE' AND deleted_at IS NULL;
+CREATE INDEX idx_jobs_type_created ON jobs(type, created_at DESC)
+    WHERE status = 'ACTIVE' AND deleted_at IS NULL;
+
+CREATE INDEX idx_forum_posts_category_created ON forum_posts(category, created_at DESC)
+    WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
+CREATE INDEX idx_forum_posts_author_created ON forum_posts(author_id, created_at DESC)
+    WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
+
+-- チケット・いいねは公開状態の固定条件がないため通常の複合インデックスにする
+CREATE INDEX idx_tickets_purchaser_created ON tickets(purchaser_id, created_at DESC);
+CREATE INDEX idx_tickets_event_created ON tickets(event_id, created_at DESC);
+
+CREATE INDEX idx_likes_user_created ON likes(user_id, created_at DESC);
+CREATE INDEX idx_likes_post_created ON likes(post_id, created_at DESC) WHERE post_id IS NOT NULL;
+CREATE INDEX idx_likes_comment_created ON likes(comment_id, created_at DESC) WHERE comment_id IS NOT NULL;
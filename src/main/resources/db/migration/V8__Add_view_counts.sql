@@ -0,0 +1,19 @@
+-- View counts for events and housing
+-- Author: Rihua Development Team
+-- Version: 8.0.0
+
+-- =====================================================
+-- VIEW COUNTS
+-- =====================================================
+-- 閲覧数はフォーラム投稿・求人にしかなかったため、イベント・住居にも追加する。
+-- 閲覧はアプリケーション内で集計し、一定間隔でまとめて加算する（ViewCountAggregator）。
+ALTER TABLE events ADD COLUMN IF NOT EXISTS view_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE housing ADD COLUMN IF NOT EXISTS view_count INTEGER NOT NULL DEFAULT 0;
+
+-- 人気順一覧（findPopularHousing / findPopularJobs など）のインデックス
+CREATE INDEX IF NOT EXISTS idx_events_popularity ON events(view_count DESC, sold_tickets DESC)
+    WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_housing_popularity ON housing(view_count DESC, created_at DESC)
+    WHERE status = 'AVAILABLE' AND deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_jobs_popularity ON jobs(view_count DESC, created_at DESC)
+    WHERE status = 'ACTIVE' AND deleted_at IS NULL;
@@ -0,0 +1,11 @@
+-- Comment tree indexes
+-- Author: Rihua Development Team
+-- Version: 9.0.0
+
+-- =====================================================
+-- COMMENT TREE INDEXES
+-- =====================================================
+-- コメントツリーは投稿のトップレベルコメントを作成日時順にページングし、返信を親ごとに再帰的にたどる。
+-- 公開済み・未削除の行だけを持つ部分インデックスにすることで、各段の読み込みがインデックスの範囲走査で完結する。
+CREATE INDEX idx_comments_tree_roots ON comments(post_id, created_at, id) WHERE parent_id IS NULL AND status = 'PUBLISHED' AND deleted_at IS NULL;
+CREATE INDEX idx_comments_tree_replies ON comments(parent_id, created_at, id) WHERE status = 'PUBLISHED' AND deleted_at IS NULL;
@@ -0,0 +1,157 @@
+package jp.co.protosoft.rihua.api.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一覧エンドポイントの負荷試験ハーネス
+ * 
+ * <p>起動中のAPIに対して同時実行数を段階的に上げながら一覧エンドポイントを呼び出し（クローズドループ）、
+ * 段階ごとのスループット・p50/p99/最大レイテンシ・エラー率を出力します。
+ * p99がSLO以内かつエラー率1%未満を満たした最大の同時実行数を「最大同時実行数」として報告します。</p>
+ * 
+ * <p>プラットフォームスレッドと仮想スレッドの比較手順:</p>
+ * <ol>
+ *   <li>JDK 21で {@code SPRING_PROFILES_ACTIVE=prod} として起動し、本ハーネスを {@code -Dlabel=platform} で実行</li>
+ *   <li>{@code SPRING_PROFILES_ACTIVE=prod,virtual-threads} で再起動し、{@code -Dlabel=virtual} で実行</li>
+ * </ol>
+ * 
+ * <p>設定（システムプロパティ）:</p>
+ * <ul>
+ *   <li>{@code base.url} - APIのベースURL（デフォルト {@code http://localhost:8080}）</li>
+ *   <li>{@code paths} - カンマ区切りのパス（デフォルトは公開一覧エンドポイント）</li>
+ *   <li>{@code levels} - カンマ区切りの同時実行数（デフォルト {@code 50,100,200,400,800}）</li>
+ *   <li>{@code duration.seconds} - 段階ごとの計測時間（デフォルト30秒）</li>
+ *   <li>{@code slo.ms} - p99のSLO（デフォルト500ミリ秒）</li>
+ *   <li>{@code label} - 出力に付けるラベル</li>
+ * </ul>
+ * 
+ * <p>実行方法: {@code mvn test-compile} 後にIDEから {@link #main(String[])} を実行します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public class ListingLoadTestHarness {
+
+    private static final String DEFAULT_PATHS =
+            "/api/v1/events?page=0&size=20,/api/v1/housing?page=0&size=20,"
+                    + "/api/v1/jobs?page=0&size=20,/api/v1/forum/posts?page=0&size=20";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("base.url", "http://localhost:8080");
+        List<URI> uris = Arrays.stream(System.getProperty("paths", DEFAULT_PATHS).split(","))
+                .map(path -> URI.create(baseUrl + path.trim()))
+                .toList();
+        int[] levels = Arrays.stream(System.getProperty("levels", "50,100,200,400,800").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        long durationMs = TimeUnit.SECONDS.toMillis(Long.getLong("duration.seconds", 30));
+        long sloMs = Long.getLong("slo.ms", 500);
+        String label = System.getProperty("label", "unlabeled");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        System.out.printf("[%s] %s, %d paths, %ds per level, p99 SLO %dms%n",
+                label, baseUrl, uris.size(), durationMs / 1000, sloMs);
+        System.out.printf("%8s %10s %10s %10s %10s %8s%n", "clients", "req/s", "p50(ms)", "p99(ms)", "max(ms)", "errors");
+
+        int maxConcurrency = 0;
+        for (int level : levels) {
+            LevelResult result = runLevel(client, uris, level, durationMs);
+            System.out.printf("%8d %10.1f %10.1f %10.1f %10.1f %7.2f%%%n",
+                    level, result.throughput(), result.percentileMs(0.50), result.percentileMs(0.99),
+                    result.percentileMs(1.0), result.errorRate() * 100);
+            if (result.percentileMs(0.99) <= sloMs && result.errorRate() < 0.01) {
+                maxConcurrency = level;
+            }
+        }
+        System.out.printf("[%s] max concurrency within SLO: %d%n", label, maxConcurrency);
+    }
+
+    private static LevelResult runLevel(HttpClient client, List<URI> uris, int clients, long durationMs)
+            throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(clients);
+        long deadline = System.currentTimeMillis() + durationMs;
+        List<Future<WorkerResult>> futures = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            int offset = i;
+            futures.add(workers.submit(() -> runWorker(client, uris, offset, deadline)));
+        }
+
+        long[] latencies = new long[0];
+        long errors = 0;
+        for (Future<WorkerResult> future : futures) {
+            WorkerResult worker = future.get();
+            int previous = latencies.length;
+            latencies = Arrays.copyOf(latencies, previous + worker.count());
+            System.arraycopy(worker.latencies(), 0, latencies, previous, worker.count());
+            errors += worker.errors();
+        }
+        workers.shutdown();
+        Arrays.sort(latencies);
+        return new LevelResult(latencies, errors, durationMs);
+    }
+
+    private static WorkerResult runWorker(HttpClient client, List<URI> uris, int offset, long deadline) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+        for (int i = offset; System.currentTimeMillis() < deadline; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size()))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 500) {
+                    errors++;
+                }
+            } catch (Exception e) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return new WorkerResult(latencies, count, errors);
+    }
+
+    private record WorkerResult(long[] latencies, int count, long errors) {
+    }
+
+    private record LevelResult(long[] sortedLatencies, long errors, long durationMs) {
+
+        double throughput() {
+            return sortedLatencies.length * 1000.0 / durationMs;
+        }
+
+        double errorRate() {
+            return sortedLatencies.length == 0 ? 1.0 : (double) errors / sortedLatencies.length;
+        }
+
+        double percentileMs(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package jp.co.protosoft.rihua.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SemaphoreLimitedDataSourceのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SemaphoreLimitedDataSource テスト")
+class SemaphoreLimitedDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SemaphoreLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new SemaphoreLimitedDataSource(targetDataSource, 1, 50, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("許可がない場合は待機上限後に一時的な例外をスローし、クローズで許可が返却される")
+    void getConnection_NoPermitLeft_TimesOutUntilClosed() throws SQLException {
+        // Given
+        Connection physical = mock(Connection.class);
+        when(targetDataSource.getConnection()).thenReturn(physical);
+        Connection held = dataSource.getConnection();
+
+        // When & Then
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(meterRegistry.get("rihua.concurrency.jdbc.timeouts").counter().count()).isEqualTo(1.0);
+
+        held.close();
+        verify(physical).close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("同じ接続を複数回クローズしても許可は1回だけ返却される")
+    void close_CalledTwice_ReleasesPermitOnce() throws SQLException {
+        // Given
+        when(targetDataSource.getConnection()).thenReturn(mock(Connection.class));
+        Connection connection = dataSource.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        assertThat(meterRegistry.get("rihua.concurrency.jdbc.available").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("接続の取得に失敗した場合は許可を返却する")
+    void getConnection_TargetFails_ReleasesPermit() throws SQLException {
+        // Given
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        // When & Then
+        assertThatThrownBy(dataSource::getConnection).hasMessage("connection refused");
+        assertThat(meterRegistry.get("rihua.concurrency.jdbc.available").gauge().value()).isEqualTo(1.0);
+    }
+}
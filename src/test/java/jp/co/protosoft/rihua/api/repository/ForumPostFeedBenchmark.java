@@ -0,0 +1,163 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * フォーラムフィードのページングのベンチマーク
+ * 
+ * <p>Testcontainersで起動したPostgreSQLに公開投稿を投入し、最新フィードの1ページ目と5,000ページ目の取得時間を
+ * OFFSETページング（{@code Page} と同じく件数クエリ付き）とキーセットページングで比較します。
+ * インデックスは {@code V3__Add_forum_feed_keyset_indexes.sql} をそのまま適用します。
+ * SQLは {@link ForumPostRepository} のクエリをHibernateが生成する形に合わせています。</p>
+ * 
+ * <p>実行方法: Dockerが動作する環境で {@code mvn test-compile} 後にIDEから {@link #main(String[])} を実行します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForumPostFeedBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int POSTS = 150_000;
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, title, like_count, comment_count, created_at FROM forum_posts " +
+            "WHERE status = 'PUBLISHED' AND deleted_at IS NULL ";
+
+    private static final String OFFSET_QUERY = SELECT_COLUMNS +
+            "ORDER BY created_at DESC, id DESC OFFSET ? LIMIT ?";
+
+    private static final String COUNT_QUERY =
+            "SELECT COUNT(*) FROM forum_posts WHERE status = 'PUBLISHED' AND deleted_at IS NULL";
+
+    private static final String KEYSET_QUERY = SELECT_COLUMNS +
+            "AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC LIMIT ?";
+
+    @Param({"1", "5000"})
+    private int page;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement countQuery;
+    private PreparedStatement keysetQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = PostgresTestSupport.newContainer();
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE forum_posts (" +
+                    "id UUID PRIMARY KEY, " +
+                    "title VARCHAR(200) NOT NULL, " +
+                    "content TEXT NOT NULL, " +
+                    "like_count INTEGER NOT NULL DEFAULT 0, " +
+                    "comment_count INTEGER NOT NULL DEFAULT 0, " +
+                    "status VARCHAR(50) NOT NULL DEFAULT 'PUBLISHED', " +
+                    "created_at TIMESTAMP NOT NULL, " +
+                    "deleted_at TIMESTAMP)");
+            // 1割は非公開・削除済みとして部分インデックスの対象外にする
+            statement.execute("INSERT INTO forum_posts (id, title, content, like_count, comment_count, status, created_at, deleted_at) " +
+                    "SELECT gen_random_uuid(), 'post ' || n, repeat('content ', 50), (random() * 500)::int, " +
+                    "(random() * 100)::int, CASE WHEN n % 20 = 0 THEN 'DRAFT' ELSE 'PUBLISHED' END, " +
+                    "now() - (n || ' seconds')::interval, CASE WHEN n % 20 = 1 THEN now() END " +
+                    "FROM generate_series(1, " + POSTS + ") AS n");
+            statement.execute(PostgresTestSupport.readMigration("db/migration/V3__Add_forum_feed_keyset_indexes.sql"));
+            statement.execute("ANALYZE forum_posts");
+        }
+
+        offsetQuery = connection.prepareStatement(OFFSET_QUERY);
+        countQuery = connection.prepareStatement(COUNT_QUERY);
+        keysetQuery = connection.prepareStatement(KEYSET_QUERY);
+
+        // キーセット側は前ページ末尾の (created_at, id) をカーソルとして保持している状態から計測する
+        Timestamp cursorCreatedAt = Timestamp.valueOf("9999-12-31 00:00:00");
+        UUID cursorId = new UUID(-1L, -1L);
+        if (page > 1) {
+            offsetQuery.setInt(1, (page - 1) * PAGE_SIZE - 1);
+            offsetQuery.setInt(2, 1);
+            try (ResultSet resultSet = offsetQuery.executeQuery()) {
+                resultSet.next();
+                cursorId = resultSet.getObject("id", UUID.class);
+                cursorCreatedAt = resultSet.getTimestamp("created_at");
+            }
+        }
+        keysetQuery.setTimestamp(1, cursorCreatedAt);
+        keysetQuery.setObject(2, cursorId);
+        keysetQuery.setInt(3, PAGE_SIZE + 1);
+        offsetQuery.setInt(1, (page - 1) * PAGE_SIZE);
+        offsetQuery.setInt(2, PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    /**
+     * OFFSETページング（ページ取得 + 件数クエリ）
+     */
+    @Benchmark
+    public void offsetPage(Blackhole blackhole) throws SQLException {
+        consume(offsetQuery, blackhole);
+        consume(countQuery, blackhole);
+    }
+
+    /**
+     * キーセットページング（1件多く取得して次ページの有無を判定、件数クエリなし）
+     */
+    @Benchmark
+    public void keysetPage(Blackhole blackhole) throws SQLException {
+        consume(keysetQuery, blackhole);
+    }
+
+    private static void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getObject(1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ForumPostFeedBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
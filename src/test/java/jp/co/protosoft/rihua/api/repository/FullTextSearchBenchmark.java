@@ -0,0 +1,155 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 全文検索のベンチマーク
+ * 
+ * <p>Testcontainersで起動したPostgreSQLに中国語・日本語・英語の語を混ぜた公開投稿を投入し、
+ * 従来の {@code LOWER(content) LIKE '%語%'} による検索と、{@code V4__Add_full_text_search.sql} の
+ * 検索ベクトル（GINインデックス）による関連度順の検索で、1ページ目の取得時間を比較します。
+ * 投稿件数はシステムプロパティ {@code rihua.bench.posts} で変更できます（既定は100万件）。</p>
+ * 
+ * <p>実行方法: Dockerが動作する環境で {@code mvn test-compile} 後にIDEから {@link #main(String[])} を実行します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FullTextSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int POSTS = Integer.getInteger("rihua.bench.posts", 1_000_000);
+
+    private static final String WORDS = "ARRAY['东京', '租房', '签证', '工作', '留学', '日语', '美食', '中华街', " +
+            "'東京都', '賃貸', 'アルバイト', '日本語学校', 'ラーメン', '猫カフェ', '新宿駅', '花火大会', " +
+            "'visa', 'apartment', 'tokyo', 'meetup', 'ramen', 'startup', 'language', 'exchange']";
+
+    private static final String LIKE_QUERY =
+            "SELECT id, title, created_at FROM forum_posts " +
+            "WHERE status = 'PUBLISHED' AND deleted_at IS NULL " +
+            "AND (LOWER(title) LIKE ? OR LOWER(content) LIKE ?) " +
+            "ORDER BY created_at DESC LIMIT ?";
+
+    private static final String FULL_TEXT_QUERY =
+            "SELECT id, title, created_at, ts_rank_cd(search_vector, q.query, 32) AS rank " +
+            "FROM forum_posts, rihua_search_query(?) AS q(query) " +
+            "WHERE search_vector @@ q.query AND status = 'PUBLISHED' AND deleted_at IS NULL " +
+            "ORDER BY rank DESC, created_at DESC LIMIT ?";
+
+    @Param({"签证", "猫カフェ", "ramen", "東京都 賃貸"})
+    private String query;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement likeQuery;
+    private PreparedStatement fullTextQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = PostgresTestSupport.newContainer();
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        try (Statement statement = connection.createStatement()) {
+            // V4のトリガーが参照する列のみを持つテーブル
+            statement.execute("CREATE TABLE forum_posts (id UUID PRIMARY KEY, title VARCHAR(200) NOT NULL, " +
+                    "content TEXT NOT NULL, status VARCHAR(50) NOT NULL, created_at TIMESTAMP NOT NULL, deleted_at TIMESTAMP)");
+            statement.execute("CREATE TABLE events (id UUID PRIMARY KEY, title VARCHAR(200) NOT NULL, " +
+                    "description TEXT NOT NULL, location VARCHAR(500) NOT NULL)");
+            statement.execute("CREATE TABLE housing (id UUID PRIMARY KEY, title VARCHAR(200) NOT NULL, " +
+                    "description TEXT NOT NULL, prefecture VARCHAR(200) NOT NULL, city VARCHAR(200) NOT NULL, " +
+                    "nearest_station VARCHAR(200))");
+            statement.execute("CREATE TABLE jobs (id UUID PRIMARY KEY, title VARCHAR(200) NOT NULL, " +
+                    "description TEXT NOT NULL, company_name VARCHAR(200) NOT NULL, prefecture VARCHAR(200) NOT NULL, " +
+                    "city VARCHAR(200) NOT NULL)");
+            statement.execute(PostgresTestSupport.readMigration("db/migration/V4__Add_full_text_search.sql"));
+
+            // 投入時にトリガーで検索ベクトルを作成する（タイトル3語、本文40語。副問い合わせは n を参照させて行ごとに評価する）
+            statement.execute("INSERT INTO forum_posts (id, title, content, status, created_at, deleted_at) " +
+                    "SELECT gen_random_uuid(), " +
+                    "(SELECT string_agg(" + WORDS + "[1 + floor(random() * 24)::int], ' ') FROM generate_series(1, 3 + n % 1)), " +
+                    "(SELECT string_agg(" + WORDS + "[1 + floor(random() * 24)::int], ' ') FROM generate_series(1, 40 + n % 1)), " +
+                    "CASE WHEN n % 20 = 0 THEN 'DRAFT' ELSE 'PUBLISHED' END, " +
+                    "now() - (n || ' seconds')::interval, CASE WHEN n % 20 = 1 THEN now() END " +
+                    "FROM generate_series(1, " + POSTS + ") AS n");
+            statement.execute("ANALYZE forum_posts");
+        }
+
+        String pattern = "%" + query.toLowerCase(Locale.ROOT) + "%";
+        likeQuery = connection.prepareStatement(LIKE_QUERY);
+        likeQuery.setString(1, pattern);
+        likeQuery.setString(2, pattern);
+        likeQuery.setInt(3, PAGE_SIZE);
+        fullTextQuery = connection.prepareStatement(FULL_TEXT_QUERY);
+        fullTextQuery.setString(1, query);
+        fullTextQuery.setInt(2, PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    /**
+     * 従来の部分一致検索（全件走査、作成日時順）
+     */
+    @Benchmark
+    public void likeSearch(Blackhole blackhole) throws SQLException {
+        consume(likeQuery, blackhole);
+    }
+
+    /**
+     * 検索ベクトルによる全文検索（GINインデックス、関連度順）
+     */
+    @Benchmark
+    public void fullTextSearch(Blackhole blackhole) throws SQLException {
+        consume(fullTextQuery, blackhole);
+    }
+
+    private static void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getObject(1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FullTextSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
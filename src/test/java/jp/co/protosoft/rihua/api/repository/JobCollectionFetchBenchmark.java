@@ -0,0 +1,156 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 求人一覧のコレクション読み込みのベンチマーク
+ *
+ * <p>Testcontainersで起動したPostgreSQLに求人と応募条件・福利厚生・スキルを投入し、一覧1ページ分の求人の
+ * コレクションを読み込む時間を、求人ごとの読み込み（最大3×N回のクエリ）と {@code @BatchSize} による
+ * 一括読み込み（コレクションごとに {@code job_id = ANY(?)} の1回のクエリ）で比較します。
+ * インデックスは {@code V11__Add_element_collection_indexes.sql} をそのまま適用します。
+ * SQLはHibernateが生成する形に合わせています。</p>
+ *
+ * <p>実行方法: Dockerが動作する環境で {@code mvn test-compile} 後にIDEから {@link #main(String[])} を実行します。</p>
+ *
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobCollectionFetchBenchmark {
+
+    private static final int JOBS = 50_000;
+
+    private static final String[][] COLLECTIONS = {
+            {"job_requirements", "requirement"},
+            {"job_benefits", "benefit"},
+            {"job_skills", "skill"}
+    };
+
+    @Param({"20", "50"})
+    private int pageSize;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private List<UUID> pageIds;
+    private Array pageIdArray;
+    private final List<PreparedStatement> perJobQueries = new ArrayList<>();
+    private final List<PreparedStatement> batchQueries = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = PostgresTestSupport.newContainer();
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE jobs (id UUID PRIMARY KEY, title VARCHAR(200) NOT NULL, created_at TIMESTAMP NOT NULL)");
+            statement.execute("INSERT INTO jobs (id, title, created_at) " +
+                    "SELECT gen_random_uuid(), 'job ' || n, now() - (n || ' seconds')::interval " +
+                    "FROM generate_series(1, " + JOBS + ") AS n");
+            for (String[] collection : COLLECTIONS) {
+                statement.execute("CREATE TABLE " + collection[0] + " (job_id UUID NOT NULL REFERENCES jobs(id), " +
+                        collection[1] + " VARCHAR(500) NOT NULL)");
+                // 1求人あたり3〜5件
+                statement.execute("INSERT INTO " + collection[0] + " (job_id, " + collection[1] + ") " +
+                        "SELECT j.id, '" + collection[1] + " ' || k FROM jobs j, generate_series(1, 3 + (random() * 2)::int) AS k");
+            }
+            statement.execute(PostgresTestSupport.readMigration("db/migration/V11__Add_element_collection_indexes.sql"));
+            statement.execute("ANALYZE");
+        }
+
+        pageIds = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id FROM jobs ORDER BY created_at DESC LIMIT " + pageSize)) {
+            while (resultSet.next()) {
+                pageIds.add(resultSet.getObject("id", UUID.class));
+            }
+        }
+        pageIdArray = connection.createArrayOf("uuid", pageIds.toArray());
+
+        for (String[] collection : COLLECTIONS) {
+            perJobQueries.add(connection.prepareStatement(
+                    "SELECT job_id, " + collection[1] + " FROM " + collection[0] + " WHERE job_id = ?"));
+            batchQueries.add(connection.prepareStatement(
+                    "SELECT job_id, " + collection[1] + " FROM " + collection[0] + " WHERE job_id = ANY(?)"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    /**
+     * 求人ごとの読み込み（コレクションごと・求人ごとに1回のクエリ）
+     */
+    @Benchmark
+    public void perJob(Blackhole blackhole) throws SQLException {
+        for (UUID id : pageIds) {
+            for (PreparedStatement query : perJobQueries) {
+                query.setObject(1, id);
+                consume(query, blackhole);
+            }
+        }
+    }
+
+    /**
+     * 一括読み込み（コレクションごとに1回のクエリ）
+     */
+    @Benchmark
+    public void batched(Blackhole blackhole) throws SQLException {
+        for (PreparedStatement query : batchQueries) {
+            query.setArray(1, pageIdArray);
+            consume(query, blackhole);
+        }
+    }
+
+    private static void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getObject(2));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JobCollectionFetchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
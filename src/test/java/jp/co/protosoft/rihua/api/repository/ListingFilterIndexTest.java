@@ -0,0 +1,307 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jp.co.protosoft.rihua.api.domain.User;
+import jp.co.protosoft.rihua.api.domain.enums.EventCategory;
+import jp.co.protosoft.rihua.api.domain.enums.ForumCategory;
+import jp.co.protosoft.rihua.api.domain.enums.HousingType;
+import jp.co.protosoft.rihua.api.domain.enums.JobType;
+import jp.co.protosoft.rihua.api.domain.enums.LikeableType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 一覧の動的絞り込みのインデックス使用の回帰テスト
+ * 
+ * <p>Testcontainersで起動したPostgreSQLにFlywayで全マイグレーションを適用し、
+ * {@code findByComplexCriteria} でよく使われる条件の組み合わせごとに、Hibernateが実際に生成したSQLを
+ * {@link StatementInspector} で取得して、想定したインデックスが実行計画に含まれることを {@code EXPLAIN} で検証します。</p>
+ * 
+ * <p>{@code plan_cache_mode = force_generic_plan} で汎用プランを強制し、プリペアドステートメントが
+ * 汎用プランに切り替わった後もインデックスが使われることを確認します。
+ * 実行計画を安定させるため、ページングの件数だけはバインドせず固定値に置き換えています。
+ * Dockerがない環境ではスキップされます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.properties.hibernate.use_sql_comments=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "jp.co.protosoft.rihua.api.repository.ListingFilterIndexTest$CapturedSql"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("一覧の動的絞り込みのインデックス テスト")
+class ListingFilterIndexTest {
+
+    private static final int ROWS = 50_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, PAGE_SIZE);
+
+    private static final User USER = User.builder().id(UUID.randomUUID()).build();
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = PostgresTestSupport.newContainer();
+
+    private static boolean seeded;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ForumPostRepository forumPostRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private HousingRepository housingRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeEach
+    void setUpData() throws Exception {
+        if (seeded) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            // 外部キーと検索ベクトルのトリガーを無効にして、関連のない行を高速に投入する
+            statement.execute("SET session_replication_role = replica");
+
+            // 1割は非公開として部分インデックスの対象外にする
+            String created = "now() - (n || ' minutes')::interval";
+            statement.execute("INSERT INTO forum_posts (id, author_id, title, content, category, status, created_at) " +
+                    "SELECT gen_random_uuid(), md5((n % 2000)::text)::uuid, 'Post ' || n, 'Body ' || n, " +
+                    pick(ForumCategory.values()) + ", " + visible("PUBLISHED") + ", " + created +
+                    " FROM generate_series(1, " + ROWS + ") AS n");
+            statement.execute("INSERT INTO events (id, organizer_id, title, description, category, start_time, " +
+                    "end_time, location, price, status) " +
+                    "SELECT gen_random_uuid(), md5((n % 2000)::text)::uuid, 'Event ' || n, 'Body ' || n, " +
+                    pick(EventCategory.values()) + ", now() + (n || ' minutes')::interval, " +
+                    "now() + (n || ' minutes')::interval + interval '2 hours', 'City ' || (n % 1000) || ' Hall', " +
+                    "n % 5000, " + visible("PUBLISHED") + " FROM generate_series(1, " + ROWS + ") AS n");
+            statement.execute("INSERT INTO housing (id, owner_id, title, description, type, price, prefecture, city, " +
+                    "address, status, created_at) " +
+                    "SELECT gen_random_uuid(), md5((n % 2000)::text)::uuid, 'Room ' || n, 'Body ' || n, " +
+                    pick(HousingType.values()) + ", 30000 + n % 200000, 'Pref ' || (n % 47), " +
+                    "'City ' || (n % 1000), 'Street ' || n, " + visible("AVAILABLE") + ", " + created +
+                    " FROM generate_series(1, " + ROWS + ") AS n");
+            statement.execute("INSERT INTO jobs (id, employer_id, title, description, company_name, type, prefecture, " +
+                    "city, location, status, created_at) " +
+                    "SELECT gen_random_uuid(), md5((n % 2000)::text)::uuid, 'Job ' || n, 'Body ' || n, " +
+                    "'Company ' || (n % 500), " + pick(JobType.values()) + ", 'Pref ' || (n % 47), " +
+                    "'City ' || (n % 1000), 'Office ' || n, " + visible("ACTIVE") + ", " + created +
+                    " FROM generate_series(1, " + ROWS + ") AS n");
+            statement.execute("INSERT INTO tickets (id, event_id, purchaser_id, ticket_code, purchaser_name, " +
+                    "purchaser_email, quantity, unit_price, total_amount, status, created_at) " +
+                    "SELECT gen_random_uuid(), md5('event' || (n % 3000))::uuid, md5((n % 5000)::text)::uuid, " +
+                    "'T' || n, 'Purchaser ' || n, 'p' || n || '@example.com', 1, 1000, 1000, 'VALID', " + created +
+                    " FROM generate_series(1, " + ROWS + ") AS n");
+            // (user_id, post_id) と (user_id, comment_id) の一意制約に重複しないよう、周期を互いに素にする
+            statement.execute("INSERT INTO likes (id, user_id, post_id, comment_id, created_at) " +
+                    "SELECT gen_random_uuid(), md5((n % 5000)::text)::uuid, " +
+                    "CASE WHEN n % 2 = 0 THEN md5('post' || (n % 4001))::uuid END, " +
+                    "CASE WHEN n % 2 = 1 THEN md5('comment' || (n % 4001))::uuid END, " + created +
+                    " FROM generate_series(1, " + ROWS + ") AS n");
+
+            statement.execute("RESET session_replication_role");
+            statement.execute("ANALYZE");
+        }
+        seeded = true;
+    }
+
+    static Stream<Arguments> commonCombinations() {
+        LocalDateTime now = LocalDateTime.now();
+        return Stream.of(
+                combination("フォーラム: 条件なし", "forum_posts", "idx_forum_posts_feed_latest",
+                        test -> test.forumPostRepository.findByComplexCriteria(
+                                null, null, null, null, null, FIRST_PAGE)),
+                combination("フォーラム: カテゴリ", "forum_posts", "idx_forum_posts_category_created",
+                        test -> test.forumPostRepository.findByComplexCriteria(
+                                ForumCategory.LIFESTYLE, null, null, null, null, FIRST_PAGE)),
+                combination("フォーラム: 作成者", "forum_posts", "idx_forum_posts_author_created",
+                        test -> test.forumPostRepository.findByComplexCriteria(
+                                null, null, USER, null, null, FIRST_PAGE)),
+                combination("イベント: カテゴリ", "events", "idx_events_category_start_time",
+                        test -> test.eventRepository.findByComplexCriteria(
+                                EventCategory.SPORTS, null, null, null, null, null, FIRST_PAGE)),
+                combination("イベント: カテゴリ + 開始日時の範囲", "events", "idx_events_category_start_time",
+                        test -> test.eventRepository.findByComplexCriteria(
+                                EventCategory.SPORTS, null, null, null, now, now.plusDays(7), FIRST_PAGE)),
+                combination("イベント: 地域", "events", "idx_events_location_trgm",
+                        test -> test.eventRepository.findByComplexCriteria(
+                                null, "City 42 Hall", null, null, null, null, FIRST_PAGE)),
+                combination("住居: 条件なし", "housing", "idx_housing_listing_created",
+                        test -> test.housingRepository.findByComplexCriteria(
+                                null, null, null, null, null, null, null, null, null, FIRST_PAGE)),
+                combination("住居: タイプ", "housing", "idx_housing_type_created",
+                        test -> test.housingRepository.findByComplexCriteria(
+                                HousingType.SHARE, null, null, null, null, null, null, null, null, FIRST_PAGE)),
+                combination("住居: 市区町村", "housing", "idx_housing_city_trgm",
+                        test -> test.housingRepository.findByComplexCriteria(
+                                null, null, "City 421", null, null, null, null, null, null, FIRST_PAGE)),
+                combination("求人: タイプ", "jobs", "idx_jobs_type_created",
+                        test -> test.jobRepository.findByComplexCriteria(
+                                JobType.CONTRACT, null, null, null, null, null, null, null, FIRST_PAGE)),
+                combination("求人: 条件なし", "jobs", "idx_jobs_listing_created",
+                        test -> test.jobRepository.findByComplexCriteria(
+                                null, null, null, null, null, null, null, null, FIRST_PAGE)),
+                combination("チケット: 購入者", "tickets", "idx_tickets_purchaser_created",
+                        test -> test.ticketRepository.findByComplexCriteria(
+                                USER, null, null, null, null, FIRST_PAGE)),
+                combination("いいね: ユーザー", "likes", "idx_likes_user_created",
+                        test -> test.likeRepository.findByComplexCriteria(
+                                USER, null, null, null, null, FIRST_PAGE)),
+                combination("いいね: 投稿", "likes", "idx_likes_post_created",
+                        test -> test.likeRepository.findByComplexCriteria(
+                                null, LikeableType.POST, UUID.randomUUID(), null, null, FIRST_PAGE)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("commonCombinations")
+    @DisplayName("よく使われる条件の組み合わせは汎用プランでも想定したインデックスを使用する")
+    void commonCombination_GenericPlan_UsesExpectedIndex(
+            String description, String table, String expectedIndex, Consumer<ListingFilterIndexTest> listing)
+            throws Exception {
+        // Given
+        String sql = captureListingSql(listing);
+
+        // When
+        List<JsonNode> nodes = genericPlanNodes(sql);
+
+        // Then
+        assertThat(nodes)
+                .as("%s sql: %s plan: %s", description, sql, nodes.get(0))
+                .noneMatch(node -> "Seq Scan".equals(node.path("Node Type").asText())
+                        && table.equals(node.path("Relation Name").asText()))
+                .anyMatch(node -> expectedIndex.equals(node.path("Index Name").asText()));
+    }
+
+    @Test
+    @DisplayName("(:p IS NULL OR 列 = :p) 形式の汎用プランはカテゴリのインデックスで絞り込めない")
+    void catchAllPredicate_GenericPlan_CannotUseCategoryIndex() throws Exception {
+        // Given: 置き換え前の findByComplexCriteria と同じ形
+        String sql = "select e1_0.id from events e1_0 " +
+                "where e1_0.status='PUBLISHED' and e1_0.deleted_at is null " +
+                "and (?::varchar is null or e1_0.category=?) order by e1_0.start_time " +
+                "offset ? rows fetch first ? rows only";
+
+        // When
+        List<JsonNode> nodes = genericPlanNodes(sql);
+
+        // Then
+        assertThat(nodes)
+                .as("plan: %s", nodes.get(0))
+                .noneMatch(node -> "idx_events_category_start_time".equals(node.path("Index Name").asText())
+                        && node.has("Index Cond"));
+    }
+
+    private static Arguments combination(
+            String description, String table, String expectedIndex, Consumer<ListingFilterIndexTest> listing) {
+        return Arguments.of(description, table, expectedIndex, listing);
+    }
+
+    /**
+     * 一覧の取得で発行されたSQLのうち、件数取得ではない最初のSQLを返す
+     */
+    private String captureListingSql(Consumer<ListingFilterIndexTest> listing) {
+        CapturedSql.STATEMENTS.clear();
+        listing.accept(this);
+        return CapturedSql.STATEMENTS.stream()
+                .filter(sql -> !sql.startsWith("select count("))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No listing query was issued: " + CapturedSql.STATEMENTS));
+    }
+
+    private List<JsonNode> genericPlanNodes(String sql) throws Exception {
+        String fixedPage = sql
+                .replace("offset ? rows", "offset 0 rows")
+                .replace("fetch first ? rows only", "fetch first " + PAGE_SIZE + " rows only");
+        try (Connection connection = dataSource.getConnection()) {
+            return PostgresTestSupport.planNodes(PostgresTestSupport.explainGenericPlan(connection, fixedPage));
+        }
+    }
+
+    private static String pick(Enum<?>[] values) {
+        return Arrays.stream(values)
+                .map(value -> "'" + value.name() + "'")
+                .collect(Collectors.joining(", ", "(ARRAY[", "])[1 + n % " + values.length + "]"));
+    }
+
+    private static String visible(String status) {
+        return "CASE WHEN n % 10 = 0 THEN 'DRAFT' ELSE '" + status + "' END";
+    }
+
+    /**
+     * Hibernateが発行するSQLの記録
+     * 
+     * <p>検証に必要なのは実行計画だけのため、記録したSQLは0行を返すように包んで実行させます。
+     * 結果を読み込まないので、投入データがエンティティの制約を満たしている必要はありません。</p>
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            if (!sql.startsWith("select")) {
+                return sql;
+            }
+            return "select * from (" + sql + ") captured where false";
+        }
+    }
+}
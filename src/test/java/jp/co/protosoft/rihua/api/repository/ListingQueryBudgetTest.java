@@ -0,0 +1,342 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import jp.co.protosoft.rihua.api.domain.Comment;
+import jp.co.protosoft.rihua.api.domain.Event;
+import jp.co.protosoft.rihua.api.domain.ForumPost;
+import jp.co.protosoft.rihua.api.domain.Housing;
+import jp.co.protosoft.rihua.api.domain.Job;
+import jp.co.protosoft.rihua.api.domain.Ticket;
+import jp.co.protosoft.rihua.api.domain.User;
+import jp.co.protosoft.rihua.api.domain.enums.EventCategory;
+import jp.co.protosoft.rihua.api.domain.enums.EventStatus;
+import jp.co.protosoft.rihua.api.domain.enums.ForumCategory;
+import jp.co.protosoft.rihua.api.domain.enums.HousingStatus;
+import jp.co.protosoft.rihua.api.domain.enums.HousingType;
+import jp.co.protosoft.rihua.api.domain.enums.JobStatus;
+import jp.co.protosoft.rihua.api.domain.enums.JobType;
+import jp.co.protosoft.rihua.api.domain.enums.TicketStatus;
+import jp.co.protosoft.rihua.api.domain.enums.UserRole;
+import jp.co.protosoft.rihua.api.domain.enums.UserStatus;
+import jp.co.protosoft.rihua.api.repository.projection.EventCard;
+import jp.co.protosoft.rihua.api.repository.projection.HousingCard;
+import jp.co.protosoft.rihua.api.repository.projection.JobCard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 一覧のクエリ数の統合テスト
+ *
+ * <p>作成者などがすべて異なる1ページ分（20行）の一覧を取得し、各行の関連を参照するまでのSQL文の数が
+ * 行数によらない上限以内であることを検証します。</p>
+ *
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+class ListingQueryBudgetTest extends BaseRepositoryTest {
+
+    private static final int ROWS = 20;
+
+    /**
+     * ページ: 一覧 + 件数 + ロールの一括読み込み
+     */
+    private static final long PAGE_BUDGET = 3;
+
+    /**
+     * スライス・キーセット: 一覧 + ロールの一括読み込み
+     */
+    private static final long SLICE_BUDGET = 2;
+
+    /**
+     * 求人のコレクション（応募条件・福利厚生・スキル）の一括読み込み
+     */
+    private static final long JOB_COLLECTIONS_BUDGET = 3;
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, ROWS);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ForumPostRepository forumPostRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private HousingRepository housingRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private QueryBudget queryBudget;
+
+    @BeforeEach
+    void setUpBudget() {
+        queryBudget = new QueryBudget(entityManagerFactory);
+    }
+
+    @Test
+    @DisplayName("フォーラム投稿の一覧は作成者を含めて一定のクエリ数で取得できる")
+    void forumPostListings_DistinctAuthors_StayWithinBudget() {
+        // Given
+        persistRows(i -> forumPost(user("post-author" + i)));
+
+        // When / Then
+        queryBudget.assertWithin("findPublishedPosts", PAGE_BUDGET,
+                () -> authorNames(forumPostRepository.findPublishedPosts(FIRST_PAGE), post -> post.getAuthor()));
+        clear();
+        queryBudget.assertWithin("findLatestPostsFirst", SLICE_BUDGET,
+                () -> authorNames(forumPostRepository.findLatestPostsFirst(FIRST_PAGE), post -> post.getAuthor()));
+        clear();
+        queryBudget.assertWithin("findByComplexCriteria", PAGE_BUDGET,
+                () -> authorNames(forumPostRepository.findByComplexCriteria(null, null, null, null, null, FIRST_PAGE),
+                        post -> post.getAuthor()));
+    }
+
+    @Test
+    @DisplayName("コメントの一覧は作成者を含めて一定のクエリ数で取得できる")
+    void commentListings_DistinctAuthors_StayWithinBudget() {
+        // Given
+        ForumPost post = persist(forumPost(user("thread-author")));
+        persistRows(i -> Comment.builder().post(post).author(user("comment-author" + i)).content("コメント" + i).build());
+
+        // When / Then
+        queryBudget.assertWithin("findPublishedCommentsByPostSlice", SLICE_BUDGET,
+                () -> authorNames(commentRepository.findPublishedCommentsByPostSlice(post, FIRST_PAGE),
+                        comment -> comment.getAuthor()));
+    }
+
+    @Test
+    @DisplayName("イベントの一覧は主催者を含めて一定のクエリ数で取得できる")
+    void eventListings_DistinctOrganizers_StayWithinBudget() {
+        // Given
+        persistRows(i -> event(user("organizer" + i)));
+
+        // When / Then
+        queryBudget.assertWithin("findPublishedEvents", PAGE_BUDGET,
+                () -> authorNames(eventRepository.findPublishedEvents(FIRST_PAGE), event -> event.getOrganizer()));
+        clear();
+        queryBudget.assertWithin("findPublishedEventsSlice", SLICE_BUDGET,
+                () -> authorNames(eventRepository.findPublishedEventsSlice(FIRST_PAGE), event -> event.getOrganizer()));
+    }
+
+    @Test
+    @DisplayName("住居の一覧は所有者を含めて一定のクエリ数で取得できる")
+    void housingListings_DistinctOwners_StayWithinBudget() {
+        // Given
+        persistRows(i -> housing(user("owner" + i)));
+
+        // When / Then
+        queryBudget.assertWithin("findAvailableHousing", PAGE_BUDGET,
+                () -> authorNames(housingRepository.findAvailableHousing(FIRST_PAGE), housing -> housing.getOwner()));
+        clear();
+        queryBudget.assertWithin("findByComplexCriteria", PAGE_BUDGET,
+                () -> authorNames(housingRepository.findByComplexCriteria(
+                        null, null, null, null, null, null, null, null, null, FIRST_PAGE),
+                        housing -> housing.getOwner()));
+    }
+
+    @Test
+    @DisplayName("求人の一覧は雇用者を含めて一定のクエリ数で取得できる")
+    void jobListings_DistinctEmployers_StayWithinBudget() {
+        // Given
+        persistRows(i -> job(user("employer" + i)));
+
+        // When / Then
+        queryBudget.assertWithin("findActiveJobs", PAGE_BUDGET,
+                () -> authorNames(jobRepository.findActiveJobs(FIRST_PAGE), job -> job.getEmployer()));
+        clear();
+        queryBudget.assertWithin("findActiveJobsSlice", SLICE_BUDGET,
+                () -> authorNames(jobRepository.findActiveJobsSlice(FIRST_PAGE), job -> job.getEmployer()));
+    }
+
+    @Test
+    @DisplayName("求人の一覧は応募条件・福利厚生・スキルを含めて一定のクエリ数で取得できる")
+    void jobListings_ElementCollections_StayWithinBudget() {
+        // Given
+        User employer = user("collection-employer");
+        persistRows(i -> job(employer));
+
+        // When
+        long budget = SLICE_BUDGET + JOB_COLLECTIONS_BUDGET;
+        List<Integer> sizes = queryBudget.assertWithin("findActiveJobsSlice with collections", budget,
+                () -> jobRepository.findActiveJobsSlice(FIRST_PAGE).getContent().stream()
+                        .map(job -> job.getRequirements().size() + job.getBenefits().size() + job.getRequiredSkills().size())
+                        .toList());
+
+        // Then
+        assertThat(sizes).hasSize(ROWS).containsOnly(5);
+    }
+
+    @Test
+    @DisplayName("住居の一覧は画像URLを含めて一定のクエリ数で取得できる")
+    void housingListings_ImageUrls_StayWithinBudget() {
+        // Given
+        User owner = user("image-owner");
+        persistRows(i -> housing(owner));
+
+        // When
+        List<String> thumbnails = queryBudget.assertWithin("findAvailableHousingSlice with images", SLICE_BUDGET + 1,
+                () -> housingRepository.findAvailableHousingSlice(FIRST_PAGE).getContent().stream()
+                        .map(housing -> housing.getImageUrls().get(0))
+                        .toList());
+
+        // Then
+        assertThat(thumbnails).hasSize(ROWS);
+    }
+
+    @Test
+    @DisplayName("カード一覧は関連・コレクションを読み込まず1回のクエリで取得できる")
+    void cardListings_Projections_UseSingleQuery() {
+        // Given
+        persistRows(i -> job(user("card-employer" + i)));
+        persistRows(i -> housing(user("card-owner" + i)));
+        persistRows(i -> event(user("card-organizer" + i)));
+
+        // When
+        List<JobCard> jobs = queryBudget.assertWithin("findActiveJobCardsSlice", 1,
+                () -> jobRepository.findActiveJobCardsSlice(FIRST_PAGE).getContent());
+        List<HousingCard> housing = queryBudget.assertWithin("findAvailableHousingCardsSlice", 1,
+                () -> housingRepository.findAvailableHousingCardsSlice(FIRST_PAGE).getContent());
+        List<EventCard> events = queryBudget.assertWithin("findPublishedEventCardsSlice", 1,
+                () -> eventRepository.findPublishedEventCardsSlice(FIRST_PAGE).getContent());
+
+        // Then
+        assertThat(jobs).hasSize(ROWS).allSatisfy(card -> assertThat(card.getCompanyName()).isEqualTo("会社"));
+        assertThat(housing).hasSize(ROWS)
+                .allSatisfy(card -> assertThat(card.getThumbnailUrl()).isEqualTo("https://example.com/housing/1.jpg"));
+        assertThat(events).hasSize(ROWS).allSatisfy(card -> assertThat(card.getTitle()).isEqualTo("イベント"));
+    }
+
+    @Test
+    @DisplayName("チケットの一覧はイベントを含めて一定のクエリ数で取得できる")
+    void ticketListings_DistinctEvents_StayWithinBudget() {
+        // Given
+        User purchaser = user("purchaser");
+        persistRows(i -> ticket(persist(event(user("ticket-organizer" + i))), purchaser, i));
+
+        // When / Then
+        List<String> titles = queryBudget.assertWithin("findByStatusAndDeletedAtIsNull", PAGE_BUDGET,
+                () -> ticketRepository.findByStatusAndDeletedAtIsNull(TicketStatus.CONFIRMED, FIRST_PAGE).getContent().stream()
+                        .map(ticket -> ticket.getEvent().getTitle())
+                        .toList());
+        assertThat(titles).hasSize(ROWS);
+    }
+
+    private void persistRows(Function<Integer, Object> factory) {
+        for (int i = 0; i < ROWS; i++) {
+            persist(factory.apply(i));
+        }
+        flush();
+        clear();
+    }
+
+    private <T> List<String> authorNames(Iterable<T> rows, Function<T, User> author) {
+        List<String> names = new ArrayList<>();
+        for (T row : rows) {
+            names.add(author.apply(row).getFirstName());
+        }
+        assertThat(names).hasSize(ROWS);
+        return names;
+    }
+
+    private User user(String name) {
+        return persist(User.builder()
+                .email(name + "@example.com")
+                .passwordHash("hashedPassword")
+                .firstName(name)
+                .lastName("ユーザー")
+                .roles(Set.of(UserRole.USER))
+                .status(UserStatus.ACTIVE)
+                .build());
+    }
+
+    private static ForumPost forumPost(User author) {
+        return ForumPost.builder()
+                .author(author)
+                .title("投稿")
+                .content("本文")
+                .category(ForumCategory.GENERAL)
+                .build();
+    }
+
+    private static Event event(User organizer) {
+        return Event.builder()
+                .title("イベント")
+                .description("説明")
+                .organizer(organizer)
+                .status(EventStatus.PUBLISHED)
+                .category(EventCategory.CULTURAL)
+                .location("会場")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                .capacity(100)
+                .price(new BigDecimal("1000"))
+                .build();
+    }
+
+    private static Housing housing(User owner) {
+        return Housing.builder()
+                .owner(owner)
+                .title("住居")
+                .description("説明")
+                .type(HousingType.RENT)
+                .price(new BigDecimal("80000"))
+                .prefecture("東京都")
+                .city("新宿区")
+                .address("西新宿1-1-1")
+                .imageUrls(new ArrayList<>(List.of("https://example.com/housing/1.jpg", "https://example.com/housing/2.jpg")))
+                .status(HousingStatus.AVAILABLE)
+                .build();
+    }
+
+    private static Job job(User employer) {
+        return Job.builder()
+                .employer(employer)
+                .title("求人")
+                .description("説明")
+                .companyName("会社")
+                .type(JobType.FULL_TIME)
+                .prefecture("東京都")
+                .city("新宿区")
+                .requirements(new ArrayList<>(List.of("日本語N2", "実務経験3年")))
+                .benefits(new ArrayList<>(List.of("交通費支給", "社会保険完備")))
+                .requiredSkills(new ArrayList<>(List.of("Java")))
+                .status(JobStatus.ACTIVE)
+                .build();
+    }
+
+    private static Ticket ticket(Event event, User purchaser, int index) {
+        return Ticket.builder()
+                .event(event)
+                .purchaser(purchaser)
+                .ticketCode("TICKET-" + index)
+                .purchaserName("購入者")
+                .purchaserEmail("purchaser@example.com")
+                .quantity(1)
+                .unitPrice(new BigDecimal("1000"))
+                .totalAmount(new BigDecimal("1000"))
+                .status(TicketStatus.CONFIRMED)
+                .build();
+    }
+}
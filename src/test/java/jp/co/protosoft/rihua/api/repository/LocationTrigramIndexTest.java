@@ -0,0 +1,133 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 地域の部分一致検索のトライグラムインデックスの回帰テスト
+ * 
+ * <p>Testcontainersで起動したPostgreSQLに {@code V5__Add_location_trigram_indexes.sql} を適用し、
+ * 各リポジトリの {@code findByLocationContainingIgnoreCaseAndStatusAndDeletedAtIsNull} の実行計画に
+ * シーケンシャルスキャンが含まれないことを {@code EXPLAIN} で検証します。
+ * SQLはHibernateが生成する形に合わせています。Dockerがない環境ではスキップされます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("地域検索のトライグラムインデックス テスト")
+class LocationTrigramIndexTest {
+
+    private static final int ROWS = 30_000;
+
+    private static final String EVENT_QUERY =
+            "select e1_0.id from events e1_0 " +
+            "where lower(e1_0.location) like lower(('%'||?||'%')) escape '\\' " +
+            "and e1_0.status='PUBLISHED' and e1_0.deleted_at is null offset 0 rows fetch first 20 rows only";
+
+    private static final String HOUSING_QUERY =
+            "select h1_0.id from housing h1_0 " +
+            "where (lower(h1_0.prefecture) like lower(('%'||?||'%')) escape '\\' " +
+            "or lower(h1_0.city) like lower(('%'||?||'%')) escape '\\' " +
+            "or lower(h1_0.address) like lower(('%'||?||'%')) escape '\\') " +
+            "and h1_0.status='AVAILABLE' and h1_0.deleted_at is null offset 0 rows fetch first 20 rows only";
+
+    private static final String JOB_QUERY =
+            "select j1_0.id from jobs j1_0 " +
+            "where (lower(j1_0.prefecture) like lower(('%'||?||'%')) escape '\\' " +
+            "or lower(j1_0.city) like lower(('%'||?||'%')) escape '\\' " +
+            "or lower(j1_0.location) like lower(('%'||?||'%')) escape '\\') " +
+            "and j1_0.status='ACTIVE' and j1_0.deleted_at is null offset 0 rows fetch first 20 rows only";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = PostgresTestSupport.newContainer();
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void setUpDatabase() throws Exception {
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE events (id UUID PRIMARY KEY, location VARCHAR(500) NOT NULL, " +
+                    "status VARCHAR(50) NOT NULL, deleted_at TIMESTAMP)");
+            statement.execute("CREATE TABLE housing (id UUID PRIMARY KEY, prefecture VARCHAR(200) NOT NULL, " +
+                    "city VARCHAR(200) NOT NULL, address VARCHAR(500) NOT NULL, status VARCHAR(50) NOT NULL, deleted_at TIMESTAMP)");
+            statement.execute("CREATE TABLE jobs (id UUID PRIMARY KEY, prefecture VARCHAR(200) NOT NULL, " +
+                    "city VARCHAR(200) NOT NULL, location VARCHAR(500), status VARCHAR(50) NOT NULL, deleted_at TIMESTAMP)");
+
+            // 大半は無関係な地域、100件に1件だけ検索対象の地域にする
+            String place = "CASE WHEN n % 100 = 0 THEN '東京都新宿区 Shinjuku ' ELSE '大阪府北区 Umeda ' END || n";
+            statement.execute("INSERT INTO events (id, location, status) " +
+                    "SELECT gen_random_uuid(), " + place + ", 'PUBLISHED' FROM generate_series(1, " + ROWS + ") AS n");
+            statement.execute("INSERT INTO housing (id, prefecture, city, address, status) " +
+                    "SELECT gen_random_uuid(), 'Pref ' || (n % 47), 'City ' || (n % 1000), " + place + ", 'AVAILABLE' " +
+                    "FROM generate_series(1, " + ROWS + ") AS n");
+            statement.execute("INSERT INTO jobs (id, prefecture, city, location, status) " +
+                    "SELECT gen_random_uuid(), 'Pref ' || (n % 47), 'City ' || (n % 1000), " + place + ", 'ACTIVE' " +
+                    "FROM generate_series(1, " + ROWS + ") AS n");
+
+            statement.execute(PostgresTestSupport.readMigration("db/migration/V5__Add_location_trigram_indexes.sql"));
+            statement.execute("ANALYZE events");
+            statement.execute("ANALYZE housing");
+            statement.execute("ANALYZE jobs");
+        }
+    }
+
+    @AfterAll
+    static void tearDownDatabase() throws SQLException {
+        connection.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"shinjuku", "新宿区"})
+    @DisplayName("イベントの地域検索はトライグラムインデックスを使用する")
+    void eventLocationSearch_UsesTrigramIndex(String location) throws Exception {
+        assertIndexScanOnly(explain(EVENT_QUERY, location), "idx_events_location_trgm");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"shinjuku", "新宿区"})
+    @DisplayName("住居の地域検索はトライグラムインデックスを使用する")
+    void housingLocationSearch_UsesTrigramIndex(String location) throws Exception {
+        assertIndexScanOnly(explain(HOUSING_QUERY, location), "idx_housing_address_trgm");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"shinjuku", "新宿区"})
+    @DisplayName("求人の地域検索はトライグラムインデックスを使用する")
+    void jobLocationSearch_UsesTrigramIndex(String location) throws Exception {
+        assertIndexScanOnly(explain(JOB_QUERY, location), "idx_jobs_location_trgm");
+    }
+
+    private static JsonNode explain(String sql, String location) throws Exception {
+        return PostgresTestSupport.explain(connection, sql,
+                Collections.nCopies(PostgresTestSupport.parameterCount(sql), location));
+    }
+
+    private static void assertIndexScanOnly(JsonNode plan, String expectedIndex) {
+        List<JsonNode> nodes = PostgresTestSupport.planNodes(plan);
+
+        assertThat(nodes)
+                .as("plan: %s", plan)
+                .noneMatch(node -> "Seq Scan".equals(node.path("Node Type").asText()));
+        assertThat(nodes)
+                .as("plan: %s", plan)
+                .anyMatch(node -> expectedIndex.equals(node.path("Index Name").asText()));
+    }
+}
@@ -0,0 +1,146 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PostgreSQLを使うテスト・ベンチマークの共通ヘルパー
+ * 
+ * <p>Testcontainersのコンテナの作成、マイグレーションファイルの読み込み、{@code EXPLAIN (FORMAT JSON)} の
+ * 実行と実行計画のノードの展開をまとめています。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+final class PostgresTestSupport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private PostgresTestSupport() {
+    }
+
+    /**
+     * 本番と同じメジャーバージョンのPostgreSQLコンテナを作成
+     * 
+     * @return 未起動のコンテナ
+     */
+    static PostgreSQLContainer<?> newContainer() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+    }
+
+    /**
+     * クラスパス上のマイグレーションファイルを読み込む
+     * 
+     * @param location クラスパス上の位置（例: {@code db/migration/V3__Add_forum_feed_keyset_indexes.sql}）
+     * @return SQL
+     * @throws IOException ファイルが見つからない・読み込めない場合
+     */
+    static String readMigration(String location) throws IOException {
+        try (InputStream input = PostgresTestSupport.class.getClassLoader().getResourceAsStream(location)) {
+            if (input == null) {
+                throw new IOException("Migration not found on classpath: " + location);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * パラメータを指定してSQLの実行計画を取得
+     * 
+     * @param connection 接続
+     * @param sql JDBC形式（{@code ?}）のSQL
+     * @param parameters パラメータ（{@code ?} の順）
+     * @return 実行計画のルートノード
+     * @throws SQLException SQLの実行に失敗した場合
+     * @throws IOException 実行計画を解析できない場合
+     */
+    static JsonNode explain(Connection connection, String sql, List<?> parameters) throws SQLException, IOException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return OBJECT_MAPPER.readTree(resultSet.getString(1)).path(0).path("Plan");
+            }
+        }
+    }
+
+    /**
+     * SQLの汎用プランを取得
+     * 
+     * <p>{@code plan_cache_mode = force_generic_plan} でプリペアドステートメントを実行したときの実行計画です。
+     * 汎用プランはパラメータの値によらないため、すべてのパラメータをNULLとして実行します。</p>
+     * 
+     * @param connection 接続
+     * @param sql JDBC形式（{@code ?}）のSQL
+     * @return 実行計画のルートノード
+     * @throws SQLException SQLの実行に失敗した場合
+     * @throws IOException 実行計画を解析できない場合
+     */
+    static JsonNode explainGenericPlan(Connection connection, String sql) throws SQLException, IOException {
+        int parameters = parameterCount(sql);
+        StringBuilder positional = new StringBuilder();
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                positional.append('$').append(++index);
+            } else {
+                positional.append(c);
+            }
+        }
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            statement.execute("PREPARE explained AS " + positional);
+            try (ResultSet resultSet = statement.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE explained" + arguments)) {
+                resultSet.next();
+                return OBJECT_MAPPER.readTree(resultSet.getString(1)).path(0).path("Plan");
+            } finally {
+                statement.execute("DEALLOCATE explained");
+                statement.execute("RESET plan_cache_mode");
+            }
+        }
+    }
+
+    /**
+     * 実行計画のノードを深さ優先ですべて列挙
+     * 
+     * @param plan 実行計画のルートノード
+     * @return ルートを先頭とするノードのリスト
+     */
+    static List<JsonNode> planNodes(JsonNode plan) {
+        List<JsonNode> nodes = new ArrayList<>();
+        collect(plan, nodes);
+        return nodes;
+    }
+
+    /**
+     * JDBC形式のSQLのパラメータ数を数える
+     * 
+     * @param sql JDBC形式（{@code ?}）のSQL
+     * @return パラメータ数
+     */
+    static int parameterCount(String sql) {
+        return (int) sql.chars().filter(c -> c == '?').count();
+    }
+
+    private static void collect(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        node.path("Plans").forEach(child -> collect(child, nodes));
+    }
+}
@@ -0,0 +1,48 @@
+package jp.co.protosoft.rihua.api.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * クエリ数の上限の検証ヘルパー
+ * 
+ * <p>Hibernateの統計情報から、一覧の取得と各行の関連の参照までに発行されたSQL文の数を数え、
+ * 上限を超えた場合はテストを失敗させます。関連の遅延読み込みによるN+1は行数に比例してSQL文が増えるため、
+ * 行数より小さい上限を指定すると検出できます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+final class QueryBudget {
+
+    private final Statistics statistics;
+
+    QueryBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * 処理で発行されたSQL文の数が上限以内であることを検証
+     * 
+     * @param listing 一覧の名前（失敗時のメッセージ用）
+     * @param budget SQL文の数の上限
+     * @param call 一覧の取得と、レスポンスで参照する関連の読み込み
+     * @param <T> 処理の結果の型
+     * @return 処理の結果
+     */
+    <T> T assertWithin(String listing, long budget, Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertThat(statements)
+                .as("%s issued %d SQL statements (budget %d)", listing, statements, budget)
+                .isLessThanOrEqualTo(budget);
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package jp.co.protosoft.rihua.api.security;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * テスト用のインメモリ・リフレッシュトークンファミリーストア
+ * 
+ * <p>{@link RedisRefreshTokenFamilyStore} と同じ比較・置換と再利用検知の振る舞いを持つRedisの代替実装です。
+ * 失効確認の呼び出し回数を記録し、デナイリストがストアへの問い合わせを省略していることを検証できます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+public class InMemoryRefreshTokenFamilyStore implements RefreshTokenFamilyStore {
+
+    private final Map<String, String> currentTokenIds = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger revocationLookups = new AtomicInteger();
+
+    @Override
+    public void create(String familyId, String userId, String tokenId, Duration ttl) {
+        currentTokenIds.put(familyId, tokenId);
+    }
+
+    @Override
+    public synchronized RefreshTokenRotationStatus rotate(String familyId, String presentedTokenId,
+                                                          String newTokenId, Duration ttl) {
+        String current = currentTokenIds.get(familyId);
+        if (current == null) {
+            return RefreshTokenRotationStatus.REVOKED;
+        }
+        if (current.equals(presentedTokenId)) {
+            currentTokenIds.put(familyId, newTokenId);
+            return RefreshTokenRotationStatus.ROTATED;
+        }
+        revoke(familyId, ttl);
+        return RefreshTokenRotationStatus.REUSE_DETECTED;
+    }
+
+    @Override
+    public void revoke(String familyId, Duration ttl) {
+        currentTokenIds.remove(familyId);
+        revokedUntil.put(familyId, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    @Override
+    public boolean isRevoked(String familyId) {
+        revocationLookups.incrementAndGet();
+        Long until = revokedUntil.get(familyId);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    @Override
+    public Collection<String> findRevokedFamilyIds() {
+        long now = System.currentTimeMillis();
+        return revokedUntil.entrySet().stream()
+                .filter(entry -> entry.getValue() > now)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * 失効確認の呼び出し回数を取得
+     * 
+     * @return 呼び出し回数
+     */
+    public int getRevocationLookups() {
+        return revocationLookups.get();
+    }
+
+    /**
+     * 失効情報を直接登録（他ノードでの失効を模擬）
+     * 
+     * @param familyIds ファミリーID
+     */
+    public void revokeRemotely(List<String> familyIds) {
+        familyIds.forEach(familyId -> revoke(familyId, Duration.ofHours(1)));
+    }
+}
@@ -0,0 +1,93 @@
+package jp.co.protosoft.rihua.api.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT認証フィルターのトークン処理ベンチマーク
+ * 
+ * <p>従来の個別getter呼び出し（6回の解析・署名検証）と
+ * {@link JwtTokenProvider#parseToken(String)} による1回の解析を比較します。</p>
+ * 
+ * <p>実行方法: {@code mvn test-compile} 後にIDEから {@link #main(String[])} を実行します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-key-for-hs512-must-be-at-least-64-bytes-long-0123";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3600000L, 2592000000L);
+
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        UserPrincipal userPrincipal = UserPrincipal.builder()
+                .id("benchmark-user-id")
+                .email("benchmark@example.com")
+                .authorities(authorities)
+                .build();
+
+        accessToken = jwtTokenProvider.generateAccessToken(
+                new UsernamePasswordAuthenticationToken(userPrincipal, null, authorities),
+                "benchmark-user-id",
+                "benchmark@example.com",
+                "ja");
+    }
+
+    /**
+     * 従来方式: クレームごとにトークンを解析
+     */
+    @Benchmark
+    public void legacyPerClaimParsing(Blackhole blackhole) {
+        if (jwtTokenProvider.validateToken(accessToken) && jwtTokenProvider.isAccessToken(accessToken)) {
+            blackhole.consume(jwtTokenProvider.getUserIdFromToken(accessToken));
+            blackhole.consume(jwtTokenProvider.getEmailFromToken(accessToken));
+            blackhole.consume(jwtTokenProvider.getRolesFromToken(accessToken));
+            blackhole.consume(jwtTokenProvider.getLanguageFromToken(accessToken));
+        }
+    }
+
+    /**
+     * 新方式: 1回の解析で検証済みクレームを取得
+     */
+    @Benchmark
+    public void parseOnce(Blackhole blackhole) {
+        jwtTokenProvider.parseToken(accessToken)
+                .filter(VerifiedJwtClaims::isAccessToken)
+                .ifPresent(blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,5 +1,8 @@
 package jp.co.protosoft.rihua.api.security;
 
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,11 +13,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.security.KeyPair;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,11 +50,23 @@ class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
+    @Mock
+    private RefreshTokenDenylist refreshTokenDenylist;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private JwtRejectionMonitor jwtRejectionMonitor;
+
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @BeforeEach
     void setUp() {
-        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider);
+        verifiedTokenCache = new VerifiedTokenCache(meterRegistry, true, 100);
+        jwtRejectionMonitor = new JwtRejectionMonitor(meterRegistry, 60000L);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(
+                jwtTokenProvider, verifiedTokenCache, jwtRejectionMonitor, refreshTokenDenylist);
         SecurityContextHolder.clearContext();
     }
 
@@ -59,12 +81,8 @@ class JwtAuthenticationFilterTest {
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(jwtTokenProvider.isAccessToken(token)).thenReturn(true);
-        when(jwtTokenProvider.getUserIdFromToken(token)).thenReturn(userId);
-        when(jwtTokenProvider.getEmailFromToken(token)).thenReturn(email);
-        when(jwtTokenProvider.getRolesFromToken(token)).thenReturn(Arrays.asList("ROLE_USER"));
-        when(jwtTokenProvider.getLanguageFromToken(token)).thenReturn(language);
+        when(jwtTokenProvider.verifyToken(token)).thenReturn(JwtValidationResult.valid(createClaims(
+                userId, email, Arrays.asList("ROLE_USER"), language, "access")));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -80,6 +98,71 @@ class JwtAuthenticationFilterTest {
         assertThat(userPrincipal.getPreferredLanguage()).isEqualTo(language);
         
         verify(filterChain).doFilter(request, response);
+        verify(jwtTokenProvider, times(1)).verifyToken(token);
+        verify(jwtTokenProvider, never()).validateToken(any());
+    }
+
+    @Test
+    @DisplayName("同じアクセストークンの再送ではキャッシュが使用され署名検証が省略される")
+    void doFilterInternal_RepeatedAccessToken_UsesVerifiedTokenCache() throws ServletException, IOException {
+        // Given
+        String token = "valid.jwt.token";
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
+        when(jwtTokenProvider.verifyToken(token)).thenReturn(JwtValidationResult.valid(createClaims(
+                "test-user-id", "test@example.com", Arrays.asList("ROLE_USER"), "ja", "access")));
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(((UserPrincipal) authentication.getPrincipal()).getId()).isEqualTo("test-user-id");
+        assertThat(authentication.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+        
+        verify(jwtTokenProvider, times(1)).verifyToken(token);
+        verify(filterChain, times(2)).doFilter(request, response);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("鍵ローテーションで削除した鍵のトークンはキャッシュ済みでも拒否される")
+    void doFilterInternal_CachedTokenOfRemovedKey_RejectedAfterRotation() throws ServletException, IOException {
+        // Given
+        KeyPair oldKeyPair = Jwks.CRV.Ed25519.keyPair().build();
+        KeyPair newKeyPair = Jwks.CRV.Ed25519.keyPair().build();
+        JwtTokenProvider provider = new JwtTokenProvider(
+                JwtKeyRing.of("ed-1", oldKeyPair.getPrivate(), Jwts.SIG.EdDSA, Map.of("ed-1", oldKeyPair.getPublic())),
+                verifiedTokenCache, 3600000L, 2592000000L);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                provider, verifiedTokenCache, jwtRejectionMonitor, refreshTokenDenylist);
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        UserPrincipal principal = UserPrincipal.builder().id("test-user-id").email("test@example.com")
+                .authorities(authorities).build();
+        String token = provider.generateAccessToken(new UsernamePasswordAuthenticationToken(principal, null, authorities),
+                "test-user-id", "test@example.com", "ja");
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
+        filter.doFilterInternal(request, response, filterChain);
+        assertThat(verifiedTokenCache.get(token)).isNotNull();
+        SecurityContextHolder.clearContext();
+
+        // When
+        provider.rotateKeys(JwtKeyRing.of("ed-2", newKeyPair.getPrivate(), Jwts.SIG.EdDSA,
+                Map.of("ed-2", newKeyPair.getPublic())));
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(verifiedTokenCache.get(token)).isNull();
     }
 
     @Test
@@ -90,7 +173,8 @@ class JwtAuthenticationFilterTest {
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
-        when(jwtTokenProvider.validateToken(token)).thenReturn(false);
+        when(jwtTokenProvider.verifyToken(token))
+                .thenReturn(JwtValidationResult.rejected(JwtValidationStatus.MALFORMED));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -98,6 +182,34 @@ class JwtAuthenticationFilterTest {
         // Then
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertThat(authentication).isNull();
+        assertThat(meterRegistry.get("rihua.jwt.rejections").tag("reason", "malformed").counter().count())
+                .isEqualTo(1.0);
+        
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("失効したリフレッシュトークンファミリーのアクセストークンでは認証が設定されない")
+    void doFilterInternal_RevokedSession_DoesNotSetAuthentication() throws ServletException, IOException {
+        // Given
+        String token = "revoked.session.token";
+        VerifiedJwtClaims claims = createClaims(
+                "test-user-id", "test@example.com", Arrays.asList("ROLE_USER"), "ja", "access");
+        VerifiedJwtClaims sessionClaims = new VerifiedJwtClaims(claims.userId(), claims.email(), claims.roles(),
+                claims.language(), claims.tokenType(), claims.issuedAt(), claims.expiration(), "family-1", null);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
+        when(jwtTokenProvider.verifyToken(token)).thenReturn(JwtValidationResult.valid(sessionClaims));
+        when(refreshTokenDenylist.isRevoked("family-1")).thenReturn(true);
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.get("rihua.jwt.rejections").tag("reason", "revoked").counter().count())
+                .isEqualTo(1.0);
         
         verify(filterChain).doFilter(request, response);
     }
@@ -110,8 +222,8 @@ class JwtAuthenticationFilterTest {
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(jwtTokenProvider.isAccessToken(token)).thenReturn(false);
+        when(jwtTokenProvider.verifyToken(token)).thenReturn(JwtValidationResult.valid(createClaims(
+                "test-user-id", null, List.of(), null, "refresh")));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -138,7 +250,7 @@ class JwtAuthenticationFilterTest {
         assertThat(authentication).isNull();
         
         verify(filterChain).doFilter(request, response);
-        verify(jwtTokenProvider, never()).validateToken(any());
+        verify(jwtTokenProvider, never()).verifyToken(any());
     }
 
     @Test
@@ -156,7 +268,7 @@ class JwtAuthenticationFilterTest {
         assertThat(authentication).isNull();
         
         verify(filterChain).doFilter(request, response);
-        verify(jwtTokenProvider, never()).validateToken(any());
+        verify(jwtTokenProvider, never()).verifyToken(any());
     }
 
     @Test
@@ -190,6 +302,24 @@ class JwtAuthenticationFilterTest {
         assertThat(jwtAuthenticationFilter.shouldNotFilter(request)).isFalse();
     }
 
+    @Test
+    @DisplayName("公開一覧のGETではフィルターがスキップされ、更新系メソッドでは実行される")
+    void shouldNotFilter_PublicListing_DependsOnMethod() {
+        // Given
+        when(request.getRequestURI()).thenReturn("/api/v1/events");
+
+        // When & Then
+        when(request.getMethod()).thenReturn("GET");
+        assertThat(jwtAuthenticationFilter.shouldNotFilter(request)).isTrue();
+
+        when(request.getMethod()).thenReturn("POST");
+        assertThat(jwtAuthenticationFilter.shouldNotFilter(request)).isFalse();
+
+        when(request.getRequestURI()).thenReturn("/api/v1/events/123/registrations");
+        when(request.getMethod()).thenReturn("GET");
+        assertThat(jwtAuthenticationFilter.shouldNotFilter(request)).isFalse();
+    }
+
     @Test
     @DisplayName("JWT処理中の例外でSecurityContextがクリアされる")
     void doFilterInternal_JwtProcessingException_ClearsSecurityContext() throws ServletException, IOException {
@@ -198,7 +328,7 @@ class JwtAuthenticationFilterTest {
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
-        when(jwtTokenProvider.validateToken(token)).thenThrow(new RuntimeException("JWT processing error"));
+        when(jwtTokenProvider.verifyToken(token)).thenThrow(new RuntimeException("JWT processing error"));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -209,4 +339,11 @@ class JwtAuthenticationFilterTest {
         
         verify(filterChain).doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private VerifiedJwtClaims createClaims(String userId, String email, List<String> roles,
+                                           String language, String tokenType) {
+        Instant now = Instant.now();
+        return new VerifiedJwtClaims(userId, email, roles, language, tokenType, now, now.plusSeconds(3600),
+                null, null);
+    }
+}
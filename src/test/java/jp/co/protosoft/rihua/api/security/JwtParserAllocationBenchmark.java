@@ -0,0 +1,102 @@
+package jp.co.protosoft.rihua.api.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtParser再利用によるアロケーション削減のベンチマーク
+ * 
+ * <p>{@link GCProfiler} を有効にして実行し、{@code gc.alloc.rate.norm}（bytes/op）を比較します。</p>
+ * <ul>
+ *   <li>{@code parserPerCall}: 従来方式。呼び出しごとに {@code Jwts.parser()} を構築して検証</li>
+ *   <li>{@code sharedParser}: {@link JwtTokenProvider} が保持する共有パーサーで検証</li>
+ *   <li>{@code parserConstructionOnly}: パーサー構築のみのコスト</li>
+ * </ul>
+ * 
+ * <p>実行方法: {@code mvn test-compile} 後にIDEから {@link #main(String[])} を実行します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParserAllocationBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-key-for-hs512-must-be-at-least-64-bytes-long-0123";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private SecretKey secretKey;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3600000L, 2592000000L);
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        UserPrincipal userPrincipal = UserPrincipal.builder()
+                .id("benchmark-user-id")
+                .email("benchmark@example.com")
+                .authorities(authorities)
+                .build();
+
+        accessToken = jwtTokenProvider.generateAccessToken(
+                new UsernamePasswordAuthenticationToken(userPrincipal, null, authorities),
+                "benchmark-user-id",
+                "benchmark@example.com",
+                "ja");
+    }
+
+    @Benchmark
+    public Object parserPerCall() {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(accessToken)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Object sharedParser() {
+        return jwtTokenProvider.parseToken(accessToken);
+    }
+
+    @Benchmark
+    public Object parserConstructionOnly() {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtParserAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
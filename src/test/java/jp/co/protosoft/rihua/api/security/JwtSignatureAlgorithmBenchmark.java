@@ -0,0 +1,94 @@
+package jp.co.protosoft.rihua.api.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 署名アルゴリズム別のトークン検証スループットベンチマーク
+ * 
+ * <p>HS512・EdDSA（Ed25519）・ES256 で署名したトークンの検証を1スレッドで実行し、1コアあたりのスループットを比較します。
+ * 署名の生成コストは含みません。</p>
+ * 
+ * <p>実行方法: {@code mvn test-compile} 後にIDEから {@link #main(String[])} を実行します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class JwtSignatureAlgorithmBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-key-for-hs512-must-be-at-least-64-bytes-long-0123";
+
+    private JwtTokenProvider hs512Provider;
+    private JwtTokenProvider edDsaProvider;
+    private JwtTokenProvider es256Provider;
+    private String hs512Token;
+    private String edDsaToken;
+    private String es256Token;
+
+    @Setup
+    public void setUp() {
+        hs512Provider = new JwtTokenProvider(SECRET, 3600000L, 2592000000L);
+
+        KeyPair edDsaKeyPair = Jwks.CRV.Ed25519.keyPair().build();
+        edDsaProvider = new JwtTokenProvider(
+                JwtKeyRing.of("ed-1", edDsaKeyPair.getPrivate(), Jwts.SIG.EdDSA,
+                        Map.of("ed-1", edDsaKeyPair.getPublic())),
+                3600000L, 2592000000L);
+
+        KeyPair es256KeyPair = Jwts.SIG.ES256.keyPair().build();
+        es256Provider = new JwtTokenProvider(
+                JwtKeyRing.of("es-1", es256KeyPair.getPrivate(), Jwts.SIG.ES256,
+                        Map.of("es-1", es256KeyPair.getPublic())),
+                3600000L, 2592000000L);
+
+        hs512Token = hs512Provider.generateRefreshToken("benchmark-user-id");
+        edDsaToken = edDsaProvider.generateRefreshToken("benchmark-user-id");
+        es256Token = es256Provider.generateRefreshToken("benchmark-user-id");
+    }
+
+    @Benchmark
+    public Object verifyHs512() {
+        return hs512Provider.verifyToken(hs512Token);
+    }
+
+    @Benchmark
+    public Object verifyEdDsa() {
+        return edDsaProvider.verifyToken(edDsaToken);
+    }
+
+    @Benchmark
+    public Object verifyEs256() {
+        return es256Provider.verifyToken(es256Token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtSignatureAlgorithmBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,5 +1,8 @@
 package jp.co.protosoft.rihua.api.security;
 
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,9 +10,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -114,6 +123,217 @@ class JwtTokenProviderTest {
         assertThat(roles).contains("ROLE_USER", "ROLE_BUSINESS");
     }
 
+    @Test
+    @DisplayName("一度の解析でアクセストークンの全クレームを取得できる")
+    void parseToken_ValidAccessToken_ReturnsAllClaims() {
+        // Given
+        String userId = "test-user-id";
+        String email = "test@example.com";
+        
+        List<SimpleGrantedAuthority> authorities = Arrays.asList(
+            new SimpleGrantedAuthority("ROLE_USER"),
+            new SimpleGrantedAuthority("ROLE_BUSINESS")
+        );
+        
+        UserPrincipal userPrincipal = UserPrincipal.builder()
+            .id(userId)
+            .email(email)
+            .authorities(authorities)
+            .build();
+        
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            userPrincipal, null, authorities);
+        
+        String token = jwtTokenProvider.generateAccessToken(authentication, userId, email, "ja");
+
+        // When
+        Optional<VerifiedJwtClaims> result = jwtTokenProvider.parseToken(token);
+
+        // Then
+        assertThat(result).isPresent();
+        VerifiedJwtClaims claims = result.get();
+        assertThat(claims.userId()).isEqualTo(userId);
+        assertThat(claims.email()).isEqualTo(email);
+        assertThat(claims.roles()).containsExactly("ROLE_USER", "ROLE_BUSINESS");
+        assertThat(claims.language()).isEqualTo("ja");
+        assertThat(claims.isAccessToken()).isTrue();
+        assertThat(claims.expiration()).isAfter(claims.issuedAt());
+        assertThatThrownBy(() -> claims.roles().add("ROLE_ADMIN"))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("無効なトークンの解析結果は空になる")
+    void parseToken_InvalidToken_ReturnsEmpty() {
+        // When
+        Optional<VerifiedJwtClaims> result = jwtTokenProvider.parseToken("invalid.jwt.token");
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("期限切れトークンは署名検証前にEXPIREDとして拒否される")
+    void verifyToken_ExpiredToken_ReturnsExpired() {
+        // Given
+        JwtTokenProvider expiredProvider = new JwtTokenProvider(testSecret, -60000L, -60000L);
+        String token = expiredProvider.generateRefreshToken("test-user-id");
+
+        // When
+        JwtValidationResult result = jwtTokenProvider.verifyToken(token);
+
+        // Then
+        assertThat(result.status()).isEqualTo(JwtValidationStatus.EXPIRED);
+        assertThat(result.claims()).isNull();
+    }
+
+    @Test
+    @DisplayName("別のキーで署名されたトークンはBAD_SIGNATUREとして拒否される")
+    void verifyToken_ForeignSignature_ReturnsBadSignature() {
+        // Given
+        JwtTokenProvider otherProvider = new JwtTokenProvider(
+            "another-jwt-secret-key-for-testing-only-must-be-at-least-32-characters-long",
+            accessTokenExpiration, refreshTokenExpiration);
+        String token = otherProvider.generateRefreshToken("test-user-id");
+
+        // When
+        JwtValidationResult result = jwtTokenProvider.verifyToken(token);
+
+        // Then
+        assertThat(result.status()).isEqualTo(JwtValidationStatus.BAD_SIGNATURE);
+        assertThat(result.isValid()).isFalse();
+    }
+
+    @Test
+    @DisplayName("構造やBase64形式が不正なトークンはMALFORMEDとして拒否される")
+    void verifyToken_MalformedTokens_ReturnsMalformed() {
+        // Given
+        String validToken = jwtTokenProvider.generateRefreshToken("test-user-id");
+        String[] parts = validToken.split("\\.");
+
+        // When & Then
+        assertThat(jwtTokenProvider.verifyToken("invalid.jwt.token").status())
+            .isEqualTo(JwtValidationStatus.MALFORMED);
+        assertThat(jwtTokenProvider.verifyToken(parts[0] + "." + parts[1]).status())
+            .isEqualTo(JwtValidationStatus.MALFORMED);
+        assertThat(jwtTokenProvider.verifyToken(parts[0] + "." + parts[1] + "." + parts[2] + ".extra").status())
+            .isEqualTo(JwtValidationStatus.MALFORMED);
+        assertThat(jwtTokenProvider.verifyToken(parts[0] + "." + parts[1] + "+/." + parts[2]).status())
+            .isEqualTo(JwtValidationStatus.MALFORMED);
+        assertThat(jwtTokenProvider.verifyToken("").status())
+            .isEqualTo(JwtValidationStatus.MALFORMED);
+    }
+
+    @Test
+    @DisplayName("有効なトークンはOKと検証済みクレームを返す")
+    void verifyToken_ValidToken_ReturnsOk() {
+        // Given
+        String token = jwtTokenProvider.generateRefreshToken("test-user-id");
+
+        // When
+        JwtValidationResult result = jwtTokenProvider.verifyToken(token);
+
+        // Then
+        assertThat(result.status()).isEqualTo(JwtValidationStatus.OK);
+        assertThat(result.claims().userId()).isEqualTo("test-user-id");
+        assertThat(result.claims().isRefreshToken()).isTrue();
+    }
+
+    @Test
+    @DisplayName("設定のEdDSA鍵で署名したトークンをkidで検証できる")
+    void verifyToken_EdDsaKeysFromProperties_ReturnsOk() {
+        // Given
+        JwtProperties properties = edDsaProperties();
+
+        JwtTokenProvider edDsaProvider = new JwtTokenProvider(properties, accessTokenExpiration, refreshTokenExpiration);
+
+        // When
+        String token = edDsaProvider.generateRefreshToken("test-user-id");
+
+        // Then
+        assertThat(edDsaProvider.verifyToken(token).isValid()).isTrue();
+        assertThat(edDsaProvider.getUserIdFromToken(token)).isEqualTo("test-user-id");
+        assertThat(jwtTokenProvider.verifyToken(token).status()).isEqualTo(JwtValidationStatus.BAD_SIGNATURE);
+    }
+
+    @Test
+    @DisplayName("EdDSAではkidなしのHMACトークンは既定で拒否され、移行期間を明示した場合のみ期限まで検証できる")
+    void verifyToken_LegacyHmacToken_AcceptedOnlyWhenEnabledUntilDeadline() {
+        // Given
+        String legacyToken = Jwts.builder().subject("test-user-id").claim("type", "refresh")
+            .expiration(new Date(System.currentTimeMillis() + 60000L))
+            .signWith(Keys.hmacShaKeyFor(testSecret.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+            .compact();
+
+        JwtProperties properties = edDsaProperties();
+        properties.setSecret(testSecret);
+
+        // When & Then: 既定では無効
+        assertThat(new JwtTokenProvider(properties, accessTokenExpiration, refreshTokenExpiration)
+            .verifyToken(legacyToken).status()).isEqualTo(JwtValidationStatus.BAD_SIGNATURE);
+
+        // When & Then: 移行期限内のみ有効
+        properties.setLegacyHmacVerification(true);
+        properties.setLegacyHmacVerificationUntil(Instant.now().plusSeconds(3600));
+        assertThat(new JwtTokenProvider(properties, accessTokenExpiration, refreshTokenExpiration)
+            .verifyToken(legacyToken).isValid()).isTrue();
+
+        properties.setLegacyHmacVerificationUntil(Instant.now().minusSeconds(1));
+        assertThat(new JwtTokenProvider(properties, accessTokenExpiration, refreshTokenExpiration)
+            .verifyToken(legacyToken).status()).isEqualTo(JwtValidationStatus.BAD_SIGNATURE);
+    }
+
+    @Test
+    @DisplayName("kidなしのHMACトークンの検証は既定シークレットや期限なしでは有効にできない")
+    void constructor_LegacyHmacWithDefaultSecretOrNoDeadline_ThrowsException() {
+        // Given
+        JwtProperties properties = edDsaProperties();
+        properties.setLegacyHmacVerification(true);
+        properties.setSecret(JwtKeyRing.DEFAULT_SECRET);
+        properties.setLegacyHmacVerificationUntil(Instant.now().plusSeconds(3600));
+
+        // When & Then
+        assertThatThrownBy(() -> new JwtTokenProvider(properties, accessTokenExpiration, refreshTokenExpiration))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("non-default JWT secret");
+
+        properties.setSecret(testSecret);
+        properties.setLegacyHmacVerificationUntil(null);
+        assertThatThrownBy(() -> new JwtTokenProvider(properties, accessTokenExpiration, refreshTokenExpiration))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("legacy-hmac-verification-until");
+    }
+
+    @Test
+    @DisplayName("鍵ローテーション後も保持している旧鍵のトークンは検証でき、削除した鍵のトークンは拒否される")
+    void rotateKeys_OldKeyRetainedThenRemoved_VerifiesAccordingly() {
+        // Given
+        KeyPair oldKeyPair = Jwks.CRV.Ed25519.keyPair().build();
+        KeyPair newKeyPair = Jwks.CRV.Ed25519.keyPair().build();
+        JwtTokenProvider provider = new JwtTokenProvider(
+            JwtKeyRing.of("ed-1", oldKeyPair.getPrivate(), Jwts.SIG.EdDSA, Map.of("ed-1", oldKeyPair.getPublic())),
+            accessTokenExpiration, refreshTokenExpiration);
+        String oldToken = provider.generateRefreshToken("test-user-id");
+
+        // When
+        provider.rotateKeys(JwtKeyRing.of("ed-2", newKeyPair.getPrivate(), Jwts.SIG.EdDSA,
+            Map.of("ed-1", oldKeyPair.getPublic(), "ed-2", newKeyPair.getPublic())));
+        String newToken = provider.generateRefreshToken("test-user-id");
+
+        // Then
+        assertThat(provider.getKeyRing().getActiveKeyId()).isEqualTo("ed-2");
+        assertThat(provider.verifyToken(oldToken).isValid()).isTrue();
+        assertThat(provider.verifyToken(newToken).isValid()).isTrue();
+
+        // When
+        provider.rotateKeys(JwtKeyRing.of("ed-2", newKeyPair.getPrivate(), Jwts.SIG.EdDSA,
+            Map.of("ed-2", newKeyPair.getPublic())));
+
+        // Then
+        assertThat(provider.verifyToken(oldToken).status()).isEqualTo(JwtValidationStatus.BAD_SIGNATURE);
+        assertThat(provider.verifyToken(newToken).isValid()).isTrue();
+    }
+
     @Test
     @DisplayName("無効なトークンの検証が失敗する")
     void validateToken_InvalidToken_ReturnsFalse() {
@@ -209,4 +429,18 @@ class JwtTokenProviderTest {
         // Then
         assertThat(jwtTokenProvider.getLanguageFromToken(token)).isEqualTo("zh-CN");
     }
-}
\ No newline at end of file
+
+    private static JwtProperties edDsaProperties() {
+        KeyPair keyPair = Jwks.CRV.Ed25519.keyPair().build();
+        JwtProperties.Key key = new JwtProperties.Key();
+        key.setId("ed-2024");
+        key.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        key.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm("EdDSA");
+        properties.setActiveKeyId("ed-2024");
+        properties.setKeys(List.of(key));
+        return properties;
+    }
+}
@@ -0,0 +1,106 @@
+package jp.co.protosoft.rihua.api.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.co.protosoft.rihua.api.config.SecurityConfig;
+import jp.co.protosoft.rihua.api.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * OffloadedPasswordEncoderのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@DisplayName("OffloadedPasswordEncoder テスト")
+class OffloadedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingProperties properties;
+    private PasswordHashingExecutor hashingExecutor;
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new PasswordHashingProperties();
+        properties.setAlgorithm("argon2");
+        properties.setBcryptStrength(4);
+        properties.getArgon2().setMemoryKib(1024);
+        properties.getArgon2().setIterations(1);
+        properties.getExecutor().setThreads(1);
+        properties.getExecutor().setQueueCapacity(1);
+
+        hashingExecutor = new PasswordHashingExecutor(properties, meterRegistry);
+        passwordEncoder = new SecurityConfig(null, null, null).passwordEncoder(properties, hashingExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("既存のbcryptハッシュを検証でき、設定したアルゴリズムへのアップグレード対象となる")
+    void matches_LegacyBcryptHash_MatchesAndRequiresUpgrade() {
+        // Given
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+
+        // When & Then
+        assertThat(passwordEncoder.matches("password123", legacyHash)).isTrue();
+        assertThat(passwordEncoder.matches("wrong-password", legacyHash)).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("新しいハッシュはArgon2で作成され、アップグレード対象とならない")
+    void encode_ConfiguredAlgorithm_ProducesArgon2Hash() {
+        // When
+        String hash = passwordEncoder.encode("password123");
+
+        // Then
+        assertThat(hash).startsWith("{argon2}");
+        assertThat(passwordEncoder.matches("password123", hash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(hash)).isFalse();
+        assertThat(meterRegistry.get("rihua.password.hashing").tag("operation", "encode").timer().count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("待ち行列が上限に達すると待機せずに拒否される")
+    void execute_QueueFull_ThrowsBusyException() throws Exception {
+        // Given: 1スレッドを占有し、待ち行列1件を埋める
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> hashingExecutor.execute("matches", () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(
+                () -> hashingExecutor.execute("matches", () -> true));
+        while (meterRegistry.get("rihua.password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> passwordEncoder.matches("password123", "{bcrypt}hash"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(meterRegistry.get("rihua.password.hashing.rejections").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
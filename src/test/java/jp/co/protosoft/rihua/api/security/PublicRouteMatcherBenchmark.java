@@ -0,0 +1,112 @@
+package jp.co.protosoft.rihua.api.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 公開ルート判定のベンチマーク
+ * 
+ * <p>同じリクエスト群に対し、{@link PublicRouteMatcher}（トライ）、
+ * 従来の {@code startsWith}/{@code equals} の連鎖、ルートごとの {@link AntPathRequestMatcher} を比較します。</p>
+ * 
+ * <p>実行方法: {@code mvn test-compile} 後にIDEから {@link #main(String[])} を実行します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicRouteMatcherBenchmark {
+
+    private static final String[][] REQUESTS = {
+            {"GET", "/api/v1/events"},
+            {"GET", "/api/v1/events/6f1c2e8a-1b4d-4c55-9a37-0d6f0c3b2a91"},
+            {"POST", "/api/v1/events"},
+            {"GET", "/api/v1/users/profile"},
+            {"GET", "/api/v1/forum/posts/6f1c2e8a-1b4d-4c55-9a37-0d6f0c3b2a91/comments"},
+            {"POST", "/api/v1/auth/login"},
+            {"GET", "/actuator/health/liveness"},
+            {"GET", "/api/v1/notifications"},
+    };
+
+    private MockHttpServletRequest[] requests;
+    private RequestMatcher antPathMatchers;
+
+    @Setup
+    public void setUp() {
+        requests = new MockHttpServletRequest[REQUESTS.length];
+        for (int i = 0; i < REQUESTS.length; i++) {
+            requests[i] = new MockHttpServletRequest(REQUESTS[i][0], REQUESTS[i][1]);
+        }
+
+        antPathMatchers = new OrRequestMatcher(PublicRoutes.ROUTES.stream()
+                .map(route -> (RequestMatcher) new AntPathRequestMatcher(
+                        route.pattern(), route.method() != null ? route.method().name() : null))
+                .toList());
+    }
+
+    /**
+     * プレフィックストライによる判定
+     */
+    @Benchmark
+    public void trie(Blackhole blackhole) {
+        for (MockHttpServletRequest request : requests) {
+            blackhole.consume(PublicRoutes.MATCHER.matches(request));
+        }
+    }
+
+    /**
+     * 従来の shouldNotFilter（メソッドを考慮しない startsWith/equals の連鎖）
+     */
+    @Benchmark
+    public void legacyStartsWithChain(Blackhole blackhole) {
+        for (MockHttpServletRequest request : requests) {
+            String path = request.getRequestURI();
+            blackhole.consume(path.startsWith("/api/v1/auth/") ||
+                    path.startsWith("/actuator/health") ||
+                    path.startsWith("/actuator/info") ||
+                    path.startsWith("/api-docs") ||
+                    path.startsWith("/swagger-ui") ||
+                    path.equals("/favicon.ico") ||
+                    path.equals("/error"));
+        }
+    }
+
+    /**
+     * ルートごとの AntPathRequestMatcher を順に評価
+     */
+    @Benchmark
+    public void antPathRequestMatchers(Blackhole blackhole) {
+        for (MockHttpServletRequest request : requests) {
+            blackhole.consume(antPathMatchers.matches(request));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PublicRouteMatcherBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package jp.co.protosoft.rihua.api.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PublicRouteMatcherのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@DisplayName("PublicRouteMatcher テスト")
+class PublicRouteMatcherTest {
+
+    private final PublicRouteMatcher matcher = PublicRoutes.MATCHER;
+
+    @Test
+    @DisplayName("完全一致・単一セグメント・末尾ワイルドカードのパターンが判定される")
+    void matches_PatternKinds_MatchesExpectedPaths() {
+        // 完全一致
+        assertThat(matcher.matches("GET", "/api/v1/events")).isTrue();
+        assertThat(matcher.matches("GET", "/api/v1/events/")).isFalse();
+        assertThat(matcher.matches("GET", "/api/v1/eventsx")).isFalse();
+
+        // 単一セグメント
+        assertThat(matcher.matches("GET", "/api/v1/events/3f2b8c1e")).isTrue();
+        assertThat(matcher.matches("GET", "/api/v1/events/3f2b8c1e/comments")).isFalse();
+
+        // 末尾ワイルドカード（0個以上のセグメント）
+        assertThat(matcher.matches("GET", "/actuator/health")).isTrue();
+        assertThat(matcher.matches("GET", "/actuator/health/liveness")).isTrue();
+        assertThat(matcher.matches("GET", "/actuator/metrics")).isFalse();
+        assertThat(matcher.matches("POST", "/api/v1/auth/login")).isTrue();
+    }
+
+    @Test
+    @DisplayName("メソッド指定のルートは他のメソッドでは該当しない")
+    void matches_MethodSpecificRoute_RejectsOtherMethods() {
+        assertThat(matcher.matches("GET", "/api/v1/forum/posts")).isTrue();
+        assertThat(matcher.matches("HEAD", "/api/v1/forum/posts")).isFalse();
+        assertThat(matcher.matches("POST", "/api/v1/forum/posts")).isFalse();
+        assertThat(matcher.matches("DELETE", "/api/v1/forum/posts/1")).isFalse();
+        assertThat(matcher.matches("PROPFIND", "/error")).isTrue();
+    }
+
+    @Test
+    @DisplayName("認証エンドポイントはPOSTとメール確認のGETのみ公開される")
+    void matches_AuthRoutes_PublicOnlyForPostAndVerifyEmail() {
+        assertThat(matcher.matches("POST", "/api/v1/auth/refresh")).isTrue();
+        assertThat(matcher.matches("POST", "/api/v1/auth/reset-password")).isTrue();
+        assertThat(matcher.matches("GET", "/api/v1/auth/verify-email")).isTrue();
+
+        assertThat(matcher.matches("GET", "/api/v1/auth/me")).isFalse();
+        assertThat(matcher.matches("GET", "/api/v1/auth/sessions")).isFalse();
+        assertThat(matcher.matches("PUT", "/api/v1/auth/verify-email")).isFalse();
+        assertThat(matcher.matches("DELETE", "/api/v1/auth/logout-all")).isFalse();
+    }
+
+    @Test
+    @DisplayName("リクエストのコンテキストパスを除いて判定される")
+    void matches_RequestWithContextPath_StripsContextPath() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rihua/api/v1/jobs");
+        request.setContextPath("/rihua");
+
+        // When & Then
+        assertThat(matcher.matches(request)).isTrue();
+    }
+
+    @Test
+    @DisplayName("リテラルとワイルドカードが重なる場合はワイルドカードに戻って判定される")
+    void matches_LiteralAndWildcardOverlap_Backtracks() {
+        // Given
+        PublicRouteMatcher overlapping = PublicRouteMatcher.compile(List.of(
+                PublicRoutes.Route.of(HttpMethod.GET, "/files/public/readme"),
+                PublicRoutes.Route.of(HttpMethod.GET, "/files/*/download")));
+
+        // When & Then
+        assertThat(overlapping.matches("GET", "/files/public/readme")).isTrue();
+        assertThat(overlapping.matches("GET", "/files/public/download")).isTrue();
+        assertThat(overlapping.matches("GET", "/files/private/readme")).isFalse();
+    }
+
+    @Test
+    @DisplayName("不正なパターンはコンパイル時に拒否される")
+    void compile_InvalidPattern_ThrowsException() {
+        assertThatThrownBy(() -> PublicRouteMatcher.compile(List.of(PublicRoutes.Route.any("/api/**/events"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PublicRouteMatcher.compile(List.of(PublicRoutes.Route.any("/static/*.js"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PublicRouteMatcher.compile(List.of(PublicRoutes.Route.any("api/v1"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
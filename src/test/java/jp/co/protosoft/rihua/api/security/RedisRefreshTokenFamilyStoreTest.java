@@ -0,0 +1,108 @@
+package jp.co.protosoft.rihua.api.security;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RedisRefreshTokenFamilyStoreのテストクラス
+ * 
+ * <p>Testcontainersで起動したRedisに対してLuaスクリプトの振る舞いを検証します。Dockerがない環境ではスキップされます。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("RedisRefreshTokenFamilyStore テスト")
+class RedisRefreshTokenFamilyStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisRefreshTokenFamilyStore familyStore;
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        familyStore = new RedisRefreshTokenFamilyStore(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("現在のトークンIDでローテーションできる")
+    void rotate_CurrentTokenId_ReturnsRotated() {
+        // Given
+        familyStore.create("family-1", "user-1", "jti-1", TTL);
+
+        // When & Then
+        assertThat(familyStore.rotate("family-1", "jti-1", "jti-2", TTL))
+                .isEqualTo(RefreshTokenRotationStatus.ROTATED);
+        assertThat(familyStore.rotate("family-1", "jti-2", "jti-3", TTL))
+                .isEqualTo(RefreshTokenRotationStatus.ROTATED);
+        assertThat(familyStore.isRevoked("family-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("古いトークンIDの再利用でファミリーが失効する")
+    void rotate_StaleTokenId_RevokesFamily() {
+        // Given
+        familyStore.create("family-1", "user-1", "jti-1", TTL);
+        familyStore.rotate("family-1", "jti-1", "jti-2", TTL);
+
+        // When
+        RefreshTokenRotationStatus status = familyStore.rotate("family-1", "jti-1", "jti-x", TTL);
+
+        // Then
+        assertThat(status).isEqualTo(RefreshTokenRotationStatus.REUSE_DETECTED);
+        assertThat(familyStore.rotate("family-1", "jti-2", "jti-3", TTL))
+                .isEqualTo(RefreshTokenRotationStatus.REVOKED);
+        assertThat(familyStore.isRevoked("family-1")).isTrue();
+        assertThat(familyStore.findRevokedFamilyIds()).containsExactly("family-1");
+    }
+
+    @Test
+    @DisplayName("失効したファミリーはローテーションできない")
+    void revoke_ExistingFamily_BlocksRotation() {
+        // Given
+        familyStore.create("family-1", "user-1", "jti-1", TTL);
+
+        // When
+        familyStore.revoke("family-1", TTL);
+
+        // Then
+        assertThat(familyStore.rotate("family-1", "jti-1", "jti-2", TTL))
+                .isEqualTo(RefreshTokenRotationStatus.REVOKED);
+        assertThat(familyStore.isRevoked("family-1")).isTrue();
+    }
+}
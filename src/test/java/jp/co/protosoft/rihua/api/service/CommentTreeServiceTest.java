@@ -0,0 +1,186 @@
+package jp.co.protosoft.rihua.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.co.protosoft.rihua.api.domain.Comment;
+import jp.co.protosoft.rihua.api.domain.ForumPost;
+import jp.co.protosoft.rihua.api.domain.listener.CommentTreeCacheInvalidator;
+import jp.co.protosoft.rihua.api.dto.response.CommentNode;
+import jp.co.protosoft.rihua.api.repository.CommentTreeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CommentTreeServiceのテストクラス
+ *
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CommentTreeService テスト")
+class CommentTreeServiceTest {
+
+    private static final UUID POST_ID = UUID.randomUUID();
+
+    @Mock
+    private CommentTreeRepository commentTreeRepository;
+
+    private CommentTreeService commentTreeService;
+
+    @BeforeEach
+    void setUp() {
+        commentTreeService = new CommentTreeService(commentTreeRepository, new SimpleMeterRegistry(), 8, 500, 100, 1000, 300000, 2);
+    }
+
+    @Test
+    @DisplayName("1回のクエリの結果からツリーを組み立て、次ページ判定用のトップレベルコメントは除外する")
+    void getTree_FlatRows_AssemblesTreeAndDetectsNextPage() {
+        // Given
+        CommentNode first = node(null, 0);
+        CommentNode second = node(null, 0);
+        CommentNode lookahead = node(null, 0);
+        CommentNode reply = node(first.getId(), 1);
+        CommentNode nestedReply = node(reply.getId(), 2);
+        when(commentTreeRepository.findTree(POST_ID, 0, 2, 8, 500))
+                .thenReturn(List.of(first, second, lookahead, reply, nestedReply));
+
+        // When
+        Slice<CommentNode> tree = commentTreeService.getTree(POST_ID, 0, 2);
+
+        // Then
+        assertThat(tree.getContent()).extracting(CommentNode::getId).containsExactly(first.getId(), second.getId());
+        assertThat(tree.hasNext()).isTrue();
+        CommentNode assembledReply = tree.getContent().get(0).getReplies().get(0);
+        assertThat(tree.getContent().get(0).getReplies()).extracting(CommentNode::getId).containsExactly(reply.getId());
+        assertThat(assembledReply.getReplies()).extracting(CommentNode::getId).containsExactly(nestedReply.getId());
+        assertThat(tree.getContent().get(1).getReplies()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("キャッシュしたツリーは呼び出し元から変更できない")
+    void getTree_CachedTree_IsUnmodifiable() {
+        // Given
+        CommentNode root = node(null, 0);
+        CommentNode reply = node(root.getId(), 1);
+        when(commentTreeRepository.findTree(eq(POST_ID), eq(0), eq(20), anyInt(), anyInt()))
+                .thenReturn(List.of(root, reply));
+        Slice<CommentNode> tree = commentTreeService.getTree(POST_ID, 0, 20);
+
+        // When & Then
+        assertThatThrownBy(() -> tree.getContent().get(0).getReplies().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> tree.getContent().get(0).getReplies().get(0).getReplies().add(node(null, 0)))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(commentTreeService.getTree(POST_ID, 0, 20).getContent().get(0).getReplies()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("いいね数を反映したコメントの投稿のページのみ破棄される")
+    void invalidateComments_LikedComments_ReloadsOnlyTheirPosts() {
+        // Given
+        UUID otherPostId = UUID.randomUUID();
+        UUID commentId = UUID.randomUUID();
+        when(commentTreeRepository.findTree(any(), eq(0), eq(20), anyInt(), anyInt())).thenReturn(List.of());
+        when(commentTreeRepository.findPostIds(List.of(commentId))).thenReturn(List.of(POST_ID));
+        commentTreeService.getTree(POST_ID, 0, 20);
+        commentTreeService.getTree(otherPostId, 0, 20);
+
+        // When
+        commentTreeService.invalidateComments(List.of(commentId));
+        commentTreeService.getTree(POST_ID, 0, 20);
+        commentTreeService.getTree(otherPostId, 0, 20);
+
+        // Then
+        verify(commentTreeRepository, times(2)).findTree(eq(POST_ID), eq(0), eq(20), anyInt(), anyInt());
+        verify(commentTreeRepository, times(1)).findTree(eq(otherPostId), eq(0), eq(20), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("上限より後ろのページはキャッシュせず毎回読み込む")
+    void getTree_PageBeyondCacheLimit_IsNotCached() {
+        // Given
+        when(commentTreeRepository.findTree(eq(POST_ID), anyInt(), eq(20), anyInt(), anyInt())).thenReturn(List.of());
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            commentTreeService.getTree(POST_ID, 1, 20);
+            commentTreeService.getTree(POST_ID, 2, 20);
+        }
+
+        // Then
+        verify(commentTreeRepository, times(1)).findTree(eq(POST_ID), eq(1), eq(20), anyInt(), anyInt());
+        verify(commentTreeRepository, times(2)).findTree(eq(POST_ID), eq(2), eq(20), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("部分木は指定したコメントを根に組み立て、親が読み込まれていない返信は除外する")
+    void getSubtree_DeepReplyChain_AssemblesFromRequestedComment() {
+        // Given
+        CommentNode comment = node(UUID.randomUUID(), 9);
+        CommentNode reply = node(comment.getId(), 10);
+        CommentNode underHiddenReply = node(UUID.randomUUID(), 11);
+        when(commentTreeRepository.findSubtree(comment.getId(), 8, 500))
+                .thenReturn(List.of(comment, reply, underHiddenReply));
+
+        // When
+        CommentNode subtree = commentTreeService.getSubtree(comment.getId()).orElseThrow();
+
+        // Then
+        assertThat(subtree.getId()).isEqualTo(comment.getId());
+        assertThat(subtree.getReplies()).containsExactly(reply);
+    }
+
+    @Test
+    @DisplayName("ページはキャッシュされ、投稿へのコメント登録時に破棄される")
+    void invalidator_CommentAdded_ReloadsPostTree() {
+        // Given
+        when(commentTreeRepository.findTree(eq(POST_ID), eq(0), eq(20), anyInt(), anyInt())).thenReturn(List.of());
+        commentTreeService.getTree(POST_ID, 0, 20);
+        commentTreeService.getTree(POST_ID, 0, 20);
+        verify(commentTreeRepository, times(1)).findTree(eq(POST_ID), eq(0), eq(20), anyInt(), anyInt());
+
+        CommentTreeCacheInvalidator invalidator = new CommentTreeCacheInvalidator(provider(commentTreeService));
+        Comment comment = Comment.builder().post(ForumPost.builder().id(POST_ID).build()).content("新しいコメント").build();
+
+        // When
+        invalidator.onCommentChanged(comment);
+        commentTreeService.getTree(POST_ID, 0, 20);
+
+        // Then
+        verify(commentTreeRepository, times(2)).findTree(eq(POST_ID), eq(0), eq(20), anyInt(), anyInt());
+    }
+
+    private static CommentNode node(UUID parentId, int depth) {
+        return CommentNode.builder()
+                .id(UUID.randomUUID())
+                .parentId(parentId)
+                .depth(depth)
+                .content("comment")
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T bean) {
+        ObjectProvider<T> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(bean);
+        return provider;
+    }
+}
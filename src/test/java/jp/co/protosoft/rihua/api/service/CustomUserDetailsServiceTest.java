@@ -0,0 +1,140 @@
+package jp.co.protosoft.rihua.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.co.protosoft.rihua.api.domain.User;
+import jp.co.protosoft.rihua.api.domain.enums.UserRole;
+import jp.co.protosoft.rihua.api.domain.enums.UserStatus;
+import jp.co.protosoft.rihua.api.domain.listener.UserPrincipalCacheInvalidator;
+import jp.co.protosoft.rihua.api.repository.UserRepository;
+import jp.co.protosoft.rihua.api.security.UserPrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CustomUserDetailsServiceのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomUserDetailsService テスト")
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserPrincipalCache userPrincipalCache;
+    private CustomUserDetailsService customUserDetailsService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userPrincipalCache = new UserPrincipalCache(new SimpleMeterRegistry(), true, 100, 300000L);
+        customUserDetailsService = new CustomUserDetailsService(userRepository, userPrincipalCache);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .passwordHash("hashed-password")
+                .status(UserStatus.ACTIVE)
+                .roles(Set.of(UserRole.USER, UserRole.BUSINESS))
+                .build();
+    }
+
+    @Test
+    @DisplayName("メールアドレスで読み込んだプリンシパルは2回目以降キャッシュから返される")
+    void loadUserByUsername_RepeatedCall_QueriesRepositoryOnce() {
+        // Given
+        when(userRepository.findWithRolesByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // When
+        UserDetails first = customUserDetailsService.loadUserByUsername("test@example.com");
+        UserDetails second = customUserDetailsService.loadUserByUsername("test@example.com");
+        UserDetails byId = customUserDetailsService.loadUserById(user.getId().toString());
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(byId).isSameAs(first);
+        assertThat(first.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_BUSINESS");
+        verify(userRepository, times(1)).findWithRolesByEmail("test@example.com");
+        verify(userRepository, never()).findWithRolesById(any());
+    }
+
+    @Test
+    @DisplayName("ユーザー更新時にキャッシュが破棄され最新の状態が読み込まれる")
+    void loadUserById_AfterUserUpdated_ReloadsPrincipal() {
+        // Given
+        when(userRepository.findWithRolesById(user.getId())).thenReturn(Optional.of(user));
+        String userId = user.getId().toString();
+        assertThat(customUserDetailsService.loadUserById(userId).isAccountNonLocked()).isTrue();
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+                Map.of("userPrincipalCache", userPrincipalCache));
+        UserPrincipalCacheInvalidator invalidator =
+                new UserPrincipalCacheInvalidator(beanFactory.getBeanProvider(UserPrincipalCache.class));
+
+        // When
+        user.setStatus(UserStatus.SUSPENDED);
+        invalidator.onUserChanged(user);
+
+        // Then
+        assertThat(customUserDetailsService.loadUserById(userId).isAccountNonLocked()).isFalse();
+        verify(userRepository, times(2)).findWithRolesById(user.getId());
+    }
+
+    @Test
+    @DisplayName("メールアドレス変更時は変更前のメールアドレスのエントリも破棄される")
+    void loadUserByUsername_AfterEmailChanged_OldEmailReloaded() {
+        // Given
+        when(userRepository.findWithRolesByEmail("test@example.com"))
+                .thenReturn(Optional.of(user), Optional.empty());
+        customUserDetailsService.loadUserByUsername("test@example.com");
+
+        // When
+        user.setEmail("changed@example.com");
+        userPrincipalCache.invalidate(user.getId().toString());
+
+        // Then
+        assertThatThrownBy(() -> customUserDetailsService.loadUserByUsername("test@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findWithRolesByEmail("test@example.com");
+    }
+
+    @Test
+    @DisplayName("存在しないユーザーは例外となりキャッシュされない")
+    void loadUserByUsername_UnknownEmail_ThrowsWithoutCaching() {
+        // Given
+        when(userRepository.findWithRolesByEmail("unknown@example.com")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> customUserDetailsService.loadUserByUsername("unknown@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> customUserDetailsService.loadUserByUsername("unknown@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> customUserDetailsService.loadUserById("not-a-uuid"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findWithRolesByEmail("unknown@example.com");
+    }
+}
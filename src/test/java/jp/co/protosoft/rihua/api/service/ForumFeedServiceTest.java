@@ -0,0 +1,119 @@
+package jp.co.protosoft.rihua.api.service;
+
+import jp.co.protosoft.rihua.api.domain.ForumPost;
+import jp.co.protosoft.rihua.api.dto.response.CursorPage;
+import jp.co.protosoft.rihua.api.exception.InvalidCursorException;
+import jp.co.protosoft.rihua.api.repository.ForumPostRepository;
+import jp.co.protosoft.rihua.api.service.ForumFeedService.FeedOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * ForumFeedServiceのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ForumFeedService テスト")
+class ForumFeedServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123456000);
+
+    @Mock
+    private ForumPostRepository forumPostRepository;
+
+    private ForumFeedService forumFeedService;
+
+    @BeforeEach
+    void setUp() {
+        forumFeedService = new ForumFeedService(forumPostRepository, 100);
+    }
+
+    @Test
+    @DisplayName("1件多く取得できた場合は次ページありとなり、末尾の投稿から再開するカーソルを返す")
+    void getFeed_MoreRowsThanPageSize_ReturnsCursorOfLastItem() {
+        // Given
+        List<ForumPost> rows = List.of(post(NOW, 5), post(NOW.minusMinutes(1), 3), post(NOW.minusMinutes(2), 1));
+        when(forumPostRepository.findLatestPostsFirst(PageRequest.ofSize(3))).thenReturn(rows);
+        ForumPost last = rows.get(1);
+        when(forumPostRepository.findLatestPostsAfter(last.getCreatedAt(), last.getId(), PageRequest.ofSize(3)))
+                .thenReturn(List.of(rows.get(2)));
+
+        // When
+        CursorPage<ForumPost> first = forumFeedService.getFeed(FeedOrder.LATEST, null, 2);
+        CursorPage<ForumPost> second = forumFeedService.getFeed(FeedOrder.LATEST, first.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getItems()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getItems()).containsExactly(rows.get(2));
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("人気順のカーソルはいいね数とIDで再開する")
+    void getFeed_PopularCursor_SeeksByLikeCountAndId() {
+        // Given
+        ForumPost last = post(NOW, 42);
+        when(forumPostRepository.findPopularPostsFirst(any())).thenReturn(List.of(last, post(NOW, 41)));
+        String cursor = forumFeedService.getFeed(FeedOrder.POPULAR, null, 1).getNextCursor();
+
+        // When
+        forumFeedService.getFeed(FeedOrder.POPULAR, cursor, 1);
+
+        // Then
+        verify(forumPostRepository).findPopularPostsAfter(42, last.getId(), PageRequest.ofSize(2));
+    }
+
+    @Test
+    @DisplayName("別のフィード順や壊れたカーソルは拒否され、クエリを発行しない")
+    void getFeed_InvalidCursor_ThrowsInvalidCursorException() {
+        // Given
+        String latestCursor = encode("1|LATEST|" + NOW + "|" + UUID.randomUUID());
+        String badSortKey = encode("1|POPULAR|many|" + UUID.randomUUID());
+
+        // When & Then
+        assertThatThrownBy(() -> forumFeedService.getFeed(FeedOrder.POPULAR, latestCursor, 20))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> forumFeedService.getFeed(FeedOrder.POPULAR, badSortKey, 20))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> forumFeedService.getFeed(FeedOrder.LATEST, "not base64!", 20))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(forumPostRepository);
+    }
+
+    private static ForumPost post(LocalDateTime createdAt, int likeCount) {
+        ForumPost post = ForumPost.builder()
+                .id(UUID.randomUUID())
+                .title("title")
+                .content("content")
+                .likeCount(likeCount)
+                .build();
+        post.setCreatedAt(createdAt);
+        return post;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+package jp.co.protosoft.rihua.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.co.protosoft.rihua.api.domain.Housing;
+import jp.co.protosoft.rihua.api.domain.listener.HousingMapCacheInvalidator;
+import jp.co.protosoft.rihua.api.dto.response.HousingCluster;
+import jp.co.protosoft.rihua.api.repository.GeoMarkerRepository;
+import jp.co.protosoft.rihua.api.util.geo.GeoBounds;
+import jp.co.protosoft.rihua.api.util.geo.GeoHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * HousingClusterServiceのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HousingClusterService テスト")
+class HousingClusterServiceTest {
+
+    private static final GeoBounds VIEWPORT = new GeoBounds(35.65, 139.65, 35.75, 139.85);
+    private static final int ZOOM = 12;
+
+    @Mock
+    private GeoMarkerRepository geoMarkerRepository;
+
+    private HousingClusterService housingClusterService;
+
+    @BeforeEach
+    void setUp() {
+        housingClusterService = new HousingClusterService(geoMarkerRepository, new SimpleMeterRegistry(), 1000, 600000, 32, 7);
+    }
+
+    @Test
+    @DisplayName("タイル単位でセルごとの集計を取得し、タイル外のセルと表示範囲と重ならないセルは除外する")
+    void findClusters_Viewport_ReturnsClustersOfTileCellsWithinViewport() {
+        // Given
+        int precision = HousingClusterService.precisionForZoom(ZOOM);
+        HousingCluster shinjuku = cluster(35.6896, 139.7006, precision);
+        HousingCluster outside = cluster(35.50, 139.50, precision);
+        when(geoMarkerRepository.findHousingClusters(any(), eq(precision)))
+                .thenAnswer(invocation -> List.of(shinjuku, outside));
+
+        // When
+        List<HousingCluster> result = housingClusterService.findClusters(VIEWPORT, ZOOM);
+
+        // Then
+        assertThat(result).containsExactly(shinjuku);
+    }
+
+    @Test
+    @DisplayName("表示範囲の端のセルは重心が範囲外でも含める")
+    void findClusters_CellOnViewportEdge_IncludedEvenIfCentroidOutside() {
+        // Given
+        int precision = HousingClusterService.precisionForZoom(ZOOM);
+        GeoBounds edgeCell = GeoHash.bounds(GeoHash.encode(VIEWPORT.south(), 139.7006, precision));
+        assertThat(edgeCell.south()).isLessThan(VIEWPORT.south());
+        HousingCluster edge = cluster(edgeCell.south(), edgeCell.centerLongitude(), precision);
+        when(geoMarkerRepository.findHousingClusters(any(), eq(precision)))
+                .thenAnswer(invocation -> List.of(edge));
+
+        // When
+        List<HousingCluster> result = housingClusterService.findClusters(VIEWPORT, ZOOM);
+
+        // Then
+        assertThat(result).contains(edge);
+    }
+
+    @Test
+    @DisplayName("住居の移動時は移動前と移動後の位置を含むタイルだけを再集計する")
+    void invalidator_HousingMoved_ReloadsOnlyAffectedTiles() {
+        // Given
+        int precision = HousingClusterService.precisionForZoom(ZOOM);
+        when(geoMarkerRepository.findHousingClusters(any(), anyInt())).thenReturn(List.of());
+        housingClusterService.findClusters(VIEWPORT, ZOOM);
+        clearInvocations(geoMarkerRepository);
+
+        HousingMapCacheInvalidator invalidator = new HousingMapCacheInvalidator(provider(housingClusterService), provider(null));
+        Housing housing = Housing.builder().latitude(new BigDecimal("35.6896")).longitude(new BigDecimal("139.7006")).build();
+        invalidator.onHousingLoaded(housing);
+        housing.setLatitude(new BigDecimal("35.7100"));
+        housing.setLongitude(new BigDecimal("139.8107"));
+
+        // When
+        invalidator.onHousingChanged(housing);
+        housingClusterService.findClusters(VIEWPORT, ZOOM);
+        housingClusterService.findClusters(VIEWPORT, ZOOM);
+
+        // Then
+        long affectedTiles = List.of(GeoHash.encode(35.6896, 139.7006, precision - 1), GeoHash.encode(35.7100, 139.8107, precision - 1))
+                .stream().distinct().count();
+        verify(geoMarkerRepository, times((int) affectedTiles)).findHousingClusters(any(), anyInt());
+        assertThat(housing.getPersistedLatitude()).isEqualByComparingTo("35.7100");
+    }
+
+    @Test
+    @DisplayName("ズームレベルが小さいほど粗いセルで集計する")
+    void precisionForZoom_ZoomLevels_ReturnsCoarserPrecisionWhenZoomedOut() {
+        assertThat(HousingClusterService.precisionForZoom(0)).isEqualTo(1);
+        assertThat(HousingClusterService.precisionForZoom(10)).isEqualTo(5);
+        assertThat(HousingClusterService.precisionForZoom(15)).isEqualTo(7);
+        assertThat(HousingClusterService.precisionForZoom(30)).isEqualTo(GeoHash.MAX_PRECISION);
+    }
+
+    private static HousingCluster cluster(double latitude, double longitude, int precision) {
+        return HousingCluster.builder()
+                .geohash(GeoHash.encode(latitude, longitude, precision))
+                .count(3)
+                .latitude(latitude)
+                .longitude(longitude)
+                .minPrice(new BigDecimal("80000"))
+                .maxPrice(new BigDecimal("120000"))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T bean) {
+        ObjectProvider<T> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(bean);
+        return provider;
+    }
+}
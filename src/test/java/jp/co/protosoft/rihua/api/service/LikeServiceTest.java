@@ -0,0 +1,159 @@
+package jp.co.protosoft.rihua.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.co.protosoft.rihua.api.domain.enums.LikeableType;
+import jp.co.protosoft.rihua.api.repository.LikeToggleRepository;
+import jp.co.protosoft.rihua.api.repository.LikeToggleRepository.ReconcileResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * LikeServiceのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LikeService テスト")
+class LikeServiceTest {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    @Mock
+    private LikeToggleRepository likeToggleRepository;
+
+    @Mock
+    private LikeStatusService likeStatusService;
+
+    @Mock
+    private CommentTreeService commentTreeService;
+
+    private LikeService likeService;
+
+    @BeforeEach
+    void setUp() {
+        likeService = new LikeService(
+                likeToggleRepository, likeStatusService, commentTreeService, new SimpleMeterRegistry(), 500);
+    }
+
+    @Test
+    @DisplayName("登録済みのいいねの再登録はいいね数を増やさず、増減は投稿ごとにまとめて反映される")
+    void like_Repeated_CountsOnlyNewLikes() {
+        // Given
+        UUID postId = UUID.randomUUID();
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        when(likeToggleRepository.like(alice, LikeableType.POST, postId)).thenReturn(true, false);
+        when(likeToggleRepository.like(bob, LikeableType.POST, postId)).thenReturn(true);
+
+        // When
+        boolean first = likeService.like(alice, LikeableType.POST, postId);
+        boolean second = likeService.like(alice, LikeableType.POST, postId);
+        likeService.like(bob, LikeableType.POST, postId);
+        likeService.flushCounts();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        verify(likeStatusService, times(2)).record(alice, LikeableType.POST, postId, true);
+        verify(likeToggleRepository).addLikeCounts(LikeableType.POST, Map.of(postId, 2L));
+        assertThat(likeService.pendingLikeCount(LikeableType.POST, postId)).isZero();
+        verify(commentTreeService, never()).invalidateComments(any());
+    }
+
+    @Test
+    @DisplayName("コメントのいいね数を反映するとコメントツリーのキャッシュが破棄される")
+    void flushCounts_CommentLikes_InvalidatesCommentTrees() {
+        // Given
+        UUID commentId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(likeToggleRepository.like(userId, LikeableType.COMMENT, commentId)).thenReturn(true);
+
+        // When
+        likeService.like(userId, LikeableType.COMMENT, commentId);
+        likeService.flushCounts();
+
+        // Then
+        verify(likeToggleRepository).addLikeCounts(LikeableType.COMMENT, Map.of(commentId, 1L));
+        verify(commentTreeService).invalidateComments(Set.of(commentId));
+    }
+
+    @Test
+    @DisplayName("反映前にいいねと取り消しが相殺された場合はUPDATEを発行しない")
+    void unlike_CancelsPendingLike_SkipsUpdate() {
+        // Given
+        UUID commentId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(likeToggleRepository.like(userId, LikeableType.COMMENT, commentId)).thenReturn(true);
+        when(likeToggleRepository.unlike(userId, LikeableType.COMMENT, commentId)).thenReturn(true);
+
+        // When
+        likeService.like(userId, LikeableType.COMMENT, commentId);
+        likeService.unlike(userId, LikeableType.COMMENT, commentId);
+        likeService.flushCounts();
+
+        // Then
+        verify(likeToggleRepository, never()).addLikeCounts(any(), any());
+    }
+
+    @Test
+    @DisplayName("突き合わせはID順に続きから進み、末尾まで確認したら先頭に戻る")
+    void reconcileCounts_AdvancesCursorAndWrapsAround() {
+        // Given
+        UUID lastId = UUID.randomUUID();
+        when(likeToggleRepository.reconcileLikeCounts(eq(LikeableType.COMMENT), eq(FIRST_ID), eq(500), any()))
+                .thenReturn(new ReconcileResult(null, 0));
+        when(likeToggleRepository.reconcileLikeCounts(eq(LikeableType.POST), any(), eq(500), any()))
+                .thenReturn(new ReconcileResult(lastId, 3), new ReconcileResult(null, 0));
+
+        // When
+        likeService.reconcileCounts();
+        likeService.reconcileCounts();
+        likeService.reconcileCounts();
+
+        // Then
+        verify(likeToggleRepository, times(2)).reconcileLikeCounts(eq(LikeableType.POST), eq(FIRST_ID), eq(500), any());
+        verify(likeToggleRepository).reconcileLikeCounts(eq(LikeableType.POST), eq(lastId), eq(500), any());
+    }
+
+    @Test
+    @DisplayName("このノードに未反映の増減がある対象は突き合わせで修正しない")
+    void reconcileCounts_PendingDelta_SkipsTarget() {
+        // Given
+        UUID commentId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(likeToggleRepository.like(userId, LikeableType.COMMENT, commentId)).thenReturn(true);
+        doThrow(new QueryTimeoutException("timeout"))
+                .when(likeToggleRepository).addLikeCounts(eq(LikeableType.COMMENT), any());
+        when(likeToggleRepository.reconcileLikeCounts(any(), any(), eq(500), any()))
+                .thenReturn(new ReconcileResult(null, 0));
+        likeService.like(userId, LikeableType.COMMENT, commentId);
+
+        // When
+        likeService.reconcileCounts();
+
+        // Then
+        verify(likeToggleRepository).reconcileLikeCounts(
+                eq(LikeableType.COMMENT), eq(FIRST_ID), eq(500), argThat(ids -> ids.contains(commentId)));
+        assertThat(likeService.pendingLikeCount(LikeableType.COMMENT, commentId)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,84 @@
+package jp.co.protosoft.rihua.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.co.protosoft.rihua.api.domain.enums.LikeableType;
+import jp.co.protosoft.rihua.api.repository.LikeToggleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * LikeStatusServiceのテストクラス
+ *
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LikeStatusService テスト")
+class LikeStatusServiceTest {
+
+    @Mock
+    private LikeToggleRepository likeToggleRepository;
+
+    private LikeStatusService likeStatusService;
+
+    @BeforeEach
+    void setUp() {
+        likeStatusService = new LikeStatusService(likeToggleRepository, new SimpleMeterRegistry(), true, 1000, 60000);
+    }
+
+    @Test
+    @DisplayName("一覧のいいね状態は1回のクエリで取得し、2回目はキャッシュにない対象のみを問い合わせる")
+    void findLiked_SecondPage_QueriesOnlyUncachedTargets() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID liked = UUID.randomUUID();
+        UUID notLiked = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+        when(likeToggleRepository.findLikedIds(userId, LikeableType.POST, Set.of(liked, notLiked))).thenReturn(Set.of(liked));
+        when(likeToggleRepository.findLikedIds(userId, LikeableType.POST, Set.of(added))).thenReturn(Set.of());
+
+        // When
+        Set<UUID> first = likeStatusService.findLiked(userId, LikeableType.POST, List.of(liked, notLiked));
+        Set<UUID> second = likeStatusService.findLiked(userId, LikeableType.POST, List.of(liked, notLiked, added));
+
+        // Then
+        assertThat(first).containsExactly(liked);
+        assertThat(second).containsExactly(liked);
+        verify(likeToggleRepository).findLikedIds(userId, LikeableType.POST, Set.of(liked, notLiked));
+        verify(likeToggleRepository).findLikedIds(userId, LikeableType.POST, Set.of(added));
+        verifyNoMoreInteractions(likeToggleRepository);
+    }
+
+    @Test
+    @DisplayName("いいね・取り消しの結果はキャッシュに反映され、問い合わせなしで返される")
+    void record_AfterLikeAndUnlike_ServesFromCache() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID commentA = UUID.randomUUID();
+        UUID commentB = UUID.randomUUID();
+        likeStatusService.record(userId, LikeableType.COMMENT, commentA, true);
+        likeStatusService.record(userId, LikeableType.COMMENT, commentB, false);
+
+        // When
+        Set<UUID> liked = likeStatusService.findLiked(userId, LikeableType.COMMENT, List.of(commentA, commentB));
+
+        // Then
+        assertThat(liked).containsExactly(commentA);
+        verify(likeToggleRepository, never()).findLikedIds(any(), any(), any());
+    }
+}
@@ -0,0 +1,95 @@
+package jp.co.protosoft.rihua.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.co.protosoft.rihua.api.service.ListingCountService.TotalCountMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * ListingCountServiceのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListingCountService テスト")
+class ListingCountServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ListingCountService listingCountService;
+
+    @BeforeEach
+    void setUp() {
+        listingCountService = new ListingCountService(
+                jdbcTemplate, new ObjectMapper(), new SimpleMeterRegistry(), 100, 60000);
+    }
+
+    @Test
+    @DisplayName("概算モードでは絞り込み条件ごとに1回だけ数え、正確モードでは毎回数える")
+    void total_ApproximateMode_CountsOncePerFilter() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        listingCountService.total(TotalCountMode.APPROXIMATE, "events:category=MUSIC", () -> calls.incrementAndGet() * 10L);
+        OptionalLong cached = listingCountService.total(TotalCountMode.APPROXIMATE, "events:category=MUSIC", () -> calls.incrementAndGet() * 10L);
+        listingCountService.total(TotalCountMode.APPROXIMATE, "events:category=SPORTS", calls::incrementAndGet);
+        listingCountService.total(TotalCountMode.EXACT, "events:category=MUSIC", calls::incrementAndGet);
+
+        // Then
+        assertThat(cached).hasValue(10L);
+        assertThat(calls).hasValue(3);
+        assertThat(listingCountService.total(TotalCountMode.NONE, "events:category=MUSIC", calls::incrementAndGet)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("実行計画の推定行数を返す")
+    void plannerEstimate_ExplainJson_ReturnsPlanRows() {
+        // Given
+        when(jdbcTemplate.queryForObject(eq("EXPLAIN (FORMAT JSON) SELECT 1 FROM events WHERE status = ?"),
+                eq(String.class), eq("PUBLISHED"))).thenReturn("[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Plan Rows\": 48213}}]");
+
+        // When
+        long estimate = listingCountService.plannerEstimate("SELECT 1 FROM events WHERE status = ?", "PUBLISHED");
+
+        // Then
+        assertThat(estimate).isEqualTo(48213L);
+    }
+
+    @Test
+    @DisplayName("総件数がない場合はX-Total-Countを省略し、概算の場合はその旨を示す")
+    void paginationHeaders_TotalCountMode_SetsHeadersAccordingly() {
+        // Given
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(2, 2), true);
+
+        // When
+        HttpHeaders none = ListingCountService.paginationHeaders(slice, OptionalLong.empty(), TotalCountMode.NONE);
+        HttpHeaders approximate = ListingCountService.paginationHeaders(slice, OptionalLong.of(120), TotalCountMode.APPROXIMATE);
+
+        // Then
+        assertThat(none.getFirst(ListingCountService.HAS_NEXT_HEADER)).isEqualTo("true");
+        assertThat(none.getFirst("X-Page-Number")).isEqualTo("2");
+        assertThat(none.containsKey(ListingCountService.TOTAL_COUNT_HEADER)).isFalse();
+        assertThat(approximate.getFirst(ListingCountService.TOTAL_COUNT_HEADER)).isEqualTo("120");
+        assertThat(approximate.getFirst(ListingCountService.TOTAL_COUNT_APPROXIMATE_HEADER)).isEqualTo("true");
+    }
+}
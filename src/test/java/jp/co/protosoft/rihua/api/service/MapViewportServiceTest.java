@@ -0,0 +1,109 @@
+package jp.co.protosoft.rihua.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.co.protosoft.rihua.api.dto.response.MapMarker;
+import jp.co.protosoft.rihua.api.exception.InvalidGeoQueryException;
+import jp.co.protosoft.rihua.api.repository.GeoMarkerRepository;
+import jp.co.protosoft.rihua.api.util.geo.GeoBounds;
+import jp.co.protosoft.rihua.api.util.geo.GeoHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * MapViewportServiceのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MapViewportService テスト")
+class MapViewportServiceTest {
+
+    private static final GeoBounds VIEWPORT = new GeoBounds(35.65, 139.70, 35.72, 139.80);
+
+    @Mock
+    private GeoMarkerRepository geoMarkerRepository;
+
+    private MapViewportService mapViewportService;
+
+    @BeforeEach
+    void setUp() {
+        mapViewportService = new MapViewportService(geoMarkerRepository, new SimpleMeterRegistry(), 1000, 60000, 32, 200, 7);
+    }
+
+    @Test
+    @DisplayName("同じ表示範囲の2回目はタイルのキャッシュから返り、DBに問い合わせない")
+    void findHousingMarkers_SameViewport_ServedFromTileCache() {
+        // Given
+        MapMarker shinjuku = marker(35.6896, 139.7006);
+        when(geoMarkerRepository.findHousingMarkers(any(), anyInt())).thenReturn(List.of(shinjuku));
+        int tiles = GeoHash.covering(VIEWPORT, GeoHash.precisionFor(VIEWPORT, 32, 7)).size();
+
+        // When
+        List<MapMarker> first = mapViewportService.findHousingMarkers(VIEWPORT);
+        List<MapMarker> second = mapViewportService.findHousingMarkers(VIEWPORT);
+
+        // Then
+        assertThat(first).containsExactly(shinjuku);
+        assertThat(second).containsExactly(shinjuku);
+        verify(geoMarkerRepository, times(tiles)).findHousingMarkers(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("少しパンした表示範囲では新しく見えたタイルのみ読み込み、範囲外のマーカーは除外する")
+    void findHousingMarkers_PannedViewport_LoadsOnlyNewTiles() {
+        // Given
+        MapMarker outside = marker(35.60, 139.60);
+        when(geoMarkerRepository.findHousingMarkers(any(), anyInt())).thenReturn(List.of(outside));
+        int precision = GeoHash.precisionFor(VIEWPORT, 32, 7);
+        mapViewportService.findHousingMarkers(VIEWPORT);
+        clearInvocations(geoMarkerRepository);
+        GeoBounds panned = new GeoBounds(35.66, 139.71, 35.73, 139.81);
+
+        // When
+        List<MapMarker> result = mapViewportService.findHousingMarkers(panned);
+
+        // Then
+        assertThat(result).isEmpty();
+        long newTiles = GeoHash.covering(panned, precision).stream()
+                .filter(hash -> !GeoHash.covering(VIEWPORT, precision).contains(hash))
+                .count();
+        assertThat(newTiles).isPositive();
+        verify(geoMarkerRepository, times((int) newTiles)).findHousingMarkers(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("南端が北端より北の表示範囲は拒否される")
+    void geoBounds_InvertedLatitude_ThrowsInvalidGeoQueryException() {
+        // When & Then
+        assertThatThrownBy(() -> mapViewportService.findEventMarkers(new GeoBounds(35.72, 139.70, 35.65, 139.80)))
+                .isInstanceOf(InvalidGeoQueryException.class);
+        verifyNoInteractions(geoMarkerRepository);
+    }
+
+    private static MapMarker marker(double latitude, double longitude) {
+        return MapMarker.builder()
+                .id(UUID.randomUUID())
+                .title("title")
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package jp.co.protosoft.rihua.api.service;
+
+import jp.co.protosoft.rihua.api.security.InMemoryRefreshTokenFamilyStore;
+import jp.co.protosoft.rihua.api.security.JwtTokenProvider;
+import jp.co.protosoft.rihua.api.security.RefreshTokenDenylist;
+import jp.co.protosoft.rihua.api.security.RefreshTokenRotationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RefreshTokenServiceのテストクラス
+ * 
+ * <p>Redisの代わりに {@link InMemoryRefreshTokenFamilyStore} を使用します。</p>
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@DisplayName("RefreshTokenService テスト")
+class RefreshTokenServiceTest {
+
+    private static final String TEST_SECRET = "test-secret-key-for-jwt-token-generation-must-be-at-least-64-characters-long";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private InMemoryRefreshTokenFamilyStore familyStore;
+    private RefreshTokenDenylist denylist;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(TEST_SECRET, 3600000L, 2592000000L);
+        familyStore = new InMemoryRefreshTokenFamilyStore();
+        denylist = new RefreshTokenDenylist(familyStore, 1000, 0.001);
+        refreshTokenService = new RefreshTokenService(jwtTokenProvider, familyStore, denylist);
+    }
+
+    @Test
+    @DisplayName("発行したリフレッシュトークンをローテーションできる")
+    void rotate_CurrentToken_ReturnsNewToken() {
+        // Given
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.issue("test-user-id");
+
+        // When
+        RefreshTokenService.RotationResult result = refreshTokenService.rotate(issued.refreshToken());
+
+        // Then
+        assertThat(result.isRotated()).isTrue();
+        assertThat(result.userId()).isEqualTo("test-user-id");
+        assertThat(result.familyId()).isEqualTo(issued.familyId());
+        assertThat(result.refreshToken()).isNotEqualTo(issued.refreshToken());
+        assertThat(refreshTokenService.rotate(result.refreshToken()).isRotated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("ローテーション済みトークンの再利用でファミリー全体が失効する")
+    void rotate_ReusedToken_RevokesFamily() {
+        // Given
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.issue("test-user-id");
+        RefreshTokenService.RotationResult rotated = refreshTokenService.rotate(issued.refreshToken());
+
+        // When
+        RefreshTokenService.RotationResult reused = refreshTokenService.rotate(issued.refreshToken());
+
+        // Then
+        assertThat(reused.status()).isEqualTo(RefreshTokenRotationStatus.REUSE_DETECTED);
+        assertThat(reused.refreshToken()).isNull();
+        assertThat(refreshTokenService.rotate(rotated.refreshToken()).status())
+                .isEqualTo(RefreshTokenRotationStatus.REVOKED);
+        assertThat(denylist.isRevoked(issued.familyId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("ファミリー管理されていないリフレッシュトークンは不正として拒否される")
+    void rotate_StatelessRefreshToken_ReturnsInvalid() {
+        // Given
+        String statelessToken = jwtTokenProvider.generateRefreshToken("test-user-id");
+
+        // When & Then
+        assertThat(refreshTokenService.rotate(statelessToken).status())
+                .isEqualTo(RefreshTokenRotationStatus.INVALID);
+        assertThat(refreshTokenService.rotate("invalid.jwt.token").status())
+                .isEqualTo(RefreshTokenRotationStatus.INVALID);
+    }
+
+    @Test
+    @DisplayName("失効していないファミリーの判定ではストアに問い合わせない")
+    void isRevoked_ActiveFamily_SkipsStoreLookup() {
+        // Given
+        RefreshTokenService.IssuedRefreshToken active = refreshTokenService.issue("active-user");
+        RefreshTokenService.IssuedRefreshToken revoked = refreshTokenService.issue("revoked-user");
+        refreshTokenService.revoke(revoked.familyId());
+
+        // When
+        boolean activeRevoked = denylist.isRevoked(active.familyId());
+        int lookupsAfterActive = familyStore.getRevocationLookups();
+        boolean revokedRevoked = denylist.isRevoked(revoked.familyId());
+
+        // Then
+        assertThat(activeRevoked).isFalse();
+        assertThat(lookupsAfterActive).isZero();
+        assertThat(revokedRevoked).isTrue();
+        assertThat(familyStore.getRevocationLookups()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("他ノードで失効したファミリーは再読み込み後に拒否される")
+    void reload_RemotelyRevokedFamily_IsRejected() {
+        // Given
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.issue("test-user-id");
+        familyStore.revokeRemotely(List.of(issued.familyId()));
+        assertThat(denylist.isRevoked(issued.familyId())).isFalse();
+
+        // When
+        denylist.reload();
+
+        // Then
+        assertThat(denylist.isRevoked(issued.familyId())).isTrue();
+        assertThat(refreshTokenService.rotate(issued.refreshToken()).status())
+                .isEqualTo(RefreshTokenRotationStatus.REVOKED);
+    }
+
+    @Test
+    @DisplayName("再読み込み中にこのノードで失効したファミリーはフィルターの差し替え後も拒否される")
+    void reload_FamilyRevokedDuringReload_IsStillRejected() {
+        // Given
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.issue("test-user-id");
+        RefreshTokenService[] service = new RefreshTokenService[1];
+        InMemoryRefreshTokenFamilyStore racingStore = new InMemoryRefreshTokenFamilyStore() {
+            @Override
+            public Collection<String> findRevokedFamilyIds() {
+                // 失効情報の取得後、フィルターの差し替え前に失効させる
+                Collection<String> snapshot = super.findRevokedFamilyIds();
+                service[0].revoke(issued.familyId());
+                return snapshot;
+            }
+        };
+        RefreshTokenDenylist racingDenylist = new RefreshTokenDenylist(racingStore, 1000, 0.001);
+        service[0] = new RefreshTokenService(jwtTokenProvider, racingStore, racingDenylist);
+
+        // When
+        racingDenylist.reload();
+
+        // Then
+        assertThat(racingDenylist.isRevoked(issued.familyId())).isTrue();
+    }
+}
@@ -0,0 +1,97 @@
+package jp.co.protosoft.rihua.api.service;
+
+import jp.co.protosoft.rihua.api.domain.enums.SearchTarget;
+import jp.co.protosoft.rihua.api.dto.response.SearchHit;
+import jp.co.protosoft.rihua.api.repository.FullTextSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * SearchServiceのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchService テスト")
+class SearchServiceTest {
+
+    @Mock
+    private FullTextSearchRepository fullTextSearchRepository;
+
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SearchService(fullTextSearchRepository, 100, 10);
+    }
+
+    @Test
+    @DisplayName("1件多く取得できた場合は次ページありとなり、ページサイズ分のみ返す")
+    void search_MoreHitsThanPageSize_ReturnsSliceWithNext() {
+        // Given
+        List<SearchHit> hits = List.of(hit(SearchTarget.EVENT), hit(SearchTarget.JOB), hit(SearchTarget.HOUSING));
+        when(fullTextSearchRepository.search("東京 カフェ", EnumSet.allOf(SearchTarget.class), 2, 3)).thenReturn(hits);
+
+        // When
+        Slice<SearchHit> result = searchService.search("  東京 カフェ ", null, 1, 2);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(hits.get(0), hits.get(1));
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("検索語は最大文字数で切り詰め、指定した対象のみを検索する")
+    void search_LongQueryWithTargets_TruncatesAndKeepsTargets() {
+        // Given
+        Set<SearchTarget> targets = EnumSet.of(SearchTarget.FORUM_POST);
+        when(fullTextSearchRepository.search("0123456789", targets, 0, 21)).thenReturn(List.of());
+
+        // When
+        Slice<SearchHit> result = searchService.search("0123456789abcdef", targets, 0, 20);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.hasNext()).isFalse();
+        verify(fullTextSearchRepository).search("0123456789", targets, 0, 21);
+    }
+
+    @Test
+    @DisplayName("空白のみの検索語ではクエリを発行しない")
+    void search_BlankQuery_ReturnsEmptyWithoutQuery() {
+        // When
+        Slice<SearchHit> result = searchService.search("   ", null, 0, 20);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.hasNext()).isFalse();
+        verifyNoInteractions(fullTextSearchRepository);
+    }
+
+    private static SearchHit hit(SearchTarget target) {
+        return SearchHit.builder()
+                .target(target)
+                .id(UUID.randomUUID())
+                .title("title")
+                .rank(0.5)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package jp.co.protosoft.rihua.api.service;
+
+import jp.co.protosoft.rihua.api.domain.enums.SearchTarget;
+import jp.co.protosoft.rihua.api.repository.FullTextSearchRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SearchVectorBackfillのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchVectorBackfill テスト")
+class SearchVectorBackfillTest {
+
+    @Mock
+    private FullTextSearchRepository fullTextSearchRepository;
+
+    @Test
+    @DisplayName("未作成の行がなくなった対象タイプは以降問い合わせない")
+    void backfill_TargetCompleted_StopsQueryingIt() {
+        // Given
+        SearchVectorBackfill backfill = new SearchVectorBackfill(fullTextSearchRepository, 100);
+        when(fullTextSearchRepository.backfillSearchVectors(any(), eq(100))).thenReturn(0);
+        when(fullTextSearchRepository.backfillSearchVectors(SearchTarget.HOUSING, 100)).thenReturn(100, 0);
+
+        // When
+        backfill.backfill();
+        backfill.backfill();
+        backfill.backfill();
+
+        // Then
+        verify(fullTextSearchRepository).backfillSearchVectors(SearchTarget.FORUM_POST, 100);
+        verify(fullTextSearchRepository).backfillSearchVectors(SearchTarget.JOB, 100);
+        verify(fullTextSearchRepository, times(2)).backfillSearchVectors(SearchTarget.HOUSING, 100);
+    }
+
+    @Test
+    @DisplayName("作成に失敗した対象タイプは次回の実行で再試行される")
+    void backfill_DatabaseFailure_RetriesNextInterval() {
+        // Given
+        SearchVectorBackfill backfill = new SearchVectorBackfill(fullTextSearchRepository, 100);
+        when(fullTextSearchRepository.backfillSearchVectors(any(), eq(100))).thenReturn(0);
+        when(fullTextSearchRepository.backfillSearchVectors(SearchTarget.EVENT, 100))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(0);
+
+        // When
+        backfill.backfill();
+        backfill.backfill();
+        backfill.backfill();
+
+        // Then
+        verify(fullTextSearchRepository, times(2)).backfillSearchVectors(SearchTarget.EVENT, 100);
+        verify(fullTextSearchRepository).backfillSearchVectors(SearchTarget.JOB, 100);
+    }
+}
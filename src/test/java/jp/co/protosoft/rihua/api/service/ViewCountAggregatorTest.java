@@ -0,0 +1,155 @@
+package jp.co.protosoft.rihua.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.co.protosoft.rihua.api.domain.enums.ViewTarget;
+import jp.co.protosoft.rihua.api.repository.ViewCountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * ViewCountAggregatorのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ViewCountAggregator テスト")
+class ViewCountAggregatorTest {
+
+    @Mock
+    private ViewCountRepository viewCountRepository;
+
+    @Mock
+    private ObjectProvider<RedisViewCountBuffer> redisBufferProvider;
+
+    @Mock
+    private RedisViewCountBuffer redisBuffer;
+
+    @Test
+    @DisplayName("同じIDへの閲覧は合算され、対象タイプごとに1回のバッチUPDATEで反映される")
+    void flush_RepeatedViews_AddsOneDeltaPerEntity() {
+        // Given
+        ViewCountAggregator aggregator = aggregator(null);
+        UUID housingId = UUID.randomUUID();
+        UUID jobId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            aggregator.record(ViewTarget.HOUSING, housingId);
+        }
+        aggregator.record(ViewTarget.JOB, jobId);
+
+        // When
+        aggregator.flush();
+        aggregator.flush();
+
+        // Then
+        verify(viewCountRepository).addViews(ViewTarget.HOUSING, Map.of(housingId, 5L));
+        verify(viewCountRepository).addViews(ViewTarget.JOB, Map.of(jobId, 1L));
+        verifyNoMoreInteractions(viewCountRepository);
+        assertThat(aggregator.pendingViews(ViewTarget.HOUSING, housingId)).isZero();
+    }
+
+    @Test
+    @DisplayName("反映に失敗した閲覧数は次回の反映に持ち越される")
+    void flush_DatabaseFailure_RetriesNextInterval() {
+        // Given
+        ViewCountAggregator aggregator = aggregator(null);
+        UUID postId = UUID.randomUUID();
+        aggregator.record(ViewTarget.FORUM_POST, postId);
+        aggregator.record(ViewTarget.FORUM_POST, postId);
+        doThrow(new QueryTimeoutException("timeout")).doNothing()
+                .when(viewCountRepository).addViews(eq(ViewTarget.FORUM_POST), any());
+        aggregator.flush();
+        aggregator.record(ViewTarget.FORUM_POST, postId);
+
+        // When
+        aggregator.flush();
+
+        // Then
+        verify(viewCountRepository).addViews(ViewTarget.FORUM_POST, Map.of(postId, 2L));
+        verify(viewCountRepository).addViews(ViewTarget.FORUM_POST, Map.of(postId, 3L));
+    }
+
+    @Test
+    @DisplayName("反映中の同時の閲覧も失われずにいずれかの反映に含まれる")
+    void flush_ConcurrentViews_LosesNoViews() throws InterruptedException {
+        // Given
+        ViewCountAggregator aggregator = aggregator(null);
+        UUID postId = UUID.randomUUID();
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(invocation -> {
+            Map<UUID, Long> views = invocation.getArgument(1);
+            flushed.addAndGet(views.getOrDefault(postId, 0L));
+            return null;
+        }).when(viewCountRepository).addViews(eq(ViewTarget.FORUM_POST), any());
+
+        int threads = 4;
+        int viewsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < viewsPerThread; i++) {
+                    aggregator.record(ViewTarget.FORUM_POST, postId);
+                }
+                done.countDown();
+            });
+        }
+
+        // When: 増減がない間隔でエントリが削除されるよう、閲覧の記録中に繰り返し反映する
+        while (done.getCount() > 0) {
+            aggregator.flush();
+        }
+        aggregator.flush();
+        executor.shutdown();
+
+        // Then
+        assertThat(flushed.get()).isEqualTo((long) threads * viewsPerThread);
+        assertThat(aggregator.pendingViews(ViewTarget.FORUM_POST, postId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Redisが有効な場合はこのノードの閲覧数をRedisに送り、全ノード分を取り出して反映する")
+    void flush_RedisEnabled_FlushesCoalescedViews() {
+        // Given
+        ViewCountAggregator aggregator = aggregator(redisBuffer);
+        UUID eventId = UUID.randomUUID();
+        aggregator.record(ViewTarget.EVENT, eventId);
+        when(redisBuffer.drain(any())).thenReturn(Map.of());
+        when(redisBuffer.drain(ViewTarget.EVENT)).thenReturn(Map.of(eventId, 7L));
+
+        // When
+        aggregator.flush();
+
+        // Then
+        verify(redisBuffer).add(ViewTarget.EVENT, Map.of(eventId, 1L));
+        verify(viewCountRepository).addViews(ViewTarget.EVENT, Map.of(eventId, 7L));
+        verify(viewCountRepository, never()).addViews(eq(ViewTarget.HOUSING), any());
+    }
+
+    private ViewCountAggregator aggregator(RedisViewCountBuffer buffer) {
+        when(redisBufferProvider.getIfAvailable()).thenReturn(buffer);
+        return new ViewCountAggregator(viewCountRepository, redisBufferProvider, new SimpleMeterRegistry());
+    }
+}
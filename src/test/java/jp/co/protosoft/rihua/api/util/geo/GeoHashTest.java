@@ -0,0 +1,73 @@
+package jp.co.protosoft.rihua.api.util.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GeoHashのテストクラス
+ * 
+ * @author Rihua Development Team
+ * @since 1.0.0
+ */
+@DisplayName("GeoHash テスト")
+class GeoHashTest {
+
+    private static final double TOKYO_STATION_LAT = 35.681236;
+    private static final double TOKYO_STATION_LON = 139.767125;
+
+    @Test
+    @DisplayName("緯度経度を標準のジオハッシュに変換し、セルの範囲に元の地点が含まれる")
+    void encode_KnownPoint_ReturnsStandardHashWhoseCellContainsPoint() {
+        // When
+        String hash = GeoHash.encode(57.64911, 10.40744, 11);
+        String tokyo = GeoHash.encode(TOKYO_STATION_LAT, TOKYO_STATION_LON, 7);
+
+        // Then
+        assertThat(hash).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHash.bounds(tokyo).contains(TOKYO_STATION_LAT, TOKYO_STATION_LON)).isTrue();
+        assertThat(GeoHash.encode(TOKYO_STATION_LAT, TOKYO_STATION_LON, 5)).isEqualTo(tokyo.substring(0, 5));
+    }
+
+    @Test
+    @DisplayName("範囲を覆うセルは範囲と重なるセルをすべて含み、重複しない")
+    void covering_Viewport_ReturnsAllOverlappingCells() {
+        // Given
+        GeoBounds viewport = new GeoBounds(35.65, 139.70, 35.72, 139.80);
+
+        // When
+        int precision = GeoHash.precisionFor(viewport, 32, 7);
+        List<String> cells = GeoHash.covering(viewport, precision);
+
+        // Then
+        assertThat(cells).hasSizeLessThanOrEqualTo(32).doesNotHaveDuplicates();
+        assertThat(GeoHash.covering(viewport, precision + 1)).hasSizeGreaterThan(32);
+        assertThat(cells).contains(
+                GeoHash.encode(viewport.south(), viewport.west(), precision),
+                GeoHash.encode(viewport.north(), viewport.east(), precision),
+                GeoHash.encode(TOKYO_STATION_LAT, TOKYO_STATION_LON, precision));
+        assertThat(cells).allSatisfy(cell -> {
+            GeoBounds bounds = GeoHash.bounds(cell);
+            assertThat(bounds.north()).isGreaterThanOrEqualTo(viewport.south());
+            assertThat(bounds.south()).isLessThanOrEqualTo(viewport.north());
+            assertThat(bounds.east()).isGreaterThanOrEqualTo(viewport.west());
+            assertThat(bounds.west()).isLessThanOrEqualTo(viewport.east());
+        });
+    }
+
+    @Test
+    @DisplayName("世界全体の範囲は精度1の32セルで覆われる")
+    void covering_WholeWorld_ReturnsAllTopLevelCells() {
+        // Given
+        GeoBounds world = new GeoBounds(-90, -180, 90, 180);
+
+        // When
+        List<String> cells = GeoHash.covering(world, GeoHash.precisionFor(world, 32, 7));
+
+        // Then
+        assertThat(cells).hasSize(32).doesNotHaveDuplicates();
+    }
+}